@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.benchmarks.SyntheticWorkflow.Shape;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full {@link WorkflowExecutor#decide(String)} pass - loading the workflow with all its tasks, evaluating
+ * it in the decider and executing the synchronous system tasks - on workflows of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DecideBenchmark {
+
+    @Param({"SEQUENTIAL", "FORK_JOIN", "DO_WHILE", "DYNAMIC_FORK"})
+    private Shape shape;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int taskCount;
+
+    private WorkflowExecutor workflowExecutor;
+    private String workflowId;
+
+    @Setup
+    public void setup() {
+        InMemoryConductor conductor = new InMemoryConductor();
+        workflowExecutor = conductor.getWorkflowExecutor();
+        workflowId = conductor.seed(SyntheticWorkflow.build(shape, taskCount));
+    }
+
+    @Benchmark
+    public boolean decide() {
+        return workflowExecutor.decide(workflowId);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.metadata.MetadataCache;
+import com.netflix.conductor.core.metadata.MetadataMapperService;
+import com.netflix.conductor.core.metadata.WorkflowDefinitionCache;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.core.storage.ReferencingExecutionDocumentCodec;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares storing a workflow and its tasks with a copy of their definitions, as by default, or with a reference to
+ * the registered definitions resolved from a {@link WorkflowDefinitionCache}. Each operation encodes or decodes the
+ * workflow and all its tasks, and the total length of the stored documents is reported next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DefinitionReferenceBenchmark {
+
+    @Param({"false", "true"})
+    private boolean byReference;
+
+    @Param({"SEQUENTIAL", "FORK_JOIN"})
+    private SyntheticWorkflow.Shape shape;
+
+    @Param({"10", "100"})
+    private int taskCount;
+
+    private ExecutionDocumentCodec codec;
+    private Workflow workflow;
+    private List<Task> tasks;
+    private String workflowDocument;
+    private List<String> taskDocuments;
+
+    @Setup
+    public void setup() {
+        InMemoryConductor conductor = new InMemoryConductor();
+        SyntheticWorkflow syntheticWorkflow = SyntheticWorkflow.build(shape, taskCount);
+        conductor.seed(syntheticWorkflow);
+
+        codec = new JacksonExecutionDocumentCodec(conductor.getObjectMapper());
+        if (byReference) {
+            codec = new ReferencingExecutionDocumentCodec(codec,
+                new WorkflowDefinitionCache(
+                    new MetadataMapperService(conductor.getMetadataDAO(), conductor.getObjectMapper()),
+                    conductor.getObjectMapper(), new MetadataCache(Duration.ofHours(1).toMillis(), 100)));
+        }
+
+        // the workflow is stored without its tasks, which are stored separately
+        Workflow seeded = syntheticWorkflow.getWorkflow();
+        List<Task> seededTasks = seeded.getTasks();
+        seeded.setTasks(new ArrayList<>());
+        workflowDocument = codec.encode(seeded);
+        taskDocuments = new ArrayList<>();
+        for (Task task : seededTasks) {
+            taskDocuments.add(codec.encode(task));
+        }
+        // steady state: the workflow and its tasks are loaded, then stored again
+        workflow = codec.decode(workflowDocument, Workflow.class);
+        tasks = new ArrayList<>();
+        for (String taskDocument : taskDocuments) {
+            tasks.add(codec.decode(taskDocument, Task.class));
+        }
+    }
+
+    /**
+     * Reports the total length of the documents stored by an operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StoredSize {
+
+        public long storedLength;
+    }
+
+    @Benchmark
+    public void encode(StoredSize size, Blackhole blackhole) {
+        String document = codec.encode(workflow);
+        long length = document.length();
+        blackhole.consume(document);
+        for (Task task : tasks) {
+            document = codec.encode(task);
+            length += document.length();
+            blackhole.consume(document);
+        }
+        size.storedLength = length;
+    }
+
+    @Benchmark
+    public Workflow decode() {
+        Workflow decoded = codec.decode(workflowDocument, Workflow.class);
+        for (String taskDocument : taskDocuments) {
+            decoded.getTasks().add(codec.decode(taskDocument, Task.class));
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Compression;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Format;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of encoding and decoding a workflow with its tasks in each of the formats supported by
+ * {@link JacksonExecutionDocumentCodec}, along with the length in bytes of the raw document stored in redis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExecutionDocumentCodecBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private Format format;
+
+    @Param({"NONE", "LZ4"})
+    private Compression compression;
+
+    @Param({"10", "100"})
+    private int taskCount;
+
+    private JacksonExecutionDocumentCodec codec;
+    private Workflow workflow;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        codec = new JacksonExecutionDocumentCodec(new ObjectMapperProvider().getObjectMapper(), format, compression);
+        workflow = SyntheticWorkflow.build(SyntheticWorkflow.Shape.SEQUENTIAL, taskCount).getWorkflow();
+        encoded = codec.encodeToBytes(workflow);
+    }
+
+    /**
+     * Reports the length of the stored document next to the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DocumentSize {
+
+        public long documentLength;
+    }
+
+    @Benchmark
+    public byte[] encode(DocumentSize size) {
+        byte[] document = codec.encodeToBytes(workflow);
+        size.documentLength = document.length;
+        return document;
+    }
+
+    @Benchmark
+    public Workflow decode() {
+        return codec.decode(encoded, Workflow.class);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.core.utils.IDGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link IDGenerator} for each of its strategies, with the ids generated concurrently as
+ * the workflows and tasks are created by different decides. The number of threads can be changed with the {@code -t}
+ * option of JMH, to compare how the strategies scale.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class IDGeneratorBenchmark {
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IDGenerator.Type idGenerator;
+
+    @Setup
+    public void setup() {
+        IDGenerator.initialize(idGenerator);
+    }
+
+    @Benchmark
+    public String generate() {
+        return IDGenerator.generate();
+    }
+}
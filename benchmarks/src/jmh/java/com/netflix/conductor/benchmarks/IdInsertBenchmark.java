@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.core.utils.IDGenerator;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.mysql.config.MySQLProperties;
+import com.netflix.conductor.mysql.dao.MySQLExecutionDAO;
+import com.netflix.conductor.mysql.dao.MySQLQueueDAO;
+import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.dao.PostgresExecutionDAO;
+import com.netflix.conductor.postgres.dao.PostgresQueueDAO;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of concurrent inserts into the {@code queue_message} and {@code workflow} tables of the SQL
+ * DAOs, with the ids made by each of the {@link IDGenerator} strategies, against databases started in docker by
+ * testcontainers. The random ids insert into pages all over the unique indexes on the ids, while the time-ordered
+ * ones append to the last pages, so the gap widens as the tables outgrow the buffer pool. The queue is filled with
+ * {@code tableSize} messages beforehand, and larger sizes or longer iterations show more of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class IdInsertBenchmark {
+
+    private static final String QUEUE_NAME = "insert_benchmark";
+    private static final int PUSH_BATCH_SIZE = 1000;
+
+    @Param({"mysql:8.0", "postgres:12"})
+    private String database;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IDGenerator.Type idGenerator;
+
+    @Param({"1000000"})
+    private int tableSize;
+
+    private JdbcDatabaseContainer<?> container;
+    private HikariDataSource dataSource;
+    private QueueDAO queueDAO;
+    private ExecutionDAO executionDAO;
+    private WorkflowDef workflowDef;
+
+    @Setup
+    public void setup() {
+        IDGenerator.initialize(idGenerator);
+
+        ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+        boolean postgres = database.startsWith("postgres");
+        container = postgres ? new PostgreSQLContainer<>(database) : new MySQLContainer<>(database);
+        container.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setAutoCommit(false);
+        dataSource.setMaximumPoolSize(64);
+
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations(postgres ? "classpath:db/migration_postgres" : "classpath:db/migration")
+            .load()
+            .migrate();
+
+        if (postgres) {
+            PostgresProperties properties = new PostgresProperties();
+            properties.setQueueNotificationsEnabled(false);
+            queueDAO = new PostgresQueueDAO(objectMapper, dataSource, properties);
+            executionDAO = new PostgresExecutionDAO(objectMapper, dataSource);
+        } else {
+            queueDAO = new MySQLQueueDAO(objectMapper, dataSource, new MySQLProperties());
+            executionDAO = new MySQLExecutionDAO(objectMapper, dataSource);
+        }
+
+        workflowDef = new WorkflowDef();
+        workflowDef.setName("insert_benchmark");
+        workflowDef.setVersion(1);
+
+        List<Message> messages = new ArrayList<>(PUSH_BATCH_SIZE);
+        for (int i = 0; i < tableSize; i++) {
+            messages.add(new Message(IDGenerator.generate(), null, null));
+            if (messages.size() == PUSH_BATCH_SIZE) {
+                queueDAO.push(QUEUE_NAME, messages);
+                messages.clear();
+            }
+        }
+        if (!messages.isEmpty()) {
+            queueDAO.push(QUEUE_NAME, messages);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (queueDAO instanceof PostgresQueueDAO) {
+            ((PostgresQueueDAO) queueDAO).close();
+        }
+        dataSource.close();
+        container.stop();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void pushMessage() {
+        queueDAO.push(QUEUE_NAME, IDGenerator.generate(), 0);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String createWorkflow() {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId(IDGenerator.generate());
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        workflow.setCreateTime(System.currentTimeMillis());
+        return executionDAO.createWorkflow(workflow);
+    }
+}
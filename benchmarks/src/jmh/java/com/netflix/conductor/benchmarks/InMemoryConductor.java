@@ -0,0 +1,239 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.contribs.dao.index.NoopIndexDAO;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.execution.DeciderService;
+import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.execution.mapper.DecisionTaskMapper;
+import com.netflix.conductor.core.execution.mapper.DoWhileTaskMapper;
+import com.netflix.conductor.core.execution.mapper.DynamicTaskMapper;
+import com.netflix.conductor.core.execution.mapper.EventTaskMapper;
+import com.netflix.conductor.core.execution.mapper.ExclusiveJoinTaskMapper;
+import com.netflix.conductor.core.execution.mapper.ForkJoinDynamicTaskMapper;
+import com.netflix.conductor.core.execution.mapper.ForkJoinTaskMapper;
+import com.netflix.conductor.core.execution.mapper.HTTPTaskMapper;
+import com.netflix.conductor.core.execution.mapper.JoinTaskMapper;
+import com.netflix.conductor.core.execution.mapper.LambdaTaskMapper;
+import com.netflix.conductor.core.execution.mapper.SetVariableTaskMapper;
+import com.netflix.conductor.core.execution.mapper.SimpleTaskMapper;
+import com.netflix.conductor.core.execution.mapper.SubWorkflowTaskMapper;
+import com.netflix.conductor.core.execution.mapper.TaskMapper;
+import com.netflix.conductor.core.execution.mapper.TerminateTaskMapper;
+import com.netflix.conductor.core.execution.mapper.UserDefinedTaskMapper;
+import com.netflix.conductor.core.execution.mapper.WaitTaskMapper;
+import com.netflix.conductor.core.execution.tasks.Decision;
+import com.netflix.conductor.core.execution.tasks.DoWhile;
+import com.netflix.conductor.core.execution.tasks.ExclusiveJoin;
+import com.netflix.conductor.core.execution.tasks.Fork;
+import com.netflix.conductor.core.execution.tasks.Join;
+import com.netflix.conductor.core.execution.tasks.Lambda;
+import com.netflix.conductor.core.execution.tasks.SetVariable;
+import com.netflix.conductor.core.execution.tasks.SubWorkflow;
+import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
+import com.netflix.conductor.core.execution.tasks.Terminate;
+import com.netflix.conductor.core.execution.tasks.Wait;
+import com.netflix.conductor.core.execution.tasks.WorkflowSystemTask;
+import com.netflix.conductor.core.listener.WorkflowStatusListenerStub;
+import com.netflix.conductor.core.metadata.MetadataMapperService;
+import com.netflix.conductor.core.orchestration.ExecutionDAOFacade;
+import com.netflix.conductor.core.storage.DummyPayloadStorage;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.core.sync.NoopLock;
+import com.netflix.conductor.core.utils.ExternalPayloadStorageUtils;
+import com.netflix.conductor.core.utils.ParametersUtils;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.MetadataDAO;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.dao.DynoQueueDAO;
+import com.netflix.conductor.redis.dao.RedisExecutionDAO;
+import com.netflix.conductor.redis.dao.RedisMetadataDAO;
+import com.netflix.conductor.redis.dao.RedisPollDataDAO;
+import com.netflix.conductor.redis.dao.RedisRateLimitingDAO;
+import com.netflix.conductor.redis.dynoqueue.RedisQueuesShardingStrategyProvider;
+import com.netflix.conductor.redis.jedis.JedisMock;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+import com.netflix.conductor.service.ExecutionLockService;
+import com.netflix.dyno.connectionpool.Host;
+import com.netflix.dyno.queues.ShardSupplier;
+import com.netflix.dyno.queues.redis.RedisQueues;
+import com.netflix.dyno.queues.redis.sharding.ShardingStrategy;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wires the core execution engine against the in-memory redis DAOs (backed by {@link JedisMock}) without a Spring
+ * context, so that benchmarks measure the engine itself rather than the network or a real datastore.
+ */
+public class InMemoryConductor {
+
+    private static final String SHARD = "a";
+
+    private final ObjectMapper objectMapper;
+    private final ConductorProperties properties;
+    private final ExecutionDAO executionDAO;
+    private final MetadataDAO metadataDAO;
+    private final QueueDAO queueDAO;
+    private final ParametersUtils parametersUtils;
+    private final DeciderService deciderService;
+    private final ExecutionDAOFacade executionDAOFacade;
+    private final WorkflowExecutor workflowExecutor;
+
+    public InMemoryConductor() {
+        this.objectMapper = new ObjectMapperProvider().getObjectMapper();
+        this.properties = new ConductorProperties();
+        RedisProperties redisProperties = new RedisProperties(properties);
+        redisProperties.setQueueShardingStrategy(RedisQueuesShardingStrategyProvider.LOCAL_ONLY_STRATEGY);
+
+        JedisMock jedisMock = new JedisMock();
+        JedisProxy jedisProxy = new JedisProxy(jedisMock);
+
+        this.executionDAO = new RedisExecutionDAO(jedisProxy, objectMapper,
+            new JacksonExecutionDocumentCodec(objectMapper), properties, redisProperties);
+        this.metadataDAO = new RedisMetadataDAO(jedisProxy, objectMapper, properties, redisProperties);
+        this.queueDAO = new DynoQueueDAO(redisQueues(jedisMock, redisProperties));
+
+        ExecutionLockService executionLockService = new ExecutionLockService(properties, new NoopLock());
+        this.executionDAOFacade = new ExecutionDAOFacade(executionDAO, queueDAO, new NoopIndexDAO(),
+            new RedisRateLimitingDAO(jedisProxy, objectMapper, properties, redisProperties),
+            new RedisPollDataDAO(jedisProxy, objectMapper, properties, redisProperties), objectMapper, properties,
+            executionLockService);
+
+        this.parametersUtils = new ParametersUtils(objectMapper);
+        ExternalPayloadStorageUtils externalPayloadStorageUtils =
+            new ExternalPayloadStorageUtils(new DummyPayloadStorage(), properties, objectMapper);
+        SystemTaskRegistry systemTaskRegistry = new SystemTaskRegistry(systemTasks());
+
+        this.deciderService = new DeciderService(parametersUtils, metadataDAO, externalPayloadStorageUtils,
+            systemTaskRegistry, taskMappers(), Duration.ofMinutes(60));
+        this.workflowExecutor = new WorkflowExecutor(deciderService, metadataDAO, queueDAO,
+            new MetadataMapperService(metadataDAO, objectMapper), new WorkflowStatusListenerStub(), executionDAOFacade, properties,
+            executionLockService, systemTaskRegistry, parametersUtils);
+    }
+
+    private static RedisQueues redisQueues(JedisMock jedisMock, RedisProperties redisProperties) {
+        ShardSupplier shardSupplier = new ShardSupplier() {
+
+            @Override
+            public Set<String> getQueueShards() {
+                return new HashSet<>(Collections.singletonList(SHARD));
+            }
+
+            @Override
+            public String getCurrentShard() {
+                return SHARD;
+            }
+
+            @Override
+            public String getShardForHost(Host host) {
+                return SHARD;
+            }
+        };
+        ShardingStrategy shardingStrategy = new RedisQueuesShardingStrategyProvider(shardSupplier, redisProperties)
+            .get();
+        return new RedisQueues(jedisMock, jedisMock, "", shardSupplier, 60_000, 60_000, shardingStrategy);
+    }
+
+    private Set<WorkflowSystemTask> systemTasks() {
+        Set<WorkflowSystemTask> tasks = new HashSet<>();
+        tasks.add(new Decision());
+        tasks.add(new Fork());
+        tasks.add(new Join());
+        tasks.add(new ExclusiveJoin());
+        tasks.add(new DoWhile(parametersUtils));
+        tasks.add(new SetVariable(properties, objectMapper));
+        tasks.add(new SubWorkflow(objectMapper));
+        tasks.add(new Terminate());
+        tasks.add(new Wait());
+        tasks.add(new Lambda());
+        return tasks;
+    }
+
+    private Map<TaskType, TaskMapper> taskMappers() {
+        Map<TaskType, TaskMapper> taskMappers = new HashMap<>();
+        taskMappers.put(TaskType.DECISION, new DecisionTaskMapper());
+        taskMappers.put(TaskType.DYNAMIC, new DynamicTaskMapper(parametersUtils, metadataDAO));
+        taskMappers.put(TaskType.FORK_JOIN, new ForkJoinTaskMapper());
+        taskMappers.put(TaskType.JOIN, new JoinTaskMapper());
+        taskMappers.put(TaskType.EXCLUSIVE_JOIN, new ExclusiveJoinTaskMapper());
+        taskMappers.put(TaskType.FORK_JOIN_DYNAMIC,
+            new ForkJoinDynamicTaskMapper(parametersUtils, objectMapper, metadataDAO));
+        taskMappers.put(TaskType.DO_WHILE, new DoWhileTaskMapper(metadataDAO));
+        taskMappers.put(TaskType.USER_DEFINED, new UserDefinedTaskMapper(parametersUtils, metadataDAO));
+        taskMappers.put(TaskType.SIMPLE, new SimpleTaskMapper(parametersUtils));
+        taskMappers.put(TaskType.SUB_WORKFLOW, new SubWorkflowTaskMapper(parametersUtils, metadataDAO));
+        taskMappers.put(TaskType.EVENT, new EventTaskMapper(parametersUtils));
+        taskMappers.put(TaskType.WAIT, new WaitTaskMapper(parametersUtils));
+        taskMappers.put(TaskType.HTTP, new HTTPTaskMapper(parametersUtils, metadataDAO));
+        taskMappers.put(TaskType.LAMBDA, new LambdaTaskMapper(parametersUtils, metadataDAO));
+        taskMappers.put(TaskType.TERMINATE, new TerminateTaskMapper(parametersUtils));
+        taskMappers.put(TaskType.SET_VARIABLE, new SetVariableTaskMapper());
+        return taskMappers;
+    }
+
+    /**
+     * Stores the definitions and the in-flight execution state of a synthetic workflow, bypassing the decider so that
+     * arbitrarily large workflows can be seeded in a single pass.
+     *
+     * @return the id of the seeded workflow
+     */
+    public String seed(SyntheticWorkflow syntheticWorkflow) {
+        syntheticWorkflow.getTaskDefs().forEach(metadataDAO::createTaskDef);
+        metadataDAO.createWorkflowDef(syntheticWorkflow.getWorkflowDef());
+        executionDAO.createWorkflow(syntheticWorkflow.getWorkflow());
+        executionDAO.createTasks(syntheticWorkflow.getWorkflow().getTasks());
+        return syntheticWorkflow.getWorkflow().getWorkflowId();
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public ExecutionDAO getExecutionDAO() {
+        return executionDAO;
+    }
+
+    public MetadataDAO getMetadataDAO() {
+        return metadataDAO;
+    }
+
+    public QueueDAO getQueueDAO() {
+        return queueDAO;
+    }
+
+    public ParametersUtils getParametersUtils() {
+        return parametersUtils;
+    }
+
+    public DeciderService getDeciderService() {
+        return deciderService;
+    }
+
+    public ExecutionDAOFacade getExecutionDAOFacade() {
+        return executionDAOFacade;
+    }
+
+    public WorkflowExecutor getWorkflowExecutor() {
+        return workflowExecutor;
+    }
+}
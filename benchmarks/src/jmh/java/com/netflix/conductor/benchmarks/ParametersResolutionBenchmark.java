@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.benchmarks.SyntheticWorkflow.Shape;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.utils.ParametersUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ParametersUtils#getTaskInputV2} for a workflow task that references the workflow input and the output of
+ * the previous task, against workflows with an increasing number of tasks already executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParametersResolutionBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int taskCount;
+
+    private ParametersUtils parametersUtils;
+    private Workflow workflow;
+    private WorkflowTask taskToSchedule;
+
+    @Setup
+    public void setup() {
+        parametersUtils = new ParametersUtils(new ObjectMapperProvider().getObjectMapper());
+        SyntheticWorkflow syntheticWorkflow = SyntheticWorkflow.build(Shape.SEQUENTIAL, taskCount);
+        workflow = syntheticWorkflow.getWorkflow();
+        taskToSchedule = syntheticWorkflow.getTaskToSchedule();
+    }
+
+    @Benchmark
+    public Map<String, Object> getTaskInputV2() {
+        return parametersUtils.getTaskInputV2(taskToSchedule, workflow, null, taskToSchedule.getTaskDefinition());
+    }
+}
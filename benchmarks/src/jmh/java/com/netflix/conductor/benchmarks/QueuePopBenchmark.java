@@ -0,0 +1,156 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.mysql.config.MySQLProperties;
+import com.netflix.conductor.mysql.dao.MySQLQueueDAO;
+import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.dao.PostgresQueueDAO;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of concurrent pollers popping from the same queue of the SQL queue DAOs, against databases
+ * started in docker by testcontainers. The number of pollers is set by {@link Threads} and can be changed with the
+ * {@code -t} option of JMH. MySQL 5.7 pops the messages one by one, MySQL 8 and Postgres in a single statement.
+ * <p>
+ * The queue is filled before every iteration, and the {@link PoppedMessages} counters report the messages actually
+ * popped, so that an iteration draining the queue shows up as a drop of popped messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class QueuePopBenchmark {
+
+    private static final String QUEUE_NAME = "pop_benchmark";
+    private static final int PUSH_BATCH_SIZE = 1000;
+
+    @Param({"mysql:5.7", "mysql:8.0", "postgres:12"})
+    private String database;
+
+    @Param({"10"})
+    private int batchSize;
+
+    @Param({"100000"})
+    private int queueDepth;
+
+    private JdbcDatabaseContainer<?> container;
+    private HikariDataSource dataSource;
+    private QueueDAO queueDAO;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+        boolean postgres = database.startsWith("postgres");
+        container = postgres ? new PostgreSQLContainer<>(database) : new MySQLContainer<>(database);
+        container.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setAutoCommit(false);
+        dataSource.setMaximumPoolSize(64);
+
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations(postgres ? "classpath:db/migration_postgres" : "classpath:db/migration")
+            .load()
+            .migrate();
+
+        if (postgres) {
+            PostgresProperties properties = new PostgresProperties();
+            properties.setQueueNotificationsEnabled(false);
+            queueDAO = new PostgresQueueDAO(objectMapper, dataSource, properties);
+        } else {
+            queueDAO = new MySQLQueueDAO(objectMapper, dataSource, new MySQLProperties());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fillQueue() {
+        queueDAO.flush(QUEUE_NAME);
+        List<Message> messages = new ArrayList<>(PUSH_BATCH_SIZE);
+        for (int i = 0; i < queueDepth; i++) {
+            messages.add(new Message("message-" + i, null, null));
+            if (messages.size() == PUSH_BATCH_SIZE) {
+                queueDAO.push(QUEUE_NAME, messages);
+                messages.clear();
+            }
+        }
+        if (!messages.isEmpty()) {
+            queueDAO.push(QUEUE_NAME, messages);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (queueDAO instanceof PostgresQueueDAO) {
+            ((PostgresQueueDAO) queueDAO).close();
+        }
+        dataSource.close();
+        container.stop();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class PoppedMessages {
+
+        public long messages;
+        public long emptyPolls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+            emptyPolls = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<String> pop(PoppedMessages poppedMessages) {
+        List<String> messageIds = queueDAO.pop(QUEUE_NAME, batchSize, 0);
+        poppedMessages.messages += messageIds.size();
+        if (messageIds.isEmpty()) {
+            poppedMessages.emptyPolls++;
+        }
+        return messageIds;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.dao.RedisExecutionDAO;
+import com.netflix.conductor.redis.jedis.JedisMock;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the {@link RedisExecutionDAO} write paths used by a decide, against the in-memory redis mock
+ * with a simulated round trip per command (or per pipeline, when pipelining is enabled).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedisWriteBenchmark {
+
+    @Param({"0", "100"})
+    private long roundTripMicros;
+
+    @Param({"false", "true"})
+    private boolean pipelined;
+
+    @Param({"10", "50"})
+    private int taskCount;
+
+    private RedisExecutionDAO executionDAO;
+    private Workflow workflow;
+    private List<Task> tasks;
+
+    @Setup
+    public void setup() {
+        ConductorProperties properties = new ConductorProperties();
+        RedisProperties redisProperties = new RedisProperties(properties);
+        JedisProxy jedisProxy = new JedisProxy(
+            SimulatedLatencyJedis.wrap(new JedisMock(), TimeUnit.MICROSECONDS.toNanos(roundTripMicros), pipelined));
+        ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+        executionDAO = new RedisExecutionDAO(jedisProxy, objectMapper, new JacksonExecutionDocumentCodec(objectMapper),
+            properties, redisProperties);
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("redis_write_benchmark");
+        workflowDef.setVersion(1);
+        workflow = new Workflow();
+        workflow.setWorkflowId("redis-write-benchmark");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setCreateTime(System.currentTimeMillis());
+        executionDAO.createWorkflow(workflow);
+
+        tasks = newTasks();
+        executionDAO.createTasks(tasks);
+    }
+
+    /**
+     * Clears the scheduled task keys before every invocation of {@link #createTasks(ScheduledTasks)}, so that the same
+     * tasks can be created over and over without the in-memory store growing for the duration of the run.
+     */
+    @State(Scope.Thread)
+    public static class ScheduledTasks {
+
+        @Setup(Level.Invocation)
+        public void reset(RedisWriteBenchmark benchmark) {
+            benchmark.executionDAO.removeFromPendingWorkflow(benchmark.workflow.getWorkflowName(),
+                benchmark.workflow.getWorkflowId());
+        }
+    }
+
+    @Benchmark
+    public List<Task> createTasks(ScheduledTasks scheduledTasks) {
+        return executionDAO.createTasks(tasks);
+    }
+
+    @Benchmark
+    public void updateTasks() {
+        executionDAO.updateTasks(tasks);
+    }
+
+    @Benchmark
+    public String updateWorkflow() {
+        return executionDAO.updateWorkflow(workflow);
+    }
+
+    private List<Task> newTasks() {
+        List<Task> newTasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setTaskId("task-" + i);
+            task.setWorkflowInstanceId(workflow.getWorkflowId());
+            task.setReferenceTaskName("task_" + i);
+            task.setTaskDefName("benchmark_task");
+            task.setTaskType("benchmark_task");
+            task.setStatus(Task.Status.SCHEDULED);
+            newTasks.add(task);
+        }
+        return newTasks;
+    }
+}
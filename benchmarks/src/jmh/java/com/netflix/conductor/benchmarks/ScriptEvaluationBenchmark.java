@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.core.events.ScriptEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.script.ScriptException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link ScriptEvaluator} for a DECISION case expression and a DO_WHILE loop condition,
+ * evaluated concurrently as the decides of different workflows do. The number of threads can be changed with the
+ * {@code -t} option of JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ScriptEvaluationBenchmark {
+
+    private static final String CASE_EXPRESSION =
+        "$.order.amount > 1000 ? 'review' : ($.order.express ? 'express' : 'standard')";
+    private static final String LOOP_CONDITION = "if ($.loop_task['iteration'] < $.limit) { true; } else { false; }";
+
+    private Map<String, Object> decisionInput;
+    private Map<String, Object> loopInput;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> order = new HashMap<>();
+        order.put("amount", 250);
+        order.put("express", true);
+        decisionInput = new HashMap<>();
+        decisionInput.put("order", order);
+
+        Map<String, Object> loopTaskOutput = new HashMap<>();
+        loopTaskOutput.put("iteration", 3);
+        loopInput = new HashMap<>();
+        loopInput.put("loop_task", loopTaskOutput);
+        loopInput.put("limit", 5);
+    }
+
+    @Benchmark
+    public Object decision() throws ScriptException {
+        return ScriptEvaluator.eval(CASE_EXPRESSION, decisionInput, TaskType.TASK_TYPE_DECISION);
+    }
+
+    @Benchmark
+    public Boolean doWhile() throws ScriptException {
+        return ScriptEvaluator.evalBool(LOOP_CONDITION, loopInput, TaskType.TASK_TYPE_DO_WHILE);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.redis.jedis.JedisBatch;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+import com.netflix.conductor.redis.jedis.PipelinedJedisCommands;
+import redis.clients.jedis.commands.JedisCommands;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.function.Consumer;
+
+/**
+ * Wraps a {@link JedisCommands} (typically the in-memory mock) and adds a simulated network round trip to every
+ * command, so that the cost of issuing commands one by one can be compared with sending them in a pipeline.
+ */
+final class SimulatedLatencyJedis {
+
+    private SimulatedLatencyJedis() {
+    }
+
+    /**
+     * @param delegate       the client that executes the commands
+     * @param roundTripNanos the simulated duration of a round trip to redis
+     * @param pipelined      whether the returned client supports {@link PipelinedJedisCommands}, in which case a
+     *                       whole batch costs a single round trip
+     */
+    @SuppressWarnings("unchecked")
+    static JedisCommands wrap(JedisCommands delegate, long roundTripNanos, boolean pipelined) {
+        JedisProxy unpipelined = new JedisProxy(delegate);
+        Class<?>[] interfaces = pipelined
+            ? new Class<?>[]{JedisCommands.class, PipelinedJedisCommands.class}
+            : new Class<?>[]{JedisCommands.class};
+        return (JedisCommands) Proxy.newProxyInstance(SimulatedLatencyJedis.class.getClassLoader(), interfaces,
+            (proxy, method, args) -> {
+                roundTrip(roundTripNanos);
+                if (method.getDeclaringClass() == PipelinedJedisCommands.class) {
+                    unpipelined.executeBatch((Consumer<JedisBatch>) args[0]);
+                    return null;
+                }
+                try {
+                    return method.invoke(delegate, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    private static void roundTrip(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + nanos;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.utils.TaskUtils;
+import com.netflix.conductor.core.utils.IDGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A generated workflow definition together with an in-flight execution of it. Every shape is seeded in a steady
+ * state: all tasks but the last one are completed and already processed by the decider, so that repeated decides
+ * over the same workflow evaluate all of its tasks without changing its state.
+ */
+public class SyntheticWorkflow {
+
+    public enum Shape {
+        /**
+         * A chain of SIMPLE tasks, each one consuming the output of its predecessor.
+         */
+        SEQUENTIAL,
+        /**
+         * A FORK_JOIN with one SIMPLE task per branch, followed by a JOIN on all branches.
+         */
+        FORK_JOIN,
+        /**
+         * A DO_WHILE over a single SIMPLE task, in its last iteration.
+         */
+        DO_WHILE,
+        /**
+         * A FORK_JOIN_DYNAMIC whose branches are provided through the workflow input, followed by a JOIN.
+         */
+        DYNAMIC_FORK
+    }
+
+    static final String TASK_DEF_NAME = "benchmark_task";
+
+    private final WorkflowDef workflowDef;
+    private final TaskDef taskDef;
+    private final Workflow workflow;
+    private final WorkflowTask taskToSchedule;
+    private final Workflow workflowBeforeSchedule;
+
+    private SyntheticWorkflow(WorkflowDef workflowDef, TaskDef taskDef, Workflow workflow,
+        WorkflowTask taskToSchedule, Workflow workflowBeforeSchedule) {
+        this.workflowDef = workflowDef;
+        this.taskDef = taskDef;
+        this.workflow = workflow;
+        this.taskToSchedule = taskToSchedule;
+        this.workflowBeforeSchedule = workflowBeforeSchedule;
+    }
+
+    /**
+     * @param shape     the structure of the workflow
+     * @param taskCount the number of SIMPLE tasks (sequence length, fork branches or loop iterations)
+     */
+    public static SyntheticWorkflow build(Shape shape, int taskCount) {
+        switch (shape) {
+            case SEQUENTIAL:
+                return sequential(taskCount);
+            case FORK_JOIN:
+                return forkJoin(taskCount);
+            case DO_WHILE:
+                return doWhile(taskCount);
+            case DYNAMIC_FORK:
+                return dynamicFork(taskCount);
+            default:
+                throw new IllegalArgumentException("Unsupported shape: " + shape);
+        }
+    }
+
+    public WorkflowDef getWorkflowDef() {
+        return workflowDef;
+    }
+
+    public List<TaskDef> getTaskDefs() {
+        return Collections.singletonList(taskDef);
+    }
+
+    /**
+     * @return the in-flight execution, in steady state
+     */
+    public Workflow getWorkflow() {
+        return workflow;
+    }
+
+    /**
+     * @return the task the decider maps when this shape is (re)scheduled
+     */
+    public WorkflowTask getTaskToSchedule() {
+        return taskToSchedule;
+    }
+
+    /**
+     * @return the execution as it is right before {@link #getTaskToSchedule()} gets mapped
+     */
+    public Workflow getWorkflowBeforeSchedule() {
+        return workflowBeforeSchedule;
+    }
+
+    private static SyntheticWorkflow sequential(int taskCount) {
+        TaskDef taskDef = taskDef();
+        WorkflowDef workflowDef = workflowDef(Shape.SEQUENTIAL, taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            workflowDef.getTasks().add(simpleTask(taskDef, "t_" + i, i == 0 ? null : "t_" + (i - 1)));
+        }
+        Workflow workflow = workflow(workflowDef);
+        for (int i = 0; i < taskCount; i++) {
+            boolean last = i == taskCount - 1;
+            workflow.getTasks().add(task(workflow, workflowDef.getTasks().get(i), TaskType.TASK_TYPE_SIMPLE,
+                "t_" + i, last ? Task.Status.IN_PROGRESS : Task.Status.COMPLETED));
+        }
+
+        Workflow beforeSchedule = workflow.copy();
+        beforeSchedule.getTasks().remove(beforeSchedule.getTasks().size() - 1);
+        return new SyntheticWorkflow(workflowDef, taskDef, workflow, workflowDef.getTasks().get(taskCount - 1),
+            beforeSchedule);
+    }
+
+    private static SyntheticWorkflow forkJoin(int taskCount) {
+        TaskDef taskDef = taskDef();
+        WorkflowDef workflowDef = workflowDef(Shape.FORK_JOIN, taskCount);
+
+        List<List<WorkflowTask>> forkTasks = new ArrayList<>();
+        List<String> joinOn = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            forkTasks.add(Collections.singletonList(simpleTask(taskDef, "t_" + i, null)));
+            joinOn.add("t_" + i);
+        }
+        WorkflowTask fork = new WorkflowTask();
+        fork.setName("fork");
+        fork.setTaskReferenceName("fork");
+        fork.setWorkflowTaskType(TaskType.FORK_JOIN);
+        fork.setForkTasks(forkTasks);
+        WorkflowTask join = join(joinOn);
+        workflowDef.getTasks().add(fork);
+        workflowDef.getTasks().add(join);
+
+        Workflow workflow = workflow(workflowDef);
+        workflow.getTasks().add(task(workflow, fork, TaskType.TASK_TYPE_FORK, "fork", Task.Status.COMPLETED));
+        for (int i = 0; i < taskCount; i++) {
+            boolean last = i == taskCount - 1;
+            workflow.getTasks().add(task(workflow, forkTasks.get(i).get(0), TaskType.TASK_TYPE_SIMPLE, "t_" + i,
+                last ? Task.Status.IN_PROGRESS : Task.Status.COMPLETED));
+        }
+        workflow.getTasks().add(joinTask(workflow, join, joinOn));
+
+        return new SyntheticWorkflow(workflowDef, taskDef, workflow, fork, emptyCopy(workflow));
+    }
+
+    private static SyntheticWorkflow doWhile(int taskCount) {
+        TaskDef taskDef = taskDef();
+        WorkflowDef workflowDef = workflowDef(Shape.DO_WHILE, taskCount);
+
+        WorkflowTask loopOver = simpleTask(taskDef, "t", null);
+        WorkflowTask loop = new WorkflowTask();
+        loop.setName("loop");
+        loop.setTaskReferenceName("loop");
+        loop.setWorkflowTaskType(TaskType.DO_WHILE);
+        loop.setLoopOver(Collections.singletonList(loopOver));
+        loop.setLoopCondition("if ($.loop['iteration'] < " + taskCount + ") { true; } else { false; }");
+        workflowDef.getTasks().add(loop);
+
+        Workflow workflow = workflow(workflowDef);
+        Task loopTask = task(workflow, loop, TaskType.TASK_TYPE_DO_WHILE, "loop", Task.Status.IN_PROGRESS);
+        loopTask.setExecuted(false);
+        loopTask.setIteration(taskCount);
+        workflow.getTasks().add(loopTask);
+        for (int i = 1; i <= taskCount; i++) {
+            boolean last = i == taskCount;
+            Task iteration = task(workflow, loopOver, TaskType.TASK_TYPE_SIMPLE, TaskUtils.appendIteration("t", i),
+                last ? Task.Status.IN_PROGRESS : Task.Status.COMPLETED);
+            iteration.setIteration(i);
+            workflow.getTasks().add(iteration);
+        }
+
+        Workflow beforeSchedule = workflow.copy();
+        beforeSchedule.getTasks().remove(beforeSchedule.getTasks().size() - 1);
+        return new SyntheticWorkflow(workflowDef, taskDef, workflow, loopOver, beforeSchedule);
+    }
+
+    private static SyntheticWorkflow dynamicFork(int taskCount) {
+        TaskDef taskDef = taskDef();
+        WorkflowDef workflowDef = workflowDef(Shape.DYNAMIC_FORK, taskCount);
+
+        WorkflowTask fork = new WorkflowTask();
+        fork.setName("dynamic_fork");
+        fork.setTaskReferenceName("dynamic_fork");
+        fork.setWorkflowTaskType(TaskType.FORK_JOIN_DYNAMIC);
+        fork.setDynamicForkTasksParam("dynamicTasks");
+        fork.setDynamicForkTasksInputParamName("dynamicTasksInput");
+        Map<String, Object> forkInput = new HashMap<>();
+        forkInput.put("dynamicTasks", "${workflow.input.dynamicTasks}");
+        forkInput.put("dynamicTasksInput", "${workflow.input.dynamicTasksInput}");
+        fork.setInputParameters(forkInput);
+        WorkflowTask join = join(new ArrayList<>());
+        workflowDef.getTasks().add(fork);
+        workflowDef.getTasks().add(join);
+
+        List<WorkflowTask> dynamicTasks = new ArrayList<>();
+        Map<String, Object> dynamicTasksInput = new HashMap<>();
+        List<String> joinOn = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            String refName = "d_" + i;
+            dynamicTasks.add(simpleTask(taskDef, refName, null));
+            dynamicTasksInput.put(refName, Collections.singletonMap("index", i));
+            joinOn.add(refName);
+        }
+
+        Workflow workflow = workflow(workflowDef);
+        workflow.getInput().put("dynamicTasks", dynamicTasks);
+        workflow.getInput().put("dynamicTasksInput", dynamicTasksInput);
+        workflow.getTasks().add(task(workflow, fork, TaskType.TASK_TYPE_FORK, "dynamic_fork", Task.Status.COMPLETED));
+        for (int i = 0; i < taskCount; i++) {
+            boolean last = i == taskCount - 1;
+            workflow.getTasks().add(task(workflow, dynamicTasks.get(i), TaskType.TASK_TYPE_SIMPLE, "d_" + i,
+                last ? Task.Status.IN_PROGRESS : Task.Status.COMPLETED));
+        }
+        workflow.getTasks().add(joinTask(workflow, join, joinOn));
+
+        return new SyntheticWorkflow(workflowDef, taskDef, workflow, fork, emptyCopy(workflow));
+    }
+
+    private static TaskDef taskDef() {
+        TaskDef taskDef = new TaskDef(TASK_DEF_NAME);
+        taskDef.setRetryCount(0);
+        taskDef.setTimeoutSeconds(0);
+        taskDef.setOwnerEmail("benchmarks@conductor.netflix.com");
+        return taskDef;
+    }
+
+    private static WorkflowDef workflowDef(Shape shape, int taskCount) {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("benchmark_" + shape.name().toLowerCase() + "_" + taskCount);
+        workflowDef.setVersion(1);
+        workflowDef.setSchemaVersion(2);
+        workflowDef.setOwnerEmail("benchmarks@conductor.netflix.com");
+        workflowDef.setTasks(new ArrayList<>());
+        return workflowDef;
+    }
+
+    private static WorkflowTask simpleTask(TaskDef taskDef, String refName, String previousRefName) {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName(taskDef.getName());
+        workflowTask.setTaskReferenceName(refName);
+        workflowTask.setWorkflowTaskType(TaskType.SIMPLE);
+        workflowTask.setTaskDefinition(taskDef);
+        Map<String, Object> inputParameters = new HashMap<>();
+        inputParameters.put("key", "${workflow.input.key}");
+        inputParameters.put("correlationId", "${workflow.correlationId}");
+        if (previousRefName != null) {
+            inputParameters.put("previous", "${" + previousRefName + ".output.result}");
+            inputParameters.put("previousStatus", "${" + previousRefName + ".status}");
+        }
+        workflowTask.setInputParameters(inputParameters);
+        return workflowTask;
+    }
+
+    private static WorkflowTask join(List<String> joinOn) {
+        WorkflowTask join = new WorkflowTask();
+        join.setName("join");
+        join.setTaskReferenceName("join");
+        join.setWorkflowTaskType(TaskType.JOIN);
+        join.setJoinOn(joinOn);
+        return join;
+    }
+
+    private static Workflow workflow(WorkflowDef workflowDef) {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId(IDGenerator.generate());
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setCorrelationId("benchmark");
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        workflow.setCreateTime(System.currentTimeMillis());
+        workflow.setStartTime(System.currentTimeMillis());
+        workflow.getInput().put("key", "value");
+        return workflow;
+    }
+
+    private static Workflow emptyCopy(Workflow workflow) {
+        Workflow copy = workflow.copy();
+        copy.setTasks(new LinkedList<>());
+        return copy;
+    }
+
+    private static Task joinTask(Workflow workflow, WorkflowTask join, List<String> joinOn) {
+        Task joinTask = task(workflow, join, TaskType.TASK_TYPE_JOIN, "join", Task.Status.IN_PROGRESS);
+        joinTask.setExecuted(false);
+        joinTask.getInputData().put("joinOn", joinOn);
+        return joinTask;
+    }
+
+    private static Task task(Workflow workflow, WorkflowTask workflowTask, String taskType, String refName,
+        Task.Status status) {
+        long now = System.currentTimeMillis();
+        Task task = new Task();
+        task.setTaskId(IDGenerator.generate());
+        task.setTaskType(taskType);
+        task.setTaskDefName(workflowTask.getName());
+        task.setReferenceTaskName(refName);
+        task.setWorkflowInstanceId(workflow.getWorkflowId());
+        task.setWorkflowType(workflow.getWorkflowName());
+        task.setCorrelationId(workflow.getCorrelationId());
+        task.setWorkflowTask(workflowTask);
+        task.setStatus(status);
+        task.setSeq(workflow.getTasks().size() + 1);
+        task.setScheduledTime(now);
+        task.setStartTime(now);
+        task.setUpdateTime(now);
+        task.getInputData().put("key", "value");
+        if (status.isTerminal()) {
+            task.setEndTime(now);
+            task.setExecuted(true);
+            task.getOutputData().put("result", refName);
+        }
+        return task;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.benchmarks.SyntheticWorkflow.Shape;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.execution.DeciderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DeciderService#getTasksToBeScheduled(Workflow, WorkflowTask, int)}, i.e. the resolution of the task
+ * input and the {@link com.netflix.conductor.core.execution.mapper.TaskMapper} invoked for the next task of each shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskMappingBenchmark {
+
+    @Param({"SEQUENTIAL", "FORK_JOIN", "DO_WHILE", "DYNAMIC_FORK"})
+    private Shape shape;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int taskCount;
+
+    private DeciderService deciderService;
+    private Workflow workflow;
+    private WorkflowTask taskToSchedule;
+
+    @Setup
+    public void setup() {
+        InMemoryConductor conductor = new InMemoryConductor();
+        SyntheticWorkflow syntheticWorkflow = SyntheticWorkflow.build(shape, taskCount);
+        conductor.seed(syntheticWorkflow);
+        deciderService = conductor.getDeciderService();
+        workflow = syntheticWorkflow.getWorkflowBeforeSchedule();
+        taskToSchedule = syntheticWorkflow.getTaskToSchedule();
+    }
+
+    @Benchmark
+    public List<Task> getTasksToBeScheduled() {
+        return deciderService.getTasksToBeScheduled(workflow, taskToSchedule, 0);
+    }
+}
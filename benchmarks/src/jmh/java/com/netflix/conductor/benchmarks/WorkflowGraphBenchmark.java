@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.benchmarks;
+
+import com.netflix.conductor.benchmarks.SyntheticWorkflow.Shape;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowGraph;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookups the decider makes on a workflow definition, i.e. the task and the next task of each task
+ * reference name, served by the compiled {@link WorkflowGraph} with the recursive walk of the task tree. Every
+ * operation looks up all the tasks of the definition.
+ * <p>
+ * {@link #compile()} measures the cost paid once per definition instance, e.g. for the definition embedded in every
+ * workflow read from the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WorkflowGraphBenchmark {
+
+    @Param({"SEQUENTIAL", "FORK_JOIN", "DO_WHILE"})
+    private Shape shape;
+
+    @Param({"10", "100", "1000"})
+    private int taskCount;
+
+    private WorkflowDef workflowDef;
+    private String[] refNames;
+
+    @Setup
+    public void setup() {
+        workflowDef = SyntheticWorkflow.build(shape, taskCount).getWorkflowDef();
+        List<WorkflowTask> workflowTasks = workflowDef.collectTasks();
+        refNames = new String[workflowTasks.size()];
+        for (int i = 0; i < refNames.length; i++) {
+            refNames[i] = workflowTasks.get(i).getTaskReferenceName();
+        }
+        // resolve the adjacency before measuring
+        for (String refName : refNames) {
+            workflowDef.getNextTask(refName);
+        }
+    }
+
+    @Benchmark
+    public void graph(Blackhole blackhole) {
+        for (String refName : refNames) {
+            blackhole.consume(workflowDef.getTaskByRefName(refName));
+            blackhole.consume(workflowDef.getNextTask(refName));
+        }
+    }
+
+    @Benchmark
+    public void walk(Blackhole blackhole) {
+        List<WorkflowTask> workflowTasks = workflowDef.getTasks();
+        for (String refName : refNames) {
+            blackhole.consume(workflowDef.collectTasks().stream()
+                .filter(workflowTask -> workflowTask.getTaskReferenceName().equals(refName))
+                .findFirst()
+                .orElse(null));
+            blackhole.consume(WorkflowGraph.walkNextTask(workflowTasks, refName));
+        }
+    }
+
+    @Benchmark
+    public WorkflowGraph compile() {
+        return WorkflowGraph.compile(workflowDef.getTasks());
+    }
+}
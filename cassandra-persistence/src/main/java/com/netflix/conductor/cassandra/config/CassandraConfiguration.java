@@ -21,8 +21,12 @@ import com.netflix.conductor.cassandra.dao.CassandraExecutionDAO;
 import com.netflix.conductor.cassandra.dao.CassandraMetadataDAO;
 import com.netflix.conductor.cassandra.dao.CassandraPollDataDAO;
 import com.netflix.conductor.cassandra.util.Statements;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Compression;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Format;
 import com.netflix.conductor.dao.EventHandlerDAO;
 import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import com.netflix.conductor.dao.MetadataDAO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,8 +75,14 @@ public class CassandraConfiguration {
 
     @Bean
     public ExecutionDAO cassandraExecutionDAO(Session session, ObjectMapper objectMapper,
-        CassandraProperties properties, Statements statements) {
-        return new CassandraExecutionDAO(session, objectMapper, properties, statements);
+        ExecutionDocumentCodec executionDocumentCodec, CassandraProperties properties, Statements statements,
+        ConductorProperties conductorProperties) {
+        if (conductorProperties.getExecutionDocumentFormat() != Format.JSON
+            || conductorProperties.getExecutionDocumentCompression() != Compression.NONE) {
+            LOGGER.warn("The cassandra execution DAO stores the task and workflow documents as JSON text, "
+                + "conductor.app.executionDocumentFormat and conductor.app.executionDocumentCompression are ignored");
+        }
+        return new CassandraExecutionDAO(session, objectMapper, executionDocumentCodec, properties, statements);
     }
 
     @Bean
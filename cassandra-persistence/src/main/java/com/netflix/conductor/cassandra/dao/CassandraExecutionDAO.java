@@ -31,6 +31,7 @@ import com.netflix.conductor.common.utils.RetryUtil;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import com.netflix.conductor.metrics.Monitors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -87,10 +88,12 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
     private final PreparedStatement deleteEventExecutionStatement;
 
     private final int eventExecutionsTTL;
+    private final ExecutionDocumentCodec executionDocumentCodec;
 
-    public CassandraExecutionDAO(Session session, ObjectMapper objectMapper, CassandraProperties properties,
-        Statements statements) {
+    public CassandraExecutionDAO(Session session, ObjectMapper objectMapper,
+        ExecutionDocumentCodec executionDocumentCodec, CassandraProperties properties, Statements statements) {
         super(session, objectMapper, properties);
+        this.executionDocumentCodec = executionDocumentCodec;
 
         eventExecutionsTTL = (int) properties.getEventExecutionPersistenceTtl().getSeconds();
 
@@ -188,7 +191,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
             // update all the tasks in the workflow using batch
             BatchStatement batchStatement = new BatchStatement();
             tasks.forEach(task -> {
-                String taskPayload = toJson(task);
+                String taskPayload = executionDocumentCodec.encode(task);
                 batchStatement.add(insertTaskStatement
                     .bind(UUID.fromString(workflowId), DEFAULT_SHARD_ID, task.getTaskId(), taskPayload));
                 recordCassandraDaoRequests("createTask", task.getTaskType(), task.getWorkflowType());
@@ -218,7 +221,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
     public void updateTask(Task task) {
         try {
             // TODO: calculate the shard number the task belongs to
-            String taskPayload = toJson(task);
+            String taskPayload = executionDocumentCodec.encode(task);
             recordCassandraDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
             recordCassandraDaoPayloadSize("updateTask", taskPayload.length(), task.getTaskType(),
                 task.getWorkflowType());
@@ -297,9 +300,10 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
                 .execute(selectTaskStatement.bind(UUID.fromString(workflowId), DEFAULT_SHARD_ID, taskId));
             return Optional.ofNullable(resultSet.one())
                 .map(row -> {
-                    Task task = readValue(row.getString(PAYLOAD_KEY), Task.class);
+                    String taskPayload = row.getString(PAYLOAD_KEY);
+                    Task task = executionDocumentCodec.decode(taskPayload, Task.class);
                     recordCassandraDaoRequests("getTask", task.getTaskType(), task.getWorkflowType());
-                    recordCassandraDaoPayloadSize("getTask", toJson(task).length(), task.getTaskType(),
+                    recordCassandraDaoPayloadSize("getTask", taskPayload.length(), task.getTaskType(),
                         task.getWorkflowType());
                     return task;
                 })
@@ -346,7 +350,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
         try {
             List<Task> tasks = workflow.getTasks();
             workflow.setTasks(new LinkedList<>());
-            String payload = toJson(workflow);
+            String payload = executionDocumentCodec.encode(workflow);
 
             recordCassandraDaoRequests("createWorkflow", "n/a", workflow.getWorkflowName());
             recordCassandraDaoPayloadSize("createWorkflow", payload.length(), "n/a", workflow.getWorkflowName());
@@ -368,7 +372,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
         try {
             List<Task> tasks = workflow.getTasks();
             workflow.setTasks(new LinkedList<>());
-            String payload = toJson(workflow);
+            String payload = executionDocumentCodec.encode(workflow);
             recordCassandraDaoRequests("updateWorkflow", "n/a", workflow.getWorkflowName());
             recordCassandraDaoPayloadSize("updateWorkflow", payload.length(), "n/a", workflow.getWorkflowName());
             session.execute(updateWorkflowStatement.bind(payload, UUID.fromString(workflow.getWorkflowId())));
@@ -445,9 +449,9 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
                 for (Row row : rows) {
                     String entityKey = row.getString(ENTITY_KEY);
                     if (ENTITY_TYPE_WORKFLOW.equals(entityKey)) {
-                        workflow = readValue(row.getString(PAYLOAD_KEY), Workflow.class);
+                        workflow = executionDocumentCodec.decode(row.getString(PAYLOAD_KEY), Workflow.class);
                     } else if (ENTITY_TYPE_TASK.equals(entityKey)) {
-                        Task task = readValue(row.getString(PAYLOAD_KEY), Task.class);
+                        Task task = executionDocumentCodec.decode(row.getString(PAYLOAD_KEY), Task.class);
                         tasks.add(task);
                     } else {
                         throw new ApplicationException(ApplicationException.Code.INTERNAL_ERROR, String
@@ -465,7 +469,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO implements Execution
                 resultSet = session.execute(selectWorkflowStatement.bind(UUID.fromString(workflowId)));
                 workflow = Optional.ofNullable(resultSet.one())
                     .map(row -> {
-                        Workflow wf = readValue(row.getString(PAYLOAD_KEY), Workflow.class);
+                        Workflow wf = executionDocumentCodec.decode(row.getString(PAYLOAD_KEY), Workflow.class);
                         recordCassandraDaoRequests("getWorkflow", "n/a", wf.getWorkflowName());
                         return wf;
                     })
@@ -29,6 +29,7 @@ import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
 import com.netflix.conductor.core.utils.IDGenerator;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -103,7 +104,8 @@ public class CassandraDAOTest {
         when(properties.getEventExecutionPersistenceTtl()).thenReturn(Duration.ofSeconds(5));
         Statements statements = new Statements(keyspaceName);
         metadataDAO = new CassandraMetadataDAO(session, objectMapper, properties, statements);
-        executionDAO = new CassandraExecutionDAO(session, objectMapper, properties, statements);
+        executionDAO = new CassandraExecutionDAO(session, objectMapper, new JacksonExecutionDocumentCodec(objectMapper),
+            properties, statements);
         eventHandlerDAO = new CassandraEventHandlerDAO(session, objectMapper, properties, statements);
     }
 
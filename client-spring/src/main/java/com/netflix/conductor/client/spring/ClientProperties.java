@@ -33,6 +33,16 @@ public class ClientProperties {
 
     private Map<String, String> taskToDomain = new HashMap<>();
 
+    private int prefetchCount = 0;
+
+    private Duration batchPollTimeout = Duration.ofMillis(100);
+
+    private int resultSenderThreadCount = 0;
+
+    private int resultQueueSize = 1000;
+
+    private int resultBatchSize = 1;
+
     public String getRootUri() {
         return rootUri;
     }
@@ -80,4 +90,44 @@ public class ClientProperties {
     public void setTaskToDomain(Map<String, String> taskToDomain) {
         this.taskToDomain = taskToDomain;
     }
+
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    public void setPrefetchCount(int prefetchCount) {
+        this.prefetchCount = prefetchCount;
+    }
+
+    public Duration getBatchPollTimeout() {
+        return batchPollTimeout;
+    }
+
+    public void setBatchPollTimeout(Duration batchPollTimeout) {
+        this.batchPollTimeout = batchPollTimeout;
+    }
+
+    public int getResultSenderThreadCount() {
+        return resultSenderThreadCount;
+    }
+
+    public void setResultSenderThreadCount(int resultSenderThreadCount) {
+        this.resultSenderThreadCount = resultSenderThreadCount;
+    }
+
+    public int getResultQueueSize() {
+        return resultQueueSize;
+    }
+
+    public void setResultQueueSize(int resultQueueSize) {
+        this.resultQueueSize = resultQueueSize;
+    }
+
+    public int getResultBatchSize() {
+        return resultBatchSize;
+    }
+
+    public void setResultBatchSize(int resultBatchSize) {
+        this.resultBatchSize = resultBatchSize;
+    }
 }
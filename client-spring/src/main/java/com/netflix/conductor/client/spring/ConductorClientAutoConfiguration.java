@@ -58,6 +58,11 @@ public class ConductorClientAutoConfiguration {
                 .withSleepWhenRetry((int)clientProperties.getSleepWhenRetryDuration().toMillis())
                 .withUpdateRetryCount(clientProperties.getUpdateRetryCount())
                 .withTaskToDomain(clientProperties.getTaskToDomain())
+                .withPrefetchCount(clientProperties.getPrefetchCount())
+                .withBatchPollTimeoutInMillis((int)clientProperties.getBatchPollTimeout().toMillis())
+                .withResultSenderThreadCount(clientProperties.getResultSenderThreadCount())
+                .withResultQueueSize(clientProperties.getResultQueueSize())
+                .withResultBatchSize(clientProperties.getResultBatchSize())
                 .withEurekaClient(eurekaClient)
                 .build();
     }
@@ -41,6 +41,25 @@ class PollingSemaphore {
         return acquired;
     }
 
+    /**
+     * Acquires as many of the available permits as possible, up to the given number.
+     *
+     * @return the number of permits acquired
+     */
+    int acquireSlots(int maxSlots) {
+        for (; ; ) {
+            int slots = Math.min(semaphore.availablePermits(), maxSlots);
+            if (slots <= 0) {
+                LOGGER.debug("No permit available");
+                return 0;
+            }
+            if (semaphore.tryAcquire(slots)) {
+                LOGGER.debug("Acquired {} permits", slots);
+                return slots;
+            }
+        }
+    }
+
     /**
      * Signals that processing is complete and the permit can be released.
      */
@@ -49,6 +68,16 @@ class PollingSemaphore {
         semaphore.release();
     }
 
+    /**
+     * Releases the given number of permits, which were acquired but not used for processing.
+     */
+    void complete(int numSlots) {
+        if (numSlots > 0) {
+            LOGGER.debug("Releasing {} unused permits", numSlots);
+            semaphore.release(numSlots);
+        }
+    }
+
     /**
      * Gets the number of threads available for processing.
      *
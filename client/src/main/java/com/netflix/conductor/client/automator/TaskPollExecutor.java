@@ -29,10 +29,14 @@ import org.slf4j.LoggerFactory;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -50,18 +54,43 @@ class TaskPollExecutor {
     private final ExecutorService executorService;
     private final PollingSemaphore pollingSemaphore;
     private final Map<String/*taskType*/, String/*domain*/> taskToDomain;
+    private final int maxSlotsPerPoll;
+    private final int prefetchCount;
+    private final int batchPollTimeoutInMillis;
+    private final Map<String/*taskType*/, BlockingQueue<Task>> prefetchedTasks = new ConcurrentHashMap<>();
+    private final TaskResultSender taskResultSender;
 
     private static final String DOMAIN = "domain";
     private static final String ALL_WORKERS = "all";
 
     TaskPollExecutor(EurekaClient eurekaClient, TaskClient taskClient, int threadCount, int updateRetryCount,
         Map<String, String> taskToDomain, String workerNamePrefix) {
+        this(eurekaClient, taskClient, threadCount, 1, updateRetryCount, taskToDomain, workerNamePrefix, 0, 0, null);
+    }
+
+    /**
+     * @param workerCount      the number of workers sharing the threads, a batch poll takes at most an even share of
+     *                         the threads so that the long poll of a worker does not starve the others
+     * @param prefetchCount    the number of tasks of each type to be polled ahead of the free threads, see {@link
+     *                         TaskRunnerConfigurer.Builder#withPrefetchCount(int)}
+     * @param taskResultSender sends the results of the tasks asynchronously, or null for the worker threads to send
+     *                         them
+     */
+    TaskPollExecutor(EurekaClient eurekaClient, TaskClient taskClient, int threadCount, int workerCount,
+        int updateRetryCount, Map<String, String> taskToDomain, String workerNamePrefix, int prefetchCount,
+        int batchPollTimeoutInMillis, TaskResultSender taskResultSender) {
         this.eurekaClient = eurekaClient;
         this.taskClient = taskClient;
         this.updateRetryCount = updateRetryCount;
         this.taskToDomain = taskToDomain;
+        int workers = Math.max(workerCount, 1);
+        this.maxSlotsPerPoll = (threadCount + workers - 1) / workers;
+        this.prefetchCount = prefetchCount;
+        this.batchPollTimeoutInMillis = batchPollTimeoutInMillis;
+        this.taskResultSender = taskResultSender;
 
-        LOGGER.info("Initialized the TaskPollExecutor with {} threads", threadCount);
+        LOGGER.info("Initialized the TaskPollExecutor with {} threads and a prefetch count of {}", threadCount,
+            prefetchCount);
 
         this.executorService = Executors.newFixedThreadPool(threadCount,
             new BasicThreadFactory.Builder()
@@ -84,6 +113,11 @@ class TaskPollExecutor {
             return;
         }
 
+        if (prefetchCount > 0) {
+            batchPollAndExecute(worker);
+            return;
+        }
+
         Task task;
         try {
             if (!pollingSemaphore.canPoll()) {
@@ -91,9 +125,7 @@ class TaskPollExecutor {
             }
 
             String taskType = worker.getTaskDefName();
-            String domain = Optional.ofNullable(PropertyFactory.getString(taskType, DOMAIN, null))
-                .orElseGet(() -> Optional.ofNullable(PropertyFactory.getString(ALL_WORKERS, DOMAIN, null))
-                    .orElse(taskToDomain.get(taskType)));
+            String domain = getDomain(taskType);
 
             LOGGER.debug("Polling task of type: {} in domain: '{}'", taskType, domain);
             task = MetricsContainer.getPollTimer(taskType)
@@ -104,10 +136,7 @@ class TaskPollExecutor {
                 LOGGER.debug("Polled task: {} of type: {} in domain: '{}', from worker: {}",
                     task.getTaskId(), taskType, domain, worker.getIdentity());
 
-                CompletableFuture<Task> taskCompletableFuture = CompletableFuture.supplyAsync(() ->
-                    processTask(task, worker), executorService);
-
-                taskCompletableFuture.whenComplete(this::finalizeTask);
+                execute(task, worker);
             } else {
                 // no task was returned in the poll, release the permit
                 pollingSemaphore.complete();
@@ -120,8 +149,96 @@ class TaskPollExecutor {
         }
     }
 
+    /**
+     * Takes as many tasks as there are free threads, up to the share of the worker, from the tasks prefetched for the
+     * worker, and polls the missing ones in a batch along with enough tasks to fill the prefetch buffer again. The
+     * buffer is only refilled when it runs short, so that a busy worker is fed without a poll for every task.
+     */
+    private void batchPollAndExecute(Worker worker) {
+        int slots = pollingSemaphore.acquireSlots(maxSlotsPerPoll);
+        if (slots == 0) {
+            return;
+        }
+
+        String taskType = worker.getTaskDefName();
+        BlockingQueue<Task> buffer = prefetchedTasks.computeIfAbsent(taskType,
+            type -> new ArrayBlockingQueue<>(prefetchCount));
+        int dispatched = 0;
+        try {
+            Task task;
+            while (dispatched < slots && (task = buffer.poll()) != null) {
+                execute(task, worker);
+                dispatched++;
+            }
+            if (dispatched == slots) {
+                return;
+            }
+
+            String domain = getDomain(taskType);
+            int count = slots - dispatched + buffer.remainingCapacity();
+            LOGGER.debug("Batch polling {} tasks of type: {} in domain: '{}'", count, taskType, domain);
+            List<Task> tasks = MetricsContainer.getPollTimer(taskType)
+                .record(() -> taskClient.batchPollTasksInDomain(taskType, domain, worker.getIdentity(), count,
+                    batchPollTimeoutInMillis));
+            if (tasks == null) {
+                return;
+            }
+
+            for (Task polledTask : tasks) {
+                if (Objects.isNull(polledTask) || StringUtils.isBlank(polledTask.getTaskId())) {
+                    continue;
+                }
+                MetricsContainer.incrementTaskPollCount(taskType, 1);
+                LOGGER.debug("Polled task: {} of type: {} in domain: '{}', from worker: {}",
+                    polledTask.getTaskId(), taskType, domain, worker.getIdentity());
+                if (dispatched < slots) {
+                    execute(polledTask, worker);
+                    dispatched++;
+                } else if (!buffer.offer(polledTask)) {
+                    LOGGER.warn("Prefetch buffer of task type: {} is full, task: {} will be retried after it times out",
+                        taskType, polledTask.getTaskId());
+                }
+            }
+        } catch (Exception e) {
+            MetricsContainer.incrementTaskPollErrorCount(taskType, e);
+            LOGGER.error("Error when polling for tasks", e);
+        } finally {
+            // release the permits of the threads which were not given a task
+            pollingSemaphore.complete(slots - dispatched);
+        }
+    }
+
+    private String getDomain(String taskType) {
+        return Optional.ofNullable(PropertyFactory.getString(taskType, DOMAIN, null))
+            .orElseGet(() -> Optional.ofNullable(PropertyFactory.getString(ALL_WORKERS, DOMAIN, null))
+                .orElse(taskToDomain.get(taskType)));
+    }
+
+    private void execute(Task task, Worker worker) {
+        CompletableFuture<Task> taskCompletableFuture = CompletableFuture.supplyAsync(() ->
+            processTask(task, worker), executorService);
+
+        taskCompletableFuture.whenComplete(this::finalizeTask);
+    }
+
     void shutdown() {
+        prefetchedTasks.forEach((taskType, buffer) -> {
+            if (!buffer.isEmpty()) {
+                LOGGER.warn("Discarding {} prefetched tasks of type: {}, they will be retried after they time out",
+                    buffer.size(), taskType);
+            }
+        });
         shutdownExecutorService(executorService);
+        shutdownTaskResultSender();
+    }
+
+    /**
+     * Sends the results queued for the server, if they are sent asynchronously, and stops the senders.
+     */
+    void shutdownTaskResultSender() {
+        if (taskResultSender != null) {
+            taskResultSender.shutdown();
+        }
     }
 
     void shutdownExecutorService(ExecutorService executorService) {
@@ -202,6 +319,10 @@ class TaskPollExecutor {
     }
 
     private void updateWithRetry(int count, Task task, TaskResult result, Worker worker) {
+        if (taskResultSender != null) {
+            taskResultSender.send(task, result, worker);
+            return;
+        }
         try {
             String updateTaskDesc = String
                 .format("Retry updating task result: %s for task: %s in worker: %s", result.toString(),
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.automator;
+
+import com.google.common.base.Throwables;
+import com.netflix.conductor.client.exception.ConductorClientException;
+import com.netflix.conductor.client.http.TaskClient;
+import com.netflix.conductor.client.telemetry.MetricsContainer;
+import com.netflix.conductor.client.worker.Worker;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.utils.RetryUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the results of the executed tasks to the server from a pool of sender threads, so that the worker threads do
+ * not wait for the server to pick up their next task.
+ * <p>
+ * The results are held in a bounded queue, and the worker threads block when it is full until the senders catch up.
+ * When the batch size is greater than 1, the results queued at once are sent together with {@link
+ * TaskClient#updateTasks(List)}, and one by one if the server does not support it. The results the server failed to
+ * apply are sent again one by one, and the worker threads send their results themselves once the senders are stopped.
+ */
+class TaskResultSender {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskResultSender.class);
+
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final int OFFER_TIMEOUT_MS = 100;
+
+    private final TaskClient taskClient;
+    private final int updateRetryCount;
+    private final int batchSize;
+    private final BlockingQueue<PendingResult> pendingResults;
+    private final ExecutorService senderExecutorService;
+
+    private volatile boolean running = true;
+    private volatile boolean batchUpdateSupported = true;
+
+    TaskResultSender(TaskClient taskClient, int threadCount, int queueSize, int batchSize, int updateRetryCount) {
+        this.taskClient = taskClient;
+        this.updateRetryCount = updateRetryCount;
+        this.batchSize = batchSize;
+        this.pendingResults = new ArrayBlockingQueue<>(queueSize);
+        this.senderExecutorService = Executors.newFixedThreadPool(threadCount,
+            new BasicThreadFactory.Builder()
+                .namingPattern("task-result-sender-%d")
+                .daemon(true)
+                .build());
+        for (int i = 0; i < threadCount; i++) {
+            senderExecutorService.submit(this::sendPendingResults);
+        }
+
+        LOGGER.info("Initialized the TaskResultSender with {} threads, a queue of {} results and a batch size of {}",
+            threadCount, queueSize, batchSize);
+    }
+
+    /**
+     * Queues the result of the given task to be sent, waiting for room in the queue if needed.
+     */
+    void send(Task task, TaskResult result, Worker worker) {
+        PendingResult pendingResult = new PendingResult(task, result, worker);
+        try {
+            while (running) {
+                if (pendingResults.offer(pendingResult, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    // the senders may have stopped after the result was queued
+                    if (running || !pendingResults.remove(pendingResult)) {
+                        return;
+                    }
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onUpdateError(pendingResult, e);
+            return;
+        }
+        // the senders are stopped, the result is sent by the calling thread
+        send(pendingResult);
+    }
+
+    /**
+     * Stops the senders once the queued results are sent, waiting for them for a bounded time.
+     */
+    void shutdown() {
+        running = false;
+        senderExecutorService.shutdown();
+        try {
+            if (!senderExecutorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Forcing shutdown with {} task results not sent after waiting for {} seconds",
+                    pendingResults.size(), SHUTDOWN_TIMEOUT_SECONDS);
+                senderExecutorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.warn("Shutdown interrupted, {} task results not sent", pendingResults.size());
+            senderExecutorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendPendingResults() {
+        List<PendingResult> batch = new ArrayList<>(batchSize);
+        while (running || !pendingResults.isEmpty()) {
+            try {
+                PendingResult pendingResult = pendingResults.poll(100, TimeUnit.MILLISECONDS);
+                if (pendingResult == null) {
+                    continue;
+                }
+                batch.add(pendingResult);
+                pendingResults.drainTo(batch, batchSize - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                LOGGER.error("Error sending task results", t);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<PendingResult> batch) {
+        List<PendingResult> evaluated = new ArrayList<>(batch.size());
+        for (PendingResult pendingResult : batch) {
+            try {
+                pendingResult.finalResult = evaluateAndUploadLargePayload(pendingResult);
+                evaluated.add(pendingResult);
+            } catch (Exception e) {
+                onUpdateError(pendingResult, e);
+            }
+        }
+
+        if (evaluated.size() > 1 && batchUpdateSupported) {
+            try {
+                BulkResponse bulkResponse = updateTasksWithRetry(evaluated);
+                Map<String, String> errors = bulkResponse != null ? bulkResponse.getBulkErrorResults() : null;
+                if (errors == null || errors.isEmpty()) {
+                    return;
+                }
+                // only the results the server failed to apply are sent again
+                evaluated.stream()
+                    .filter(pendingResult -> errors.containsKey(pendingResult.finalResult.getTaskId()))
+                    .forEach(pendingResult -> {
+                        LOGGER.warn("Failed to update task result: {} in a batch: {}, sending it again",
+                            pendingResult.finalResult.getTaskId(), errors.get(pendingResult.finalResult.getTaskId()));
+                        updateTaskWithRetry(pendingResult);
+                    });
+                return;
+            } catch (Exception e) {
+                if (isBatchUpdateUnsupported(e)) {
+                    batchUpdateSupported = false;
+                    LOGGER.warn("The server does not support batch task updates, the results will be sent one by one");
+                } else {
+                    LOGGER.warn("Failed to update {} task results at once, sending them one by one", evaluated.size(),
+                        e);
+                }
+            }
+        }
+        evaluated.forEach(this::updateTaskWithRetry);
+    }
+
+    private void send(PendingResult pendingResult) {
+        try {
+            pendingResult.finalResult = evaluateAndUploadLargePayload(pendingResult);
+        } catch (Exception e) {
+            onUpdateError(pendingResult, e);
+            return;
+        }
+        updateTaskWithRetry(pendingResult);
+    }
+
+    private TaskResult evaluateAndUploadLargePayload(PendingResult pendingResult) {
+        String evaluatePayloadDesc = String.format("Evaluate Task payload for task: %s in worker: %s",
+            pendingResult.task.getTaskDefName(), pendingResult.worker.getIdentity());
+        return new RetryUtil<TaskResult>().retryOnException(() ->
+        {
+            TaskResult taskResult = pendingResult.result.copy();
+            taskClient.evaluateAndUploadLargePayload(taskResult, pendingResult.task.getTaskType());
+            return taskResult;
+        }, null, null, updateRetryCount, evaluatePayloadDesc, "evaluateAndUploadLargePayload");
+    }
+
+    private void updateTaskWithRetry(PendingResult pendingResult) {
+        String updateTaskDesc = String.format("Retry updating task result: %s for task: %s in worker: %s",
+            pendingResult.result, pendingResult.task.getTaskDefName(), pendingResult.worker.getIdentity());
+        try {
+            new RetryUtil<>().retryOnException(() ->
+            {
+                taskClient.updateTask(pendingResult.finalResult);
+                return null;
+            }, null, null, updateRetryCount, updateTaskDesc, "updateTaskWithRetry");
+        } catch (Exception e) {
+            onUpdateError(pendingResult, e);
+        }
+    }
+
+    private BulkResponse updateTasksWithRetry(List<PendingResult> batch) {
+        List<TaskResult> taskResults = batch.stream()
+            .map(pendingResult -> pendingResult.finalResult)
+            .collect(Collectors.toList());
+        String updateTasksDesc = String.format("Retry updating %d task results", taskResults.size());
+        return new RetryUtil<BulkResponse>().retryOnException(() -> taskClient.updateTasks(taskResults),
+            throwable -> !isBatchUpdateUnsupported(throwable), null, updateRetryCount, updateTasksDesc,
+            "updateTasksWithRetry");
+    }
+
+    /**
+     * The batch update is unsupported if its route is not allowed, or not found. The errors raised by the server for a
+     * route it serves identify the server instance, unlike those of a missing route.
+     */
+    private boolean isBatchUpdateUnsupported(Throwable throwable) {
+        return Throwables.getCausalChain(throwable).stream()
+            .filter(ConductorClientException.class::isInstance)
+            .map(ConductorClientException.class::cast)
+            .anyMatch(e -> e.getStatus() == 405 || e.getStatus() == 404 && StringUtils.isBlank(e.getInstance()));
+    }
+
+    private void onUpdateError(PendingResult pendingResult, Throwable t) {
+        pendingResult.worker.onErrorUpdate(pendingResult.task);
+        MetricsContainer.incrementTaskUpdateErrorCount(pendingResult.worker.getTaskDefName(), t);
+        LOGGER.error(String.format("Failed to update result: %s for task: %s in worker: %s", pendingResult.result,
+            pendingResult.task.getTaskDefName(), pendingResult.worker.getIdentity()), t);
+    }
+
+    private static class PendingResult {
+
+        private final Task task;
+        private final TaskResult result;
+        private final Worker worker;
+        private TaskResult finalResult;
+
+        private PendingResult(Task task, TaskResult result, Worker worker) {
+            this.task = task;
+            this.result = result;
+            this.worker = worker;
+        }
+    }
+}
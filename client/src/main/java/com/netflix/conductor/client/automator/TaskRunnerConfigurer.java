@@ -40,6 +40,11 @@ public class TaskRunnerConfigurer {
     private final int threadCount;
     private final String workerNamePrefix;
     private final Map<String/*taskType*/, String/*domain*/> taskToDomain;
+    private final int prefetchCount;
+    private final int batchPollTimeoutInMillis;
+    private final int resultSenderThreadCount;
+    private final int resultQueueSize;
+    private final int resultBatchSize;
 
     private TaskPollExecutor taskPollExecutor;
 
@@ -54,6 +59,11 @@ public class TaskRunnerConfigurer {
         this.updateRetryCount = builder.updateRetryCount;
         this.workerNamePrefix = builder.workerNamePrefix;
         this.taskToDomain = builder.taskToDomain;
+        this.prefetchCount = builder.prefetchCount;
+        this.batchPollTimeoutInMillis = builder.batchPollTimeoutInMillis;
+        this.resultSenderThreadCount = builder.resultSenderThreadCount;
+        this.resultQueueSize = builder.resultQueueSize;
+        this.resultBatchSize = builder.resultBatchSize;
         builder.workers.forEach(workers::add);
         this.threadCount = (builder.threadCount == -1) ? workers.size() : builder.threadCount;
     }
@@ -67,6 +77,11 @@ public class TaskRunnerConfigurer {
         private int sleepWhenRetry = 500;
         private int updateRetryCount = 3;
         private int threadCount = -1;
+        private int prefetchCount = 0;
+        private int batchPollTimeoutInMillis = 100;
+        private int resultSenderThreadCount = 0;
+        private int resultQueueSize = 1000;
+        private int resultBatchSize = 1;
         private final Iterable<Worker> workers;
         private EurekaClient eurekaClient;
         private final TaskClient taskClient;
@@ -137,6 +152,79 @@ public class TaskRunnerConfigurer {
             return this;
         }
 
+        /**
+         * @param prefetchCount number of tasks of each type to be polled ahead of the free threads. When positive, the
+         *                      tasks are polled in batches for all the free threads at once, and the tasks polled
+         *                      ahead are held in a buffer of this size to feed the threads as they become free,
+         *                      without polling the server each time. Defaults to 0, polling one task at a time.
+         *                      <p>
+         *                      The tasks in the buffer are in progress on the server, so they should be executed well
+         *                      within their response timeout. They are retried once it elapses if the worker stops.
+         * @return Builder instance
+         */
+        public Builder withPrefetchCount(int prefetchCount) {
+            if (prefetchCount < 0) {
+                throw new IllegalArgumentException("Prefetch count cannot be negative");
+            }
+            this.prefetchCount = prefetchCount;
+            return this;
+        }
+
+        /**
+         * @param batchPollTimeoutInMillis time in milliseconds for which the server waits for tasks to be available
+         *                                 when polling in batches, defaults to 100.
+         * @return Builder instance
+         * @see #withPrefetchCount(int)
+         */
+        public Builder withBatchPollTimeoutInMillis(int batchPollTimeoutInMillis) {
+            this.batchPollTimeoutInMillis = batchPollTimeoutInMillis;
+            return this;
+        }
+
+        /**
+         * @param resultSenderThreadCount number of threads sending the results of the tasks to the server. When
+         *                                positive, the worker threads queue the results for these threads and move on
+         *                                to their next task, instead of sending them. Defaults to 0, the worker
+         *                                threads sending the results.
+         * @return Builder instance
+         */
+        public Builder withResultSenderThreadCount(int resultSenderThreadCount) {
+            if (resultSenderThreadCount < 0) {
+                throw new IllegalArgumentException("No. of result sender threads cannot be negative");
+            }
+            this.resultSenderThreadCount = resultSenderThreadCount;
+            return this;
+        }
+
+        /**
+         * @param resultQueueSize maximum number of results waiting for the result sender threads. The worker threads
+         *                        wait for room in the queue when it is full. Defaults to 1000.
+         * @return Builder instance
+         * @see #withResultSenderThreadCount(int)
+         */
+        public Builder withResultQueueSize(int resultQueueSize) {
+            if (resultQueueSize < 1) {
+                throw new IllegalArgumentException("Result queue size cannot be less than 1");
+            }
+            this.resultQueueSize = resultQueueSize;
+            return this;
+        }
+
+        /**
+         * @param resultBatchSize maximum number of results sent by a result sender thread in a single call, with
+         *                        {@link TaskClient#updateTasks(List)}. Results are sent one by one to servers which
+         *                        do not support it. Defaults to 1.
+         * @return Builder instance
+         * @see #withResultSenderThreadCount(int)
+         */
+        public Builder withResultBatchSize(int resultBatchSize) {
+            if (resultBatchSize < 1) {
+                throw new IllegalArgumentException("Result batch size cannot be less than 1");
+            }
+            this.resultBatchSize = resultBatchSize;
+            return this;
+        }
+
         /**
          * Builds an instance of the TaskRunnerConfigurer.
          * <p>
@@ -177,12 +265,52 @@ public class TaskRunnerConfigurer {
         return workerNamePrefix;
     }
 
+    /**
+     * @return number of tasks of each type polled ahead of the free threads
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * @return time in milliseconds for which the server waits for tasks when polling in batches
+     */
+    public int getBatchPollTimeoutInMillis() {
+        return batchPollTimeoutInMillis;
+    }
+
+    /**
+     * @return number of threads sending the results of the tasks, 0 when the worker threads send them
+     */
+    public int getResultSenderThreadCount() {
+        return resultSenderThreadCount;
+    }
+
+    /**
+     * @return maximum number of results waiting for the result sender threads
+     */
+    public int getResultQueueSize() {
+        return resultQueueSize;
+    }
+
+    /**
+     * @return maximum number of results sent in a single call
+     */
+    public int getResultBatchSize() {
+        return resultBatchSize;
+    }
+
     /**
      * Starts the polling. Must be called after {@link TaskRunnerConfigurer.Builder#build()} method.
      */
     public synchronized void init() {
-        this.taskPollExecutor = new TaskPollExecutor(eurekaClient, taskClient, threadCount,
-            updateRetryCount, taskToDomain, workerNamePrefix);
+        TaskResultSender taskResultSender = resultSenderThreadCount > 0
+            ? new TaskResultSender(taskClient, resultSenderThreadCount, resultQueueSize, resultBatchSize,
+            updateRetryCount)
+            : null;
+        this.taskPollExecutor = new TaskPollExecutor(eurekaClient, taskClient, threadCount, workers.size(),
+            updateRetryCount, taskToDomain, workerNamePrefix, prefetchCount, batchPollTimeoutInMillis,
+            taskResultSender);
 
         this.scheduledExecutorService = Executors.newScheduledThreadPool(workers.size());
         workers.forEach(
@@ -196,5 +324,6 @@ public class TaskRunnerConfigurer {
      */
     public void shutdown() {
         taskPollExecutor.shutdownExecutorService(scheduledExecutorService);
+        taskPollExecutor.shutdownTaskResultSender();
     }
 }
@@ -21,6 +21,7 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
@@ -213,6 +214,22 @@ public class TaskClient extends ClientBase {
         postForEntityWithRequestOnly("tasks", taskResult);
     }
 
+    /**
+     * Updates the results of a batch of task executions with a single request. The results of the tasks of a workflow
+     * are applied together and the workflow is evaluated once. Large task outputs should be handled with {@link
+     * #evaluateAndUploadLargePayload(TaskResult, String)} beforehand, as for {@link #updateTask(TaskResult)}.
+     *
+     * @param taskResults the {@link TaskResult}s of the executed tasks to be updated.
+     * @return the {@link BulkResponse} containing the ids of the tasks whose result was applied, or ignored as they or
+     * their workflow had already finished, in bulkSuccessfulResults and the errors of the other results by task id in
+     * bulkErrorResults
+     */
+    public BulkResponse updateTasks(List<TaskResult> taskResults) {
+        Preconditions.checkArgument(taskResults != null && !taskResults.isEmpty(),
+            "Task results cannot be null or empty");
+        return postForEntity("tasks/batch", taskResults, null, BulkResponse.class);
+    }
+
     public void evaluateAndUploadLargePayload(TaskResult taskResult, String taskType) {
         Preconditions.checkNotNull(taskResult, "Task result cannot be null");
         Preconditions.checkArgument(StringUtils.isBlank(taskResult.getExternalOutputPayloadStoragePath()),
@@ -70,4 +70,16 @@ public class PollingSemaphoreTest {
 
         executorService.shutdown();
     }
+
+    @Test
+    public void testAcquireAvailableSlots() {
+        PollingSemaphore pollingSemaphore = new PollingSemaphore(5);
+
+        assertEquals(3, pollingSemaphore.acquireSlots(3));
+        assertEquals(2, pollingSemaphore.acquireSlots(3));
+        assertEquals(0, pollingSemaphore.acquireSlots(3));
+
+        pollingSemaphore.complete(4);
+        assertEquals(4, pollingSemaphore.availableThreads());
+    }
 }
@@ -23,19 +23,27 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.netflix.conductor.common.metadata.tasks.TaskResult.Status.IN_PROGRESS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -258,6 +266,59 @@ public class TaskPollExecutorTest {
         verify(taskClient).pollTask(TEST_TASK_DEF_NAME, workerName, testDomain);
     }
 
+    @Test
+    public void testPrefetchedTasksExecution() {
+        Worker worker = Worker.create(TEST_TASK_DEF_NAME, TaskResult::new);
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        TaskPollExecutor taskPollExecutor = new TaskPollExecutor(null, taskClient, 1, 1, 1, new HashMap<>(),
+            "test-worker-%d", 2, 100, null);
+
+        CountDownLatch latch = new CountDownLatch(3);
+        AtomicInteger polls = new AtomicInteger();
+        AtomicBoolean polledBeforeBufferDrained = new AtomicBoolean();
+        when(taskClient.batchPollTasksInDomain(eq(TEST_TASK_DEF_NAME), any(), any(), anyInt(), eq(100)))
+            .thenAnswer(invocation -> {
+                if (polls.getAndIncrement() == 0) {
+                    // one task for the free thread, two for the buffer
+                    assertEquals(3, (int) invocation.getArgument(3));
+                    return Arrays.asList(testTask(), testTask(), testTask());
+                }
+                if (latch.getCount() > 0) {
+                    polledBeforeBufferDrained.set(true);
+                }
+                return Collections.emptyList();
+            });
+        doAnswer(invocation -> {
+            latch.countDown();
+            return null;
+        }).when(taskClient).updateTask(any());
+
+        Executors.newSingleThreadScheduledExecutor()
+            .scheduleAtFixedRate(() -> taskPollExecutor.pollAndExecute(worker), 0, 10, TimeUnit.MILLISECONDS);
+        Uninterruptibles.awaitUninterruptibly(latch);
+
+        // the prefetched tasks are executed without polling the server again
+        assertFalse(polledBeforeBufferDrained.get());
+        verify(taskClient, times(3)).updateTask(any());
+        verify(taskClient, never()).pollTask(any(), any(), any());
+    }
+
+    @Test
+    public void testBatchPollTakesTheShareOfTheWorker() {
+        Worker worker = Worker.create(TEST_TASK_DEF_NAME, TaskResult::new);
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        // 4 threads shared by 2 workers
+        TaskPollExecutor taskPollExecutor = new TaskPollExecutor(null, taskClient, 4, 2, 1, new HashMap<>(),
+            "test-worker-%d", 1, 100, null);
+        when(taskClient.batchPollTasksInDomain(any(), any(), any(), anyInt(), anyInt()))
+            .thenReturn(Collections.emptyList());
+
+        taskPollExecutor.pollAndExecute(worker);
+
+        // two tasks for the share of the worker, one for the buffer
+        verify(taskClient).batchPollTasksInDomain(eq(TEST_TASK_DEF_NAME), any(), any(), eq(3), eq(100));
+    }
+
     private Task testTask() {
         Task task = new Task();
         task.setTaskId(UUID.randomUUID().toString());
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.automator;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.netflix.conductor.client.exception.ConductorClientException;
+import com.netflix.conductor.client.http.TaskClient;
+import com.netflix.conductor.client.worker.Worker;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.validation.ErrorResponse;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TaskResultSenderTest {
+
+    private static final String TEST_TASK_DEF_NAME = "test";
+
+    private final TaskClient taskClient = mock(TaskClient.class);
+    private final Worker worker = Worker.create(TEST_TASK_DEF_NAME, TaskResult::new);
+    private TaskResultSender taskResultSender;
+
+    @After
+    public void tearDown() {
+        taskResultSender.shutdown();
+    }
+
+    @Test
+    public void testResultsAreSentInBatches() {
+        List<Integer> sentBatchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch firstSent = new CountDownLatch(1);
+        CountDownLatch resultsQueued = new CountDownLatch(1);
+        CountDownLatch allSent = new CountDownLatch(5);
+        doAnswer(invocation -> {
+            sentBatchSizes.add(1);
+            firstSent.countDown();
+            // holds the sender while the other results are queued
+            Uninterruptibles.awaitUninterruptibly(resultsQueued);
+            allSent.countDown();
+            return null;
+        }).when(taskClient).updateTask(any());
+        doAnswer(invocation -> {
+            List<TaskResult> taskResults = invocation.getArgument(0);
+            sentBatchSizes.add(taskResults.size());
+            taskResults.forEach(taskResult -> allSent.countDown());
+            return null;
+        }).when(taskClient).updateTasks(anyList());
+
+        taskResultSender = new TaskResultSender(taskClient, 1, 10, 10, 1);
+        send(testTask());
+        Uninterruptibles.awaitUninterruptibly(firstSent);
+        for (int i = 0; i < 4; i++) {
+            send(testTask());
+        }
+        resultsQueued.countDown();
+        Uninterruptibles.awaitUninterruptibly(allSent);
+
+        assertEquals(2, sentBatchSizes.size());
+        assertEquals(1, (int) sentBatchSizes.get(0));
+        assertEquals(4, (int) sentBatchSizes.get(1));
+    }
+
+    @Test
+    public void testResultsAreSentOneByOneWhenBatchUpdateIsUnsupported() {
+        CountDownLatch firstSent = new CountDownLatch(1);
+        CountDownLatch resultsQueued = new CountDownLatch(1);
+        CountDownLatch allSent = new CountDownLatch(5);
+        doAnswer(invocation -> {
+            firstSent.countDown();
+            Uninterruptibles.awaitUninterruptibly(resultsQueued);
+            allSent.countDown();
+            return null;
+        }).when(taskClient).updateTask(any());
+        doThrow(new ConductorClientException(404, "Not found")).when(taskClient).updateTasks(anyList());
+
+        taskResultSender = new TaskResultSender(taskClient, 1, 10, 10, 3);
+        send(testTask());
+        Uninterruptibles.awaitUninterruptibly(firstSent);
+        for (int i = 0; i < 4; i++) {
+            send(testTask());
+        }
+        resultsQueued.countDown();
+        Uninterruptibles.awaitUninterruptibly(allSent);
+
+        // the unsupported batch update is not retried
+        verify(taskClient, times(1)).updateTasks(anyList());
+        verify(taskClient, times(5)).updateTask(any());
+    }
+
+    @Test
+    public void testOnlyFailedResultsAreSentAgain() {
+        CountDownLatch firstSent = new CountDownLatch(1);
+        CountDownLatch resultsQueued = new CountDownLatch(1);
+        CountDownLatch allSent = new CountDownLatch(3);
+        List<String> sentOneByOne = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            TaskResult taskResult = invocation.getArgument(0);
+            sentOneByOne.add(taskResult.getTaskId());
+            firstSent.countDown();
+            Uninterruptibles.awaitUninterruptibly(resultsQueued);
+            allSent.countDown();
+            return null;
+        }).when(taskClient).updateTask(any());
+        doAnswer(invocation -> {
+            List<TaskResult> taskResults = invocation.getArgument(0);
+            BulkResponse bulkResponse = new BulkResponse();
+            bulkResponse.appendSuccessResponse(taskResults.get(0).getTaskId());
+            allSent.countDown();
+            bulkResponse.appendFailedResponse(taskResults.get(1).getTaskId(), "Error updating task");
+            return bulkResponse;
+        }).when(taskClient).updateTasks(anyList());
+
+        taskResultSender = new TaskResultSender(taskClient, 1, 10, 10, 1);
+        send(testTask());
+        Uninterruptibles.awaitUninterruptibly(firstSent);
+        Task applied = testTask();
+        Task failed = testTask();
+        send(applied);
+        send(failed);
+        resultsQueued.countDown();
+        Uninterruptibles.awaitUninterruptibly(allSent);
+
+        verify(taskClient, times(1)).updateTasks(anyList());
+        assertEquals(2, sentOneByOne.size());
+        assertEquals(failed.getTaskId(), sentOneByOne.get(1));
+    }
+
+    @Test
+    public void testBatchUpdateIsKeptOnApplicationErrors() {
+        CountDownLatch firstSent = new CountDownLatch(1);
+        CountDownLatch resultsQueued = new CountDownLatch(1);
+        CountDownLatch firstBatchSent = new CountDownLatch(1);
+        CountDownLatch moreResultsQueued = new CountDownLatch(1);
+        CountDownLatch allSent = new CountDownLatch(5);
+        doAnswer(invocation -> {
+            firstSent.countDown();
+            Uninterruptibles.awaitUninterruptibly(resultsQueued);
+            allSent.countDown();
+            return null;
+        }).when(taskClient).updateTask(any());
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setStatus(404);
+        errorResponse.setMessage("No such task found");
+        errorResponse.setInstance("server");
+        doAnswer(invocation -> {
+            firstBatchSent.countDown();
+            Uninterruptibles.awaitUninterruptibly(moreResultsQueued);
+            throw new ConductorClientException(404, errorResponse);
+        }).when(taskClient).updateTasks(anyList());
+
+        taskResultSender = new TaskResultSender(taskClient, 1, 10, 10, 1);
+        send(testTask());
+        Uninterruptibles.awaitUninterruptibly(firstSent);
+        send(testTask());
+        send(testTask());
+        resultsQueued.countDown();
+        Uninterruptibles.awaitUninterruptibly(firstBatchSent);
+        send(testTask());
+        send(testTask());
+        moreResultsQueued.countDown();
+        Uninterruptibles.awaitUninterruptibly(allSent);
+
+        // a 404 raised by the server for a task does not mean that it lacks the batch route
+        verify(taskClient, times(2)).updateTasks(anyList());
+        verify(taskClient, times(5)).updateTask(any());
+    }
+
+    @Test
+    public void testResultsAreSentByCallerOnceStopped() {
+        taskResultSender = new TaskResultSender(taskClient, 1, 1, 10, 1);
+        taskResultSender.shutdown();
+
+        send(testTask());
+        send(testTask());
+
+        verify(taskClient, times(2)).updateTask(any());
+    }
+
+    private void send(Task task) {
+        taskResultSender.send(task, new TaskResult(task), worker);
+    }
+
+    private Task testTask() {
+        Task task = new Task();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setStatus(Task.Status.IN_PROGRESS);
+        task.setTaskDefName(TEST_TASK_DEF_NAME);
+        return task;
+    }
+}
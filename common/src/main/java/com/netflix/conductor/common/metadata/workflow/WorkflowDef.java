@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.common.metadata.workflow;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.vmg.protogen.annotations.ProtoEnum;
 import com.github.vmg.protogen.annotations.ProtoField;
 import com.github.vmg.protogen.annotations.ProtoMessage;
@@ -19,7 +20,6 @@ import com.netflix.conductor.common.constraints.NoSemiColonConstraint;
 import com.netflix.conductor.common.constraints.OwnerEmailMandatoryConstraint;
 import com.netflix.conductor.common.constraints.TaskReferenceNameUniqueConstraint;
 import com.netflix.conductor.common.metadata.Auditable;
-import com.netflix.conductor.common.metadata.tasks.TaskType;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Email;
@@ -28,7 +28,6 @@ import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +56,8 @@ public class WorkflowDef extends Auditable {
     @NotEmpty(message = "WorkflowTask list cannot be empty")
     private List<@Valid WorkflowTask> tasks = new LinkedList<>();
 
+    private transient volatile WorkflowGraph graph;
+
     @ProtoField(id = 5)
     private List<String> inputParameters = new LinkedList<>();
 
@@ -304,46 +305,44 @@ public class WorkflowDef extends Auditable {
     }
 
     public boolean containsType(String taskType) {
-        return collectTasks().stream().anyMatch(t -> t.getType().equals(taskType));
+        return getGraph().containsType(taskType);
     }
 
     public WorkflowTask getNextTask(String taskReferenceName) {
-        WorkflowTask workflowTask = getTaskByRefName(taskReferenceName);
-        if (workflowTask != null && TaskType.TERMINATE.name().equals(workflowTask.getType())) {
-            return null;
-        }
+        return getGraph().getNextTask(taskReferenceName);
+    }
 
-        Iterator<WorkflowTask> iterator = tasks.iterator();
-        while (iterator.hasNext()) {
-            WorkflowTask task = iterator.next();
-            if (task.getTaskReferenceName().equals(taskReferenceName)) {
-                // If taskReferenceName matches, break out
-                break;
-            }
-            WorkflowTask nextTask = task.next(taskReferenceName, null);
-            if (nextTask != null) {
-                return nextTask;
-            } else if (TaskType.DO_WHILE.name().equals(task.getType()) && !task.getTaskReferenceName()
-                .equals(taskReferenceName) && task.has(taskReferenceName)) {
-                // If the task is child of Loop Task and at last position, return null.
-                return null;
-            }
-
-            if (task.has(taskReferenceName)) {
-                break;
-            }
+    public WorkflowTask getTaskByRefName(String taskReferenceName) {
+        WorkflowTask workflowTask = getGraph().getTaskByRefName(taskReferenceName);
+        if (workflowTask != null && !workflowTask.getTaskReferenceName().equals(taskReferenceName)) {
+            // the reference name of a compiled task was changed in place
+            workflowTask = compileGraph().getTaskByRefName(taskReferenceName);
         }
-        if (iterator.hasNext()) {
-            return iterator.next();
+        return workflowTask;
+    }
+
+    /**
+     * The graph is compiled on first use and kept with the definition, so that a definition served from the metadata
+     * caches is compiled once. The executions stored with a reference to their definition share the cached one, whose
+     * graph is compiled when it is loaded; those stored with a copy of their definition compile it once per loaded
+     * copy. It is recompiled whenever the task list is replaced or its size has changed; the tasks nested in
+     * decisions, forks and loops are not expected to be modified once the definition is in use.
+     *
+     * @return the compiled graph of the tasks of this definition
+     */
+    @JsonIgnore
+    public WorkflowGraph getGraph() {
+        WorkflowGraph workflowGraph = graph;
+        if (workflowGraph == null || !workflowGraph.isValidFor(tasks)) {
+            workflowGraph = compileGraph();
         }
-        return null;
+        return workflowGraph;
     }
 
-    public WorkflowTask getTaskByRefName(String taskReferenceName) {
-        return collectTasks().stream()
-            .filter(workflowTask -> workflowTask.getTaskReferenceName().equals(taskReferenceName))
-            .findFirst()
-            .orElse(null);
+    private WorkflowGraph compileGraph() {
+        WorkflowGraph workflowGraph = WorkflowGraph.compile(tasks);
+        graph = workflowGraph;
+        return workflowGraph;
     }
 
     public List<WorkflowTask> collectTasks() {
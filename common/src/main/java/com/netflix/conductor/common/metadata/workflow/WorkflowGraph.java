@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.metadata.workflow;
+
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The tasks of a workflow definition compiled into lookup tables, so that the decider does not walk the task tree for
+ * every task reference it resolves.
+ * <p>
+ * The tasks are numbered in the order of {@link WorkflowDef#collectTasks()}. The next task of each task is resolved on
+ * first use with {@link #walkNextTask(List, String)} and kept in an array indexed by that number, so the graph gives
+ * the same answers as the walk, without paying for the tasks that are never looked up.
+ * <p>
+ * A graph is a snapshot of the task tree it was compiled from. It can be shared between threads, and is recompiled by
+ * {@link WorkflowDef} when its task list is replaced.
+ */
+public final class WorkflowGraph {
+
+    private static final Object UNRESOLVED = new Object();
+    private static final Object NO_NEXT_TASK = new Object();
+
+    private final List<WorkflowTask> topLevelTasks;
+    private final int topLevelSize;
+    private final WorkflowTask[] tasks;
+    private final Map<String, Integer> indexByRefName;
+    private final Set<String> types;
+    // the next task of tasks[i], NO_NEXT_TASK if there is none, or UNRESOLVED if it was not looked up yet
+    private final Object[] nextTasks;
+
+    private WorkflowGraph(List<WorkflowTask> topLevelTasks) {
+        this.topLevelTasks = topLevelTasks;
+        this.topLevelSize = topLevelTasks.size();
+
+        List<WorkflowTask> collected = new ArrayList<>();
+        for (WorkflowTask workflowTask : topLevelTasks) {
+            collected.addAll(workflowTask.collectTasks());
+        }
+        this.tasks = collected.toArray(new WorkflowTask[0]);
+        this.indexByRefName = new HashMap<>(tasks.length * 2);
+        this.types = new HashSet<>();
+        for (int i = 0; i < tasks.length; i++) {
+            indexByRefName.putIfAbsent(tasks[i].getTaskReferenceName(), i);
+            types.add(tasks[i].getType());
+        }
+        this.nextTasks = new Object[tasks.length];
+        Arrays.fill(nextTasks, UNRESOLVED);
+    }
+
+    /**
+     * @param tasks the top level tasks of a workflow definition
+     * @return the graph of the tasks
+     */
+    public static WorkflowGraph compile(List<WorkflowTask> tasks) {
+        return new WorkflowGraph(tasks);
+    }
+
+    /**
+     * @return true if the graph was compiled from this task list, and its size has not changed since
+     */
+    boolean isValidFor(List<WorkflowTask> tasks) {
+        return topLevelTasks == tasks && topLevelSize == tasks.size();
+    }
+
+    /**
+     * @return all the tasks of the graph, in the order of {@link WorkflowDef#collectTasks()}
+     */
+    public List<WorkflowTask> getTasks() {
+        return Collections.unmodifiableList(Arrays.asList(tasks));
+    }
+
+    public boolean containsType(String taskType) {
+        return types.contains(taskType);
+    }
+
+    public WorkflowTask getTaskByRefName(String taskReferenceName) {
+        Integer index = indexByRefName.get(taskReferenceName);
+        return index != null ? tasks[index] : null;
+    }
+
+    public WorkflowTask getNextTask(String taskReferenceName) {
+        Integer index = indexByRefName.get(taskReferenceName);
+        if (index == null) {
+            // not a task of the definition, e.g. a task of a dynamic fork
+            return walkNextTask(topLevelTasks, taskReferenceName);
+        }
+        Object nextTask = nextTasks[index];
+        if (nextTask == UNRESOLVED) {
+            // racing threads resolve the same task, and the array slot is written with a single reference
+            WorkflowTask resolved = walkNextTask(topLevelTasks, taskReferenceName);
+            nextTask = resolved != null ? resolved : NO_NEXT_TASK;
+            nextTasks[index] = nextTask;
+        }
+        return nextTask != NO_NEXT_TASK ? (WorkflowTask) nextTask : null;
+    }
+
+    /**
+     * Finds the task to schedule after the given task by walking the task tree. This is the reference the graph
+     * resolves its next tasks with.
+     *
+     * @param tasks             the top level tasks of a workflow definition
+     * @param taskReferenceName the reference name of the task that is done
+     * @return the next task, or null if there is none
+     */
+    public static WorkflowTask walkNextTask(List<WorkflowTask> tasks, String taskReferenceName) {
+        WorkflowTask workflowTask = null;
+        for (WorkflowTask task : tasks) {
+            workflowTask = task.get(taskReferenceName);
+            if (workflowTask != null) {
+                break;
+            }
+        }
+        if (workflowTask != null && TaskType.TERMINATE.name().equals(workflowTask.getType())) {
+            return null;
+        }
+
+        Iterator<WorkflowTask> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+            WorkflowTask task = iterator.next();
+            if (task.getTaskReferenceName().equals(taskReferenceName)) {
+                // If taskReferenceName matches, break out
+                break;
+            }
+            WorkflowTask nextTask = task.next(taskReferenceName, null);
+            if (nextTask != null) {
+                return nextTask;
+            } else if (TaskType.DO_WHILE.name().equals(task.getType()) && !task.getTaskReferenceName()
+                .equals(taskReferenceName) && task.has(taskReferenceName)) {
+                // If the task is child of Loop Task and at last position, return null.
+                return null;
+            }
+
+            if (task.has(taskReferenceName)) {
+                break;
+            }
+        }
+        if (iterator.hasNext()) {
+            return iterator.next();
+        }
+        return null;
+    }
+}
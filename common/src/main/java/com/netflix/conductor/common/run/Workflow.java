@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.common.run;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.vmg.protogen.annotations.ProtoEnum;
 import com.github.vmg.protogen.annotations.ProtoField;
 import com.github.vmg.protogen.annotations.ProtoMessage;
@@ -23,6 +24,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -128,6 +130,12 @@ public class Workflow extends Auditable {
     @ProtoField(id = 24)
     private long lastRetriedTime;
 
+    private TaskIndex taskIndex;
+
+    private int taskLookupCount;
+
+    private int taskIndexBuildCount;
+
     public Workflow() {
 
     }
@@ -431,25 +439,130 @@ public class Workflow extends Auditable {
         return StringUtils.isNotEmpty(parentWorkflowId);
     }
 
+    /**
+     * @param refName the reference name of the task
+     * @return the last task in the workflow with the given reference name, or null if there is none
+     */
     public Task getTaskByRefName(String refName) {
         if (refName == null) {
             throw new RuntimeException(
                 "refName passed is null.  Check the workflow execution.  For dynamic tasks, make sure referenceTaskName is set to a not null value");
         }
-        LinkedList<Task> found = new LinkedList<>();
-        for (Task t : tasks) {
-            if (t.getReferenceTaskName() == null) {
-                throw new RuntimeException(
-                    "Task " + t.getTaskDefName() + ", seq=" + t.getSeq() + " does not have reference name specified.");
+        Task task = getTaskIndex().getTaskByRefName(refName);
+        if (task != null && !refName.equals(task.getReferenceTaskName())) {
+            // the reference name of an indexed task was changed in place
+            task = rebuildTaskIndex().getTaskByRefName(refName);
+        }
+        return task;
+    }
+
+    /**
+     * @param taskId the id of the task
+     * @return the task in the workflow with the given id, or null if there is none
+     */
+    public Task getTaskById(String taskId) {
+        Task task = getTaskIndex().getTaskById(taskId);
+        if (task != null && !task.getTaskId().equals(taskId)) {
+            task = rebuildTaskIndex().getTaskById(taskId);
+        }
+        return task;
+    }
+
+    /**
+     * @param taskType the type of the tasks, as in {@link Task#getTaskType()}
+     * @return the tasks in the workflow with the given type, in the order they were scheduled
+     */
+    public List<Task> getTasksByType(String taskType) {
+        return getTaskIndex().getTasksByType(taskType);
+    }
+
+    /**
+     * @return the number of task lookups served from the task index of this instance
+     */
+    @JsonIgnore
+    public int getTaskLookupCount() {
+        return taskLookupCount;
+    }
+
+    /**
+     * @return the number of times the task index of this instance was (re)built
+     */
+    @JsonIgnore
+    public int getTaskIndexBuildCount() {
+        return taskIndexBuildCount;
+    }
+
+    /**
+     * The index is rebuilt whenever the task list is replaced, or its size or last task have changed since it was
+     * built, which covers tasks being scheduled, retried or removed.
+     */
+    private TaskIndex getTaskIndex() {
+        taskLookupCount++;
+        TaskIndex index = taskIndex;
+        if (index == null || !index.isValidFor(tasks)) {
+            index = rebuildTaskIndex();
+        }
+        return index;
+    }
+
+    private TaskIndex rebuildTaskIndex() {
+        taskIndexBuildCount++;
+        taskIndex = new TaskIndex(tasks);
+        return taskIndex;
+    }
+
+    /**
+     * Lookup tables over a snapshot of the task list.
+     */
+    private static class TaskIndex {
+
+        private final List<Task> tasks;
+        private final int size;
+        private final Task last;
+        private final Map<String, Task> tasksByRefName = new HashMap<>();
+        private final Map<String, Task> tasksById = new HashMap<>();
+        private final Map<String, List<Task>> tasksByType = new HashMap<>();
+        private Task taskWithoutRefName;
+
+        TaskIndex(List<Task> tasks) {
+            this.tasks = tasks;
+            this.size = tasks.size();
+            this.last = size > 0 ? tasks.get(size - 1) : null;
+            for (Task task : tasks) {
+                if (task.getReferenceTaskName() == null) {
+                    if (taskWithoutRefName == null) {
+                        taskWithoutRefName = task;
+                    }
+                } else {
+                    tasksByRefName.put(task.getReferenceTaskName(), task);
+                }
+                if (task.getTaskId() != null) {
+                    tasksById.putIfAbsent(task.getTaskId(), task);
+                }
+                tasksByType.computeIfAbsent(task.getTaskType(), type -> new LinkedList<>()).add(task);
             }
-            if (t.getReferenceTaskName().equals(refName)) {
-                found.add(t);
+        }
+
+        boolean isValidFor(List<Task> tasks) {
+            return this.tasks == tasks && size == tasks.size() && (size == 0 || last == tasks.get(size - 1));
+        }
+
+        Task getTaskByRefName(String refName) {
+            if (taskWithoutRefName != null) {
+                throw new RuntimeException("Task " + taskWithoutRefName.getTaskDefName() + ", seq="
+                    + taskWithoutRefName.getSeq() + " does not have reference name specified.");
             }
+            return tasksByRefName.get(refName);
+        }
+
+        Task getTaskById(String taskId) {
+            return tasksById.get(taskId);
         }
-        if (found.isEmpty()) {
-            return null;
+
+        List<Task> getTasksByType(String taskType) {
+            List<Task> tasksOfType = tasksByType.get(taskType);
+            return tasksOfType != null ? Collections.unmodifiableList(tasksOfType) : Collections.emptyList();
         }
-        return found.getLast();
     }
 
     /**
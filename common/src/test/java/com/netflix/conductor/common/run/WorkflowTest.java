@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.run;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class WorkflowTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testGetTaskByRefName() {
+        Task first = createTask("t1", "task_1", "SIMPLE");
+        Task second = createTask("t2", "task_2", "SIMPLE");
+        Task retried = createTask("t3", "task_1", "SIMPLE");
+
+        Workflow workflow = new Workflow();
+        workflow.getTasks().addAll(Arrays.asList(first, second));
+
+        assertSame(first, workflow.getTaskByRefName("task_1"));
+        assertSame(second, workflow.getTaskByRefName("task_2"));
+        assertNull(workflow.getTaskByRefName("task_3"));
+
+        // the latest task with a given reference name is returned after the list changes
+        workflow.getTasks().add(retried);
+        assertSame(retried, workflow.getTaskByRefName("task_1"));
+
+        workflow.getTasks().remove(retried);
+        assertSame(first, workflow.getTaskByRefName("task_1"));
+
+        workflow.setTasks(new ArrayList<>(Arrays.asList(second, retried)));
+        assertSame(retried, workflow.getTaskByRefName("task_1"));
+
+        workflow.getTasks().clear();
+        assertNull(workflow.getTaskByRefName("task_1"));
+    }
+
+    @Test
+    public void testGetTaskByRefNameAfterRename() {
+        Task task = createTask("t1", "task_1", "SIMPLE");
+        Workflow workflow = new Workflow();
+        workflow.getTasks().add(task);
+
+        assertSame(task, workflow.getTaskByRefName("task_1"));
+
+        task.setReferenceTaskName("task_1__1");
+        assertNull(workflow.getTaskByRefName("task_1"));
+        assertSame(task, workflow.getTaskByRefName("task_1__1"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGetTaskByRefNameWithoutReferenceName() {
+        Workflow workflow = new Workflow();
+        workflow.getTasks().add(createTask("t1", null, "SIMPLE"));
+        workflow.getTaskByRefName("task_1");
+    }
+
+    @Test
+    public void testGetTaskByIdAndType() {
+        Task simple = createTask("t1", "task_1", "SIMPLE");
+        Task waitOne = createTask("t2", "wait_1", "WAIT");
+        Task waitTwo = createTask("t3", "wait_2", "WAIT");
+
+        Workflow workflow = new Workflow();
+        workflow.getTasks().addAll(Arrays.asList(simple, waitOne));
+
+        assertSame(waitOne, workflow.getTaskById("t2"));
+        assertNull(workflow.getTaskById("t3"));
+        assertEquals(1, workflow.getTasksByType("WAIT").size());
+        assertTrue(workflow.getTasksByType("HTTP").isEmpty());
+
+        workflow.getTasks().add(waitTwo);
+        assertSame(waitTwo, workflow.getTaskById("t3"));
+        List<Task> waitTasks = workflow.getTasksByType("WAIT");
+        assertEquals(Arrays.asList(waitOne, waitTwo), waitTasks);
+    }
+
+    @Test
+    public void testTaskLookupCounts() throws Exception {
+        Workflow workflow = new Workflow();
+        workflow.getTasks().add(createTask("t1", "task_1", "SIMPLE"));
+
+        workflow.getTaskByRefName("task_1");
+        workflow.getTaskById("t1");
+        assertEquals(2, workflow.getTaskLookupCount());
+        assertEquals(1, workflow.getTaskIndexBuildCount());
+
+        workflow.getTasks().add(createTask("t2", "task_2", "SIMPLE"));
+        workflow.getTaskByRefName("task_2");
+        assertEquals(3, workflow.getTaskLookupCount());
+        assertEquals(2, workflow.getTaskIndexBuildCount());
+
+        workflow.setWorkflowDefinition(new WorkflowDef());
+        String json = objectMapper.writeValueAsString(workflow);
+        assertFalse(json.contains("taskLookupCount"));
+        assertFalse(json.contains("taskIndexBuildCount"));
+    }
+
+    private Task createTask(String taskId, String referenceTaskName, String taskType) {
+        Task task = new Task();
+        task.setTaskId(taskId);
+        task.setReferenceTaskName(referenceTaskName);
+        task.setTaskType(taskType);
+        return task;
+    }
+}
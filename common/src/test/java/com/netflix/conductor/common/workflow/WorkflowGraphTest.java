@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.workflow;
+
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowGraph;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WorkflowGraphTest {
+
+    @Test
+    public void testSameAnswersAsTheWalk() {
+        WorkflowDef workflowDef = createWorkflowDef();
+        WorkflowGraph workflowGraph = workflowDef.getGraph();
+
+        List<WorkflowTask> collected = workflowDef.collectTasks();
+        assertEquals(collected, workflowGraph.getTasks());
+        for (WorkflowTask workflowTask : collected) {
+            String refName = workflowTask.getTaskReferenceName();
+            assertSame(workflowTask, workflowDef.getTaskByRefName(refName));
+            WorkflowTask expected = WorkflowGraph.walkNextTask(workflowDef.getTasks(), refName);
+            // the second lookup is served from the resolved adjacency
+            assertSame(refName, expected, workflowDef.getNextTask(refName));
+            assertSame(refName, expected, workflowDef.getNextTask(refName));
+        }
+    }
+
+    @Test
+    public void testLookups() {
+        WorkflowDef workflowDef = createWorkflowDef();
+
+        assertEquals("fork_1", workflowDef.getNextTask("simple_1").getTaskReferenceName());
+        assertEquals("join_1", workflowDef.getNextTask("branch_1_b").getTaskReferenceName());
+        assertEquals("case_1_b", workflowDef.getNextTask("case_1_a").getTaskReferenceName());
+        assertEquals("loop_1", workflowDef.getNextTask("loop_task_2").getTaskReferenceName());
+        assertNull(workflowDef.getNextTask("terminate_1"));
+        assertNull(workflowDef.getNextTask("simple_2"));
+        assertNull(workflowDef.getNextTask("unknown"));
+        assertNull(workflowDef.getTaskByRefName("unknown"));
+
+        assertTrue(workflowDef.containsType(TaskType.FORK_JOIN.name()));
+        assertTrue(workflowDef.containsType(TaskType.TERMINATE.name()));
+        assertFalse(workflowDef.containsType(TaskType.SUB_WORKFLOW.name()));
+    }
+
+    @Test
+    public void testRecompiledWhenTasksChange() {
+        WorkflowDef workflowDef = createWorkflowDef();
+        WorkflowGraph workflowGraph = workflowDef.getGraph();
+        assertSame(workflowGraph, workflowDef.getGraph());
+
+        workflowDef.getTasks().add(createWorkflowTask("simple_3"));
+        assertNotSame(workflowGraph, workflowDef.getGraph());
+        assertEquals("simple_3", workflowDef.getNextTask("simple_2").getTaskReferenceName());
+
+        workflowGraph = workflowDef.getGraph();
+        workflowDef.setTasks(new ArrayList<>(workflowDef.getTasks()));
+        assertNotSame(workflowGraph, workflowDef.getGraph());
+
+        // a reference name changed in place
+        workflowDef.getTasks().get(0).setTaskReferenceName("simple_0");
+        assertNull(workflowDef.getTaskByRefName("simple_1"));
+        assertEquals("simple_0", workflowDef.getTaskByRefName("simple_0").getTaskReferenceName());
+    }
+
+    private WorkflowDef createWorkflowDef() {
+        WorkflowTask fork = createWorkflowTask("fork_1");
+        fork.setType(TaskType.FORK_JOIN.name());
+        fork.setForkTasks(Arrays.asList(
+            Arrays.asList(createWorkflowTask("branch_1_a"), createWorkflowTask("branch_1_b")),
+            Collections.singletonList(createWorkflowTask("branch_2_a"))));
+
+        WorkflowTask join = createWorkflowTask("join_1");
+        join.setType(TaskType.JOIN.name());
+        join.setJoinOn(Arrays.asList("branch_1_b", "branch_2_a"));
+
+        WorkflowTask terminate = createWorkflowTask("terminate_1");
+        terminate.setType(TaskType.TERMINATE.name());
+
+        WorkflowTask decision = createWorkflowTask("decision_1");
+        decision.setType(TaskType.DECISION.name());
+        decision.setCaseValueParam("case");
+        Map<String, List<WorkflowTask>> decisionCases = new HashMap<>();
+        decisionCases.put("a", Arrays.asList(createWorkflowTask("case_1_a"), createWorkflowTask("case_1_b")));
+        decisionCases.put("b", Collections.singletonList(terminate));
+        decision.setDecisionCases(decisionCases);
+        decision.setDefaultCase(Collections.singletonList(createWorkflowTask("default_1")));
+
+        WorkflowTask loop = createWorkflowTask("loop_1");
+        loop.setType(TaskType.DO_WHILE.name());
+        loop.setLoopCondition("false");
+        loop.setLoopOver(Arrays.asList(createWorkflowTask("loop_task_1"), createWorkflowTask("loop_task_2")));
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("graph_workflow");
+        workflowDef.getTasks().addAll(Arrays.asList(
+            createWorkflowTask("simple_1"), fork, join, decision, loop, createWorkflowTask("simple_2")));
+        return workflowDef;
+    }
+
+    private WorkflowTask createWorkflowTask(String name) {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName(name);
+        workflowTask.setTaskReferenceName(name);
+        workflowTask.setType(TaskType.SIMPLE.name());
+        return workflowTask;
+    }
+}
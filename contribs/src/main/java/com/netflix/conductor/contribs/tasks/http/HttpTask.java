@@ -27,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -39,6 +40,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_HTTP;
 
@@ -61,9 +66,16 @@ public class HttpTask extends WorkflowSystemTask {
     };
     protected ObjectMapper objectMapper;
     protected RestTemplateProvider restTemplateProvider;
+    private final NonBlockingHttpClient nonBlockingHttpClient;
     private final String requestParameter;
 
     @Autowired
+    public HttpTask(RestTemplateProvider restTemplateProvider,
+                    ObjectMapper objectMapper,
+                    Optional<NonBlockingHttpClient> nonBlockingHttpClient) {
+        this(TASK_TYPE_HTTP, restTemplateProvider, objectMapper, nonBlockingHttpClient.orElse(null));
+    }
+
     public HttpTask(RestTemplateProvider restTemplateProvider,
                     ObjectMapper objectMapper) {
         this(TASK_TYPE_HTTP, restTemplateProvider, objectMapper);
@@ -72,21 +84,76 @@ public class HttpTask extends WorkflowSystemTask {
     public HttpTask(String name,
                     RestTemplateProvider restTemplateProvider,
                     ObjectMapper objectMapper) {
+        this(name, restTemplateProvider, objectMapper, null);
+    }
+
+    /**
+     * @param nonBlockingHttpClient the client used to start the task without blocking, if not null. The requests are
+     *                              then sent by this client rather than by {@link #httpCall(Input)}.
+     */
+    public HttpTask(String name,
+                    RestTemplateProvider restTemplateProvider,
+                    ObjectMapper objectMapper,
+                    NonBlockingHttpClient nonBlockingHttpClient) {
         super(name);
         this.restTemplateProvider = restTemplateProvider;
         this.objectMapper = objectMapper;
+        this.nonBlockingHttpClient = nonBlockingHttpClient;
         this.requestParameter = REQUEST_PARAMETER_NAME;
         LOGGER.info("{} initialized...", getTaskType());
     }
 
     @Override
     public void start(Workflow workflow, Task task, WorkflowExecutor executor) {
+        Input input = getInput(task);
+        if (input == null) {
+            return;
+        }
+
+        try {
+            HttpResponse response = httpCall(input);
+            handleResponse(task, response);
+        } catch (Exception e) {
+            handleFailure(task, input, e);
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> startAsync(Workflow workflow, Task task, WorkflowExecutor executor) {
+        if (nonBlockingHttpClient == null) {
+            return super.startAsync(workflow, task, executor);
+        }
+        Input input = getInput(task);
+        if (input == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletionStage<HttpResponse> call;
+        try {
+            call = nonBlockingHttpClient.send(input).thenApply(this::toHttpResponse);
+        } catch (Exception e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.handle((response, error) -> {
+            if (error != null) {
+                handleFailure(task, input, error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                handleResponse(task, response);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return the input of the task, or null if it is invalid, in which case the task is failed
+     */
+    private Input getInput(Task task) {
         Object request = task.getInputData().get(requestParameter);
         task.setWorkerId(Utils.getServerId());
         if (request == null) {
             task.setReasonForIncompletion(MISSING_REQUEST);
             task.setStatus(Status.FAILED);
-            return;
+            return null;
         }
 
         Input input = objectMapper.convertValue(request, Input.class);
@@ -94,45 +161,43 @@ public class HttpTask extends WorkflowSystemTask {
             String reason = "Missing HTTP URI.  See documentation for HttpTask for required input parameters";
             task.setReasonForIncompletion(reason);
             task.setStatus(Status.FAILED);
-            return;
+            return null;
         }
 
         if (input.getMethod() == null) {
             String reason = "No HTTP method specified";
             task.setReasonForIncompletion(reason);
             task.setStatus(Status.FAILED);
-            return;
+            return null;
         }
+        return input;
+    }
 
-        try {
-            HttpResponse response = httpCall(input);
-            LOGGER.debug("Response: {}, {}, task:{}", response.statusCode, response.body, task.getTaskId());
-            if (response.statusCode > 199 && response.statusCode < 300) {
-                if (isAsyncComplete(task)) {
-                    task.setStatus(Status.IN_PROGRESS);
-                } else {
-                    task.setStatus(Status.COMPLETED);
-                }
+    private void handleResponse(Task task, HttpResponse response) {
+        LOGGER.debug("Response: {}, {}, task:{}", response.statusCode, response.body, task.getTaskId());
+        if (response.statusCode > 199 && response.statusCode < 300) {
+            if (isAsyncComplete(task)) {
+                task.setStatus(Status.IN_PROGRESS);
             } else {
-                if (response.body != null) {
-                    task.setReasonForIncompletion(response.body.toString());
-                } else {
-                    task.setReasonForIncompletion("No response from the remote service");
-                }
-                task.setStatus(Status.FAILED);
+                task.setStatus(Status.COMPLETED);
             }
-            //noinspection ConstantConditions
-            if (response != null) {
-                task.getOutputData().put("response", response.asMap());
+        } else {
+            if (response.body != null) {
+                task.setReasonForIncompletion(response.body.toString());
+            } else {
+                task.setReasonForIncompletion("No response from the remote service");
             }
-
-        } catch (Exception e) {
-            LOGGER.error("Failed to invoke {} task: {} - uri: {}, vipAddress: {} in workflow: {}", getTaskType(), task.getTaskId(),
-                input.getUri(), input.getVipAddress(), task.getWorkflowInstanceId(), e);
             task.setStatus(Status.FAILED);
-            task.setReasonForIncompletion("Failed to invoke " + getTaskType() + " task due to: " + e);
-            task.getOutputData().put("response", e.toString());
         }
+        task.getOutputData().put("response", response.asMap());
+    }
+
+    private void handleFailure(Task task, Input input, Throwable e) {
+        LOGGER.error("Failed to invoke {} task: {} - uri: {}, vipAddress: {} in workflow: {}", getTaskType(), task.getTaskId(),
+            input.getUri(), input.getVipAddress(), task.getWorkflowInstanceId(), e);
+        task.setStatus(Status.FAILED);
+        task.setReasonForIncompletion("Failed to invoke " + getTaskType() + " task due to: " + e);
+        task.getOutputData().put("response", e.toString());
     }
 
     /**
@@ -173,6 +238,21 @@ public class HttpTask extends WorkflowSystemTask {
         }
     }
 
+    private HttpResponse toHttpResponse(java.net.http.HttpResponse<String> httpResponse) {
+        HttpResponse response = new HttpResponse();
+        String body = httpResponse.body();
+        if (body != null && !body.isEmpty()) {
+            response.body = extractBody(body);
+        }
+        response.statusCode = httpResponse.statusCode();
+        HttpStatus status = HttpStatus.resolve(httpResponse.statusCode());
+        response.reasonPhrase = status != null ? status.getReasonPhrase() : null;
+        HttpHeaders headers = new HttpHeaders();
+        httpResponse.headers().map().forEach(headers::addAll);
+        response.headers = headers;
+        return response;
+    }
+
     private Object extractBody(String responseBody) {
         try {
             JsonNode node = objectMapper.readTree(responseBody);
@@ -206,6 +286,11 @@ public class HttpTask extends WorkflowSystemTask {
         return true;
     }
 
+    @Override
+    public boolean isNonBlocking() {
+        return nonBlockingHttpClient != null;
+    }
+
     public static class HttpResponse {
 
         public Object body;
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.tasks.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.contribs.tasks.http.HttpTask.Input;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends the requests of the {@link HttpTask} without blocking the calling thread, using the HTTP client of the JDK.
+ * Enabled by <code>conductor.tasks.http.nonBlocking=true</code>.
+ * <p>
+ * Unlike the {@link RestTemplateProvider}, the read timeout bounds the time to receive the whole response. Bodies
+ * other than strings are sent as JSON.
+ */
+@Component
+@ConditionalOnProperty(name = "conductor.tasks.http.nonBlocking", havingValue = "true")
+public class NonBlockingHttpClient {
+
+    private final ObjectMapper objectMapper;
+    private final Duration defaultReadTimeout;
+    private final Duration defaultConnectTimeout;
+
+    /**
+     * The connect timeout is a setting of the client, so a client is held for each connect timeout in use.
+     */
+    private final Map<Duration, HttpClient> clients = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NonBlockingHttpClient(ObjectMapper objectMapper,
+        @Value("${conductor.tasks.http.readTimeout:150ms}") Duration readTimeout,
+        @Value("${conductor.tasks.http.connectTimeout:100ms}") Duration connectTimeout) {
+        this.objectMapper = objectMapper;
+        this.defaultReadTimeout = readTimeout;
+        this.defaultConnectTimeout = connectTimeout;
+    }
+
+    /**
+     * @return a future completed with the response on a thread of the client
+     */
+    public CompletableFuture<HttpResponse<String>> send(Input input) throws JsonProcessingException {
+        Duration readTimeout = Optional.ofNullable(input.getReadTimeOut())
+            .map(Duration::ofMillis)
+            .orElse(defaultReadTimeout);
+        Duration connectTimeout = Optional.ofNullable(input.getConnectionTimeOut())
+            .map(Duration::ofMillis)
+            .orElse(defaultConnectTimeout);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(input.getUri()))
+            .timeout(readTimeout)
+            .header(HttpHeaders.CONTENT_TYPE, input.getContentType())
+            .header(HttpHeaders.ACCEPT, input.getAccept())
+            .method(input.getMethod().name(), bodyPublisher(input.getBody()));
+        input.getHeaders().forEach((key, value) -> request.header(key, value.toString()));
+
+        return clients.computeIfAbsent(connectTimeout, timeout -> HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build())
+            .sendAsync(request.build(), BodyHandlers.ofString());
+    }
+
+    private BodyPublisher bodyPublisher(Object body) throws JsonProcessingException {
+        if (body == null) {
+            return BodyPublishers.noBody();
+        } else if (body instanceof String) {
+            return BodyPublishers.ofString((String) body);
+        }
+        return BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+}
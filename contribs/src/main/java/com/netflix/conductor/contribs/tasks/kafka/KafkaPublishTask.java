@@ -20,6 +20,7 @@ import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.execution.tasks.WorkflowSystemTask;
 import com.netflix.conductor.core.utils.Utils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
@@ -37,6 +38,8 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
@@ -74,51 +77,98 @@ public class KafkaPublishTask extends WorkflowSystemTask {
     public void start(Workflow workflow, Task task, WorkflowExecutor executor) {
 
         long taskStartMillis = Instant.now().toEpochMilli();
+        Input input = getInput(task);
+        if (input == null) {
+            return;
+        }
+
+        try {
+            Future<RecordMetadata> recordMetaDataFuture = kafkaPublish(input, null);
+            try {
+                recordMetaDataFuture.get();
+                markTaskAsPublished(task, input, taskStartMillis);
+            } catch (ExecutionException ec) {
+                LOGGER.error("Failed to invoke kafka task: {} - execution exception ", task.getTaskId(), ec);
+                markTaskAsFailed(task, FAILED_TO_INVOKE + ec.getMessage());
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to invoke kafka task:{} for input {} - unknown exception", task.getTaskId(), input, e);
+            markTaskAsFailed(task, FAILED_TO_INVOKE + e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes the message without waiting for it to be acknowledged, the task is updated by the callback of the
+     * producer.
+     */
+    @Override
+    public CompletionStage<Void> startAsync(Workflow workflow, Task task, WorkflowExecutor executor) {
+
+        long taskStartMillis = Instant.now().toEpochMilli();
+        Input input = getInput(task);
+        if (input == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        try {
+            kafkaPublish(input, (metadata, exception) -> {
+                if (exception != null) {
+                    LOGGER.error("Failed to invoke kafka task: {} - execution exception ", task.getTaskId(),
+                        exception);
+                    markTaskAsFailed(task, FAILED_TO_INVOKE + exception.getMessage());
+                } else {
+                    markTaskAsPublished(task, input, taskStartMillis);
+                }
+                published.complete(null);
+            });
+        } catch (Exception e) {
+            LOGGER.error("Failed to invoke kafka task:{} for input {} - unknown exception", task.getTaskId(), input, e);
+            markTaskAsFailed(task, FAILED_TO_INVOKE + e.getMessage());
+            published.complete(null);
+        }
+        return published;
+    }
+
+    /**
+     * @return the input of the task, or null if it is invalid, in which case the task is failed
+     */
+    private Input getInput(Task task) {
         task.setWorkerId(Utils.getServerId());
         Object request = task.getInputData().get(requestParameter);
 
         if (Objects.isNull(request)) {
             markTaskAsFailed(task, MISSING_REQUEST);
-            return;
+            return null;
         }
 
         Input input = objectMapper.convertValue(request, Input.class);
 
         if (StringUtils.isBlank(input.getBootStrapServers())) {
             markTaskAsFailed(task, MISSING_BOOT_STRAP_SERVERS);
-            return;
+            return null;
         }
 
         if (StringUtils.isBlank(input.getTopic())) {
             markTaskAsFailed(task, MISSING_KAFKA_TOPIC);
-            return;
+            return null;
         }
 
         if (Objects.isNull(input.getValue())) {
             markTaskAsFailed(task, MISSING_KAFKA_VALUE);
-            return;
+            return null;
         }
+        return input;
+    }
 
-        try {
-            Future<RecordMetadata> recordMetaDataFuture = kafkaPublish(input);
-            try {
-                recordMetaDataFuture.get();
-                if (isAsyncComplete(task)) {
-                    task.setStatus(Task.Status.IN_PROGRESS);
-                } else {
-                    task.setStatus(Task.Status.COMPLETED);
-                }
-                long timeTakenToCompleteTask = Instant.now().toEpochMilli() - taskStartMillis;
-                LOGGER.debug("Published message {}, Time taken {}", input, timeTakenToCompleteTask);
-
-            } catch (ExecutionException ec) {
-                LOGGER.error("Failed to invoke kafka task: {} - execution exception ", task.getTaskId(), ec);
-                markTaskAsFailed(task, FAILED_TO_INVOKE + ec.getMessage());
-            }
-        } catch (Exception e) {
-            LOGGER.error("Failed to invoke kafka task:{} for input {} - unknown exception", task.getTaskId(), input, e);
-            markTaskAsFailed(task, FAILED_TO_INVOKE + e.getMessage());
+    private void markTaskAsPublished(Task task, Input input, long taskStartMillis) {
+        if (isAsyncComplete(task)) {
+            task.setStatus(Task.Status.IN_PROGRESS);
+        } else {
+            task.setStatus(Task.Status.COMPLETED);
         }
+        long timeTakenToCompleteTask = Instant.now().toEpochMilli() - taskStartMillis;
+        LOGGER.debug("Published message {}, Time taken {}", input, timeTakenToCompleteTask);
     }
 
     private void markTaskAsFailed(Task task, String reasonForIncompletion) {
@@ -127,11 +177,12 @@ public class KafkaPublishTask extends WorkflowSystemTask {
     }
 
     /**
-     * @param input Kafka Request
+     * @param input    Kafka Request
+     * @param callback called once the message is acknowledged, or null
      * @return Future for execution.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private Future<RecordMetadata> kafkaPublish(Input input) throws Exception {
+    private Future<RecordMetadata> kafkaPublish(Input input, Callback callback) throws Exception {
 
         long startPublishingEpochMillis = Instant.now().toEpochMilli();
 
@@ -149,7 +200,7 @@ public class KafkaPublishTask extends WorkflowSystemTask {
         ProducerRecord rec = new ProducerRecord(input.getTopic(), null,
             null, key, objectMapper.writeValueAsString(input.getValue()), headers);
 
-        Future send = producer.send(rec);
+        Future send = callback != null ? producer.send(rec, callback) : producer.send(rec);
 
         long timeTakenToPublish = Instant.now().toEpochMilli() - startPublishingEpochMillis;
 
@@ -186,6 +237,11 @@ public class KafkaPublishTask extends WorkflowSystemTask {
         return true;
     }
 
+    @Override
+    public boolean isNonBlocking() {
+        return true;
+    }
+
 
     public static class Input {
 
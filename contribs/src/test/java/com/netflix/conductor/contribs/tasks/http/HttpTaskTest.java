@@ -208,6 +208,34 @@ public class HttpTaskTest {
         assertEquals(HttpTask.MISSING_REQUEST, task.getReasonForIncompletion());
     }
 
+    @Test
+    public void testNonBlockingStart() {
+        HttpTask nonBlockingHttpTask = new HttpTask(TaskType.TASK_TYPE_HTTP,
+            new DefaultRestTemplateProvider(Duration.ofMillis(150), Duration.ofMillis(100)), objectMapper,
+            new NonBlockingHttpClient(objectMapper, Duration.ofMillis(1000), Duration.ofMillis(100)));
+        assertTrue(nonBlockingHttpTask.isNonBlocking());
+
+        Task task = new Task();
+        Input input = new Input();
+        input.setUri("http://" + mockServer.getHost() + ":" + mockServer.getServerPort() + "/json");
+        input.setMethod("GET");
+        task.getInputData().put(HttpTask.REQUEST_PARAMETER_NAME, input);
+
+        nonBlockingHttpTask.startAsync(workflow, task, workflowExecutor).toCompletableFuture().join();
+        assertEquals(task.getReasonForIncompletion(), Status.COMPLETED, task.getStatus());
+        Map<String, Object> hr = (Map<String, Object>) task.getOutputData().get("response");
+        Map<String, Object> response = (Map<String, Object>) hr.get("body");
+        assertEquals("value1", response.get("key"));
+        assertEquals(200, hr.get("statusCode"));
+
+        task = new Task();
+        input.setUri("http://" + mockServer.getHost() + ":" + mockServer.getServerPort() + "/failure");
+        task.getInputData().put(HttpTask.REQUEST_PARAMETER_NAME, input);
+        nonBlockingHttpTask.startAsync(workflow, task, workflowExecutor).toCompletableFuture().join();
+        assertEquals(Status.FAILED, task.getStatus());
+        assertTrue(task.getReasonForIncompletion().contains(ERROR_RESPONSE));
+    }
+
     @Test
     public void testPostAsyncComplete() {
 
@@ -17,11 +17,14 @@ import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.serialization.IntegerSerializer;
 import org.apache.kafka.common.serialization.LongSerializer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -29,10 +32,13 @@ import org.springframework.test.context.junit4.SpringRunner;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -164,6 +170,51 @@ public class KafkaPublishTaskTest {
         assertEquals(Task.Status.IN_PROGRESS, task.getStatus());
     }
 
+    @Test
+    public void kafkaPublishNonBlocking_Completed() {
+
+        Task task = getTask();
+
+        KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+
+        Producer producer = mock(Producer.class);
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+
+        when(producerManager.getProducer(any())).thenReturn(producer);
+        when(producer.send(any(), callback.capture())).thenReturn(mock(Future.class));
+
+        CompletableFuture<Void> started = kPublishTask.startAsync(mock(Workflow.class), task,
+            mock(WorkflowExecutor.class)).toCompletableFuture();
+        assertFalse(started.isDone());
+
+        callback.getValue().onCompletion(mock(RecordMetadata.class), null);
+        assertTrue(started.isDone());
+        assertEquals(Task.Status.COMPLETED, task.getStatus());
+    }
+
+    @Test
+    public void kafkaPublishNonBlocking_Fail() {
+
+        Task task = getTask();
+
+        KafkaProducerManager producerManager = mock(KafkaProducerManager.class);
+        KafkaPublishTask kPublishTask = new KafkaPublishTask(producerManager, objectMapper);
+
+        Producer producer = mock(Producer.class);
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+
+        when(producerManager.getProducer(any())).thenReturn(producer);
+        when(producer.send(any(), callback.capture())).thenReturn(mock(Future.class));
+
+        CompletableFuture<Void> started = kPublishTask.startAsync(mock(Workflow.class), task,
+            mock(WorkflowExecutor.class)).toCompletableFuture();
+        callback.getValue().onCompletion(null, new RuntimeException("Broker unavailable"));
+        assertTrue(started.isDone());
+        assertEquals(Task.Status.FAILED, task.getStatus());
+        assertEquals("Failed to invoke kafka task due to: Broker unavailable", task.getReasonForIncompletion());
+    }
+
     private Task getTask() {
         Task task = new Task();
         KafkaPublishTask.Input input = new KafkaPublishTask.Input();
@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.core.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
@@ -19,12 +20,22 @@ import com.netflix.conductor.core.events.EventQueueProvider;
 import com.netflix.conductor.core.execution.mapper.TaskMapper;
 import com.netflix.conductor.core.listener.WorkflowStatusListener;
 import com.netflix.conductor.core.listener.WorkflowStatusListenerStub;
+import com.netflix.conductor.core.metadata.MetadataCache;
+import com.netflix.conductor.core.metadata.MetadataCachePostProcessor;
+import com.netflix.conductor.core.metadata.MetadataMapperService;
+import com.netflix.conductor.core.metadata.WorkflowDefinitionCache;
 import com.netflix.conductor.core.storage.DummyPayloadStorage;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.core.storage.ReferencingExecutionDocumentCodec;
 import com.netflix.conductor.core.sync.Lock;
 import com.netflix.conductor.core.sync.NoopLock;
+import com.netflix.conductor.core.utils.IDGenerator;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -46,6 +57,11 @@ public class ConductorCoreConfiguration {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConductorCoreConfiguration.class);
 
+    public ConductorCoreConfiguration(ConductorProperties conductorProperties) {
+        IDGenerator.initialize(conductorProperties.getIdGenerator());
+        LOGGER.info("Initialized the {} id generator", conductorProperties.getIdGenerator());
+    }
+
     @ConditionalOnProperty(name = "conductor.workflow-execution-lock.type", havingValue = "noop_lock", matchIfMissing = true)
     @Bean
     public Lock provideLock() {
@@ -65,6 +81,41 @@ public class ConductorCoreConfiguration {
         return new WorkflowStatusListenerStub();
     }
 
+    @ConditionalOnProperty(name = "conductor.app.metadata-cache-enabled", havingValue = "true")
+    @Bean
+    public static MetadataCachePostProcessor metadataCachePostProcessor(
+        ObjectProvider<ConductorProperties> conductorProperties) {
+        return new MetadataCachePostProcessor(conductorProperties);
+    }
+
+    @ConditionalOnProperty(name = "conductor.app.execution-document-definitions-by-reference", havingValue = "true")
+    @Bean
+    public WorkflowDefinitionCache workflowDefinitionCache(MetadataMapperService metadataMapperService,
+        ObjectMapper objectMapper, ConductorProperties conductorProperties,
+        ObjectProvider<MetadataCachePostProcessor> metadataCachePostProcessor) {
+        // the populated definitions are discarded along with the cached definitions they are populated with
+        MetadataCache cache = metadataCachePostProcessor.stream()
+            .map(MetadataCachePostProcessor::cache)
+            .findFirst()
+            .orElseGet(() -> new MetadataCache(
+                conductorProperties.getExecutionDefinitionCacheRefreshInterval().toMillis(),
+                conductorProperties.getExecutionDefinitionCacheMaxSize()));
+        return new WorkflowDefinitionCache(metadataMapperService, objectMapper, cache);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public ExecutionDocumentCodec executionDocumentCodec(ObjectMapper objectMapper,
+        ConductorProperties conductorProperties, ObjectProvider<WorkflowDefinitionCache> workflowDefinitionCache) {
+        ExecutionDocumentCodec codec = new JacksonExecutionDocumentCodec(objectMapper,
+            conductorProperties.getExecutionDocumentFormat(), conductorProperties.getExecutionDocumentCompression());
+        WorkflowDefinitionCache definitionCache = workflowDefinitionCache.getIfAvailable();
+        if (definitionCache != null) {
+            codec = new ReferencingExecutionDocumentCodec(codec, definitionCache);
+        }
+        return codec;
+    }
+
     @Bean
     public ExecutorService executorService(ConductorProperties conductorProperties) {
         ThreadFactory threadFactory = new ThreadFactoryBuilder()
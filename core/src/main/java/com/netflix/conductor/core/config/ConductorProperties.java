@@ -12,6 +12,9 @@
  */
 package com.netflix.conductor.core.config;
 
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Compression;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Format;
+import com.netflix.conductor.core.utils.IDGenerator;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DataSizeUnit;
 import org.springframework.boot.convert.DurationUnit;
@@ -122,6 +125,18 @@ public class ConductorProperties {
      */
     private Duration systemTaskWorkerPollInterval = Duration.ofMillis(50);
 
+    /**
+     * The maximum interval (in milliseconds) at which a system task queue will be polled. The polling of an empty
+     * queue backs off from the poll interval up to this interval, so the tasks pushed to an idle queue may be picked up
+     * this late. It defaults to the default poll interval, i.e. no back off.
+     */
+    private Duration systemTaskWorkerMaxPollInterval = Duration.ofMillis(50);
+
+    /**
+     * The number of threads shared by the system task workers to poll all the system task queues.
+     */
+    private int systemTaskWorkerPollerThreadCount = Runtime.getRuntime().availableProcessors();
+
     /**
      * The namespace for the system task workers to provide instance level isolation.
      */
@@ -132,6 +147,19 @@ public class ConductorProperties {
      */
     private int isolatedSystemTaskWorkerThreadCount = 1;
 
+    /**
+     * The maximum number of system tasks being executed at once by the system task workers. The non-blocking system
+     * tasks do not hold a thread while they are started, so this can exceed the number of threads. Defaults to the
+     * number of threads when not positive.
+     */
+    private int systemTaskWorkerMaxInFlight = 0;
+
+    /**
+     * The maximum number of system tasks being executed at once by the system task workers of each isolation group.
+     * Defaults to the number of threads of the isolation group when not positive.
+     */
+    private int isolatedSystemTaskWorkerMaxInFlight = 0;
+
     /**
      * The max number of system tasks to be polled in a single request.
      */
@@ -151,6 +179,37 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration asyncUpdateDelay = Duration.ofSeconds(60);
 
+    /**
+     * Used to enable/disable indexing the workflows through an outbox queue, drained by a dedicated indexer, instead of
+     * indexing them while they are updated. The tasks are then indexed along with their workflow once it completes, as
+     * with asynchronous indexing.
+     */
+    private boolean indexingOutboxEnabled = false;
+
+    /**
+     * The delay with which the workflows are indexed from the outbox queue. The updates of a workflow within that time
+     * are indexed at once.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration indexingOutboxWindow = Duration.ofSeconds(1);
+
+    /**
+     * The number of workflows taken at once from the outbox queue to be indexed.
+     */
+    private int indexingOutboxBatchSize = 100;
+
+    /**
+     * The delay after which a workflow which failed to be indexed from the outbox queue is retried.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration indexingOutboxRetryDelay = Duration.ofSeconds(10);
+
+    /**
+     * The time to wait for a workflow taken from the outbox queue to be indexed, after which it is retried.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration indexingOutboxTimeout = Duration.ofSeconds(30);
+
     /**
      * Used to control the validation for owner email field as mandatory within workflow and task definitions.
      */
@@ -240,6 +299,95 @@ public class ConductorProperties {
     @DataSizeUnit(DataUnit.KILOBYTES)
     private DataSize maxWorkflowVariablesPayloadSizeThreshold = DataSize.ofKilobytes(256L);
 
+    /**
+     * Used to enable/disable the node-local cache of running workflows, which lets the holder of the workflow
+     * execution lock skip reloading a workflow that no other node has written since it was last read.
+     */
+    private boolean workflowCacheEnabled = false;
+
+    /**
+     * The maximum number of workflows held in the workflow cache.
+     */
+    private int workflowCacheMaxSize = 1000;
+
+    /**
+     * The maximum total size in KB of the serialized workflows held in the workflow cache.
+     */
+    @DataSizeUnit(DataUnit.KILOBYTES)
+    private DataSize workflowCacheMaxWeight = DataSize.ofKilobytes(65536L);
+
+    /**
+     * Used to enable/disable the coalescing of the decides of a workflow on this node. A decide requested while another
+     * one of the same workflow is running returns immediately, and the running decide evaluates the workflow once more
+     * instead.
+     */
+    private boolean decideCoalescingEnabled = false;
+
+    /**
+     * The format in which the redis execution DAO stores the task and workflow documents. It is ignored by the mysql,
+     * postgres and cassandra execution DAOs, which store JSON text. The documents stored in any format can be read
+     * whatever this format is, so that it can be changed on a live store.
+     */
+    private Format executionDocumentFormat = Format.JSON;
+
+    /**
+     * The compression of the task and workflow documents stored by the redis execution DAO. It is ignored by the mysql,
+     * postgres and cassandra execution DAOs, which store JSON text.
+     */
+    private Compression executionDocumentCompression = Compression.NONE;
+
+    /**
+     * Used to enable/disable storing the running tasks and workflows with a reference to their registered definition
+     * rather than a copy of it. The referenced definitions are read from the {@link com.netflix.conductor.dao.MetadataDAO}
+     * when the documents are loaded, so neither their workflow definition nor the task definitions it uses can be
+     * modified or removed while they are running.
+     */
+    private boolean executionDocumentDefinitionsByReference = false;
+
+    /**
+     * The maximum number of workflow definitions held in the node-local cache of the definitions referenced by the
+     * stored tasks and workflows. They are held in the metadata cache instead when it is enabled.
+     */
+    private int executionDefinitionCacheMaxSize = 1000;
+
+    /**
+     * The time in seconds after which a workflow definition referenced by the stored tasks and workflows is read again,
+     * for the changes made on other nodes to its task definitions, while it had no running workflows, to be observed.
+     * The refresh interval of the metadata cache applies instead when it is enabled.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration executionDefinitionCacheRefreshInterval = Duration.ofSeconds(60);
+
+    /**
+     * Used to enable/disable the node-local cache of the task, workflow and event handler definitions read from the
+     * {@link com.netflix.conductor.dao.MetadataDAO} and {@link com.netflix.conductor.dao.EventHandlerDAO}.
+     */
+    private boolean metadataCacheEnabled = false;
+
+    /**
+     * The time in seconds after which a cached definition is read again, for the changes made on other nodes to be
+     * observed. The changes made on this node are observed at once.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration metadataCacheRefreshInterval = Duration.ofSeconds(60);
+
+    /**
+     * The maximum number of definitions held in the node-local metadata cache.
+     */
+    private int metadataCacheMaxSize = 10000;
+
+    /**
+     * The strategy used to generate the ids of the workflows, tasks and messages. The time-ordered ids keep the inserts
+     * into the indexes of the SQL stores local, and are generated without contention between the threads.
+     */
+    private IDGenerator.Type idGenerator = IDGenerator.Type.RANDOM;
+
+    /**
+     * Used to enable/disable tracking the changes made to the terminal tasks since they were read from or written to
+     * the execution store, so that the updates of unchanged terminal tasks are skipped.
+     */
+    private boolean taskStateTrackingEnabled = false;
+
     public String getStack() {
         return stack;
     }
@@ -384,6 +532,22 @@ public class ConductorProperties {
         this.systemTaskWorkerPollInterval = systemTaskWorkerPollInterval;
     }
 
+    public Duration getSystemTaskWorkerMaxPollInterval() {
+        return systemTaskWorkerMaxPollInterval;
+    }
+
+    public void setSystemTaskWorkerMaxPollInterval(Duration systemTaskWorkerMaxPollInterval) {
+        this.systemTaskWorkerMaxPollInterval = systemTaskWorkerMaxPollInterval;
+    }
+
+    public int getSystemTaskWorkerPollerThreadCount() {
+        return systemTaskWorkerPollerThreadCount;
+    }
+
+    public void setSystemTaskWorkerPollerThreadCount(int systemTaskWorkerPollerThreadCount) {
+        this.systemTaskWorkerPollerThreadCount = systemTaskWorkerPollerThreadCount;
+    }
+
     public String getSystemTaskWorkerExecutionNamespace() {
         return systemTaskWorkerExecutionNamespace;
     }
@@ -400,6 +564,22 @@ public class ConductorProperties {
         this.isolatedSystemTaskWorkerThreadCount = isolatedSystemTaskWorkerThreadCount;
     }
 
+    public int getSystemTaskWorkerMaxInFlight() {
+        return systemTaskWorkerMaxInFlight;
+    }
+
+    public void setSystemTaskWorkerMaxInFlight(int systemTaskWorkerMaxInFlight) {
+        this.systemTaskWorkerMaxInFlight = systemTaskWorkerMaxInFlight;
+    }
+
+    public int getIsolatedSystemTaskWorkerMaxInFlight() {
+        return isolatedSystemTaskWorkerMaxInFlight;
+    }
+
+    public void setIsolatedSystemTaskWorkerMaxInFlight(int isolatedSystemTaskWorkerMaxInFlight) {
+        this.isolatedSystemTaskWorkerMaxInFlight = isolatedSystemTaskWorkerMaxInFlight;
+    }
+
     public int getSystemTaskMaxPollCount() {
         return systemTaskMaxPollCount;
     }
@@ -424,6 +604,46 @@ public class ConductorProperties {
         this.asyncUpdateDelay = asyncUpdateDelay;
     }
 
+    public boolean isIndexingOutboxEnabled() {
+        return indexingOutboxEnabled;
+    }
+
+    public void setIndexingOutboxEnabled(boolean indexingOutboxEnabled) {
+        this.indexingOutboxEnabled = indexingOutboxEnabled;
+    }
+
+    public Duration getIndexingOutboxWindow() {
+        return indexingOutboxWindow;
+    }
+
+    public void setIndexingOutboxWindow(Duration indexingOutboxWindow) {
+        this.indexingOutboxWindow = indexingOutboxWindow;
+    }
+
+    public int getIndexingOutboxBatchSize() {
+        return indexingOutboxBatchSize;
+    }
+
+    public void setIndexingOutboxBatchSize(int indexingOutboxBatchSize) {
+        this.indexingOutboxBatchSize = indexingOutboxBatchSize;
+    }
+
+    public Duration getIndexingOutboxRetryDelay() {
+        return indexingOutboxRetryDelay;
+    }
+
+    public void setIndexingOutboxRetryDelay(Duration indexingOutboxRetryDelay) {
+        this.indexingOutboxRetryDelay = indexingOutboxRetryDelay;
+    }
+
+    public Duration getIndexingOutboxTimeout() {
+        return indexingOutboxTimeout;
+    }
+
+    public void setIndexingOutboxTimeout(Duration indexingOutboxTimeout) {
+        this.indexingOutboxTimeout = indexingOutboxTimeout;
+    }
+
     public boolean isOwnerEmailMandatory() {
         return ownerEmailMandatory;
     }
@@ -536,6 +756,118 @@ public class ConductorProperties {
         this.maxWorkflowVariablesPayloadSizeThreshold = maxWorkflowVariablesPayloadSizeThreshold;
     }
 
+    public boolean isWorkflowCacheEnabled() {
+        return workflowCacheEnabled;
+    }
+
+    public void setWorkflowCacheEnabled(boolean workflowCacheEnabled) {
+        this.workflowCacheEnabled = workflowCacheEnabled;
+    }
+
+    public int getWorkflowCacheMaxSize() {
+        return workflowCacheMaxSize;
+    }
+
+    public void setWorkflowCacheMaxSize(int workflowCacheMaxSize) {
+        this.workflowCacheMaxSize = workflowCacheMaxSize;
+    }
+
+    public DataSize getWorkflowCacheMaxWeight() {
+        return workflowCacheMaxWeight;
+    }
+
+    public void setWorkflowCacheMaxWeight(DataSize workflowCacheMaxWeight) {
+        this.workflowCacheMaxWeight = workflowCacheMaxWeight;
+    }
+
+    public boolean isDecideCoalescingEnabled() {
+        return decideCoalescingEnabled;
+    }
+
+    public void setDecideCoalescingEnabled(boolean decideCoalescingEnabled) {
+        this.decideCoalescingEnabled = decideCoalescingEnabled;
+    }
+
+    public Format getExecutionDocumentFormat() {
+        return executionDocumentFormat;
+    }
+
+    public void setExecutionDocumentFormat(Format executionDocumentFormat) {
+        this.executionDocumentFormat = executionDocumentFormat;
+    }
+
+    public Compression getExecutionDocumentCompression() {
+        return executionDocumentCompression;
+    }
+
+    public void setExecutionDocumentCompression(Compression executionDocumentCompression) {
+        this.executionDocumentCompression = executionDocumentCompression;
+    }
+
+    public boolean isExecutionDocumentDefinitionsByReference() {
+        return executionDocumentDefinitionsByReference;
+    }
+
+    public void setExecutionDocumentDefinitionsByReference(boolean executionDocumentDefinitionsByReference) {
+        this.executionDocumentDefinitionsByReference = executionDocumentDefinitionsByReference;
+    }
+
+    public int getExecutionDefinitionCacheMaxSize() {
+        return executionDefinitionCacheMaxSize;
+    }
+
+    public void setExecutionDefinitionCacheMaxSize(int executionDefinitionCacheMaxSize) {
+        this.executionDefinitionCacheMaxSize = executionDefinitionCacheMaxSize;
+    }
+
+    public Duration getExecutionDefinitionCacheRefreshInterval() {
+        return executionDefinitionCacheRefreshInterval;
+    }
+
+    public void setExecutionDefinitionCacheRefreshInterval(Duration executionDefinitionCacheRefreshInterval) {
+        this.executionDefinitionCacheRefreshInterval = executionDefinitionCacheRefreshInterval;
+    }
+
+    public boolean isMetadataCacheEnabled() {
+        return metadataCacheEnabled;
+    }
+
+    public void setMetadataCacheEnabled(boolean metadataCacheEnabled) {
+        this.metadataCacheEnabled = metadataCacheEnabled;
+    }
+
+    public Duration getMetadataCacheRefreshInterval() {
+        return metadataCacheRefreshInterval;
+    }
+
+    public void setMetadataCacheRefreshInterval(Duration metadataCacheRefreshInterval) {
+        this.metadataCacheRefreshInterval = metadataCacheRefreshInterval;
+    }
+
+    public int getMetadataCacheMaxSize() {
+        return metadataCacheMaxSize;
+    }
+
+    public void setMetadataCacheMaxSize(int metadataCacheMaxSize) {
+        this.metadataCacheMaxSize = metadataCacheMaxSize;
+    }
+
+    public IDGenerator.Type getIdGenerator() {
+        return idGenerator;
+    }
+
+    public void setIdGenerator(IDGenerator.Type idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    public boolean isTaskStateTrackingEnabled() {
+        return taskStateTrackingEnabled;
+    }
+
+    public void setTaskStateTrackingEnabled(boolean taskStateTrackingEnabled) {
+        this.taskStateTrackingEnabled = taskStateTrackingEnabled;
+    }
+
     /**
      * @return Returns all the configurations in a map.
      */
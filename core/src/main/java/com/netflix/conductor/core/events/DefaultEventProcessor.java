@@ -54,6 +54,7 @@ public class DefaultEventProcessor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultEventProcessor.class);
     private static final int RETRY_COUNT = 3;
+    private static final String SCRIPT_TYPE = "EVENT_HANDLER";
 
     private final MetadataService metadataService;
     private final ExecutionService executionService;
@@ -129,7 +130,8 @@ public class DefaultEventProcessor {
             String condition = eventHandler.getCondition();
             if (StringUtils.isNotEmpty(condition)) {
                 LOGGER.debug("Checking condition: {} for event: {}", condition, event);
-                Boolean success = ScriptEvaluator.evalBool(condition, jsonUtils.expand(payloadObject));
+                Boolean success = ScriptEvaluator.evalBool(condition, jsonUtils.expand(payloadObject),
+                    SCRIPT_TYPE);
                 if (!success) {
                     String id = msg.getId() + "_" + 0;
                     EventExecution eventExecution = new EventExecution(id, msg.getId());
@@ -12,20 +12,49 @@
  */
 package com.netflix.conductor.core.events;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.netflix.conductor.metrics.Monitors;
+
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Evaluates javascript expressions against an input bound to {@code $}.
+ * <p>
+ * The scripts are compiled once and kept in a bounded cache keyed by their source. Every evaluation runs in a global
+ * scope of its own, so that the variables a script defines at the top level are neither visible to the concurrent
+ * evaluations nor to the later ones.
+ */
 public class ScriptEvaluator {
 
+    private static final String DEFAULT_SCRIPT_TYPE = "SCRIPT";
+    private static final int MAX_CACHED_SCRIPTS = 1000;
+
     private static final ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
 
+    private static final Cache<String, CompiledScript> compiledScripts = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_SCRIPTS)
+        .build();
+
     private ScriptEvaluator() {
     }
 
     public static Boolean evalBool(String script, Object input) throws ScriptException {
-        Object ret = eval(script, input);
+        return evalBool(script, input, DEFAULT_SCRIPT_TYPE);
+    }
+
+    /**
+     * @param scriptType what the script is used for, e.g. the type of the task evaluating it, to tag its metrics
+     */
+    public static Boolean evalBool(String script, Object input, String scriptType) throws ScriptException {
+        Object ret = eval(script, input, scriptType);
 
         if (ret instanceof Boolean) {
             return ((Boolean) ret);
@@ -36,8 +65,39 @@ public class ScriptEvaluator {
     }
 
     public static Object eval(String script, Object input) throws ScriptException {
+        return eval(script, input, DEFAULT_SCRIPT_TYPE);
+    }
+
+    /**
+     * @param scriptType what the script is used for, e.g. the type of the task evaluating it, to tag its metrics
+     */
+    public static Object eval(String script, Object input, String scriptType) throws ScriptException {
+        CompiledScript compiledScript = getCompiledScript(script, scriptType);
+        long start = System.nanoTime();
         Bindings bindings = engine.createBindings();
         bindings.put("$", input);
-        return engine.eval(script, bindings);
+        try {
+            return compiledScript.eval(bindings);
+        } finally {
+            Monitors.recordScriptEvaluation(scriptType, System.nanoTime() - start);
+        }
+    }
+
+    private static CompiledScript getCompiledScript(String script, String scriptType) throws ScriptException {
+        try {
+            return compiledScripts.get(script, () -> {
+                long start = System.nanoTime();
+                try {
+                    return ((Compilable) engine).compile(script);
+                } finally {
+                    Monitors.recordScriptCompilation(scriptType, System.nanoTime() - start);
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof ScriptException) {
+                throw (ScriptException) e.getCause();
+            }
+            throw new ScriptException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
     }
 }
@@ -89,15 +89,14 @@ public class DefaultEventQueueProcessor {
                 Workflow workflow = executionService.getExecutionStatus(workflowId, true);
                 Optional<Task> taskOptional;
                 if (StringUtils.isNotEmpty(taskId)) {
-                    taskOptional = workflow.getTasks().stream()
-                        .filter(task -> !task.getStatus().isTerminal() && task.getTaskId().equals(taskId)).findFirst();
+                    taskOptional = Optional.ofNullable(workflow.getTaskById(taskId))
+                        .filter(task -> !task.getStatus().isTerminal());
                 } else if (StringUtils.isEmpty(taskRefName)) {
                     LOGGER.error(
                         "No taskRefName found in the message. If there is only one WAIT task, will mark it as completed. {}",
                         payload);
-                    taskOptional = workflow.getTasks().stream()
-                        .filter(task -> !task.getStatus().isTerminal()
-                            && task.getTaskType().equals(TASK_TYPE_WAIT)).findFirst();
+                    taskOptional = workflow.getTasksByType(TASK_TYPE_WAIT).stream()
+                        .filter(task -> !task.getStatus().isTerminal()).findFirst();
                 } else {
                     taskOptional = workflow.getTasks().stream().filter(
                         task -> !task.getStatus().isTerminal() && task.getReferenceTaskName().equals(taskRefName))
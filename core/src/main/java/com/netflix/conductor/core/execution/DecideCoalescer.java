@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the workflows being decided on this node, so that the decides requested for a workflow while it is being
+ * decided are collapsed into one more evaluation by the running decide.
+ * <p>
+ * The thread that {@link #start(String) starts} a decide owns it until {@link #finish(String)} returns false or
+ * {@link #abort(String)} is called. Any other start of the same workflow in the meantime only marks the workflow as
+ * dirty.
+ */
+class DecideCoalescer {
+
+    private final boolean enabled;
+    private final Map<String, Boolean> dirtyByWorkflow = new ConcurrentHashMap<>();
+
+    DecideCoalescer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return true if the caller owns the decide of the workflow, false if a decide is already running and will
+     * evaluate the workflow again
+     */
+    boolean start(String workflowId) {
+        if (!enabled) {
+            return true;
+        }
+        boolean[] started = new boolean[1];
+        dirtyByWorkflow.compute(workflowId, (id, dirty) -> {
+            started[0] = dirty == null;
+            return !started[0];
+        });
+        return started[0];
+    }
+
+    /**
+     * Called by the owner after every evaluation of the workflow.
+     *
+     * @return true if a decide was requested during the evaluation, in which case the owner must evaluate the workflow
+     * again; false if the owner is done, in which case it no longer owns the decide
+     */
+    boolean finish(String workflowId) {
+        if (!enabled || dirtyByWorkflow.remove(workflowId, Boolean.FALSE)) {
+            return false;
+        }
+        // only the owner resets the dirty bit, so the workflow is still registered and dirty
+        dirtyByWorkflow.put(workflowId, Boolean.FALSE);
+        return true;
+    }
+
+    /**
+     * Releases the ownership of the decide without evaluating the workflow again, dropping the pending requests.
+     */
+    void abort(String workflowId) {
+        if (enabled) {
+            dirtyByWorkflow.remove(workflowId);
+        }
+    }
+}
@@ -735,8 +735,7 @@ public class DeciderService {
     public List<Task> getTasksToBeScheduled(Workflow workflow,
         WorkflowTask taskToSchedule, int retryCount, String retriedTaskId) {
         workflow = populateWorkflowAndTaskData(workflow);
-        Map<String, Object> input = parametersUtils.getTaskInput(taskToSchedule.getInputParameters(),
-            workflow, null, null);
+        Map<String, Object> input = parametersUtils.getTaskInput(taskToSchedule, workflow, null, null);
 
         String type = taskToSchedule.getType();
         TaskType taskType = TaskType.of(type);
@@ -31,6 +31,7 @@ import static com.netflix.conductor.core.exception.ApplicationException.Code.NOT
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.netflix.conductor.annotations.Trace;
 import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
@@ -43,6 +44,7 @@ import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.SkipTaskRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
 import com.netflix.conductor.common.utils.RetryUtil;
@@ -71,11 +73,15 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
@@ -108,6 +114,7 @@ public class WorkflowExecutor {
     public static final String DECIDER_QUEUE = "_deciderQueue";
     private static final String CLASS_NAME = WorkflowExecutor.class.getSimpleName();
     private final ExecutionLockService executionLockService;
+    private final DecideCoalescer decideCoalescer;
 
     private static final Predicate<Task> UNSUCCESSFUL_TERMINAL_TASK = task -> !task.getStatus().isSuccessful() && task.getStatus().isTerminal();
 
@@ -137,6 +144,7 @@ public class WorkflowExecutor {
         this.executionLockService = executionLockService;
         this.parametersUtils = parametersUtils;
         this.systemTaskRegistry = systemTaskRegistry;
+        this.decideCoalescer = new DecideCoalescer(properties.isDecideCoalescingEnabled());
     }
 
     /**
@@ -900,6 +908,197 @@ public class WorkflowExecutor {
         }
 
         String workflowId = taskResult.getWorkflowInstanceId();
+        Workflow workflowInstance = getWorkflowForTaskUpdate(workflowId);
+
+        Task task = Optional.ofNullable(executionDAOFacade.getTaskById(taskResult.getTaskId()))
+                .orElseThrow(() -> new ApplicationException(ApplicationException.Code.NOT_FOUND,
+                        "No such task found by id: " + taskResult.getTaskId()));
+
+        if (!applyTaskResult(workflowInstance, task, taskResult)) {
+            queueDAO.remove(QueueUtils.getQueueName(task), taskResult.getTaskId());
+            return;
+        }
+
+        // Throw an ApplicationException if below operations fail to avoid workflow inconsistencies.
+        try {
+            String updateTaskDesc = "Updating Task with taskId: " + task.getTaskId();
+            String updateTaskOperation = "updateTask";
+
+            new RetryUtil<>().retryOnException(() -> {
+                executionDAOFacade.updateTask(task);
+                return null;
+            }, null, null, 2, updateTaskDesc, updateTaskOperation);
+        } catch (Exception e) {
+            String errorMsg = String.format("Error updating task: %s for workflow: %s", task.getTaskId(), workflowId);
+            LOGGER.error(errorMsg, e);
+            Monitors.recordTaskUpdateError(task.getTaskType(), workflowInstance.getWorkflowName());
+            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, e);
+        }
+
+        updateTaskMessage(workflowInstance, task, taskResult);
+
+        taskResult.getLogs().forEach(taskExecLog -> taskExecLog.setTaskId(task.getTaskId()));
+        executionDAOFacade.addTaskExecLog(taskResult.getLogs());
+        recordTaskExecutionTime(task);
+
+        decide(workflowId);
+    }
+
+    /**
+     * Updates the given task results. The results are grouped by workflow: the results of a workflow are applied under
+     * a single acquisition of its lock and persisted together, and the workflow is then evaluated once.
+     * <p>
+     * The results of each workflow are updated on their own, and a result which cannot be applied does not prevent the
+     * others from being. The tasks are all read before any of them is changed, and their messages are moved in the task
+     * queues only once they are persisted, so a result which fails leaves its task as it was, to be updated again. As
+     * with {@link #updateTask(TaskResult)}, the results of a workflow whose lock cannot be acquired in time are still
+     * applied, without the lock.
+     *
+     * @param taskResults the task results to be updated
+     * @return the ids of the tasks whose result was applied, or ignored as the task or its workflow had already
+     * finished, and the error of each of the other results by task id
+     * @throws ApplicationException if any of the results is null
+     */
+    public BulkResponse updateTasks(List<TaskResult> taskResults) {
+        Map<String, List<TaskResult>> taskResultsByWorkflow = new LinkedHashMap<>();
+        for (TaskResult taskResult : taskResults) {
+            if (taskResult == null) {
+                throw new ApplicationException(ApplicationException.Code.INVALID_INPUT, "Task object is null");
+            }
+            taskResultsByWorkflow.computeIfAbsent(taskResult.getWorkflowInstanceId(), workflowId -> new ArrayList<>())
+                    .add(taskResult);
+        }
+
+        BulkResponse bulkResponse = new BulkResponse();
+        taskResultsByWorkflow.forEach((workflowId, workflowTaskResults) -> {
+            boolean updated;
+            boolean locked = executionLockService.acquireLock(workflowId);
+            try {
+                updated = updateTasks(workflowId, workflowTaskResults, bulkResponse);
+            } catch (Exception e) {
+                LOGGER.error("Error updating the tasks of workflow: {}", workflowId, e);
+                workflowTaskResults.forEach(taskResult ->
+                        bulkResponse.appendFailedResponse(taskResult.getTaskId(), errorMessage(e)));
+                return;
+            } finally {
+                if (locked) {
+                    executionLockService.releaseLock(workflowId);
+                }
+            }
+            if (updated) {
+                try {
+                    decide(workflowId);
+                } catch (Exception e) {
+                    // the results are persisted, the workflow is evaluated again by the sweeper
+                    LOGGER.error("Error evaluating workflow: {} after updating its tasks", workflowId, e);
+                }
+            }
+        });
+        return bulkResponse;
+    }
+
+    /**
+     * Updates the results of the tasks of a workflow, and records the outcome of the results which were not rejected
+     * as a whole in the given response.
+     *
+     * @return true if any of the tasks was updated
+     */
+    private boolean updateTasks(String workflowId, List<TaskResult> taskResults, BulkResponse bulkResponse) {
+        Workflow workflowInstance = getWorkflowForTaskUpdate(workflowId);
+
+        // the tasks are all read before any of them is changed
+        Map<String, String> errors = new LinkedHashMap<>();
+        List<TaskResult> foundTaskResults = new ArrayList<>(taskResults.size());
+        List<Task> foundTasks = new ArrayList<>(taskResults.size());
+        for (TaskResult taskResult : taskResults) {
+            Task task = Optional.ofNullable(workflowInstance.getTaskById(taskResult.getTaskId()))
+                    .orElseGet(() -> executionDAOFacade.getTaskById(taskResult.getTaskId()));
+            if (task == null) {
+                errors.put(taskResult.getTaskId(), "No such task found by id: " + taskResult.getTaskId());
+            } else {
+                foundTaskResults.add(taskResult);
+                foundTasks.add(task);
+            }
+        }
+
+        List<TaskResult> updatedTaskResults = new ArrayList<>(foundTasks.size());
+        List<Task> updatedTasks = new ArrayList<>(foundTasks.size());
+        List<Task> ignoredTasks = new ArrayList<>();
+        List<TaskExecLog> taskExecLogs = new ArrayList<>();
+        for (int i = 0; i < foundTasks.size(); i++) {
+            Task task = foundTasks.get(i);
+            TaskResult taskResult = foundTaskResults.get(i);
+            if (applyTaskResult(workflowInstance, task, taskResult)) {
+                updatedTaskResults.add(taskResult);
+                updatedTasks.add(task);
+                taskResult.getLogs().forEach(taskExecLog -> taskExecLog.setTaskId(task.getTaskId()));
+                taskExecLogs.addAll(taskResult.getLogs());
+            } else {
+                ignoredTasks.add(task);
+            }
+        }
+
+        if (!updatedTasks.isEmpty()) {
+            // Throw an ApplicationException if below operations fail to avoid workflow inconsistencies.
+            try {
+                String updateTasksDesc = "Updating Tasks of workflow: " + workflowId;
+                String updateTasksOperation = "updateTasks";
+
+                new RetryUtil<>().retryOnException(() -> {
+                    executionDAOFacade.updateTasks(updatedTasks);
+                    return null;
+                }, null, null, 2, updateTasksDesc, updateTasksOperation);
+            } catch (Exception e) {
+                String errorMsg = String.format("Error updating tasks: %s for workflow: %s",
+                        updatedTasks.stream().map(Task::getTaskId).collect(Collectors.toList()), workflowId);
+                LOGGER.error(errorMsg, e);
+                updatedTasks.forEach(task ->
+                        Monitors.recordTaskUpdateError(task.getTaskType(), workflowInstance.getWorkflowName()));
+                throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, e);
+            }
+        }
+
+        List<String> succeeded = new ArrayList<>(foundTasks.size());
+        for (Task task : ignoredTasks) {
+            try {
+                queueDAO.remove(QueueUtils.getQueueName(task), task.getTaskId());
+            } catch (Exception e) {
+                // the message of a finished task is removed when it is polled again
+                LOGGER.warn("Error removing the message in queue for task: {} for workflow: {}", task.getTaskId(),
+                        workflowId, e);
+                Monitors.recordTaskQueueOpError(task.getTaskType(), workflowInstance.getWorkflowName());
+            }
+            succeeded.add(task.getTaskId());
+        }
+        for (int i = 0; i < updatedTasks.size(); i++) {
+            Task task = updatedTasks.get(i);
+            try {
+                updateTaskMessage(workflowInstance, task, updatedTaskResults.get(i));
+                succeeded.add(task.getTaskId());
+            } catch (Exception e) {
+                errors.put(task.getTaskId(), errorMessage(e));
+            }
+        }
+
+        if (!taskExecLogs.isEmpty()) {
+            try {
+                executionDAOFacade.addTaskExecLog(taskExecLogs);
+            } catch (Exception e) {
+                LOGGER.error("Error adding the execution logs of the tasks of workflow: {}", workflowId, e);
+            }
+        }
+        updatedTasks.forEach(this::recordTaskExecutionTime);
+
+        succeeded.forEach(bulkResponse::appendSuccessResponse);
+        errors.forEach(bulkResponse::appendFailedResponse);
+        return !updatedTasks.isEmpty();
+    }
+
+    private static String errorMessage(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.toString();
+    }
+
+    private Workflow getWorkflowForTaskUpdate(String workflowId) {
         Workflow workflowInstance = executionDAOFacade.getWorkflowById(workflowId, true);
 
         // FIXME Backwards compatibility for legacy workflows already running.
@@ -907,34 +1106,37 @@ public class WorkflowExecutor {
         if (workflowInstance.getWorkflowDefinition() == null) {
             workflowInstance = metadataMapperService.populateWorkflowWithDefinitions(workflowInstance);
         }
+        return workflowInstance;
+    }
 
-        Task task = Optional.ofNullable(executionDAOFacade.getTaskById(taskResult.getTaskId()))
-                .orElseThrow(() -> new ApplicationException(ApplicationException.Code.NOT_FOUND,
-                        "No such task found by id: " + taskResult.getTaskId()));
-
+    /**
+     * Applies the task result to the task, without persisting it or moving its message in the task queue.
+     *
+     * @return false if the task or its workflow has already finished, in which case the result is ignored and the
+     * message of the task is to be removed from its queue
+     */
+    private boolean applyTaskResult(Workflow workflowInstance, Task task, TaskResult taskResult) {
         LOGGER.debug("Task: {} belonging to Workflow {} being updated", task, workflowInstance);
 
         String taskQueueName = QueueUtils.getQueueName(task);
 
         if (task.getStatus().isTerminal()) {
             // Task was already updated....
-            queueDAO.remove(taskQueueName, taskResult.getTaskId());
             LOGGER.info(
                     "Task: {} has already finished execution with status: {} within workflow: {}. Removed task from queue: {}",
                     task.getTaskId(), task.getStatus(), task.getWorkflowInstanceId(), taskQueueName);
             Monitors.recordUpdateConflict(task.getTaskType(), workflowInstance.getWorkflowName(), task.getStatus());
-            return;
+            return false;
         }
 
         if (workflowInstance.getStatus().isTerminal()) {
             // Workflow is in terminal state
-            queueDAO.remove(taskQueueName, taskResult.getTaskId());
             LOGGER.info(
                     "Workflow: {} has already finished execution. Task update for: {} ignored and removed from Queue: {}.",
                     workflowInstance, taskResult.getTaskId(), taskQueueName);
             Monitors.recordUpdateConflict(task.getTaskType(), workflowInstance.getWorkflowName(),
                     workflowInstance.getStatus());
-            return;
+            return false;
         }
 
         // for system tasks, setting to SCHEDULED would mean restarting the task which is undesirable
@@ -960,6 +1162,15 @@ public class WorkflowExecutor {
         if (task.getStatus().isTerminal()) {
             task.setEndTime(System.currentTimeMillis());
         }
+        return true;
+    }
+
+    /**
+     * Moves the message of the task in its queue according to the status of the task, once its result is persisted.
+     */
+    private void updateTaskMessage(Workflow workflowInstance, Task task, TaskResult taskResult) {
+        String workflowId = workflowInstance.getWorkflowId();
+        String taskQueueName = QueueUtils.getQueueName(task);
 
         // Update message in Task queue based on Task status
         switch (task.getStatus()) {
@@ -1009,34 +1220,15 @@ public class WorkflowExecutor {
             default:
                 break;
         }
+    }
 
-        // Throw an ApplicationException if below operations fail to avoid workflow inconsistencies.
-        try {
-            String updateTaskDesc = "Updating Task with taskId: " + task.getTaskId();
-            String updateTaskOperation = "updateTask";
-
-            new RetryUtil<>().retryOnException(() -> {
-                executionDAOFacade.updateTask(task);
-                return null;
-            }, null, null, 2, updateTaskDesc, updateTaskOperation);
-        } catch (Exception e) {
-            String errorMsg = String.format("Error updating task: %s for workflow: %s", task.getTaskId(), workflowId);
-            LOGGER.error(errorMsg, e);
-            Monitors.recordTaskUpdateError(task.getTaskType(), workflowInstance.getWorkflowName());
-            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, e);
-        }
-
-        taskResult.getLogs().forEach(taskExecLog -> taskExecLog.setTaskId(task.getTaskId()));
-        executionDAOFacade.addTaskExecLog(taskResult.getLogs());
-
+    private void recordTaskExecutionTime(Task task) {
         if (task.getStatus().isTerminal()) {
             long duration = getTaskDuration(0, task);
             long lastDuration = task.getEndTime() - task.getStartTime();
             Monitors.recordTaskExecutionTime(task.getTaskDefName(), duration, true, task.getStatus());
             Monitors.recordTaskExecutionTime(task.getTaskDefName(), lastDuration, false, task.getStatus());
         }
-
-        decide(workflowId);
     }
 
     public Task getTask(String taskId) {
@@ -1073,15 +1265,53 @@ public class WorkflowExecutor {
     }
 
     /**
+     * When decides are coalesced, a decide requested while another one of the same workflow is running on this node
+     * returns false immediately, and the running decide evaluates the workflow once more before releasing the lock.
+     *
      * @param workflowId ID of the workflow to evaluate the state for
      * @return true if the workflow has completed (success or failed), false otherwise.
      * @throws ApplicationException If there was an error - caller should retry in this case.
      */
     public boolean decide(String workflowId) {
-        if (!executionLockService.acquireLock(workflowId)) {
+        if (!decideCoalescer.start(workflowId)) {
+            Monitors.recordDecideCoalesced();
             return false;
         }
 
+        boolean decideOwned = true;
+        try {
+            if (!executionLockService.acquireLock(workflowId)) {
+                return false;
+            }
+            try {
+                // evaluate the workflow once more for the decides requested meanwhile, before releasing the lock
+                while (true) {
+                    if (decideWorkflow(workflowId)) {
+                        return true;
+                    }
+                    if (!decideCoalescer.finish(workflowId)) {
+                        decideOwned = false;
+                        return false;
+                    }
+                }
+            } finally {
+                executionLockService.releaseLock(workflowId);
+            }
+        } finally {
+            if (decideOwned) {
+                decideCoalescer.abort(workflowId);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the workflow, with the execution lock held.
+     *
+     * @return true if the workflow has completed (success or failed), false otherwise.
+     */
+    private boolean decideWorkflow(String workflowId) {
+        Monitors.recordDecideExecuted();
+
         // If it is a new workflow, the tasks will be still empty even though include tasks is true
         Workflow workflow = executionDAOFacade.getWorkflowById(workflowId, true);
 
@@ -1126,6 +1356,9 @@ public class WorkflowExecutor {
                     deciderService.externalizeTaskData(task);
                 }
             }
+            Monitors.recordTaskLookups(workflow.getWorkflowName(),
+                workflow.getTaskLookupCount() + workflowInstance.getTaskLookupCount(),
+                workflow.getTaskIndexBuildCount() + workflowInstance.getTaskIndexBuildCount());
 
             if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
                 executionDAOFacade.updateTasks(tasksToBeUpdated);
@@ -1135,6 +1368,7 @@ public class WorkflowExecutor {
             stateChanged = scheduleTask(workflow, tasksToBeScheduled) || stateChanged;
 
             if (stateChanged) {
+                // when decides are coalesced, this only requests the running decide to evaluate the workflow again
                 decide(workflowId);
             }
 
@@ -1145,8 +1379,6 @@ public class WorkflowExecutor {
         } catch (RuntimeException e) {
             LOGGER.error("Error deciding workflow: {}", workflowId, e);
             throw e;
-        } finally {
-            executionLockService.releaseLock(workflowId);
         }
         return false;
     }
@@ -1355,11 +1587,24 @@ public class WorkflowExecutor {
 
     //Executes the async system task
     public void executeSystemTask(WorkflowSystemTask systemTask, String taskId, long callbackTime) {
+        executeSystemTaskAsync(systemTask, taskId, callbackTime, MoreExecutors.directExecutor())
+            .toCompletableFuture().join();
+    }
+
+    /**
+     * Executes the async system task, starting it with {@link WorkflowSystemTask#startAsync}. The task is updated with
+     * the outcome of its start on the given executor, so that the thread completing the start, e.g. an I/O thread of
+     * the task, is not used to update the workflow.
+     *
+     * @return a stage completed once the task is updated, which never completes exceptionally
+     */
+    public CompletionStage<Void> executeSystemTaskAsync(WorkflowSystemTask systemTask, String taskId,
+        long callbackTime, Executor executor) {
         try {
             Task task = executionDAOFacade.getTaskById(taskId);
             if (task == null) {
                 LOGGER.error("TaskId: {} could not be found while executing SystemTask", taskId);
-                return;
+                return CompletableFuture.completedFuture(null);
             }
             LOGGER.debug("Task: {} fetched from execution DAO for taskId: {}", task, taskId);
             String queueName = QueueUtils.getQueueName(task);
@@ -1367,7 +1612,7 @@ public class WorkflowExecutor {
                 //Tune the SystemTaskWorkerCoordinator's queues - if the queue size is very big this can happen!
                 LOGGER.info("Task {}/{} was already completed.", task.getTaskType(), task.getTaskId());
                 queueDAO.remove(queueName, task.getTaskId());
-                return;
+                return CompletableFuture.completedFuture(null);
             }
 
             String workflowId = task.getWorkflowInstanceId();
@@ -1386,7 +1631,7 @@ public class WorkflowExecutor {
                 }
                 executionDAOFacade.updateTask(task);
                 queueDAO.remove(queueName, task.getTaskId());
-                return;
+                return CompletableFuture.completedFuture(null);
             }
 
             if (task.getStatus().equals(SCHEDULED)) {
@@ -1395,7 +1640,7 @@ public class WorkflowExecutor {
                     LOGGER.warn("Concurrent Execution limited for {}:{}", taskId, task.getTaskDefName());
                     // Postpone a message, so that it would be available for poll again.
                     queueDAO.postpone(queueName, taskId, task.getWorkflowPriority(), queueTaskMessagePostponeSecs);
-                    return;
+                    return CompletableFuture.completedFuture(null);
                 }
                 if (task.getRateLimitPerFrequency() > 0 && executionDAOFacade
                         .exceedsRateLimitPerFrequency(task, metadataDAO.getTaskDef(task.getTaskDefName()))) {
@@ -1403,7 +1648,7 @@ public class WorkflowExecutor {
                             task.getRateLimitPerFrequency());
                     // Postpone a message, so that it would be available for poll again.
                     queueDAO.postpone(queueName, taskId, task.getWorkflowPriority(), queueTaskMessagePostponeSecs);
-                    return;
+                    return CompletableFuture.completedFuture(null);
                 }
             }
 
@@ -1418,12 +1663,13 @@ public class WorkflowExecutor {
             // Stop polling for asyncComplete system tasks that are not in SCHEDULED state
             if (systemTask.isAsyncComplete(task) && task.getStatus() != SCHEDULED) {
                 queueDAO.remove(QueueUtils.getQueueName(task), task.getTaskId());
-                return;
+                return CompletableFuture.completedFuture(null);
             }
 
+            CompletionStage<Void> execution = CompletableFuture.completedFuture(null);
             switch (task.getStatus()) {
                 case SCHEDULED:
-                    systemTask.start(workflow, task, this);
+                    execution = systemTask.startAsync(workflow, task, this);
                     break;
 
                 case IN_PROGRESS:
@@ -1433,18 +1679,37 @@ public class WorkflowExecutor {
                     break;
             }
 
-            if (!task.getStatus().isTerminal()) {
-                task.setCallbackAfterSeconds(callbackTime);
-            }
-
-            updateTask(new TaskResult(task));
-            LOGGER.debug("Done Executing {}/{}-{} output={}", task.getTaskType(), task.getTaskId(), task.getStatus(),
-                    task.getOutputData().toString());
-
+            return execution.handleAsync((result, error) -> {
+                if (error != null) {
+                    onSystemTaskExecutionError(systemTask, taskId, error);
+                } else {
+                    try {
+                        completeSystemTaskExecution(task, callbackTime);
+                    } catch (Exception e) {
+                        onSystemTaskExecutionError(systemTask, taskId, e);
+                    }
+                }
+                return null;
+            }, executor);
         } catch (Exception e) {
-            Monitors.error(CLASS_NAME, "executeSystemTask");
-            LOGGER.error("Error executing system task - {}, with id: {}", systemTask, taskId, e);
+            onSystemTaskExecutionError(systemTask, taskId, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void completeSystemTaskExecution(Task task, long callbackTime) {
+        if (!task.getStatus().isTerminal()) {
+            task.setCallbackAfterSeconds(callbackTime);
         }
+
+        updateTask(new TaskResult(task));
+        LOGGER.debug("Done Executing {}/{}-{} output={}", task.getTaskType(), task.getTaskId(), task.getStatus(),
+                task.getOutputData().toString());
+    }
+
+    private void onSystemTaskExecutionError(WorkflowSystemTask systemTask, String taskId, Throwable error) {
+        Monitors.error(CLASS_NAME, "executeSystemTask");
+        LOGGER.error("Error executing system task - {}, with id: {}", systemTask, taskId, error);
     }
 
     @VisibleForTesting
@@ -1538,7 +1803,7 @@ public class WorkflowExecutor {
 
             // metric to track the distribution of number of tasks within a workflow
             Monitors.recordNumTasksInWorkflow(workflow.getTasks().size() + tasks.size(), workflow.getWorkflowName(),
-                    String.valueOf(workflow.getWorkflowVersion()));
+                    workflow.getWorkflowVersion());
 
             // Save the tasks in the DAO
             createdTasks = executionDAOFacade.createTasks(tasks);
@@ -132,7 +132,7 @@ public class DecisionTaskMapper implements TaskMapper {
             LOGGER.debug("Case being evaluated using decision expression: {}", expression);
             try {
                 //Evaluate the expression by using the Nashhorn based script evaluator
-                Object returnValue = ScriptEvaluator.eval(expression, taskInput);
+                Object returnValue = ScriptEvaluator.eval(expression, taskInput, TaskType.TASK_TYPE_DECISION);
                 caseValue = (returnValue == null) ? "null" : returnValue.toString();
             } catch (ScriptException e) {
                 String errorMsg = String.format("Error while evaluating script: %s", expression);
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -54,10 +55,12 @@ public class EventTaskMapper implements TaskMapper {
         Workflow workflowInstance = taskMapperContext.getWorkflowInstance();
         String taskId = taskMapperContext.getTaskId();
 
-        taskToSchedule.getInputParameters().put("sink", taskToSchedule.getSink());
-        taskToSchedule.getInputParameters().put("asyncComplete", taskToSchedule.isAsyncComplete());
-        Map<String, Object> eventTaskInput = parametersUtils.getTaskInputV2(taskToSchedule.getInputParameters(),
-            workflowInstance, taskId, null);
+        // the workflow task may be shared by the executions of its definition, so its parameters are not modified
+        Map<String, Object> inputParameters = new HashMap<>(taskToSchedule.getInputParameters());
+        inputParameters.put("sink", taskToSchedule.getSink());
+        inputParameters.put("asyncComplete", taskToSchedule.isAsyncComplete());
+        Map<String, Object> eventTaskInput = parametersUtils.getTaskInputV2(inputParameters, workflowInstance, taskId,
+            null);
         String sink = (String) eventTaskInput.get("sink");
         Boolean asynComplete = (Boolean) eventTaskInput.get("asyncComplete");
 
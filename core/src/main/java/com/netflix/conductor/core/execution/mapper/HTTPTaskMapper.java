@@ -27,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -71,7 +72,9 @@ public class HTTPTaskMapper implements TaskMapper {
         LOGGER.debug("TaskMapperContext {} in HTTPTaskMapper", taskMapperContext);
 
         WorkflowTask taskToSchedule = taskMapperContext.getTaskToSchedule();
-        taskToSchedule.getInputParameters().put("asyncComplete", taskToSchedule.isAsyncComplete());
+        // the workflow task may be shared by the executions of its definition, so its parameters are not modified
+        Map<String, Object> inputParameters = new HashMap<>(taskToSchedule.getInputParameters());
+        inputParameters.put("asyncComplete", taskToSchedule.isAsyncComplete());
         Workflow workflowInstance = taskMapperContext.getWorkflowInstance();
         String taskId = taskMapperContext.getTaskId();
         int retryCount = taskMapperContext.getRetryCount();
@@ -81,7 +84,7 @@ public class HTTPTaskMapper implements TaskMapper {
                 .orElse(null));
 
         Map<String, Object> input = parametersUtils
-            .getTaskInputV2(taskToSchedule.getInputParameters(), workflowInstance, taskId, taskDefinition);
+            .getTaskInputV2(inputParameters, workflowInstance, taskId, taskDefinition);
         Boolean asynComplete = (Boolean) input.get("asyncComplete");
 
         Task httpTask = new Task();
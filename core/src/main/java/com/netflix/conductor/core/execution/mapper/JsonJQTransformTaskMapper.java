@@ -59,7 +59,7 @@ public class JsonJQTransformTaskMapper implements TaskMapper {
                 .orElse(null));
 
         Map<String, Object> taskInput = parametersUtils
-            .getTaskInputV2(taskToSchedule.getInputParameters(), workflowInstance, taskId, taskDefinition);
+            .getTaskInputV2(taskToSchedule, workflowInstance, taskId, taskDefinition);
 
         Task jsonJQTransformTask = new Task();
         jsonJQTransformTask.setTaskType(taskToSchedule.getType());
@@ -76,7 +76,7 @@ public class KafkaPublishTaskMapper implements TaskMapper {
                 .orElse(null));
 
         Map<String, Object> input = parametersUtils
-            .getTaskInputV2(taskToSchedule.getInputParameters(), workflowInstance, taskId, taskDefinition);
+            .getTaskInputV2(taskToSchedule, workflowInstance, taskId, taskDefinition);
 
         Task kafkaPublishTask = new Task();
         kafkaPublishTask.setTaskType(taskToSchedule.getType());
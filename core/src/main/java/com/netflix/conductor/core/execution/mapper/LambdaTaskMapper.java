@@ -64,7 +64,7 @@ public class LambdaTaskMapper implements TaskMapper {
                 .orElse(null));
 
         Map<String, Object> taskInput = parametersUtils
-            .getTaskInputV2(taskMapperContext.getTaskToSchedule().getInputParameters(), workflowInstance, taskId,
+            .getTaskInputV2(taskMapperContext.getTaskToSchedule(), workflowInstance, taskId,
                 taskDefinition);
 
         Task lambdaTask = new Task();
@@ -74,7 +74,7 @@ public class SimpleTaskMapper implements TaskMapper {
             });
 
         Map<String, Object> input = parametersUtils
-            .getTaskInput(taskToSchedule.getInputParameters(), workflowInstance, taskDefinition,
+            .getTaskInput(taskToSchedule, workflowInstance, taskDefinition,
                 taskMapperContext.getTaskId());
         Task simpleTask = new Task();
         simpleTask.setStartDelayInSeconds(taskToSchedule.getStartDelay());
@@ -52,7 +52,7 @@ public class TerminateTaskMapper implements TaskMapper {
         String taskId = taskMapperContext.getTaskId();
 
         Map<String, Object> taskInput = parametersUtils
-            .getTaskInputV2(taskMapperContext.getTaskToSchedule().getInputParameters(), workflowInstance, taskId, null);
+            .getTaskInputV2(taskMapperContext.getTaskToSchedule(), workflowInstance, taskId, null);
 
         Task task = new Task();
         task.setTaskType(TASK_TYPE_TERMINATE);
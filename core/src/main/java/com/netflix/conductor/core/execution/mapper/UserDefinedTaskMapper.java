@@ -81,7 +81,7 @@ public class UserDefinedTaskMapper implements TaskMapper {
                 }));
 
         Map<String, Object> input = parametersUtils
-            .getTaskInputV2(taskToSchedule.getInputParameters(), workflowInstance, taskId, taskDefinition);
+            .getTaskInputV2(taskToSchedule, workflowInstance, taskId, taskDefinition);
 
         Task userDefinedTask = new Task();
         userDefinedTask.setTaskType(taskToSchedule.getType());
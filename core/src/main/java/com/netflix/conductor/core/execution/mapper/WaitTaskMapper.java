@@ -58,7 +58,7 @@ public class WaitTaskMapper implements TaskMapper {
         String taskId = taskMapperContext.getTaskId();
 
         Map<String, Object> waitTaskInput = parametersUtils
-            .getTaskInputV2(taskMapperContext.getTaskToSchedule().getInputParameters(),
+            .getTaskInputV2(taskMapperContext.getTaskToSchedule(),
                 workflowInstance, taskId, null);
 
         Task waitTask = new Task();
@@ -166,7 +166,7 @@ public class DoWhile extends WorkflowSystemTask {
         if (condition != null) {
             LOGGER.debug("Condition: {} is being evaluated", condition);
             //Evaluate the expression by using the Nashhorn based script evaluator
-            shouldContinue = ScriptEvaluator.evalBool(condition, taskInput);
+            shouldContinue = ScriptEvaluator.evalBool(condition, taskInput, TASK_TYPE_DO_WHILE);
         }
         return shouldContinue;
     }
@@ -23,12 +23,16 @@ class ExecutionConfig {
     private final ExecutorService executorService;
     private final SemaphoreUtil semaphoreUtil;
 
-    ExecutionConfig(int threadCount, String threadNameFormat) {
+    /**
+     * @param maxInFlight the number of tasks which can be executed at once, defaulting to the number of threads when
+     *                    not positive
+     */
+    ExecutionConfig(int threadCount, int maxInFlight, String threadNameFormat) {
 
         this.executorService = Executors.newFixedThreadPool(threadCount,
             new ThreadFactoryBuilder().setNameFormat(threadNameFormat).build());
 
-        this.semaphoreUtil = new SemaphoreUtil(threadCount);
+        this.semaphoreUtil = new SemaphoreUtil(maxInFlight > 0 ? maxInFlight : threadCount);
     }
 
     public ExecutorService getExecutorService() {
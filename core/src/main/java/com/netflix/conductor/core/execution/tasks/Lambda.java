@@ -72,7 +72,7 @@ public class Lambda extends WorkflowSystemTask {
                     "} scriptFun();";
 
                 LOGGER.debug("scriptExpressionBuilder: {}, task: {}", scriptExpressionBuilder, task.getTaskId());
-                Object returnValue = ScriptEvaluator.eval(scriptExpressionBuilder, taskInput);
+                Object returnValue = ScriptEvaluator.eval(scriptExpressionBuilder, taskInput, TASK_TYPE_LAMBDA);
                 taskOutput.put("result", returnValue);
                 task.setStatus(Task.Status.COMPLETED);
             } else {
@@ -54,7 +54,8 @@ class SystemTaskExecutor {
         this.callbackTime = properties.getSystemTaskWorkerCallbackDuration().getSeconds();
 
         String threadNameFormat = "system-task-worker-%d";
-        this.defaultExecutionConfig = new ExecutionConfig(threadCount, threadNameFormat);
+        this.defaultExecutionConfig = new ExecutionConfig(threadCount, properties.getSystemTaskWorkerMaxInFlight(),
+            threadNameFormat);
         this.workflowExecutor = workflowExecutor;
         this.queueDAO = queueDAO;
         this.maxPollCount = properties.getSystemTaskMaxPollCount();
@@ -64,7 +65,42 @@ class SystemTaskExecutor {
             callbackTime);
     }
 
-    void pollAndExecute(String queueName) {
+    /**
+     * The outcome of a poll of a system task queue.
+     */
+    enum PollResult {
+        /**
+         * No worker was available, so the queue was not polled.
+         */
+        LIMITED,
+        /**
+         * No task was polled, also reported when the poll failed.
+         */
+        EMPTY,
+        /**
+         * Fewer tasks were polled than requested.
+         */
+        PARTIAL,
+        /**
+         * As many tasks were polled as requested.
+         */
+        FULL
+    }
+
+    PollResult pollAndExecute(String queueName) {
+        return pollAndExecute(queueName, 200);
+    }
+
+    /**
+     * @param popTimeoutMillis the time to wait for the requested number of tasks to be available in the queue
+     */
+    PollResult pollAndExecute(String queueName, int popTimeoutMillis) {
+        PollResult result = poll(queueName, popTimeoutMillis);
+        Monitors.recordSystemTaskWorkerPoll(queueName, result.name().toLowerCase());
+        return result;
+    }
+
+    private PollResult poll(String queueName, int popTimeoutMillis) {
         // get the remaining capacity of worker queue to prevent queue full exception
         ExecutionConfig executionConfig = getExecutionConfig(queueName);
         SemaphoreUtil semaphoreUtil = executionConfig.getSemaphoreUtil();
@@ -74,7 +110,7 @@ class SystemTaskExecutor {
         if (!semaphoreUtil.acquireSlots(1)) {
             // no available permits, do not poll
             Monitors.recordSystemTaskWorkerPollingLimited(queueName);
-            return;
+            return PollResult.LIMITED;
         }
 
         int acquiredSlots = 1;
@@ -89,7 +125,7 @@ class SystemTaskExecutor {
             }
             LOGGER.debug("Polling queue: {} with {} slots acquired", queueName, acquiredSlots);
 
-            List<String> polledTaskIds = queueDAO.pop(queueName, acquiredSlots, 200);
+            List<String> polledTaskIds = queueDAO.pop(queueName, acquiredSlots, popTimeoutMillis);
 
             Monitors.recordTaskPoll(queueName);
             LOGGER.debug("Polling queue:{}, got {} tasks", queueName, polledTaskIds.size());
@@ -109,8 +145,17 @@ class SystemTaskExecutor {
                             .get(taskName);
                         executionService.ackTaskReceived(taskId);
 
-                        CompletableFuture<Void> taskCompletableFuture = CompletableFuture.runAsync(() ->
-                            workflowExecutor.executeSystemTask(systemTask, taskId, callbackTime), executorService);
+                        CompletableFuture<Void> taskCompletableFuture;
+                        if (systemTask != null && systemTask.isNonBlocking()) {
+                            // the thread is released while the task is started, the permit is held until it is updated
+                            taskCompletableFuture = CompletableFuture.supplyAsync(() ->
+                                workflowExecutor.executeSystemTaskAsync(systemTask, taskId, callbackTime,
+                                    executorService), executorService)
+                                .thenCompose(execution -> execution);
+                        } else {
+                            taskCompletableFuture = CompletableFuture.runAsync(() ->
+                                workflowExecutor.executeSystemTask(systemTask, taskId, callbackTime), executorService);
+                        }
 
                         // release permit after processing is complete
                         taskCompletableFuture.whenComplete((r, e) -> semaphoreUtil.completeProcessing(1));
@@ -118,6 +163,7 @@ class SystemTaskExecutor {
                         semaphoreUtil.completeProcessing(1);
                     }
                 }
+                return polledTaskIds.size() < acquiredSlots ? PollResult.PARTIAL : PollResult.FULL;
             } else {
                 // no task polled, release permit
                 semaphoreUtil.completeProcessing(acquiredSlots);
@@ -128,6 +174,7 @@ class SystemTaskExecutor {
             Monitors.recordTaskPollError(taskName, "", e.getClass().getSimpleName());
             LOGGER.error("Error polling system task in queue:{}", queueName, e);
         }
+        return PollResult.EMPTY;
     }
 
     @VisibleForTesting
@@ -141,6 +188,7 @@ class SystemTaskExecutor {
     private ExecutionConfig createExecutionConfig() {
         int threadCount = properties.getIsolatedSystemTaskWorkerThreadCount();
         String threadNameFormat = "isolated-system-task-worker-%d";
-        return new ExecutionConfig(threadCount, threadNameFormat);
+        return new ExecutionConfig(threadCount, properties.getIsolatedSystemTaskWorkerMaxInFlight(),
+            threadNameFormat);
     }
 }
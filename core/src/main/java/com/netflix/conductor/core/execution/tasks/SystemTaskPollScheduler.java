@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution.tasks;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.conductor.core.execution.tasks.SystemTaskExecutor.PollResult;
+import com.netflix.conductor.metrics.Monitors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Polls the system task queues on a pool of threads shared by all of them, at an interval adapted to each queue.
+ * <p>
+ * A queue which returned a full batch is polled again right away, and one which returned fewer tasks, or could not
+ * be polled for lack of workers, after the poll interval. The interval doubles after each empty poll, up to the
+ * maximum poll interval, so that the idle queues cost little.
+ */
+class SystemTaskPollScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SystemTaskPollScheduler.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Function<String, PollResult> poll;
+    private final long pollInterval;
+    private final long maxPollInterval;
+
+    /**
+     * @param poll polls the given queue and executes the polled tasks, without blocking for long
+     */
+    SystemTaskPollScheduler(int threadCount, long pollInterval, long maxPollInterval,
+        Function<String, PollResult> poll) {
+        this.scheduler = Executors.newScheduledThreadPool(threadCount, new ThreadFactoryBuilder()
+            .setNameFormat("system-task-poller-%d")
+            .setDaemon(true)
+            .build());
+        this.poll = poll;
+        this.pollInterval = pollInterval;
+        this.maxPollInterval = Math.max(pollInterval, maxPollInterval);
+    }
+
+    /**
+     * Starts polling the given queue after the given delay.
+     */
+    void schedule(String queueName, long initialDelay) {
+        scheduler.schedule(() -> pollAndReschedule(queueName, pollInterval), initialDelay, TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void pollAndReschedule(String queueName, long interval) {
+        long nextInterval;
+        try {
+            nextInterval = nextInterval(poll.apply(queueName), interval);
+        } catch (Exception e) {
+            LOGGER.error("Error polling system task queue: {}", queueName, e);
+            nextInterval = nextInterval(PollResult.EMPTY, interval);
+        }
+        Monitors.recordSystemTaskWorkerPollInterval(queueName, nextInterval);
+        long delay = nextInterval;
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(() -> pollAndReschedule(queueName, delay), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return the interval until the next poll of a queue, given the result of its last poll and the interval which
+     * preceded it
+     */
+    @VisibleForTesting
+    long nextInterval(PollResult result, long interval) {
+        switch (result) {
+            case FULL:
+                return 0;
+            case EMPTY:
+                return Math.min(Math.max(interval * 2, pollInterval), maxPollInterval);
+            default:
+                return pollInterval;
+        }
+    }
+}
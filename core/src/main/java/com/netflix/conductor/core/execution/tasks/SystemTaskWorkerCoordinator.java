@@ -16,6 +16,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.netflix.conductor.core.LifecycleAwareComponent;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.execution.tasks.SystemTaskExecutor.PollResult;
 import com.netflix.conductor.core.utils.QueueUtils;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
@@ -35,7 +36,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -46,7 +46,14 @@ public class SystemTaskWorkerCoordinator extends LifecycleAwareComponent {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SystemTaskWorkerCoordinator.class);
 
+    /**
+     * The queues are polled without waiting for tasks, since the polls of all the queues share the threads of the
+     * {@link SystemTaskPollScheduler}, which backs off from the empty queues instead.
+     */
+    private static final int POP_TIMEOUT_MILLIS = 0;
+
     private SystemTaskExecutor systemTaskExecutor;
+    private volatile SystemTaskPollScheduler pollScheduler;
     private final ConductorProperties properties;
 
     private final long pollInterval;
@@ -85,8 +92,22 @@ public class SystemTaskWorkerCoordinator extends LifecycleAwareComponent {
         }
         this.workflowSystemTasks.forEach(this::add);
         this.systemTaskExecutor = new SystemTaskExecutor(queueDAO, workflowExecutor, properties, executionService);
+        long maxPollInterval = properties.getSystemTaskWorkerMaxPollInterval().toMillis();
+        this.pollScheduler = new SystemTaskPollScheduler(properties.getSystemTaskWorkerPollerThreadCount(),
+            pollInterval, maxPollInterval, this::pollAndExecute);
         new Thread(this::listen).start();
-        LOGGER.info("System Task Worker Coordinator initialized with poll interval: {}", pollInterval);
+        LOGGER.info("System Task Worker Coordinator initialized with poll interval: {}, max poll interval: {}",
+            pollInterval, maxPollInterval);
+    }
+
+    /**
+     * Stops polling the system task queues, whose threads are not needed by a stopped coordinator.
+     */
+    @Override
+    public void doStop() {
+        if (pollScheduler != null) {
+            pollScheduler.shutdown();
+        }
     }
 
     private void add(WorkflowSystemTask systemTask) {
@@ -112,17 +133,16 @@ public class SystemTaskWorkerCoordinator extends LifecycleAwareComponent {
     }
 
     private void listen(String queueName) {
-        Executors.newSingleThreadScheduledExecutor()
-            .scheduleWithFixedDelay(() -> pollAndExecute(queueName), 1000, pollInterval, TimeUnit.MILLISECONDS);
+        pollScheduler.schedule(queueName, 1000);
         LOGGER.info("Started listening for queue: {}", queueName);
     }
 
-    private void pollAndExecute(String queueName) {
+    private PollResult pollAndExecute(String queueName) {
         if (!isRunning()) {
             LOGGER.debug("Component stopped. Not polling for system task in queue : {}", queueName);
-            return;
+            return PollResult.EMPTY;
         }
-        systemTaskExecutor.pollAndExecute(queueName);
+        return systemTaskExecutor.pollAndExecute(queueName, POP_TIMEOUT_MILLIS);
     }
 
     @VisibleForTesting
@@ -18,6 +18,8 @@ import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public abstract class WorkflowSystemTask {
 
@@ -38,6 +40,21 @@ public abstract class WorkflowSystemTask {
         //Do nothing unless overridden by the task implementation
     }
 
+    /**
+     * Start the task execution without blocking the calling thread. The returned stage completes once the task is
+     * started, i.e. when {@link #start(Workflow, Task, WorkflowExecutor)} would have returned. Unless overridden, this
+     * calls {@link #start(Workflow, Task, WorkflowExecutor)}.
+     *
+     * @param workflow         Workflow for which the task is being started
+     * @param task             Instance of the Task
+     * @param workflowExecutor Workflow Executor
+     * @return a stage completed once the task is started
+     */
+    public CompletionStage<Void> startAsync(Workflow workflow, Task task, WorkflowExecutor workflowExecutor) {
+        start(workflow, task, workflowExecutor);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * @param workflow         Workflow for which the task is being started
      * @param task             Instance of the Task
@@ -64,6 +81,14 @@ public abstract class WorkflowSystemTask {
         return false;
     }
 
+    /**
+     * @return True if {@link #startAsync(Workflow, Task, WorkflowExecutor)} does not block the calling thread, in which
+     * case the system task workers do not hold a thread while the task is being started.
+     */
+    public boolean isNonBlocking() {
+        return false;
+    }
+
     /**
      * @return True to keep task in 'IN_PROGRESS' state, and 'COMPLETE' later by an external message.
      */
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.netflix.conductor.common.metadata.events.EventHandler;
+import com.netflix.conductor.dao.EventHandlerDAO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.netflix.conductor.core.metadata.MetadataCache.key;
+
+/**
+ * An {@link EventHandlerDAO} which caches the event handlers read from another one, by event. The event handlers read
+ * are shared, and must not be modified.
+ */
+public class CachingEventHandlerDAO implements EventHandlerDAO {
+
+    private static final String EVENT_HANDLERS = "eventHandlers";
+    private static final String ALL_EVENT_HANDLERS = "allEventHandlers";
+
+    private final EventHandlerDAO eventHandlerDAO;
+    private final MetadataCache cache;
+
+    CachingEventHandlerDAO(EventHandlerDAO eventHandlerDAO, MetadataCache cache) {
+        this.eventHandlerDAO = eventHandlerDAO;
+        this.cache = cache;
+    }
+
+    /**
+     * Caches the handlers of all the events, so that they are not read from the store when the first event arrives.
+     */
+    void warmUp() {
+        List<EventHandler> eventHandlers = eventHandlerDAO.getAllEventHandlers();
+        cache.put(key(ALL_EVENT_HANDLERS), eventHandlers);
+        Map<String, List<EventHandler>> handlersByEvent = eventHandlers.stream()
+            .collect(Collectors.groupingBy(EventHandler::getEvent));
+        handlersByEvent.forEach((event, handlers) -> {
+            cache.put(key(EVENT_HANDLERS, event, false), handlers);
+            cache.put(key(EVENT_HANDLERS, event, true), handlers.stream()
+                .filter(EventHandler::isActive)
+                .collect(Collectors.toList()));
+        });
+    }
+
+    @Override
+    public void addEventHandler(EventHandler eventHandler) {
+        try {
+            eventHandlerDAO.addEventHandler(eventHandler);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void updateEventHandler(EventHandler eventHandler) {
+        try {
+            eventHandlerDAO.updateEventHandler(eventHandler);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void removeEventHandler(String name) {
+        try {
+            eventHandlerDAO.removeEventHandler(name);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public List<EventHandler> getAllEventHandlers() {
+        return cache.get(EVENT_HANDLERS, key(ALL_EVENT_HANDLERS), eventHandlerDAO::getAllEventHandlers);
+    }
+
+    @Override
+    public List<EventHandler> getEventHandlersForEvent(String event, boolean activeOnly) {
+        return cache.get(EVENT_HANDLERS, key(EVENT_HANDLERS, event, activeOnly),
+            () -> eventHandlerDAO.getEventHandlersForEvent(event, activeOnly));
+    }
+}
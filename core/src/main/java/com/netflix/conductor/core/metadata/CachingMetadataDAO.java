@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.dao.MetadataDAO;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.netflix.conductor.core.metadata.MetadataCache.key;
+
+/**
+ * A {@link MetadataDAO} which caches the task and workflow definitions read from another one, by name and version.
+ * The lists of all the definitions are not cached. The definitions read are shared, and must not be modified.
+ */
+public class CachingMetadataDAO implements MetadataDAO {
+
+    private static final String TASK_DEF = "taskDef";
+    private static final String WORKFLOW_DEF = "workflowDef";
+    private static final String LATEST_WORKFLOW_DEF = "latestWorkflowDef";
+
+    private final MetadataDAO metadataDAO;
+    private final MetadataCache cache;
+
+    CachingMetadataDAO(MetadataDAO metadataDAO, MetadataCache cache) {
+        this.metadataDAO = metadataDAO;
+        this.cache = cache;
+    }
+
+    /**
+     * Caches all the registered definitions, so that they are not read from the store when first used.
+     */
+    void warmUp() {
+        metadataDAO.getAllTaskDefs().forEach(taskDef -> cache.put(key(TASK_DEF, taskDef.getName()), taskDef));
+        List<WorkflowDef> workflowDefs = metadataDAO.getAllWorkflowDefs();
+        workflowDefs.forEach(workflowDef ->
+            cache.put(key(WORKFLOW_DEF, workflowDef.getName(), workflowDef.getVersion()), workflowDef));
+        workflowDefs.stream()
+            .collect(Collectors.groupingBy(WorkflowDef::getName,
+                Collectors.maxBy(Comparator.comparingInt(WorkflowDef::getVersion))))
+            .forEach((name, latest) -> latest.ifPresent(def -> cache.put(key(LATEST_WORKFLOW_DEF, name), def)));
+    }
+
+    @Override
+    public void createTaskDef(TaskDef taskDef) {
+        try {
+            metadataDAO.createTaskDef(taskDef);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public String updateTaskDef(TaskDef taskDef) {
+        try {
+            return metadataDAO.updateTaskDef(taskDef);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public TaskDef getTaskDef(String name) {
+        return cache.get(TASK_DEF, key(TASK_DEF, name), () -> metadataDAO.getTaskDef(name));
+    }
+
+    @Override
+    public List<TaskDef> getAllTaskDefs() {
+        return metadataDAO.getAllTaskDefs();
+    }
+
+    @Override
+    public void removeTaskDef(String name) {
+        try {
+            metadataDAO.removeTaskDef(name);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void createWorkflowDef(WorkflowDef def) {
+        try {
+            metadataDAO.createWorkflowDef(def);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void updateWorkflowDef(WorkflowDef def) {
+        try {
+            metadataDAO.updateWorkflowDef(def);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public Optional<WorkflowDef> getLatestWorkflowDef(String name) {
+        return Optional.ofNullable(cache.get(WORKFLOW_DEF, key(LATEST_WORKFLOW_DEF, name),
+            () -> metadataDAO.getLatestWorkflowDef(name).orElse(null)));
+    }
+
+    @Override
+    public Optional<WorkflowDef> getWorkflowDef(String name, int version) {
+        return Optional.ofNullable(cache.get(WORKFLOW_DEF, key(WORKFLOW_DEF, name, version),
+            () -> metadataDAO.getWorkflowDef(name, version).orElse(null)));
+    }
+
+    @Override
+    public void removeWorkflowDef(String name, Integer version) {
+        try {
+            metadataDAO.removeWorkflowDef(name, version);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public List<WorkflowDef> getAllWorkflowDefs() {
+        return metadataDAO.getAllWorkflowDefs();
+    }
+}
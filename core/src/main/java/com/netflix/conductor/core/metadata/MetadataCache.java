@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.conductor.metrics.Monitors;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The node-local cache of the definitions read by {@link CachingMetadataDAO} and {@link CachingEventHandlerDAO}, and
+ * of the populated definitions of {@link WorkflowDefinitionCache}.
+ * <p>
+ * The cached definitions are shared by all their readers, which must therefore not modify them: the few callers which
+ * do, such as {@link MetadataMapperService} when it populates a workflow definition, modify a copy. The definitions
+ * which are not found are not cached, so that they are read as soon as they are created on another node. Every write
+ * bumps the version of the cache, which discards the definitions read before it, including those being loaded at the
+ * time. The definitions written by other nodes are observed once the refresh interval elapses.
+ */
+public class MetadataCache {
+
+    private final long refreshIntervalMillis;
+    private final Cache<List<Object>, Entry> entries;
+    private final AtomicLong version = new AtomicLong();
+
+    public MetadataCache(long refreshIntervalMillis, int maxSize) {
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * @param type   the type of the definitions, used to report the hit rate
+     * @param loader reads the definition when it is not cached, or returns null if there is none
+     * @return the cached definition, or the one read by the loader
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(String type, List<Object> key, Supplier<T> loader) {
+        long loadVersion = version.get();
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.version == loadVersion
+            && System.currentTimeMillis() - entry.loadTime < refreshIntervalMillis) {
+            Monitors.recordMetadataCacheHit(type);
+            return (T) entry.value;
+        }
+        Monitors.recordMetadataCacheMiss(type);
+        T value = loader.get();
+        put(key, value, loadVersion);
+        return value;
+    }
+
+    /**
+     * Caches a definition read outside of {@link #get}, such as when warming up the cache.
+     */
+    void put(List<Object> key, Object value) {
+        put(key, value, version.get());
+    }
+
+    /**
+     * Discards a cached definition, e.g. when it is found to be stale.
+     */
+    void invalidate(List<Object> key) {
+        entries.invalidate(key);
+    }
+
+    /**
+     * Discards all the cached definitions, after they are written.
+     */
+    void invalidate() {
+        version.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    private void put(List<Object> key, Object value, long loadVersion) {
+        // a definition read before a write is not cached, as it may be stale
+        if (value != null && version.get() == loadVersion) {
+            entries.put(key, new Entry(loadVersion, System.currentTimeMillis(), value));
+        }
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final long loadTime;
+        private final Object value;
+
+        Entry(long version, long loadTime, Object value) {
+            this.version = version;
+            this.loadTime = loadTime;
+            this.value = value;
+        }
+    }
+}
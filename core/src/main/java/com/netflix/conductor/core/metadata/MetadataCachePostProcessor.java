@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.EventHandlerDAO;
+import com.netflix.conductor.dao.MetadataDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Decorates the {@link MetadataDAO} and {@link EventHandlerDAO} beans of the persistence modules with
+ * {@link CachingMetadataDAO} and {@link CachingEventHandlerDAO}, and warms up their cache.
+ * <p>
+ * Both decorators share a single {@link MetadataCache}, which also holds the definitions of the
+ * {@link WorkflowDefinitionCache}. A bean implementing both interfaces is replaced by a proxy of
+ * these interfaces, which dispatches their methods to the matching decorator, so the beans must be injected by
+ * interface.
+ */
+public class MetadataCachePostProcessor implements BeanPostProcessor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataCachePostProcessor.class);
+
+    private final ObjectProvider<ConductorProperties> properties;
+    private MetadataCache cache;
+
+    public MetadataCachePostProcessor(ObjectProvider<ConductorProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        boolean isMetadataDAO = bean instanceof MetadataDAO;
+        boolean isEventHandlerDAO = bean instanceof EventHandlerDAO;
+        if (!isMetadataDAO && !isEventHandlerDAO) {
+            return bean;
+        }
+
+        CachingMetadataDAO metadataDAO = isMetadataDAO ? new CachingMetadataDAO((MetadataDAO) bean, cache()) : null;
+        CachingEventHandlerDAO eventHandlerDAO =
+            isEventHandlerDAO ? new CachingEventHandlerDAO((EventHandlerDAO) bean, cache()) : null;
+        try {
+            if (metadataDAO != null) {
+                metadataDAO.warmUp();
+            }
+            if (eventHandlerDAO != null) {
+                eventHandlerDAO.warmUp();
+            }
+            LOGGER.info("Caching the definitions read from {}", beanName);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to warm up the metadata cache of {}, the definitions are cached once read", beanName, e);
+        }
+
+        if (!isEventHandlerDAO) {
+            return metadataDAO;
+        }
+        if (!isMetadataDAO) {
+            return eventHandlerDAO;
+        }
+        return Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{MetadataDAO.class, EventHandlerDAO.class}, (proxy, method, args) -> {
+                Object target = bean;
+                if (method.getDeclaringClass() == MetadataDAO.class) {
+                    target = metadataDAO;
+                } else if (method.getDeclaringClass() == EventHandlerDAO.class) {
+                    target = eventHandlerDAO;
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    /**
+     * @return the cache shared by the decorated DAOs
+     */
+    public synchronized MetadataCache cache() {
+        if (cache == null) {
+            ConductorProperties conductorProperties = properties.getObject();
+            cache = new MetadataCache(conductorProperties.getMetadataCacheRefreshInterval().toMillis(),
+                conductorProperties.getMetadataCacheMaxSize());
+        }
+        return cache;
+    }
+}
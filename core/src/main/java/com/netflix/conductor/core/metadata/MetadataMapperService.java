@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.core.metadata;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.netflix.conductor.common.metadata.tasks.Task;
@@ -47,17 +48,24 @@ public class MetadataMapperService {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(MetadataMapperService.class);
     private final MetadataDAO metadataDAO;
+    private final ObjectMapper objectMapper;
 
-    public MetadataMapperService(MetadataDAO metadataDAO) {
+    public MetadataMapperService(MetadataDAO metadataDAO, ObjectMapper objectMapper) {
         this.metadataDAO = metadataDAO;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * @return a copy of the registered definition, which may be populated, as the definitions read from the
+     * {@link MetadataDAO} may be shared by its cache
+     */
     public WorkflowDef lookupForWorkflowDefinition(String name, Integer version) {
         Optional<WorkflowDef> potentialDef =
             version == null ? lookupLatestWorkflowDefinition(name) : lookupWorkflowDefinition(name, version);
 
         //Check if the workflow definition is valid
         return potentialDef
+            .map(workflowDef -> objectMapper.convertValue(objectMapper.valueToTree(workflowDef), WorkflowDef.class))
             .orElseThrow(() -> {
                     LOGGER.error("There is no workflow defined with name {} and version {}", name, version);
                     return new ApplicationException(
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hashing;
+import com.netflix.conductor.common.metadata.Auditable;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.netflix.conductor.core.metadata.MetadataCache.key;
+
+/**
+ * A node-local cache of the registered workflow definitions, with their task definitions populated as
+ * {@link MetadataMapperService} does when a workflow is started.
+ * <p>
+ * A cached definition is shared by all the executions of its version loaded on this node, and must therefore not be
+ * modified. Each definition comes with a fingerprint of its content, so that the executions which refer to it can
+ * verify that it was not modified since they were stored. The fingerprint does not cover the task definitions, which
+ * the {@link com.netflix.conductor.service.MetadataService} refuses to modify while they are used by running workflows
+ * stored by reference. The definitions are held in a {@link MetadataCache}, and are discarded when they are written
+ * through the {@link com.netflix.conductor.service.MetadataService} of this node, and once the refresh interval of
+ * the cache elapses. The {@link WorkflowDef#getGraph() graph} of a definition is compiled
+ * when it is loaded into the cache.
+ */
+public class WorkflowDefinitionCache {
+
+    /**
+     * The fields which change whenever a definition is written, even if its content does not.
+     */
+    private static final List<String> AUDIT_FIELDS = Arrays.asList("createTime", "updateTime", "createdBy",
+        "updatedBy");
+
+    private static final String POPULATED_WORKFLOW_DEF = "populatedWorkflowDef";
+
+    private final MetadataMapperService metadataMapperService;
+    private final ObjectMapper objectMapper;
+    private final MetadataCache cache;
+
+    public WorkflowDefinitionCache(MetadataMapperService metadataMapperService, ObjectMapper objectMapper,
+        MetadataCache cache) {
+        this.metadataMapperService = metadataMapperService;
+        this.objectMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.cache = cache;
+    }
+
+    /**
+     * @return the populated definition of the given version of a workflow
+     * @throws ApplicationException if the definition is not registered, or refers to unregistered task definitions
+     */
+    public Definition get(String name, int version) {
+        return cache.get(POPULATED_WORKFLOW_DEF, key(POPULATED_WORKFLOW_DEF, name, version), () -> {
+            WorkflowDef definition = metadataMapperService.lookupForWorkflowDefinition(name, version);
+            // the fingerprint and the references are determined before the definition is populated
+            String fingerprint = fingerprint(definition);
+            boolean referenceable = isReferenceable(definition);
+            WorkflowDef populated = metadataMapperService.populateTaskDefinitions(definition);
+            // the graph is compiled once for all the executions sharing the definition, rather than by a decide
+            populated.getGraph();
+            return new Definition(populated, fingerprint, referenceable);
+        });
+    }
+
+    /**
+     * @param fingerprint the fingerprint of the definition when it was referenced, or null if it is unknown
+     * @return the populated definition of the given version of a workflow, if it has the given fingerprint
+     * @throws ApplicationException if the definition is not registered, or was modified since it was referenced
+     */
+    public WorkflowDef get(String name, int version, String fingerprint) {
+        Definition definition = get(name, version);
+        if (fingerprint != null && !fingerprint.equals(definition.fingerprint)) {
+            // the definition may have been written by another node since it was cached, along with the definitions
+            // it is populated with when the cache is shared with the metadata DAOs
+            invalidateAll();
+            definition = get(name, version);
+            if (!fingerprint.equals(definition.fingerprint)) {
+                throw new ApplicationException(Code.CONFLICT, String.format(
+                    "The definition of %s version %d was modified since it was referenced", name, version));
+            }
+        }
+        return definition.definition;
+    }
+
+    /**
+     * @return the fingerprint of the content of the given definition, which ignores its audit fields
+     */
+    public String fingerprint(WorkflowDef definition) {
+        return fingerprint(definition,
+            String.format("the definition of %s version %d", definition.getName(), definition.getVersion()));
+    }
+
+    /**
+     * @return the fingerprint of the content of the given task definition, which ignores its audit fields
+     */
+    public String fingerprint(TaskDef taskDefinition) {
+        return fingerprint(taskDefinition, "the task definition " + taskDefinition.getName());
+    }
+
+    private String fingerprint(Auditable definition, String description) {
+        ObjectNode content = objectMapper.valueToTree(definition);
+        content.remove(AUDIT_FIELDS);
+        try {
+            return Hashing.murmur3_128().hashBytes(objectMapper.writeValueAsBytes(content)).toString();
+        } catch (JsonProcessingException e) {
+            throw new ApplicationException(Code.INTERNAL_ERROR, "Unable to fingerprint " + description, e);
+        }
+    }
+
+    /**
+     * Discards the cached definition of the given version of a workflow.
+     */
+    public void invalidate(String name, int version) {
+        cache.invalidate(key(POPULATED_WORKFLOW_DEF, name, version));
+    }
+
+    /**
+     * Discards all the cached definitions, e.g. when the task definitions they are populated with are written.
+     */
+    public void invalidateAll() {
+        cache.invalidate();
+    }
+
+    /**
+     * A definition can be referenced unless its tasks are resolved when they are scheduled: DYNAMIC tasks are resolved
+     * on the definition itself by {@link com.netflix.conductor.core.execution.mapper.DynamicTaskMapper}, and the
+     * version of the SUB_WORKFLOW tasks which do not specify one is resolved when the definition is populated.
+     */
+    private static boolean isReferenceable(WorkflowDef definition) {
+        for (WorkflowTask workflowTask : definition.collectTasks()) {
+            if (TaskType.DYNAMIC.name().equals(workflowTask.getType())) {
+                return false;
+            }
+            if (TaskType.SUB_WORKFLOW.name().equals(workflowTask.getType())
+                && (workflowTask.getSubWorkflowParam() == null
+                || workflowTask.getSubWorkflowParam().getVersion() == null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final class Definition {
+
+        private final WorkflowDef definition;
+        private final String fingerprint;
+        private final boolean referenceable;
+
+        Definition(WorkflowDef definition, String fingerprint, boolean referenceable) {
+            this.definition = definition;
+            this.fingerprint = fingerprint;
+            this.referenceable = referenceable;
+        }
+
+        public WorkflowDef getDefinition() {
+            return definition;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * @return whether the executions of this definition can be stored with a reference to it
+         */
+        public boolean isReferenceable() {
+            return referenceable;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import com.netflix.conductor.dao.PollDataDAO;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.dao.RateLimitingDAO;
 import com.netflix.conductor.metrics.Monitors;
+import com.netflix.conductor.service.ExecutionLockService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -45,6 +46,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.netflix.conductor.core.execution.WorkflowExecutor.DECIDER_QUEUE;
+import static com.netflix.conductor.core.orchestration.WorkflowIndexer.INDEX_QUEUE;
 
 /**
  * Service that acts as a facade for accessing execution data from the {@link ExecutionDAO}, {@link RateLimitingDAO} and
@@ -66,12 +68,15 @@ public class ExecutionDAOFacade {
     private final PollDataDAO pollDataDAO;
     private final ObjectMapper objectMapper;
     private final ConductorProperties properties;
+    private final ExecutionLockService executionLockService;
+    private final WorkflowCache workflowCache;
+    private final TaskStateTracker taskStateTracker;
 
     private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
 
     public ExecutionDAOFacade(ExecutionDAO executionDAO, QueueDAO queueDAO, IndexDAO indexDAO,
         RateLimitingDAO rateLimitingDao, PollDataDAO pollDataDAO, ObjectMapper objectMapper,
-        ConductorProperties properties) {
+        ConductorProperties properties, ExecutionLockService executionLockService) {
         this.executionDAO = executionDAO;
         this.queueDAO = queueDAO;
         this.indexDAO = indexDAO;
@@ -79,6 +84,11 @@ public class ExecutionDAOFacade {
         this.pollDataDAO = pollDataDAO;
         this.objectMapper = objectMapper;
         this.properties = properties;
+        this.executionLockService = executionLockService;
+        this.workflowCache = new WorkflowCache(objectMapper, properties.getWorkflowCacheMaxSize(),
+            properties.getWorkflowCacheMaxWeight().toBytes());
+        executionLockService.addLockLossListener(workflowCache::invalidate);
+        this.taskStateTracker = new TaskStateTracker(properties.isTaskStateTrackingEnabled());
         this.scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(4,
             (runnable, executor) -> {
                 LOGGER.warn("Request {} to delay updating index dropped in executor {}", runnable, executor);
@@ -120,7 +130,8 @@ public class ExecutionDAOFacade {
      *                              </ul>
      */
     public Workflow getWorkflowById(String workflowId, boolean includeTasks) {
-        Workflow workflow = executionDAO.getWorkflow(workflowId, includeTasks);
+        Workflow workflow = includeTasks ? getWorkflowWithTasks(workflowId)
+            : executionDAO.getWorkflow(workflowId, false);
         if (workflow == null) {
             LOGGER.debug("Workflow {} not found in executionDAO, checking indexDAO", workflowId);
             String json = indexDAO.get(workflowId, RAW_JSON_FIELD);
@@ -144,6 +155,30 @@ public class ExecutionDAOFacade {
         return workflow;
     }
 
+    /**
+     * While the current thread holds the execution lock of the workflow, the state cached by a previous read is reused
+     * as long as the version of the workflow in the {@link ExecutionDAO} shows that it was not written since. The lock
+     * only limits the reads served from the cache to those of a decide; a write made without the lock, e.g. by another
+     * node whose lease elapsed, is detected by the version.
+     */
+    private Workflow getWorkflowWithTasks(String workflowId) {
+        Long version = null;
+        if (properties.isWorkflowCacheEnabled() && executionLockService.isLockHeldByCurrentThread(workflowId)) {
+            version = executionDAO.getWorkflowVersion(workflowId);
+        }
+        Workflow workflow = version == null ? null : workflowCache.get(workflowId, version);
+        if (workflow == null) {
+            workflow = executionDAO.getWorkflow(workflowId, true);
+            if (workflow != null && version != null) {
+                workflowCache.put(workflow, version);
+            }
+        }
+        if (workflow != null) {
+            taskStateTracker.markStored(workflow.getTasks());
+        }
+        return workflow;
+    }
+
     /**
      * Retrieve all workflow executions with the given correlationId and workflow type Uses the {@link IndexDAO} to
      * search across workflows if the {@link ExecutionDAO} cannot perform searches across workflows.
@@ -203,7 +238,9 @@ public class ExecutionDAOFacade {
         // Add to decider queue
         queueDAO.push(DECIDER_QUEUE, workflow.getWorkflowId(), workflow.getPriority(),
             properties.getWorkflowOffsetTimeout().getSeconds());
-        if (properties.isAsyncIndexingEnabled()) {
+        if (properties.isIndexingOutboxEnabled()) {
+            queueForIndexing(workflow);
+        } else if (properties.isAsyncIndexingEnabled()) {
             indexDAO.asyncIndexWorkflow(workflow);
         } else {
             indexDAO.indexWorkflow(workflow);
@@ -222,10 +259,11 @@ public class ExecutionDAOFacade {
         if (workflow.getStatus().isTerminal()) {
             workflow.setEndTime(System.currentTimeMillis());
         }
-        executionDAO.updateWorkflow(workflow);
-        if (properties.isAsyncIndexingEnabled()) {
-            if (workflow.getStatus().isTerminal() && workflow.getEndTime() - workflow.getStartTime()
-                < properties.getAsyncUpdateShortRunningWorkflowDuration().toMillis()) {
+        workflowCache.writeWorkflow(workflow, () -> executionDAO.updateWorkflow(workflow));
+        if (properties.isIndexingOutboxEnabled()) {
+            queueForIndexing(workflow);
+        } else if (properties.isAsyncIndexingEnabled()) {
+            if (isShortRunning(workflow)) {
                 final String workflowId = workflow.getWorkflowId();
                 DelayWorkflowUpdate delayWorkflowUpdate = new DelayWorkflowUpdate(workflowId);
                 LOGGER.debug("Delayed updating workflow: {} in the index by {} seconds", workflowId,
@@ -245,6 +283,35 @@ public class ExecutionDAOFacade {
         return workflow.getWorkflowId();
     }
 
+    /**
+     * Queues the workflow in the indexing outbox, to be indexed by the {@link WorkflowIndexer} once the window elapses.
+     * An entry already queued for the workflow indexes its latest state, so it is not queued again. Once the workflow
+     * is completed, its entry is pushed back past the ones which may be being indexed, so that its final state is
+     * indexed last, and later still for a short-running workflow as with asynchronous indexing.
+     */
+    private void queueForIndexing(Workflow workflow) {
+        long windowSeconds = properties.getIndexingOutboxWindow().getSeconds();
+        if (workflow.getStatus().isTerminal()) {
+            long delaySeconds = isShortRunning(workflow) ? properties.getAsyncUpdateDelay().getSeconds()
+                : windowSeconds;
+            queueDAO.postpone(INDEX_QUEUE, workflow.getWorkflowId(), 0, delaySeconds);
+        } else {
+            queueDAO.pushIfNotExists(INDEX_QUEUE, workflow.getWorkflowId(), windowSeconds);
+        }
+    }
+
+    private boolean isShortRunning(Workflow workflow) {
+        return workflow.getStatus().isTerminal() && workflow.getEndTime() - workflow.getStartTime()
+            < properties.getAsyncUpdateShortRunningWorkflowDuration().toMillis();
+    }
+
+    /**
+     * Tasks are indexed for every update unless they are indexed along with their workflow once it is completed.
+     */
+    private boolean isTaskIndexedOnUpdate() {
+        return !properties.isAsyncIndexingEnabled() && !properties.isIndexingOutboxEnabled();
+    }
+
     public void removeFromPendingWorkflow(String workflowType, String workflowId) {
         executionDAO.removeFromPendingWorkflow(workflowType, workflowId);
     }
@@ -259,6 +326,7 @@ public class ExecutionDAOFacade {
     public void removeWorkflow(String workflowId, boolean archiveWorkflow) {
         try {
             Workflow workflow = getWorkflowById(workflowId, true);
+            workflowCache.invalidate(workflowId);
 
             removeWorkflowIndex(workflow, archiveWorkflow);
             // remove workflow from DAO
@@ -299,6 +367,7 @@ public class ExecutionDAOFacade {
     public void removeWorkflowWithExpiry(String workflowId, boolean archiveWorkflow, int ttlSeconds) {
         try {
             Workflow workflow = getWorkflowById(workflowId, true);
+            workflowCache.invalidate(workflowId);
 
             removeWorkflowIndex(workflow, archiveWorkflow);
             // remove workflow from DAO with TTL
@@ -325,6 +394,7 @@ public class ExecutionDAOFacade {
     public void resetWorkflow(String workflowId) {
         try {
             getWorkflowById(workflowId, true);
+            workflowCache.invalidate(workflowId);
             executionDAO.removeWorkflow(workflowId);
             if (properties.isAsyncIndexingEnabled()) {
                 indexDAO.asyncRemoveWorkflow(workflowId);
@@ -340,15 +410,21 @@ public class ExecutionDAOFacade {
     }
 
     public List<Task> createTasks(List<Task> tasks) {
-        return executionDAO.createTasks(tasks);
+        List<Task> created = workflowCache.writeTasks(tasks, () -> executionDAO.createTasks(tasks));
+        taskStateTracker.markStored(created);
+        return created;
     }
 
     public List<Task> getTasksForWorkflow(String workflowId) {
-        return executionDAO.getTasksForWorkflow(workflowId);
+        List<Task> tasks = executionDAO.getTasksForWorkflow(workflowId);
+        taskStateTracker.markStored(tasks);
+        return tasks;
     }
 
     public Task getTaskById(String taskId) {
-        return executionDAO.getTask(taskId);
+        Task task = executionDAO.getTask(taskId);
+        taskStateTracker.markStored(task);
+        return task;
     }
 
     public List<Task> getTasksByName(String taskName, String startKey, int count) {
@@ -366,28 +442,33 @@ public class ExecutionDAOFacade {
     /**
      * Sets the update time for the task. Sets the end time for the task (if task is in terminal state and end time is
      * not set). Updates the task in the {@link ExecutionDAO} first, then stores it in the {@link IndexDAO}.
+     * <p>
+     * If task state tracking is enabled, the update is skipped when the task is terminal and did not change since it was
+     * read or written.
      *
      * @param task the task to be updated in the data store
      * @throws ApplicationException if the dao operations fail
      */
     public void updateTask(Task task) {
         try {
-            if (task.getStatus() != null) {
-                if (!task.getStatus().isTerminal() || (task.getStatus().isTerminal() && task.getUpdateTime() == 0)) {
-                    task.setUpdateTime(System.currentTimeMillis());
-                }
-                if (task.getStatus().isTerminal() && task.getEndTime() == 0) {
-                    task.setEndTime(System.currentTimeMillis());
-                }
+            setEndTime(task);
+            TaskStateTracker.Changes changes = taskStateTracker.changes(Collections.singletonList(task));
+            if (changes.getTasks().isEmpty()) {
+                return;
             }
-            executionDAO.updateTask(task);
+            setUpdateTime(task);
+            workflowCache.writeTasks(Collections.singletonList(task), () -> {
+                executionDAO.updateTask(task);
+                return Collections.singletonList(task);
+            });
+            changes.markStored();
             /*
              * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
              * is enabled and tasks are stored in memory until a block has completed, we would lose a lot
              * of tasks on a system failure. So only index for each update if async indexing is not enabled.
              * If it *is* enabled, tasks will be indexed only when a workflow is in terminal state.
              */
-            if (!properties.isAsyncIndexingEnabled()) {
+            if (isTaskIndexedOnUpdate()) {
                 indexDAO.indexTask(task);
             }
         } catch (Exception e) {
@@ -398,8 +479,53 @@ public class ExecutionDAOFacade {
         }
     }
 
+    /**
+     * Updates the given tasks, letting the {@link ExecutionDAO} persist them together. As with
+     * {@link #updateTask(Task)}, the unchanged tasks are skipped if task state tracking is enabled.
+     *
+     * @param tasks the tasks to be updated
+     */
     public void updateTasks(List<Task> tasks) {
-        tasks.forEach(this::updateTask);
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            tasks.forEach(this::setEndTime);
+            TaskStateTracker.Changes changes = taskStateTracker.changes(tasks);
+            List<Task> changedTasks = changes.getTasks();
+            if (changedTasks.isEmpty()) {
+                return;
+            }
+            changedTasks.forEach(this::setUpdateTime);
+            workflowCache.writeTasks(changedTasks, () -> {
+                executionDAO.updateTasks(changedTasks);
+                return changedTasks;
+            });
+            changes.markStored();
+            if (isTaskIndexedOnUpdate()) {
+                changedTasks.forEach(indexDAO::indexTask);
+            }
+        } catch (Exception e) {
+            String errorMsg = String.format("Error updating tasks: %s in workflow: %s",
+                tasks.stream().map(Task::getTaskId).collect(Collectors.toList()),
+                tasks.get(0).getWorkflowInstanceId());
+            LOGGER.error(errorMsg, e);
+            throw new ApplicationException(ApplicationException.Code.BACKEND_ERROR, errorMsg, e);
+        }
+    }
+
+    private void setEndTime(Task task) {
+        if (task.getStatus() != null && task.getStatus().isTerminal() && task.getEndTime() == 0) {
+            task.setEndTime(System.currentTimeMillis());
+        }
+    }
+
+    private void setUpdateTime(Task task) {
+        if (task.getStatus() != null) {
+            if (!task.getStatus().isTerminal() || (task.getStatus().isTerminal() && task.getUpdateTime() == 0)) {
+                task.setUpdateTime(System.currentTimeMillis());
+            }
+        }
     }
 
     public void removeTask(String taskId) {
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.orchestration;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.metrics.Monitors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tracks the changes made to the terminal tasks since they were read from or written to the
+ * {@link com.netflix.conductor.dao.ExecutionDAO}, so that the updates of unchanged tasks can be skipped.
+ * <p>
+ * A copy of the state of each terminal task is kept, by identity, when the task is read or written, and compared to
+ * the task when it is updated. The input and output maps are copied along with their nested maps and lists, so the
+ * changes made to them are caught as well as those made through the setters. The non-terminal tasks are always
+ * written, since every update refreshes their update time, which the response timeout is measured from. So is a task
+ * without a recorded state, e.g. a copy.
+ */
+class TaskStateTracker {
+
+    private final boolean enabled;
+
+    /**
+     * The state of the terminal tasks when they were last read or written, by identity.
+     */
+    private final Cache<Task, Task> storedStates = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+
+    TaskStateTracker(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records the current state of the given tasks as their stored state.
+     */
+    void markStored(Collection<Task> tasks) {
+        if (enabled) {
+            tasks.forEach(this::record);
+        }
+    }
+
+    void markStored(Task task) {
+        if (enabled && task != null) {
+            record(task);
+        }
+    }
+
+    /**
+     * @return the tasks among the given ones which changed since they were stored
+     */
+    Changes changes(Collection<Task> tasks) {
+        if (!enabled) {
+            return new Changes(new ArrayList<>(tasks), false);
+        }
+        List<Task> changed = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Task storedState = isTerminal(task) ? storedStates.getIfPresent(task) : null;
+            if (storedState != null && isUnchanged(storedState, task)) {
+                Monitors.recordTaskUpdateSkipped(task.getTaskType());
+            } else {
+                changed.add(task);
+            }
+        }
+        return new Changes(changed, true);
+    }
+
+    private void record(Task task) {
+        if (isTerminal(task)) {
+            storedStates.put(task, snapshot(task));
+        } else {
+            storedStates.invalidate(task);
+        }
+    }
+
+    private static boolean isTerminal(Task task) {
+        return task.getStatus() != null && task.getStatus().isTerminal();
+    }
+
+    private static Task snapshot(Task task) {
+        Task snapshot = task.deepCopy();
+        snapshot.setInputData(copyOf(task.getInputData()));
+        snapshot.setOutputData(copyOf(task.getOutputData()));
+        // the fields left out of deepCopy()
+        snapshot.setUpdateTime(task.getUpdateTime());
+        snapshot.setRetried(task.isRetried());
+        snapshot.setRetriedTaskId(task.getRetriedTaskId());
+        snapshot.setExecuted(task.isExecuted());
+        return snapshot;
+    }
+
+    /**
+     * Compares the fields of {@link Task#equals(Object)}, and those it leaves out.
+     */
+    private static boolean isUnchanged(Task storedState, Task task) {
+        return storedState.equals(task)
+            && Objects.equals(storedState.getSubWorkflowId(), task.getSubWorkflowId())
+            && storedState.isSubworkflowChanged() == task.isSubworkflowChanged();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyOf(T value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<Object, Object>) value).forEach((key, element) -> copy.put(key, copyOf(element)));
+            return (T) copy;
+        } else if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            ((List<Object>) value).forEach(element -> copy.add(copyOf(element)));
+            return (T) copy;
+        }
+        return value;
+    }
+
+    /**
+     * The tasks to be written, whose state is to be recorded once they are.
+     */
+    class Changes {
+
+        private final List<Task> tasks;
+        private final boolean tracked;
+
+        private Changes(List<Task> tasks, boolean tracked) {
+            this.tasks = tasks;
+            this.tracked = tracked;
+        }
+
+        List<Task> getTasks() {
+            return tasks;
+        }
+
+        /**
+         * Records the tasks as written.
+         */
+        void markStored() {
+            if (tracked) {
+                for (Task task : tasks) {
+                    record(task);
+                    Monitors.recordTaskUpdateWritten(task.getTaskType());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.orchestration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.metrics.Monitors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Node-local cache of the serialized state of running workflows, stamped with the version of the workflow in the
+ * {@link com.netflix.conductor.dao.ExecutionDAO} at the time the state was read.
+ * <p>
+ * The writes made through this node are applied to the cached snapshots, advancing their version by the number of
+ * writes, so that a snapshot keeps matching the datastore until another node writes the workflow. Snapshots are
+ * immutable and every lookup deserializes a fresh {@link Workflow}, so callers can never alter a cached state.
+ */
+class WorkflowCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Snapshot> snapshots;
+
+    /**
+     * @param maxSize   the maximum number of workflows held
+     * @param maxWeight the maximum total size in bytes of the workflows held
+     */
+    WorkflowCache(ObjectMapper objectMapper, int maxSize, long maxWeight) {
+        this.objectMapper = objectMapper;
+        // guava does not allow to bound both the size and the weight, so every entry weighs at least maxWeight/maxSize
+        long minWeight = maxWeight / Math.max(maxSize, 1);
+        this.snapshots = CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((String workflowId, Snapshot snapshot) -> (int) Math.min(Integer.MAX_VALUE,
+                Math.max(snapshot.weight, minWeight)))
+            .build();
+    }
+
+    /**
+     * @return the cached workflow, or null if the workflow is not cached at the given version
+     */
+    Workflow get(String workflowId, long version) {
+        Snapshot snapshot = snapshots.getIfPresent(workflowId);
+        if (snapshot == null || snapshot.version != version) {
+            Monitors.recordWorkflowCacheMiss();
+            return null;
+        }
+        Workflow workflow = snapshot.toWorkflow();
+        Monitors.recordWorkflowCacheHit(workflow.getWorkflowName());
+        return workflow;
+    }
+
+    /**
+     * Caches the workflow, read with its tasks at the given version.
+     */
+    void put(Workflow workflow, long version) {
+        if (workflow.getStatus().isTerminal()) {
+            snapshots.invalidate(workflow.getWorkflowId());
+            return;
+        }
+        Map<String, byte[]> tasks = new LinkedHashMap<>();
+        workflow.getTasks().forEach(task -> tasks.put(task.getTaskId(), toJson(task)));
+        snapshots.put(workflow.getWorkflowId(), new Snapshot(version, toJsonWithoutTasks(workflow), tasks));
+    }
+
+    /**
+     * Executes a write of the given tasks, and applies the tasks it returns as written to the snapshots of their
+     * workflows.
+     */
+    List<Task> writeTasks(Collection<Task> tasks, Supplier<List<Task>> write) {
+        Map<String, Snapshot> before = new HashMap<>();
+        tasks.forEach(task -> before.computeIfAbsent(task.getWorkflowInstanceId(), snapshots::getIfPresent));
+
+        List<Task> written;
+        try {
+            written = write.get();
+        } catch (RuntimeException e) {
+            snapshots.invalidateAll(before.keySet());
+            throw e;
+        }
+
+        Map<String, List<Task>> writtenByWorkflow = new HashMap<>();
+        written.forEach(task -> writtenByWorkflow.computeIfAbsent(task.getWorkflowInstanceId(),
+            workflowId -> new ArrayList<>()).add(task));
+        writtenByWorkflow.forEach((workflowId, workflowTasks) -> {
+            Snapshot snapshot = before.get(workflowId);
+            if (snapshot != null) {
+                Map<String, byte[]> taskJson = new LinkedHashMap<>(snapshot.tasks);
+                workflowTasks.forEach(task -> taskJson.put(task.getTaskId(), toJson(task)));
+                replace(workflowId, snapshot,
+                    new Snapshot(snapshot.version + workflowTasks.size(), snapshot.workflow, taskJson));
+            }
+        });
+        return written;
+    }
+
+    /**
+     * Executes a write of the given workflow, and applies it to the snapshot of the workflow.
+     */
+    void writeWorkflow(Workflow workflow, Runnable write) {
+        String workflowId = workflow.getWorkflowId();
+        Snapshot snapshot = snapshots.getIfPresent(workflowId);
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            snapshots.invalidate(workflowId);
+            throw e;
+        }
+        if (snapshot != null) {
+            if (workflow.getStatus().isTerminal()) {
+                snapshots.invalidate(workflowId);
+            } else {
+                replace(workflowId, snapshot,
+                    new Snapshot(snapshot.version + 1, toJsonWithoutTasks(workflow), snapshot.tasks));
+            }
+        }
+    }
+
+    void invalidate(String workflowId) {
+        snapshots.invalidate(workflowId);
+    }
+
+    /**
+     * A snapshot that was replaced while the write was in flight may or may not include the write, so it is dropped.
+     */
+    private void replace(String workflowId, Snapshot expected, Snapshot snapshot) {
+        ConcurrentMap<String, Snapshot> map = snapshots.asMap();
+        if (!map.replace(workflowId, expected, snapshot)) {
+            map.remove(workflowId);
+        }
+    }
+
+    private byte[] toJsonWithoutTasks(Workflow workflow) {
+        List<Task> tasks = workflow.getTasks();
+        workflow.setTasks(new LinkedList<>());
+        try {
+            return toJson(workflow);
+        } finally {
+            workflow.setTasks(tasks);
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private <T> T readValue(byte[] json, Class<T> clazz) {
+        try {
+            return objectMapper.readValue(json, clazz);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private class Snapshot {
+
+        private final long version;
+        private final byte[] workflow;
+        private final Map<String, byte[]> tasks;
+        private final long weight;
+
+        Snapshot(long version, byte[] workflow, Map<String, byte[]> tasks) {
+            this.version = version;
+            this.workflow = workflow;
+            this.tasks = tasks;
+            this.weight = workflow.length + tasks.values().stream().mapToLong(json -> json.length).sum();
+        }
+
+        Workflow toWorkflow() {
+            Workflow copy = readValue(workflow, Workflow.class);
+            List<Task> taskCopies = new LinkedList<>();
+            tasks.values().forEach(json -> taskCopies.add(readValue(json, Task.class)));
+            copy.setTasks(taskCopies);
+            return copy;
+        }
+    }
+}
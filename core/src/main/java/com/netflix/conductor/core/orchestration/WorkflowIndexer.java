@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.orchestration;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.LifecycleAwareComponent;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.IndexDAO;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.metrics.Monitors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Indexes the workflows queued in the indexing outbox by the {@link ExecutionDAOFacade}.
+ * <p>
+ * The outbox is a queue of the {@link QueueDAO}, so it is stored along with the execution data and survives restarts.
+ * A workflow is queued once at a time, and the indexer reads its latest state from the {@link ExecutionDAO} when the
+ * entry becomes visible, so all the updates made in the meantime are indexed at once. The entries are taken in
+ * batches, and are acknowledged only once their workflow is indexed: those which fail to be indexed are postponed to
+ * be retried, and those of an indexer which stops are delivered again once the unack timeout of the queue elapses.
+ * <p>
+ * An update made while a workflow is being indexed finds its entry still queued, so the workflow is queued again once
+ * its entry is acknowledged if it was updated since it was read.
+ */
+@SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+@Component
+@ConditionalOnProperty(name = "conductor.app.indexing-outbox-enabled", havingValue = "true")
+public class WorkflowIndexer extends LifecycleAwareComponent {
+
+    public static final String INDEX_QUEUE = "_indexQueue";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowIndexer.class);
+    private static final String CLASS_NAME = WorkflowIndexer.class.getSimpleName();
+    private static final int POP_TIMEOUT_MS = 200;
+
+    private final ExecutionDAO executionDAO;
+    private final QueueDAO queueDAO;
+    private final IndexDAO indexDAO;
+    private final int batchSize;
+    private final long retryDelaySeconds;
+    private final long timeoutMillis;
+
+    public WorkflowIndexer(ExecutionDAO executionDAO, QueueDAO queueDAO, IndexDAO indexDAO,
+        ConductorProperties properties) {
+        this.executionDAO = executionDAO;
+        this.queueDAO = queueDAO;
+        this.indexDAO = indexDAO;
+        this.batchSize = properties.getIndexingOutboxBatchSize();
+        this.retryDelaySeconds = properties.getIndexingOutboxRetryDelay().getSeconds();
+        this.timeoutMillis = properties.getIndexingOutboxTimeout().toMillis();
+        LOGGER.info("WorkflowIndexer initialized with a batch size of {}", batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${conductor.indexing-outbox-frequency.millis:500}",
+        initialDelayString = "${conductor.indexing-outbox-frequency.millis:500}")
+    public void pollAndIndex() {
+        try {
+            if (!isRunning()) {
+                LOGGER.debug("Component stopped, skip indexing");
+                return;
+            }
+            List<String> workflowIds;
+            do {
+                workflowIds = queueDAO.pop(INDEX_QUEUE, batchSize, POP_TIMEOUT_MS);
+                index(workflowIds);
+            } while (workflowIds.size() >= batchSize && isRunning());
+            Monitors.recordGauge(INDEX_QUEUE, queueDAO.getSize(INDEX_QUEUE));
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "poll");
+            LOGGER.error("Error when polling for workflows to index", e);
+        }
+    }
+
+    /**
+     * Indexes the given workflows, and their tasks once they are completed, and acknowledges their entries once they
+     * are indexed.
+     */
+    @VisibleForTesting
+    void index(List<String> workflowIds) {
+        if (workflowIds.isEmpty()) {
+            return;
+        }
+        Map<String, Indexing> indexings = new LinkedHashMap<>();
+        for (String workflowId : workflowIds) {
+            try {
+                indexings.put(workflowId, indexAsync(workflowId));
+            } catch (Exception e) {
+                retry(workflowId, e);
+            }
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        indexings.forEach((workflowId, indexing) -> {
+            try {
+                indexing.future.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                retry(workflowId, e.getCause());
+                return;
+            } catch (TimeoutException e) {
+                retry(workflowId, e);
+                return;
+            } catch (InterruptedException e) {
+                // the entry is delivered again once the unack timeout elapses
+                Thread.currentThread().interrupt();
+                return;
+            }
+            complete(workflowId, indexing);
+        });
+        LOGGER.debug("Indexed {} workflows from the outbox", workflowIds.size());
+    }
+
+    private Indexing indexAsync(String workflowId) {
+        Workflow workflow = readWorkflow(workflowId, true);
+        if (workflow == null) {
+            LOGGER.debug("Workflow {} was removed before being indexed", workflowId);
+            return new Indexing(null, CompletableFuture.completedFuture(null));
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(indexDAO.asyncIndexWorkflow(workflow));
+        if (workflow.getStatus().isTerminal()) {
+            workflow.getTasks().forEach(task -> futures.add(indexDAO.asyncIndexTask(task)));
+        }
+        return new Indexing(workflow, CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+    }
+
+    /**
+     * Acknowledges the entry of an indexed workflow, and queues the workflow again if it was updated since it was
+     * read, as the update found the entry still queued.
+     */
+    private void complete(String workflowId, Indexing indexing) {
+        queueDAO.ack(INDEX_QUEUE, workflowId);
+        if (indexing.workflow == null) {
+            return;
+        }
+        try {
+            Workflow workflow = readWorkflow(workflowId, false);
+            if (workflow != null && (workflow.getStatus() != indexing.workflow.getStatus()
+                || !Objects.equals(workflow.getUpdateTime(), indexing.workflow.getUpdateTime()))) {
+                LOGGER.debug("Workflow {} was updated while being indexed, queueing it again", workflowId);
+                queueDAO.pushIfNotExists(INDEX_QUEUE, workflowId, 0);
+            }
+        } catch (Exception e) {
+            Monitors.error(CLASS_NAME, "complete");
+            LOGGER.error("Unable to check whether workflow: {} was updated while being indexed", workflowId, e);
+        }
+    }
+
+    private Workflow readWorkflow(String workflowId, boolean includeTasks) {
+        try {
+            return executionDAO.getWorkflow(workflowId, includeTasks);
+        } catch (ApplicationException e) {
+            if (e.getCode() != ApplicationException.Code.NOT_FOUND) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Postpones the entry of a workflow which failed to be indexed.
+     */
+    private void retry(String workflowId, Throwable t) {
+        Monitors.error(CLASS_NAME, "index");
+        LOGGER.warn("Failed to index workflow: {}, retrying in {} seconds", workflowId, retryDelaySeconds, t);
+        try {
+            queueDAO.postpone(INDEX_QUEUE, workflowId, 0, retryDelaySeconds);
+        } catch (Exception e) {
+            // the entry is delivered again once the unack timeout elapses
+            LOGGER.error("Unable to postpone the indexing of workflow: {}", workflowId, e);
+        }
+    }
+
+    private static final class Indexing {
+
+        private final Workflow workflow;
+        private final CompletableFuture<Void> future;
+
+        private Indexing(Workflow workflow, CompletableFuture<Void> future) {
+            this.workflow = workflow;
+            this.future = future;
+        }
+    }
+}
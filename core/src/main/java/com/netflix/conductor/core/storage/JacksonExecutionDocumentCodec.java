@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.storage;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Encodes the execution documents with the {@link ObjectMapper} of the application, in one of the formats supported
+ * by Jackson, optionally compressed.
+ * <p>
+ * The documents encoded as text are written as JSON whatever the configured encoding is, since the stores which hold
+ * text would need them in base64, which cancels most of the savings of the binary formats. The documents encoded as
+ * bytes are written as is when the encoding is uncompressed JSON, otherwise as {@code ~<format>[+<compression>]!}
+ * followed by the encoded bytes, e.g. {@code ~smile+lz4!<bytes>}. Since a JSON document cannot start with {@code ~},
+ * the documents are decoded according to their own header whatever the configured encoding is, and the documents
+ * written as JSON, e.g. before the encoding was changed, are read as JSON.
+ */
+public class JacksonExecutionDocumentCodec implements ExecutionDocumentCodec {
+
+    public enum Format {
+        JSON,
+        SMILE,
+        CBOR
+    }
+
+    public enum Compression {
+        NONE,
+        LZ4
+    }
+
+    private static final char HEADER_START = '~';
+    private static final char HEADER_END = '!';
+    private static final int MAX_HEADER_LENGTH = 16;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private static final JsonFactory smileFactory = new SmileFactory();
+    private static final JsonFactory cborFactory = new CBORFactory();
+
+    private static final Map<String, Encoding> encodingsByHeader = new HashMap<>();
+
+    static {
+        for (Format format : Format.values()) {
+            for (Compression compression : Compression.values()) {
+                Encoding encoding = new Encoding(format, compression);
+                encodingsByHeader.put(encoding.header, encoding);
+            }
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Encoding encoding;
+
+    public JacksonExecutionDocumentCodec(ObjectMapper objectMapper) {
+        this(objectMapper, Format.JSON, Compression.NONE);
+    }
+
+    public JacksonExecutionDocumentCodec(ObjectMapper objectMapper, Format format, Compression compression) {
+        this.objectMapper = objectMapper;
+        this.encoding = new Encoding(format, compression);
+    }
+
+    @Override
+    public String encode(Object document) {
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (IOException e) {
+            throw new ApplicationException(Code.BACKEND_ERROR, "Unable to encode " + document.getClass().getName(),
+                e);
+        }
+    }
+
+    @Override
+    public byte[] encodeToBytes(Object document) {
+        try {
+            if (encoding.isPlainJson()) {
+                return objectMapper.writeValueAsBytes(document);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+            bytes.write(encoding.header.getBytes(StandardCharsets.US_ASCII));
+            // closing the generator closes the compressing stream, which flushes its last block
+            try (JsonGenerator generator = factory(encoding.format).createGenerator(compress(bytes))) {
+                objectMapper.writeValue(generator, document);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new ApplicationException(Code.BACKEND_ERROR, "Unable to encode " + document.getClass().getName(),
+                e);
+        }
+    }
+
+    @Override
+    public <T> T decode(String document, Class<T> type) {
+        if (document == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(document, type);
+        } catch (IOException e) {
+            throw new ApplicationException(Code.BACKEND_ERROR, "Unable to decode " + type.getName() + " document", e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] document, Class<T> type) {
+        if (document == null) {
+            return null;
+        }
+        try {
+            if (document.length == 0 || document[0] != HEADER_START) {
+                // read the JSON documents without copying them into a string first
+                return objectMapper.readValue(document, type);
+            }
+            int headerEnd = 1;
+            while (headerEnd < Math.min(document.length, MAX_HEADER_LENGTH) && document[headerEnd] != HEADER_END) {
+                headerEnd++;
+            }
+            Encoding documentEncoding = headerEnd < document.length
+                ? encodingsByHeader.get(new String(document, 0, headerEnd + 1, StandardCharsets.US_ASCII)) : null;
+            if (documentEncoding == null) {
+                throw unknownEncoding(new String(document, StandardCharsets.UTF_8), type);
+            }
+            return read(documentEncoding,
+                new ByteArrayInputStream(document, headerEnd + 1, document.length - headerEnd - 1), type);
+        } catch (IOException e) {
+            throw new ApplicationException(Code.BACKEND_ERROR, "Unable to decode " + type.getName() + " document", e);
+        }
+    }
+
+    private <T> T read(Encoding documentEncoding, InputStream bytes, Class<T> type) throws IOException {
+        try (JsonParser parser = factory(documentEncoding.format).createParser(documentEncoding.decompress(bytes))) {
+            return objectMapper.readValue(parser, type);
+        }
+    }
+
+    private ApplicationException unknownEncoding(String document, Class<?> type) {
+        return new ApplicationException(Code.BACKEND_ERROR, "Unknown encoding of " + type.getName() + " document: "
+            + document.substring(0, Math.min(document.length(), MAX_HEADER_LENGTH)));
+    }
+
+    private JsonFactory factory(Format format) {
+        switch (format) {
+            case SMILE:
+                return smileFactory;
+            case CBOR:
+                return cborFactory;
+            default:
+                return objectMapper.getFactory();
+        }
+    }
+
+    private OutputStream compress(OutputStream outputStream) {
+        return encoding.compression == Compression.LZ4 ? new LZ4BlockOutputStream(outputStream) : outputStream;
+    }
+
+    private static class Encoding {
+
+        private final Format format;
+        private final Compression compression;
+        private final String header;
+
+        Encoding(Format format, Compression compression) {
+            this.format = format;
+            this.compression = compression;
+            StringBuilder header = new StringBuilder().append(HEADER_START).append(format.name().toLowerCase(Locale.ROOT));
+            if (compression != Compression.NONE) {
+                header.append('+').append(compression.name().toLowerCase(Locale.ROOT));
+            }
+            this.header = header.append(HEADER_END).toString();
+        }
+
+        boolean isPlainJson() {
+            return format == Format.JSON && compression == Compression.NONE;
+        }
+
+        InputStream decompress(InputStream inputStream) {
+            return compression == Compression.LZ4 ? new LZ4BlockInputStream(inputStream) : inputStream;
+        }
+    }
+}
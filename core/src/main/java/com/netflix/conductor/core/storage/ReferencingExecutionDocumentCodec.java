@@ -0,0 +1,371 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.storage;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.core.metadata.WorkflowDefinitionCache;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Stores the running tasks and workflows with a reference to their registered definition instead of a copy of it, and
+ * resolves these references from a {@link WorkflowDefinitionCache} when they are loaded. The documents are encoded by
+ * the given codec.
+ * <p>
+ * A running workflow is stored by reference when its definition is equal to the registered definition of its version,
+ * and a running task when its {@link WorkflowTask} belongs to such a definition. The other ones, e.g. the workflows
+ * started with an unregistered definition or the tasks of a dynamic fork, are stored with their definition as before.
+ * So are the workflows whose definition is not referenceable, see {@link WorkflowDefinitionCache.Definition}.
+ * <p>
+ * The references hold the fingerprint of the definition, which is verified when they are resolved. The
+ * {@link com.netflix.conductor.service.MetadataService} refuses to modify or remove a definition, or the task
+ * definitions it uses, while it has running workflows, and the terminal tasks and workflows are stored with their
+ * definition, which may be modified once they complete.
+ * <p>
+ * The documents stored with their definition are read as well, so that this codec can be enabled on a live store.
+ */
+public class ReferencingExecutionDocumentCodec implements ExecutionDocumentCodec {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferencingExecutionDocumentCodec.class);
+
+    private final ExecutionDocumentCodec delegate;
+    private final WorkflowDefinitionCache definitionCache;
+
+    /**
+     * The references to the definitions of the workflows encoded or decoded by this codec, if they are registered, by
+     * identity.
+     */
+    private final Cache<WorkflowDef, Optional<WorkflowDefinitionReference>> definitionReferences = CacheBuilder
+        .newBuilder()
+        .weakKeys()
+        .build();
+
+    /**
+     * The references to the tasks of the registered definitions, by identity.
+     */
+    private final Cache<WorkflowTask, WorkflowTaskReference> workflowTaskReferences = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+
+    public ReferencingExecutionDocumentCodec(ExecutionDocumentCodec delegate,
+        WorkflowDefinitionCache definitionCache) {
+        this.delegate = delegate;
+        this.definitionCache = definitionCache;
+    }
+
+    @Override
+    public String encode(Object document) {
+        return delegate.encode(toDocument(document));
+    }
+
+    @Override
+    public byte[] encodeToBytes(Object document) {
+        return delegate.encodeToBytes(toDocument(document));
+    }
+
+    /**
+     * @return the document to store for the given task or workflow, by reference to its definition if possible
+     */
+    private Object toDocument(Object document) {
+        if (document instanceof Workflow) {
+            Workflow workflow = (Workflow) document;
+            WorkflowDef definition = workflow.getWorkflowDefinition();
+            Optional<WorkflowDefinitionReference> reference = definition != null && !workflow.getStatus().isTerminal()
+                ? referenceOf(definition) : Optional.empty();
+            if (reference.isPresent()) {
+                return new WorkflowDocument(workflow, reference.get());
+            }
+        } else if (document instanceof Task) {
+            Task task = (Task) document;
+            WorkflowTaskReference reference = task.getWorkflowTask() != null && task.getStatus() != null
+                && !task.getStatus().isTerminal() ? workflowTaskReferences.getIfPresent(task.getWorkflowTask()) : null;
+            if (reference != null) {
+                return new TaskDocument(task, reference);
+            }
+        }
+        return document;
+    }
+
+    @Override
+    public <T> T decode(String document, Class<T> type) {
+        return resolve(delegate.decode(document, documentType(type)), type);
+    }
+
+    @Override
+    public <T> T decode(byte[] document, Class<T> type) {
+        return resolve(delegate.decode(document, documentType(type)), type);
+    }
+
+    private Class<?> documentType(Class<?> type) {
+        if (type == Workflow.class) {
+            return WorkflowDocument.class;
+        } else if (type == Task.class) {
+            return TaskDocument.class;
+        }
+        return type;
+    }
+
+    private <T> T resolve(Object decoded, Class<T> type) {
+        if (decoded instanceof WorkflowDocument) {
+            WorkflowDocument document = (WorkflowDocument) decoded;
+            Workflow workflow = document.getWorkflow();
+            WorkflowDefinitionReference reference = document.getWorkflowDefinitionRef();
+            if (reference != null) {
+                workflow.setWorkflowDefinition(getDefinition(reference.getName(), reference.getVersion(),
+                    reference.getFingerprint()));
+            }
+            return type.cast(workflow);
+        } else if (decoded instanceof TaskDocument) {
+            TaskDocument document = (TaskDocument) decoded;
+            Task task = document.getTask();
+            WorkflowTaskReference reference = document.getWorkflowTaskRef();
+            if (reference != null) {
+                WorkflowTask workflowTask = getDefinition(reference.getWorkflowName(), reference.getWorkflowVersion(),
+                    reference.getWorkflowFingerprint()).getTaskByRefName(reference.getTaskReferenceName());
+                if (workflowTask == null) {
+                    throw new ApplicationException(Code.BACKEND_ERROR, String.format(
+                        "Task %s refers to %s, which is not in the definition of %s version %d", task.getTaskId(),
+                        reference.getTaskReferenceName(), reference.getWorkflowName(),
+                        reference.getWorkflowVersion()));
+                }
+                task.setWorkflowTask(workflowTask);
+            }
+            return type.cast(task);
+        }
+        return type.cast(decoded);
+    }
+
+    private WorkflowDef getDefinition(String name, int version, String fingerprint) {
+        WorkflowDef definition;
+        try {
+            definition = definitionCache.get(name, version, fingerprint);
+        } catch (ApplicationException e) {
+            throw new ApplicationException(Code.BACKEND_ERROR,
+                String.format("Unable to resolve the definition of %s version %d: %s", name, version,
+                    e.getMessage()), e);
+        }
+        // registers the tasks of the definition, for the tasks loaded with it to be stored by reference again
+        referenceOf(definition);
+        return definition;
+    }
+
+    private Optional<WorkflowDefinitionReference> referenceOf(WorkflowDef definition) {
+        Optional<WorkflowDefinitionReference> reference = definitionReferences.getIfPresent(definition);
+        if (reference == null) {
+            reference = matchRegisteredDefinition(definition);
+            definitionReferences.put(definition, reference);
+        }
+        return reference;
+    }
+
+    private Optional<WorkflowDefinitionReference> matchRegisteredDefinition(WorkflowDef definition) {
+        if (StringUtils.isBlank(definition.getName())) {
+            return Optional.empty();
+        }
+        WorkflowDefinitionCache.Definition registered;
+        try {
+            registered = definitionCache.get(definition.getName(), definition.getVersion());
+        } catch (RuntimeException e) {
+            LOGGER.debug("Storing the executions of {} version {} with their definition", definition.getName(),
+                definition.getVersion(), e);
+            return Optional.empty();
+        }
+        WorkflowDef registeredDefinition = registered.getDefinition();
+        if (!registered.isReferenceable()
+            || registeredDefinition != definition && !registeredDefinition.equals(definition)) {
+            return Optional.empty();
+        }
+        for (WorkflowTask workflowTask : definition.collectTasks()) {
+            workflowTaskReferences.put(workflowTask, new WorkflowTaskReference(definition.getName(),
+                definition.getVersion(), registered.getFingerprint(), workflowTask.getTaskReferenceName()));
+        }
+        return Optional.of(new WorkflowDefinitionReference(definition.getName(), definition.getVersion(),
+            registered.getFingerprint()));
+    }
+
+    static class WorkflowDocument {
+
+        @JsonUnwrapped
+        @JsonIgnoreProperties(value = {"workflowDefinition", "workflowName", "workflowVersion"}, allowSetters = true)
+        private Workflow workflow;
+
+        private WorkflowDefinitionReference workflowDefinitionRef;
+
+        WorkflowDocument() {
+        }
+
+        WorkflowDocument(Workflow workflow, WorkflowDefinitionReference workflowDefinitionRef) {
+            this.workflow = workflow;
+            this.workflowDefinitionRef = workflowDefinitionRef;
+        }
+
+        public Workflow getWorkflow() {
+            return workflow;
+        }
+
+        public void setWorkflow(Workflow workflow) {
+            this.workflow = workflow;
+        }
+
+        public WorkflowDefinitionReference getWorkflowDefinitionRef() {
+            return workflowDefinitionRef;
+        }
+
+        public void setWorkflowDefinitionRef(WorkflowDefinitionReference workflowDefinitionRef) {
+            this.workflowDefinitionRef = workflowDefinitionRef;
+        }
+    }
+
+    static class TaskDocument {
+
+        @JsonUnwrapped
+        @JsonIgnoreProperties(value = {"workflowTask", "taskDefinition"}, allowSetters = true)
+        private Task task;
+
+        private WorkflowTaskReference workflowTaskRef;
+
+        TaskDocument() {
+        }
+
+        TaskDocument(Task task, WorkflowTaskReference workflowTaskRef) {
+            this.task = task;
+            this.workflowTaskRef = workflowTaskRef;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public void setTask(Task task) {
+            this.task = task;
+        }
+
+        public WorkflowTaskReference getWorkflowTaskRef() {
+            return workflowTaskRef;
+        }
+
+        public void setWorkflowTaskRef(WorkflowTaskReference workflowTaskRef) {
+            this.workflowTaskRef = workflowTaskRef;
+        }
+    }
+
+    static class WorkflowDefinitionReference {
+
+        private String name;
+        private int version;
+        private String fingerprint;
+
+        WorkflowDefinitionReference() {
+        }
+
+        WorkflowDefinitionReference(String name, int version, String fingerprint) {
+            this.name = name;
+            this.version = version;
+            this.fingerprint = fingerprint;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public void setVersion(int version) {
+            this.version = version;
+        }
+
+        /**
+         * @return the fingerprint of the definition, or null for the documents stored before it was recorded
+         */
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    static class WorkflowTaskReference {
+
+        private String workflowName;
+        private int workflowVersion;
+        private String workflowFingerprint;
+        private String taskReferenceName;
+
+        WorkflowTaskReference() {
+        }
+
+        WorkflowTaskReference(String workflowName, int workflowVersion, String workflowFingerprint,
+            String taskReferenceName) {
+            this.workflowName = workflowName;
+            this.workflowVersion = workflowVersion;
+            this.workflowFingerprint = workflowFingerprint;
+            this.taskReferenceName = taskReferenceName;
+        }
+
+        public String getWorkflowName() {
+            return workflowName;
+        }
+
+        public void setWorkflowName(String workflowName) {
+            this.workflowName = workflowName;
+        }
+
+        public int getWorkflowVersion() {
+            return workflowVersion;
+        }
+
+        public void setWorkflowVersion(int workflowVersion) {
+            this.workflowVersion = workflowVersion;
+        }
+
+        /**
+         * @return the fingerprint of the workflow definition, or null for the documents stored before it was recorded
+         */
+        public String getWorkflowFingerprint() {
+            return workflowFingerprint;
+        }
+
+        public void setWorkflowFingerprint(String workflowFingerprint) {
+            this.workflowFingerprint = workflowFingerprint;
+        }
+
+        public String getTaskReferenceName() {
+            return taskReferenceName;
+        }
+
+        public void setTaskReferenceName(String taskReferenceName) {
+            this.taskReferenceName = taskReferenceName;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020 Netflix, Inc.
+ * Copyright 2021 Netflix, Inc.
  * <p>
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
  * the License. You may obtain a copy of the License at
@@ -12,11 +12,51 @@
  */
 package com.netflix.conductor.core.utils;
 
+import com.google.common.base.Preconditions;
+
 import java.util.UUID;
+import java.util.function.Supplier;
 
+/**
+ * Generates the ids of the workflows, tasks and messages created by Conductor, as UUID strings.
+ * <p>
+ * The ids are random by default. The strategy is set once on startup from {@link
+ * com.netflix.conductor.core.config.ConductorProperties#getIdGenerator()}, and a custom one can be plugged in with
+ * {@link #initialize(Supplier)}, as long as it makes strings which fit the id columns of the stores.
+ */
 public class IDGenerator {
 
+    public enum Type {
+
+        /**
+         * Random (version 4) UUIDs, drawn from a {@link java.security.SecureRandom} shared by all the threads.
+         */
+        RANDOM(() -> UUID.randomUUID().toString()),
+
+        /**
+         * Time-ordered (version 7) UUIDs, see {@link TimeOrderedUUIDGenerator}.
+         */
+        TIME_ORDERED(() -> TimeOrderedUUIDGenerator.generate().toString());
+
+        private final Supplier<String> generator;
+
+        Type(Supplier<String> generator) {
+            this.generator = generator;
+        }
+    }
+
+    private static volatile Supplier<String> generator = Type.RANDOM.generator;
+
+    public static void initialize(Type type) {
+        initialize(type.generator);
+    }
+
+    public static void initialize(Supplier<String> generator) {
+        Preconditions.checkNotNull(generator, "The id generator cannot be null");
+        IDGenerator.generator = generator;
+    }
+
     public static String generate() {
-        return UUID.randomUUID().toString();
+        return generator.get();
     }
 }
@@ -0,0 +1,423 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.utils.EnvUtils;
+import com.netflix.conductor.common.utils.TaskUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compiled form of a task input template.
+ * <p>
+ * The template is walked once, and every <code>${...}</code> expression in it is split and parsed into a
+ * {@link JsonPath} up front. Evaluating the plan against a workflow only builds the parameters of the tasks that the
+ * expressions actually reference, instead of materializing the parameters of every task in the workflow.
+ * <p>
+ * A plan is immutable and can be shared across threads; every evaluation returns freshly allocated maps and lists.
+ */
+final class InputParametersPlan {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputParametersPlan.class);
+
+    private static final String WORKFLOW_KEY = "workflow";
+
+    private final Node root;
+
+    private InputParametersPlan(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param template the input template, as a tree of maps, lists and scalar values
+     * @return the compiled plan
+     */
+    static InputParametersPlan compile(Map<String, Object> template) {
+        return new InputParametersPlan(compileMap(template));
+    }
+
+    /**
+     * @param workflow the workflow the expressions are resolved against
+     * @param taskId   the id of the task the input is resolved for, used to resolve <code>CPEWF_TASK_ID</code>
+     * @return the resolved input
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> evaluate(Workflow workflow, String taskId) {
+        return (Map<String, Object>) root.evaluate(new EvaluationContext(workflow, taskId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node compileValue(Object value) {
+        if (value instanceof String) {
+            return compileString((String) value);
+        } else if (value instanceof Map) {
+            return compileMap((Map<String, Object>) value);
+        } else if (value instanceof List) {
+            return compileList((List<?>) value);
+        }
+        return new ConstantNode(value);
+    }
+
+    private static Node compileMap(Map<String, Object> map) {
+        String[] keys = new String[map.size()];
+        Node[] values = new Node[map.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i] = compileValue(entry.getValue());
+            i++;
+        }
+        return new MapNode(keys, values);
+    }
+
+    private static Node compileList(List<?> list) {
+        Node[] values = new Node[list.size()];
+        int i = 0;
+        for (Object value : list) {
+            values[i++] = compileValue(value);
+        }
+        return new ListNode(values);
+    }
+
+    private static Node compileString(String value) {
+        if (!value.contains("${")) {
+            return new ConstantNode(value);
+        }
+        String[] parts = value.split("(?=(?<!\\$)\\$\\{)|(?<=\\})");
+        Segment[] segments = new Segment[parts.length];
+        boolean hasExpression = false;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.startsWith("${") && part.endsWith("}")) {
+                segments[i] = new ExpressionSegment(part, part.substring(2, part.length() - 1));
+                hasExpression = true;
+            } else if (part.contains("$${")) {
+                segments[i] = new LiteralSegment(part.replaceAll("\\$\\$\\{", "\\${"));
+            } else {
+                segments[i] = new LiteralSegment(part);
+            }
+        }
+        if (!hasExpression) {
+            return new ConstantNode(new StringNode(segments).evaluate(null));
+        }
+        return new StringNode(segments);
+    }
+
+    private interface Node {
+
+        Object evaluate(EvaluationContext context);
+    }
+
+    private interface Segment {
+
+        Object resolve(EvaluationContext context);
+    }
+
+    private static class ConstantNode implements Node {
+
+        private final Object value;
+
+        ConstantNode(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(EvaluationContext context) {
+            return value;
+        }
+    }
+
+    private static class MapNode implements Node {
+
+        private final String[] keys;
+        private final Node[] values;
+
+        MapNode(String[] keys, Node[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        public Object evaluate(EvaluationContext context) {
+            Map<String, Object> result = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                result.put(keys[i], values[i].evaluate(context));
+            }
+            return result;
+        }
+    }
+
+    private static class ListNode implements Node {
+
+        private final Node[] values;
+
+        ListNode(Node[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object evaluate(EvaluationContext context) {
+            List<Object> result = new LinkedList<>();
+            for (Node value : values) {
+                result.add(value.evaluate(context));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A string containing one or more <code>${...}</code> expressions. A string made of a single expression resolves to
+     * the referenced value as is; otherwise the resolved segments are stitched back into a string.
+     */
+    private static class StringNode implements Node {
+
+        private final Segment[] segments;
+
+        StringNode(Segment[] segments) {
+            this.segments = segments;
+        }
+
+        @Override
+        public Object evaluate(EvaluationContext context) {
+            if (segments.length == 1) {
+                return segments[0].resolve(context);
+            }
+            StringBuilder builder = new StringBuilder();
+            for (Segment segment : segments) {
+                Object value = segment.resolve(context);
+                builder.append(value == null ? "" : value.toString());
+            }
+            return builder.toString();
+        }
+    }
+
+    private static class LiteralSegment implements Segment {
+
+        private final String value;
+
+        LiteralSegment(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object resolve(EvaluationContext context) {
+            return value;
+        }
+    }
+
+    private static class ExpressionSegment implements Segment {
+
+        private final String source;
+        private final String paramPath;
+        private final JsonPath jsonPath;
+        private final RuntimeException compileError;
+
+        ExpressionSegment(String source, String paramPath) {
+            this.source = source;
+            this.paramPath = paramPath;
+            JsonPath compiled = null;
+            RuntimeException error = null;
+            try {
+                compiled = JsonPath.compile(paramPath);
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            this.jsonPath = compiled;
+            this.compileError = error;
+        }
+
+        @Override
+        public Object resolve(EvaluationContext context) {
+            // environment variables are looked up on every evaluation, as they may change after the plan is compiled
+            if (EnvUtils.isEnvironmentVariable(paramPath)) {
+                String sysValue = EnvUtils.getSystemParametersValue(paramPath, context.taskId);
+                return sysValue != null ? sysValue : source;
+            }
+            try {
+                if (compileError != null) {
+                    throw compileError;
+                }
+                return context.read(jsonPath);
+            } catch (Exception e) {
+                LOGGER.warn("Error reading documentContext for paramPath: {}. Exception: {}", paramPath, e);
+                return null;
+            }
+        }
+    }
+
+    private static class EvaluationContext {
+
+        private final Workflow workflow;
+        private final String taskId;
+        private WorkflowDocument document;
+        private Configuration configuration;
+
+        EvaluationContext(Workflow workflow, String taskId) {
+            this.workflow = workflow;
+            this.taskId = taskId;
+        }
+
+        Object read(JsonPath jsonPath) {
+            if (document == null) {
+                document = new WorkflowDocument(workflow);
+                configuration = Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS);
+            }
+            Object value = jsonPath.read(document, configuration);
+            return value == document ? document.materialize() : value;
+        }
+    }
+
+    /**
+     * The document the expressions are evaluated against: the workflow parameters under <code>workflow</code>, and the
+     * parameters of every task keyed by its reference name (without the iteration suffix for loop over tasks).
+     * <p>
+     * Entries are built on first access. Paths that need to enumerate the document (wildcards, deep scans) fall back to
+     * materializing every entry.
+     */
+    private static class WorkflowDocument extends AbstractMap<String, Object> {
+
+        private final Workflow workflow;
+        private final Map<String, Map<String, Object>> resolved = new HashMap<>();
+        private Map<String, Object> materialized;
+
+        WorkflowDocument(Workflow workflow) {
+            this.workflow = workflow;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (materialized != null) {
+                return materialized.get(key);
+            }
+            if (!(key instanceof String)) {
+                return null;
+            }
+            return resolved.computeIfAbsent((String) key, this::resolve);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return materialize().entrySet();
+        }
+
+        private Map<String, Object> resolve(String key) {
+            // a task may shadow the workflow parameters by using "workflow" as its reference name
+            Task task = findTask(key);
+            if (task != null) {
+                return taskParams(task);
+            }
+            return WORKFLOW_KEY.equals(key) ? workflowParams(workflow) : null;
+        }
+
+        /**
+         * @return the last task in the workflow whose reference name, stripped of the iteration for loop over tasks,
+         * matches the given key
+         */
+        private Task findTask(String key) {
+            List<Task> tasks = workflow.getTasks();
+            ListIterator<Task> iterator = tasks.listIterator(tasks.size());
+            while (iterator.hasPrevious()) {
+                Task task = iterator.previous();
+                String referenceTaskName = task.getReferenceTaskName();
+                if (referenceTaskName == null) {
+                    throw new RuntimeException("Task " + task.getTaskDefName() + ", seq=" + task.getSeq()
+                        + " does not have reference name specified.");
+                }
+                if (!referenceTaskName.startsWith(key)) {
+                    continue;
+                }
+                if (task.isLoopOverTask()) {
+                    referenceTaskName = TaskUtils.removeIterationFromTaskRefName(referenceTaskName);
+                }
+                if (referenceTaskName.equals(key)) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        Map<String, Object> materialize() {
+            if (materialized == null) {
+                Map<String, Object> inputMap = new HashMap<>();
+                inputMap.put(WORKFLOW_KEY, workflowParams(workflow));
+                workflow.getTasks().stream()
+                    .map(Task::getReferenceTaskName)
+                    .map(workflow::getTaskByRefName)
+                    .forEach(task -> inputMap.put(
+                        task.isLoopOverTask() ? TaskUtils.removeIterationFromTaskRefName(task.getReferenceTaskName())
+                            : task.getReferenceTaskName(), taskParams(task)));
+                materialized = inputMap;
+            }
+            return materialized;
+        }
+
+        private static Map<String, Object> workflowParams(Workflow workflow) {
+            Map<String, Object> workflowParams = new HashMap<>();
+            workflowParams.put("input", workflow.getInput());
+            workflowParams.put("output", workflow.getOutput());
+            workflowParams.put("status", workflow.getStatus());
+            workflowParams.put("workflowId", workflow.getWorkflowId());
+            workflowParams.put("parentWorkflowId", workflow.getParentWorkflowId());
+            workflowParams.put("parentWorkflowTaskId", workflow.getParentWorkflowTaskId());
+            workflowParams.put("workflowType", workflow.getWorkflowName());
+            workflowParams.put("version", workflow.getWorkflowVersion());
+            workflowParams.put("correlationId", workflow.getCorrelationId());
+            workflowParams.put("reasonForIncompletion", workflow.getReasonForIncompletion());
+            workflowParams.put("schemaVersion", workflow.getWorkflowDefinition().getSchemaVersion());
+            workflowParams.put("variables", workflow.getVariables());
+            return workflowParams;
+        }
+
+        private static Map<String, Object> taskParams(Task task) {
+            Map<String, Object> taskParams = new HashMap<>();
+            taskParams.put("input", task.getInputData());
+            taskParams.put("output", task.getOutputData());
+            taskParams.put("taskType", task.getTaskType());
+            if (task.getStatus() != null) {
+                taskParams.put("status", task.getStatus().toString());
+            }
+            taskParams.put("referenceTaskName", task.getReferenceTaskName());
+            taskParams.put("retryCount", task.getRetryCount());
+            taskParams.put("correlationId", task.getCorrelationId());
+            taskParams.put("pollCount", task.getPollCount());
+            taskParams.put("taskDefName", task.getTaskDefName());
+            taskParams.put("scheduledTime", task.getScheduledTime());
+            taskParams.put("startTime", task.getStartTime());
+            taskParams.put("endTime", task.getEndTime());
+            taskParams.put("workflowInstanceId", task.getWorkflowInstanceId());
+            taskParams.put("taskId", task.getTaskId());
+            taskParams.put("reasonForIncompletion", task.getReasonForIncompletion());
+            taskParams.put("callbackAfterSeconds", task.getCallbackAfterSeconds());
+            taskParams.put("workerId", task.getWorkerId());
+            return taskParams;
+        }
+    }
+}
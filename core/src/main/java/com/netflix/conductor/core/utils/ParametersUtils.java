@@ -15,15 +15,17 @@ package com.netflix.conductor.core.utils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.utils.EnvUtils;
-import com.netflix.conductor.common.utils.TaskUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -35,6 +37,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 /**
  * Used to parse and resolve the JSONPath bindings in the workflow and task definitions.
@@ -44,8 +47,14 @@ public class ParametersUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ParametersUtils.class);
 
+    private static final int PLAN_CACHE_SIZE = 10_000;
+
     private final ObjectMapper objectMapper;
     private final TypeReference<Map<String, Object>> map = new TypeReference<Map<String, Object>>() {};
+    private final Cache<WorkflowTask, CachedPlan> planCache = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(PLAN_CACHE_SIZE)
+        .build();
 
     public ParametersUtils(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -59,77 +68,62 @@ public class ParametersUtils {
         return getTaskInputV1(workflow, inputParams);
     }
 
+    /**
+     * Resolves the input parameters of a workflow task of a definition. The plan compiled from its parameters is kept
+     * as long as the workflow task is, so that the tasks of a definition served from the metadata or the definition
+     * cache are compiled once; those of a workflow stored with a copy of its definition are compiled once per load.
+     */
+    public Map<String, Object> getTaskInput(WorkflowTask workflowTask, Workflow workflow, TaskDef taskDefinition,
+        String taskId) {
+        if (workflow.getWorkflowDefinition().getSchemaVersion() > 1) {
+            return getTaskInputV2(workflowTask, workflow, taskId, taskDefinition);
+        }
+        return getTaskInputV1(workflow, workflowTask.getInputParameters());
+    }
+
+    public Map<String, Object> getTaskInputV2(WorkflowTask workflowTask, Workflow workflow, String taskId,
+        TaskDef taskDefinition) {
+        Map<String, Object> input = workflowTask.getInputParameters();
+        Map<String, Object> inputTemplate = taskDefinition != null ? taskDefinition.getInputTemplate() : null;
+        CachedPlan cachedPlan = planCache.getIfPresent(workflowTask);
+        if (cachedPlan == null || !cachedPlan.isValidFor(input, inputTemplate)) {
+            cachedPlan = new CachedPlan(input, inputTemplate, compilePlan(input, inputTemplate));
+            planCache.put(workflowTask, cachedPlan);
+        }
+        return evaluate(cachedPlan.plan, workflow, taskId, inputTemplate);
+    }
+
+    /**
+     * Resolves input parameters built at runtime, e.g. the input of a dynamically forked task or of a retried task,
+     * whose plan is compiled for this call only.
+     */
     public Map<String, Object> getTaskInputV2(Map<String, Object> input, Workflow workflow,
         String taskId, TaskDef taskDefinition) {
-        Map<String, Object> inputParams;
+        Map<String, Object> inputTemplate = taskDefinition != null ? taskDefinition.getInputTemplate() : null;
+        return evaluate(compilePlan(input, inputTemplate), workflow, taskId, inputTemplate);
+    }
+
+    private Map<String, Object> evaluate(InputParametersPlan plan, Workflow workflow, String taskId,
+        Map<String, Object> inputTemplate) {
+        Map<String, Object> replacedTaskInput = plan.evaluate(workflow, taskId);
+        if (inputTemplate != null) {
+            // If input for a given key resolves to null, try replacing it with one from inputTemplate, if it exists.
+            replacedTaskInput.replaceAll((key, value) -> (value == null) ? inputTemplate.get(key) : value);
+        }
+        return replacedTaskInput;
+    }
 
+    private InputParametersPlan compilePlan(Map<String, Object> input, Map<String, Object> inputTemplate) {
+        Map<String, Object> inputParams;
         if (input != null) {
             inputParams = clone(input);
         } else {
             inputParams = new HashMap<>();
         }
-        if (taskDefinition != null && taskDefinition.getInputTemplate() != null) {
-            clone(taskDefinition.getInputTemplate()).forEach(inputParams::putIfAbsent);
+        if (inputTemplate != null) {
+            clone(inputTemplate).forEach(inputParams::putIfAbsent);
         }
-
-        Map<String, Map<String, Object>> inputMap = new HashMap<>();
-
-        Map<String, Object> workflowParams = new HashMap<>();
-        workflowParams.put("input", workflow.getInput());
-        workflowParams.put("output", workflow.getOutput());
-        workflowParams.put("status", workflow.getStatus());
-        workflowParams.put("workflowId", workflow.getWorkflowId());
-        workflowParams.put("parentWorkflowId", workflow.getParentWorkflowId());
-        workflowParams.put("parentWorkflowTaskId", workflow.getParentWorkflowTaskId());
-        workflowParams.put("workflowType", workflow.getWorkflowName());
-        workflowParams.put("version", workflow.getWorkflowVersion());
-        workflowParams.put("correlationId", workflow.getCorrelationId());
-        workflowParams.put("reasonForIncompletion", workflow.getReasonForIncompletion());
-        workflowParams.put("schemaVersion", workflow.getWorkflowDefinition().getSchemaVersion());
-        workflowParams.put("variables", workflow.getVariables());
-
-        inputMap.put("workflow", workflowParams);
-
-        //For new workflow being started the list of tasks will be empty
-        workflow.getTasks().stream()
-            .map(Task::getReferenceTaskName)
-            .map(workflow::getTaskByRefName)
-            .forEach(task -> {
-                Map<String, Object> taskParams = new HashMap<>();
-                taskParams.put("input", task.getInputData());
-                taskParams.put("output", task.getOutputData());
-                taskParams.put("taskType", task.getTaskType());
-                if (task.getStatus() != null) {
-                    taskParams.put("status", task.getStatus().toString());
-                }
-                taskParams.put("referenceTaskName", task.getReferenceTaskName());
-                taskParams.put("retryCount", task.getRetryCount());
-                taskParams.put("correlationId", task.getCorrelationId());
-                taskParams.put("pollCount", task.getPollCount());
-                taskParams.put("taskDefName", task.getTaskDefName());
-                taskParams.put("scheduledTime", task.getScheduledTime());
-                taskParams.put("startTime", task.getStartTime());
-                taskParams.put("endTime", task.getEndTime());
-                taskParams.put("workflowInstanceId", task.getWorkflowInstanceId());
-                taskParams.put("taskId", task.getTaskId());
-                taskParams.put("reasonForIncompletion", task.getReasonForIncompletion());
-                taskParams.put("callbackAfterSeconds", task.getCallbackAfterSeconds());
-                taskParams.put("workerId", task.getWorkerId());
-                inputMap.put(
-                    task.isLoopOverTask() ? TaskUtils.removeIterationFromTaskRefName(task.getReferenceTaskName())
-                        : task.getReferenceTaskName(), taskParams);
-            });
-
-        Configuration option = Configuration.defaultConfiguration()
-            .addOptions(Option.SUPPRESS_EXCEPTIONS);
-        DocumentContext documentContext = JsonPath.parse(inputMap, option);
-        Map<String, Object> replacedTaskInput = replace(inputParams, documentContext, taskId);
-        if (taskDefinition != null && taskDefinition.getInputTemplate() != null) {
-            // If input for a given key resolves to null, try replacing it with one from inputTemplate, if it exists.
-            replacedTaskInput
-                .replaceAll((key, value) -> (value == null) ? taskDefinition.getInputTemplate().get(key) : value);
-        }
-        return replacedTaskInput;
+        return InputParametersPlan.compile(inputParams);
     }
 
     // deep clone using json - POJO
@@ -280,4 +274,25 @@ public class ParametersUtils {
         });
         return input;
     }
+
+    private static class CachedPlan {
+
+        private final Map<String, Object> input;
+        private final Map<String, Object> inputTemplate;
+        private final InputParametersPlan plan;
+
+        CachedPlan(Map<String, Object> input, Map<String, Object> inputTemplate, InputParametersPlan plan) {
+            this.input = input;
+            this.inputTemplate = inputTemplate;
+            this.plan = plan;
+        }
+
+        /**
+         * The parameters are compared by identity, since they belong to the cached workflow task. The template is
+         * compared by content, since the task definition may be read again from the metadata DAO on every call.
+         */
+        boolean isValidFor(Map<String, Object> input, Map<String, Object> inputTemplate) {
+            return this.input == input && Objects.equals(this.inputTemplate, inputTemplate);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the pollers waiting for messages, keyed by queue name.
+ * <p>
+ * A long poll reads the {@link #generation(String) generation} of the queue before looking for messages, and if none
+ * are available {@link #await(String, long, long) waits} for the generation to move on. Every
+ * {@link #signal(String) signal} of the queue moves the generation on and wakes up its waiters, so a message pushed
+ * after the generation was read is never missed.
+ */
+public class QueueWaiters {
+
+    private final Map<String, Waiters> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * @return the current generation of the queue
+     */
+    public long generation(String queueName) {
+        return waiters(queueName).generation;
+    }
+
+    /**
+     * Waits until the queue is signalled after the given generation, or until the timeout elapses.
+     *
+     * @return true if the queue was signalled, false if the timeout elapsed or the thread was interrupted
+     */
+    public boolean await(String queueName, long generation, long timeoutMillis) {
+        Waiters queueWaiters = waiters(queueName);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (queueWaiters) {
+            long remaining = timeoutMillis;
+            while (queueWaiters.generation == generation && remaining > 0) {
+                try {
+                    queueWaiters.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            }
+            return queueWaiters.generation != generation;
+        }
+    }
+
+    /**
+     * Wakes up the pollers waiting on the queue.
+     */
+    public void signal(String queueName) {
+        Waiters queueWaiters = waiters.get(queueName);
+        if (queueWaiters != null) {
+            queueWaiters.signal();
+        }
+    }
+
+    /**
+     * Wakes up all the waiting pollers, e.g. when notifications from other nodes may have been lost.
+     */
+    public void signalAll() {
+        waiters.values().forEach(Waiters::signal);
+    }
+
+    private Waiters waiters(String queueName) {
+        return waiters.computeIfAbsent(queueName, name -> new Waiters());
+    }
+
+    private static class Waiters {
+
+        private volatile long generation;
+
+        synchronized void signal() {
+            generation++;
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates version 7 UUIDs, which start with the time they were generated at, so the ids created at about the same
+ * time are stored next to each other in the indexes of the stores, instead of being scattered across them.
+ * <p>
+ * The 48 most significant bits hold the milliseconds since the epoch, and the 12 bits which follow the version hold a
+ * sequence, so the ids generated by a thread are strictly increasing. When a thread generates more than 4096 ids in a
+ * millisecond, or the clock goes back, its ids carry on from its last timestamp. The 62 least significant bits are
+ * drawn from the {@link ThreadLocalRandom} of the thread, mixed with a salt drawn once per node from a {@link
+ * SecureRandom}, so the ids of different threads and nodes do not collide. No state is shared between the threads.
+ */
+final class TimeOrderedUUIDGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private static final long NODE_SALT = new SecureRandom().nextLong();
+    private static final ThreadLocal<Clock> CLOCKS = ThreadLocal.withInitial(Clock::new);
+
+    private TimeOrderedUUIDGenerator() {
+    }
+
+    static UUID generate() {
+        return generate(System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    static UUID generate(long currentTimeMillis) {
+        Clock clock = CLOCKS.get();
+        clock.tick(currentTimeMillis);
+        long mostSigBits = (clock.timestamp << 16) | VERSION | clock.sequence;
+        long leastSigBits = ((ThreadLocalRandom.current().nextLong() ^ NODE_SALT) & RANDOM_MASK) | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * @return the time in milliseconds since the epoch at which the given id was generated
+     */
+    static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static final class Clock {
+
+        private long timestamp;
+        private int sequence;
+
+        private void tick(long currentTimeMillis) {
+            if (currentTimeMillis > timestamp) {
+                timestamp = currentTimeMillis;
+                sequence = 0;
+            } else if (sequence < MAX_SEQUENCE) {
+                sequence++;
+            } else {
+                timestamp++;
+                sequence = 0;
+            }
+        }
+    }
+}
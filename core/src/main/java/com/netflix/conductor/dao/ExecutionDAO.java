@@ -55,6 +55,15 @@ public interface ExecutionDAO {
      */
     void updateTask(Task task);
 
+    /**
+     * Updates the given tasks. Implementations can override this to persist all the tasks in a single round trip.
+     *
+     * @param tasks Tasks to be updated
+     */
+    default void updateTasks(List<Task> tasks) {
+        tasks.forEach(this::updateTask);
+    }
+
     /**
      * Checks if the number of tasks in progress for the given taskDef will exceed the limit if the task is scheduled to
      * be in progress (given to the worker or for system tasks start() method called)
@@ -143,6 +152,19 @@ public interface ExecutionDAO {
      */
     Workflow getWorkflow(String workflowId, boolean includeTasks);
 
+    /**
+     * Returns a stamp of the stored state of the workflow. Implementations that track it advance it by exactly one for
+     * every task written by {@link #createTasks(List)}, {@link #updateTask(Task)} and {@link #updateTasks(List)}, for
+     * every task removed, and for every call to {@link #createWorkflow(Workflow)} and {@link #updateWorkflow(Workflow)},
+     * which store the workflow without its tasks.
+     *
+     * @param workflowId workflow instance id
+     * @return the version of the workflow, or null if this datastore does not track workflow versions
+     */
+    default Long getWorkflowVersion(String workflowId) {
+        return null;
+    }
+
     /**
      * @param workflowName name of the workflow
      * @param version      the workflow version
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.dao;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An abstraction of the encoding of the {@link com.netflix.conductor.common.metadata.tasks.Task} and
+ * {@link com.netflix.conductor.common.run.Workflow} documents stored by the {@link ExecutionDAO} implementations.
+ * <p>
+ * The stores which hold text, such as the text columns of the SQL stores, encode the documents with
+ * {@link #encode(Object)}, and those which hold raw values, such as redis, with {@link #encodeToBytes(Object)}, which
+ * may use a more compact binary encoding. Implementations must decode the JSON documents written before they were
+ * enabled, so that the encoding of a live store can be changed without migrating it.
+ */
+public interface ExecutionDocumentCodec {
+
+    /**
+     * @param document the document to encode
+     * @return the stored representation of the document, as text
+     */
+    String encode(Object document);
+
+    /**
+     * @param document the document to encode
+     * @return the stored representation of the document, for the stores which hold raw values
+     */
+    default byte[] encodeToBytes(Object document) {
+        return encode(document).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param document the stored representation of a document, either written by {@link #encode(Object)} or as JSON
+     * @param type     the type of the document
+     * @return the decoded document
+     */
+    <T> T decode(String document, Class<T> type);
+
+    /**
+     * @param document the stored representation of a document, either written by {@link #encodeToBytes(Object)} or
+     *                 as UTF-8 text
+     * @param type     the type of the document
+     * @return the decoded document
+     */
+    default <T> T decode(byte[] document, Class<T> type) {
+        return document != null ? decode(new String(document, StandardCharsets.UTF_8), type) : null;
+    }
+}
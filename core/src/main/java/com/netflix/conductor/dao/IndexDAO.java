@@ -42,7 +42,7 @@ public interface IndexDAO {
     /**
      * This method should return an unique identifier of the indexed doc
      * @param workflow Workflow to be indexed
-     * @return CompletableFuture of type void
+     * @return CompletableFuture of type void, which should fail if the workflow could not be indexed
      */
     CompletableFuture<Void> asyncIndexWorkflow(Workflow workflow);
 
@@ -54,7 +54,7 @@ public interface IndexDAO {
     /**
      *
      * @param task Task to be indexed asynchronously
-     * @return CompletableFuture of type void
+     * @return CompletableFuture of type void, which should fail if the task could not be indexed
      */
     CompletableFuture<Void> asyncIndexTask(Task task);
 
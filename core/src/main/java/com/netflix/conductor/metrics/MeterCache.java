@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.metrics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The meters of a metric whose tag keys are known up front, resolved from the tag values only.
+ * <p>
+ * The meters are kept in nested maps with one level per tag, keyed by the tag values as they are passed, so that
+ * looking up an existing meter neither builds a tag map nor allocates a composite key. Boxed booleans, small integers
+ * and enum constants can be used as values without allocating either. The tags of a meter are built once, when it is
+ * created, in the same way as {@link Monitors} always did: the value of a tag is its string representation, and the
+ * tags with an empty value are left out.
+ */
+final class MeterCache<T> {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final String className;
+    private final String[] tagKeys;
+    private final Function<Map<String, String>, T> meterFactory;
+    private final ConcurrentMap<Object, Object> meters = new ConcurrentHashMap<>();
+    private volatile T meter;
+
+    /**
+     * @param className    the value of the class tag of the meters
+     * @param meterFactory creates the meter with the given tags
+     * @param tagKeys      the keys of the tags, in the order their values are passed to the get methods
+     */
+    MeterCache(String className, Function<Map<String, String>, T> meterFactory, String... tagKeys) {
+        this.className = className;
+        this.tagKeys = tagKeys;
+        this.meterFactory = meterFactory;
+    }
+
+    T get() {
+        T resolved = meter;
+        if (resolved == null) {
+            Preconditions.checkArgument(tagKeys.length == 0, "Expected values for tags %s", (Object) tagKeys);
+            synchronized (this) {
+                resolved = meter;
+                if (resolved == null) {
+                    resolved = meterFactory.apply(toTags());
+                    meter = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(Object value) {
+        Object resolved = meters.get(key(value));
+        return resolved != null ? (T) resolved : create(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(Object value1, Object value2) {
+        Object resolved = level(meters, value1).get(key(value2));
+        return resolved != null ? (T) resolved : create(value1, value2);
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(Object value1, Object value2, Object value3) {
+        Object resolved = level(level(meters, value1), value2).get(key(value3));
+        return resolved != null ? (T) resolved : create(value1, value2, value3);
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(Object value1, Object value2, Object value3, Object value4) {
+        Object resolved = level(level(level(meters, value1), value2), value3).get(key(value4));
+        return resolved != null ? (T) resolved : create(value1, value2, value3, value4);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T create(Object... values) {
+        Preconditions.checkArgument(values.length == tagKeys.length, "Expected values for tags %s",
+            (Object) tagKeys);
+        ConcurrentMap<Object, Object> parent = meters;
+        for (int i = 0; i < values.length - 1; i++) {
+            parent = level(parent, values[i]);
+        }
+        return (T) parent.computeIfAbsent(key(values[values.length - 1]), key -> meterFactory.apply(toTags(values)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> level(ConcurrentMap<Object, Object> parent, Object value) {
+        Object key = key(value);
+        Object child = parent.get(key);
+        if (child == null) {
+            child = parent.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+        return (ConcurrentMap<Object, Object>) child;
+    }
+
+    private static Object key(Object value) {
+        return value != null ? value : NULL_VALUE;
+    }
+
+    private Map<String, String> toTags(Object... values) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("class", className);
+        for (int i = 0; i < values.length; i++) {
+            String value = String.valueOf(values[i]);
+            if (!value.isEmpty()) {
+                tags.put(tagKeys[i], value);
+            }
+        }
+        return tags;
+    }
+}
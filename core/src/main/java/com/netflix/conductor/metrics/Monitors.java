@@ -41,11 +41,58 @@ public class Monitors {
 
     private static final Map<String, Map<Map<String, String>, Gauge>> gauges = new ConcurrentHashMap<>();
 
-    private static final Map<String, Map<Map<String, String>, DistributionSummary>> distributionSummaries =
-        new ConcurrentHashMap<>();
-
     public static final String classQualifier = "WorkflowMonitor";
 
+    // the meters recorded for every poll, task update and decide, resolved without building their tags
+    private static final MeterCache<Timer> taskQueueWait = timerCache("task_queue_wait", "taskType");
+    private static final MeterCache<Timer> taskExecution =
+        timerCache("task_execution", "taskType", "includeRetries", "status");
+    private static final MeterCache<Counter> taskPollError =
+        counterCache("task_poll_error", "taskType", "domain", "exception");
+    private static final MeterCache<Counter> taskPoll = counterCache("task_poll", "taskType");
+    private static final MeterCache<Counter> taskPollCount = counterCache("task_poll_count", "taskType", "domain");
+    private static final MeterCache<DistributionSummary> tasksInWorkflow =
+        distributionSummaryCache("tasks_in_workflow", "workflowName", "version");
+    private static final MeterCache<Counter> workflowTaskLookups =
+        counterCache("workflow_task_lookups", "workflowName");
+    private static final MeterCache<Counter> workflowTaskIndexBuilds =
+        counterCache("workflow_task_index_builds", "workflowName");
+    private static final MeterCache<Counter> workflowCacheHit = counterCache("workflow_cache_hit", "workflowName");
+    private static final MeterCache<Counter> workflowCacheMiss = counterCache("workflow_cache_miss");
+    private static final MeterCache<Counter> metadataCacheHit = counterCache("metadata_cache_hit", "type");
+    private static final MeterCache<Counter> metadataCacheMiss = counterCache("metadata_cache_miss", "type");
+    private static final MeterCache<Counter> workflowDecideExecuted = counterCache("workflow_decide_executed");
+    private static final MeterCache<Counter> workflowDecideCoalesced = counterCache("workflow_decide_coalesced");
+    private static final MeterCache<Counter> taskUpdateSkipped = counterCache("task_update_skipped", "taskType");
+    private static final MeterCache<Counter> taskUpdateWritten = counterCache("task_update_written", "taskType");
+    private static final MeterCache<Counter> workflowUpdateConflict =
+        counterCache("task_update_conflict", "workflowName", "taskType", "workflowStatus");
+    private static final MeterCache<Counter> taskUpdateConflict =
+        counterCache("task_update_conflict", "workflowName", "taskType", "taskStatus");
+    private static final MeterCache<Counter> taskUpdateError =
+        counterCache("task_update_error", "workflowName", "taskType");
+    private static final MeterCache<Counter> taskQueueOpError =
+        counterCache("task_queue_op_error", "workflowName", "taskType");
+    private static final MeterCache<Counter> daoRequests =
+        counterCache("dao_requests", "dao", "action", "taskType", "workflowType");
+    private static final MeterCache<Counter> daoEventRequests = counterCache("dao_requests", "dao", "action", "event");
+    private static final MeterCache<Gauge> daoPayloadSize = gaugeCache("dao_payload_size", "dao", "action");
+    private static final MeterCache<Gauge> daoTaskPayloadSize =
+        gaugeCache("dao_payload_size", "dao", "action", "taskType", "workflowType");
+    private static final MeterCache<Counter> systemTaskWorkerPoll =
+        counterCache("system_task_worker_poll", "queueName", "result");
+    private static final MeterCache<Gauge> systemTaskWorkerPollInterval =
+        gaugeCache("system_task_worker_poll_interval", "queueName");
+    private static final MeterCache<Gauge> indexingBufferSize = gaugeCache("indexing_buffer_size", "docType");
+    private static final MeterCache<Timer> indexingBulkFlush = timerCache("indexing_bulk_flush", "docType", "reason");
+    private static final MeterCache<DistributionSummary> indexingBulkSize =
+        distributionSummaryCache("indexing_bulk_size", "docType");
+    private static final MeterCache<Counter> indexingBufferFull = counterCache("indexing_buffer_full", "docType");
+    private static final MeterCache<Counter> indexingCallerRuns = counterCache("indexing_caller_runs", "queueType");
+    private static final MeterCache<Counter> acquireLockUnsuccessful = counterCache("acquire_lock_unsuccessful");
+    private static final MeterCache<Timer> scriptEvaluation = timerCache("script_evaluation", "scriptType");
+    private static final MeterCache<Timer> scriptCompilation = timerCache("script_compilation", "scriptType");
+
     private Monitors() {
     }
 
@@ -87,18 +134,6 @@ public class Monitors {
         getGauge(className, name, additionalTags).set(measurement);
     }
 
-    /**
-     * Records a value for an event as a distribution summary. Unlike a gauge, this is sampled multiple times during a
-     * minute or everytime a new value is recorded.
-     *
-     * @param className
-     * @param name
-     * @param additionalTags
-     */
-    private static void distributionSummary(String className, String name, long value, String... additionalTags) {
-        getDistributionSummary(className, name, additionalTags).record(value);
-    }
-
     private static Timer getTimer(String className, String name, String... additionalTags) {
         Map<String, String> tags = toMap(className, additionalTags);
         return timers.computeIfAbsent(name, s -> new ConcurrentHashMap<>()).computeIfAbsent(tags, t -> {
@@ -125,13 +160,22 @@ public class Monitors {
         });
     }
 
-    private static DistributionSummary getDistributionSummary(String className, String name, String... additionalTags) {
-        Map<String, String> tags = toMap(className, additionalTags);
+    private static MeterCache<Counter> counterCache(String name, String... tagKeys) {
+        return new MeterCache<>(classQualifier, tags -> registry.counter(registry.createId(name, tags)), tagKeys);
+    }
 
-        return distributionSummaries.computeIfAbsent(name, s -> new ConcurrentHashMap<>()).computeIfAbsent(tags, t -> {
-            Id id = registry.createId(name, tags);
-            return registry.distributionSummary(id);
-        });
+    private static MeterCache<Timer> timerCache(String name, String... tagKeys) {
+        return new MeterCache<>(classQualifier,
+            tags -> PercentileTimer.get(registry, registry.createId(name, tags)), tagKeys);
+    }
+
+    private static MeterCache<Gauge> gaugeCache(String name, String... tagKeys) {
+        return new MeterCache<>(classQualifier, tags -> registry.gauge(registry.createId(name, tags)), tagKeys);
+    }
+
+    private static MeterCache<DistributionSummary> distributionSummaryCache(String name, String... tagKeys) {
+        return new MeterCache<>(classQualifier,
+            tags -> registry.distributionSummary(registry.createId(name, tags)), tagKeys);
     }
 
     private static Map<String, String> toMap(String className, String... additionalTags) {
@@ -167,25 +211,24 @@ public class Monitors {
     }
 
     public static void recordQueueWaitTime(String taskType, long queueWaitTime) {
-        getTimer(classQualifier, "task_queue_wait", "taskType", taskType).record(queueWaitTime, TimeUnit.MILLISECONDS);
+        taskQueueWait.get(taskType).record(queueWaitTime, TimeUnit.MILLISECONDS);
     }
 
     public static void recordTaskExecutionTime(String taskType, long duration, boolean includesRetries,
         Task.Status status) {
-        getTimer(classQualifier, "task_execution", "taskType", taskType, "includeRetries", "" + includesRetries,
-            "status", status.name()).record(duration, TimeUnit.MILLISECONDS);
+        taskExecution.get(taskType, includesRetries, status.name()).record(duration, TimeUnit.MILLISECONDS);
     }
 
     public static void recordTaskPollError(String taskType, String domain, String exception) {
-        counter(classQualifier, "task_poll_error", "taskType", taskType, "domain", domain, "exception", exception);
+        taskPollError.get(taskType, domain, exception).increment();
     }
 
     public static void recordTaskPoll(String taskType) {
-        counter(classQualifier, "task_poll", "taskType", taskType);
+        taskPoll.get(taskType).increment();
     }
 
     public static void recordTaskPollCount(String taskType, String domain, int count) {
-        getCounter(classQualifier, "task_poll_count", "taskType", taskType, "domain", domain).increment(count);
+        taskPollCount.get(taskType, domain).increment(count);
     }
 
     public static void recordQueueDepth(String taskType, long size, String ownerApp) {
@@ -202,7 +245,61 @@ public class Monitors {
     }
 
     public static void recordNumTasksInWorkflow(long count, String name, String version) {
-        distributionSummary(classQualifier, "tasks_in_workflow", count, "workflowName", name, "version", version);
+        tasksInWorkflow.get(name, version).record(count);
+    }
+
+    public static void recordNumTasksInWorkflow(long count, String name, int version) {
+        // small versions are boxed to cached instances
+        tasksInWorkflow.get(name, version).record(count);
+    }
+
+    public static void recordTaskLookups(String workflowType, int lookups, int indexBuilds) {
+        workflowTaskLookups.get(workflowType).increment(lookups);
+        workflowTaskIndexBuilds.get(workflowType).increment(indexBuilds);
+    }
+
+    public static void recordWorkflowCacheHit(String workflowType) {
+        workflowCacheHit.get(workflowType).increment();
+    }
+
+    public static void recordWorkflowCacheMiss() {
+        workflowCacheMiss.get().increment();
+    }
+
+    /**
+     * @param type the type of the definitions read, the hit rate of the metadata cache is the ratio of the hits to
+     *             all the reads of a type
+     */
+    public static void recordMetadataCacheHit(String type) {
+        metadataCacheHit.get(type).increment();
+    }
+
+    public static void recordMetadataCacheMiss(String type) {
+        metadataCacheMiss.get(type).increment();
+    }
+
+    public static void recordDecideExecuted() {
+        workflowDecideExecuted.get().increment();
+    }
+
+    public static void recordDecideCoalesced() {
+        workflowDecideCoalesced.get().increment();
+    }
+
+    public static void recordTaskUpdateSkipped(String taskType) {
+        taskUpdateSkipped.get(taskType).increment();
+    }
+
+    public static void recordTaskUpdateWritten(String taskType) {
+        taskUpdateWritten.get(taskType).increment();
+    }
+
+    public static void recordScriptEvaluation(String scriptType, long durationNanos) {
+        scriptEvaluation.get(scriptType).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordScriptCompilation(String scriptType, long durationNanos) {
+        scriptCompilation.get(scriptType).record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     public static void recordTaskTimeout(String taskType) {
@@ -227,21 +324,19 @@ public class Monitors {
     }
 
     public static void recordUpdateConflict(String taskType, String workflowType, WorkflowStatus status) {
-        counter(classQualifier, "task_update_conflict", "workflowName", workflowType, "taskType", taskType,
-            "workflowStatus", status.name());
+        workflowUpdateConflict.get(workflowType, taskType, status.name()).increment();
     }
 
     public static void recordUpdateConflict(String taskType, String workflowType, Status status) {
-        counter(classQualifier, "task_update_conflict", "workflowName", workflowType, "taskType", taskType,
-            "taskStatus", status.name());
+        taskUpdateConflict.get(workflowType, taskType, status.name()).increment();
     }
 
     public static void recordTaskUpdateError(String taskType, String workflowType) {
-        counter(classQualifier, "task_update_error", "workflowName", workflowType, "taskType", taskType);
+        taskUpdateError.get(workflowType, taskType).increment();
     }
 
     public static void recordTaskQueueOpError(String taskType, String workflowType) {
-        counter(classQualifier, "task_queue_op_error", "workflowName", workflowType, "taskType", taskType);
+        taskQueueOpError.get(workflowType, taskType).increment();
     }
 
     public static void recordWorkflowCompletion(String workflowType, long duration, String ownerApp) {
@@ -288,21 +383,19 @@ public class Monitors {
     }
 
     public static void recordDaoRequests(String dao, String action, String taskType, String workflowType) {
-        counter(classQualifier, "dao_requests", "dao", dao, "action", action, "taskType", taskType, "workflowType",
-            workflowType);
+        daoRequests.get(dao, action, taskType, workflowType).increment();
     }
 
     public static void recordDaoEventRequests(String dao, String action, String event) {
-        counter(classQualifier, "dao_requests", "dao", dao, "action", action, "event", event);
+        daoEventRequests.get(dao, action, event).increment();
     }
 
     public static void recordDaoPayloadSize(String dao, String action, int size) {
-        gauge(classQualifier, "dao_payload_size", size, "dao", dao, "action", action);
+        daoPayloadSize.get(dao, action).set(size);
     }
 
     public static void recordDaoPayloadSize(String dao, String action, String taskType, String workflowType, int size) {
-        gauge(classQualifier, "dao_payload_size", size, "dao", dao, "action", action, "taskType", taskType,
-            "workflowType", workflowType);
+        daoTaskPayloadSize.get(dao, action, taskType, workflowType).set(size);
     }
 
     public static void recordExternalPayloadStorageUsage(String name, String operation, String payloadType) {
@@ -330,8 +423,33 @@ public class Monitors {
         counter(Monitors.classQualifier, "discarded_index_count", "queueType", queueType);
     }
 
+    /**
+     * @param val the number of documents of the type waiting in the buffer to be bulk indexed
+     */
+    public static void recordIndexingBufferSize(String docType, int val) {
+        indexingBufferSize.get(docType).set(val);
+    }
+
+    /**
+     * @param reason whether the bulk request was sent because the buffer held a full batch, was full, was not flushed
+     *               for a while, or is indexed by the calling thread
+     * @param bytes  the estimated size of the bulk request
+     */
+    public static void recordIndexingBulkFlush(String docType, String reason, long durationMillis, long bytes) {
+        indexingBulkFlush.get(docType, reason).record(durationMillis, TimeUnit.MILLISECONDS);
+        indexingBulkSize.get(docType).record(bytes);
+    }
+
+    public static void recordIndexingBufferFull(String docType) {
+        indexingBufferFull.get(docType).increment();
+    }
+
+    public static void recordIndexingCallerRuns(String queueType) {
+        indexingCallerRuns.get(queueType).increment();
+    }
+
     public static void recordAcquireLockUnsuccessful() {
-        counter(classQualifier, "acquire_lock_unsuccessful");
+        acquireLockUnsuccessful.get().increment();
     }
 
     public static void recordAcquireLockFailure(String exceptionClassName) {
@@ -354,6 +472,18 @@ public class Monitors {
         counter(classQualifier, "system_task_worker_polling_limited", "queueName", queueName);
     }
 
+    /**
+     * @param result whether the poll was limited by the available workers, or returned no task, fewer tasks than
+     *               requested or a full batch. The ratio of empty polls is that of the "empty" result to all of them.
+     */
+    public static void recordSystemTaskWorkerPoll(String queueName, String result) {
+        systemTaskWorkerPoll.get(queueName, result).increment();
+    }
+
+    public static void recordSystemTaskWorkerPollInterval(String queueName, long intervalMillis) {
+        systemTaskWorkerPollInterval.get(queueName).set(intervalMillis);
+    }
+
     public static void recordEventQueuePollSize(String queueType, int val) {
         gauge(Monitors.classQualifier, "event_queue_poll", val, "queueType", queueType);
     }
@@ -15,7 +15,12 @@ package com.netflix.conductor.service;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.sync.Lock;
 import com.netflix.conductor.metrics.Monitors;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +34,8 @@ public class ExecutionLockService {
     private final Lock lock;
     private final long lockLeaseTime;
     private final long lockTimeToTry;
+    private final Map<String, HeldLock> heldLocks = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> lockLossListeners = new CopyOnWriteArrayList<>();
 
     @Autowired
     public ExecutionLockService(ConductorProperties properties, Lock lock) {
@@ -60,9 +67,11 @@ public class ExecutionLockService {
             if (!lock.acquireLock(lockId, timeToTryMs, leaseTimeMs, TimeUnit.MILLISECONDS)) {
                 LOGGER.debug("Thread {} failed to acquire lock to lockId {}.", Thread.currentThread().getId(), lockId);
                 Monitors.recordAcquireLockUnsuccessful();
+                notifyLockLoss(lockId);
                 return false;
             }
             LOGGER.debug("Thread {} acquired lock to lockId {}.", Thread.currentThread().getId(), lockId);
+            trackAcquire(lockId, leaseTimeMs);
         }
         return true;
     }
@@ -76,6 +85,7 @@ public class ExecutionLockService {
         if (properties.isWorkflowExecutionLockEnabled()) {
             lock.acquireLock(lockId);
             LOGGER.debug("Thread {} acquired lock to lockId {}.", Thread.currentThread().getId(), lockId);
+            trackAcquire(lockId, lockLeaseTime);
         }
     }
 
@@ -83,6 +93,7 @@ public class ExecutionLockService {
         if (properties.isWorkflowExecutionLockEnabled()) {
             lock.releaseLock(lockId);
             LOGGER.debug("Thread {} released lock to lockId {}.", Thread.currentThread().getId(), lockId);
+            trackRelease(lockId);
         }
     }
 
@@ -90,6 +101,68 @@ public class ExecutionLockService {
         if (properties.isWorkflowExecutionLockEnabled()) {
             lock.deleteLock(lockId);
             LOGGER.debug("Thread {} deleted lockId {}.", Thread.currentThread().getId(), lockId);
+            heldLocks.remove(lockId);
+            notifyLockLoss(lockId);
+        }
+    }
+
+    /**
+     * The holder is the thread which acquired the lock last through this service. The locks which let several threads
+     * acquire them at once, such as the no-op lock, are therefore only reported held by the last of them.
+     *
+     * @param lockId
+     * @return true if the current thread holds the lock and its lease has not elapsed
+     */
+    public boolean isLockHeldByCurrentThread(String lockId) {
+        if (!properties.isWorkflowExecutionLockEnabled()) {
+            return false;
+        }
+        HeldLock heldLock = heldLocks.get(lockId);
+        return heldLock != null && heldLock.holderId == Thread.currentThread().getId()
+            && System.currentTimeMillis() < heldLock.leaseExpiry;
+    }
+
+    /**
+     * Registers a listener that is called with the lockId whenever this node may have lost the lock to another node:
+     * when the lock could not be acquired, when it was deleted, or when its lease elapsed before it was released.
+     */
+    public void addLockLossListener(Consumer<String> listener) {
+        lockLossListeners.add(listener);
+    }
+
+    private void trackAcquire(String lockId, long leaseTimeMs) {
+        long leaseExpiry = System.currentTimeMillis() + leaseTimeMs;
+        long holderId = Thread.currentThread().getId();
+        heldLocks.compute(lockId, (id, heldLock) -> heldLock == null || heldLock.holderId != holderId
+            ? new HeldLock(holderId, 1, leaseExpiry)
+            : new HeldLock(holderId, heldLock.holdCount + 1, leaseExpiry));
+    }
+
+    private void trackRelease(String lockId) {
+        HeldLock released = heldLocks.get(lockId);
+        heldLocks.computeIfPresent(lockId, (id, heldLock) -> heldLock.holdCount > 1
+            ? new HeldLock(heldLock.holderId, heldLock.holdCount - 1, heldLock.leaseExpiry)
+            : null);
+        if (released != null && System.currentTimeMillis() >= released.leaseExpiry) {
+            LOGGER.debug("Lease of lockId {} elapsed before the lock was released.", lockId);
+            notifyLockLoss(lockId);
+        }
+    }
+
+    private void notifyLockLoss(String lockId) {
+        lockLossListeners.forEach(listener -> listener.accept(lockId));
+    }
+
+    private static class HeldLock {
+
+        private final long holderId;
+        private final int holdCount;
+        private final long leaseExpiry;
+
+        HeldLock(long holderId, int holdCount, long leaseExpiry) {
+            this.holderId = holderId;
+            this.holdCount = holdCount;
+            this.leaseExpiry = leaseExpiry;
         }
     }
 }
@@ -20,6 +20,7 @@ import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
@@ -216,6 +217,10 @@ public class ExecutionService {
         workflowExecutor.updateTask(taskResult);
     }
 
+    public BulkResponse updateTasks(List<TaskResult> taskResults) {
+        return workflowExecutor.updateTasks(taskResults);
+    }
+
     public List<Task> getTasks(String taskType, String startKey, int count) {
         return workflowExecutor.getTasks(taskType, startKey, count);
     }
@@ -20,7 +20,9 @@ import com.netflix.conductor.core.WorkflowContext;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
+import com.netflix.conductor.core.metadata.WorkflowDefinitionCache;
 import com.netflix.conductor.dao.EventHandlerDAO;
+import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.validations.ValidationContext;
 import java.util.List;
@@ -33,11 +35,15 @@ public class MetadataServiceImpl implements MetadataService {
 
     private final MetadataDAO metadataDAO;
     private final EventHandlerDAO eventHandlerDAO;
+    private final ExecutionDAO executionDAO;
+    private final Optional<WorkflowDefinitionCache> workflowDefinitionCache;
 
-    public MetadataServiceImpl(MetadataDAO metadataDAO, EventHandlerDAO eventHandlerDAO,
-        ConductorProperties properties) {
+    public MetadataServiceImpl(MetadataDAO metadataDAO, EventHandlerDAO eventHandlerDAO, ExecutionDAO executionDAO,
+        Optional<WorkflowDefinitionCache> workflowDefinitionCache, ConductorProperties properties) {
         this.metadataDAO = metadataDAO;
         this.eventHandlerDAO = eventHandlerDAO;
+        this.executionDAO = executionDAO;
+        this.workflowDefinitionCache = workflowDefinitionCache;
 
         ValidationContext.initialize(metadataDAO);
         OwnerEmailMandatoryConstraint.WorkflowTaskValidValidator
@@ -54,8 +60,10 @@ public class MetadataServiceImpl implements MetadataService {
             taskDefinition.setUpdatedBy(null);
             taskDefinition.setUpdateTime(null);
 
+            checkTaskDefNotReferenced(taskDefinition.getName(), taskDefinition);
             metadataDAO.createTaskDef(taskDefinition);
         }
+        workflowDefinitionCache.ifPresent(WorkflowDefinitionCache::invalidateAll);
     }
 
     /**
@@ -66,16 +74,20 @@ public class MetadataServiceImpl implements MetadataService {
         if (existing == null) {
             throw new ApplicationException(Code.NOT_FOUND, "No such task by name " + taskDefinition.getName());
         }
+        checkTaskDefNotReferenced(taskDefinition.getName(), taskDefinition);
         taskDefinition.setUpdatedBy(WorkflowContext.get().getClientApp());
         taskDefinition.setUpdateTime(System.currentTimeMillis());
         metadataDAO.updateTaskDef(taskDefinition);
+        workflowDefinitionCache.ifPresent(WorkflowDefinitionCache::invalidateAll);
     }
 
     /**
      * @param taskType Remove task definition
      */
     public void unregisterTaskDef(String taskType) {
+        checkTaskDefNotReferenced(taskType, null);
         metadataDAO.removeTaskDef(taskType);
+        workflowDefinitionCache.ifPresent(WorkflowDefinitionCache::invalidateAll);
     }
 
     /**
@@ -102,17 +114,23 @@ public class MetadataServiceImpl implements MetadataService {
      * @param workflowDef Workflow definition to be updated
      */
     public void updateWorkflowDef(WorkflowDef workflowDef) {
+        checkNotReferenced(workflowDef.getName(), workflowDef.getVersion(), workflowDef);
         workflowDef.setUpdateTime(System.currentTimeMillis());
         metadataDAO.updateWorkflowDef(workflowDef);
+        invalidate(workflowDef.getName(), workflowDef.getVersion());
     }
 
     /**
      * @param workflowDefList Workflow definitions to be updated.
      */
     public void updateWorkflowDef(List<WorkflowDef> workflowDefList) {
+        for (WorkflowDef workflowDef : workflowDefList) {
+            checkNotReferenced(workflowDef.getName(), workflowDef.getVersion(), workflowDef);
+        }
         for (WorkflowDef workflowDef : workflowDefList) {
             workflowDef.setUpdateTime(System.currentTimeMillis());
             metadataDAO.updateWorkflowDef(workflowDef);
+            invalidate(workflowDef.getName(), workflowDef.getVersion());
         }
     }
 
@@ -162,7 +180,70 @@ public class MetadataServiceImpl implements MetadataService {
      * @param version Version of the workflow definition to be removed
      */
     public void unregisterWorkflowDef(String name, Integer version) {
+        if (version != null) {
+            checkNotReferenced(name, version, null);
+        }
         metadataDAO.removeWorkflowDef(name, version);
+        if (version != null) {
+            invalidate(name, version);
+        }
+    }
+
+    /**
+     * Refuses to modify or remove a workflow definition which has running workflows, when they are stored with a
+     * reference to their definition.
+     *
+     * @param updated the new content of the definition, or null if it is removed
+     */
+    private void checkNotReferenced(String name, int version, WorkflowDef updated) {
+        if (!workflowDefinitionCache.isPresent()) {
+            return;
+        }
+        WorkflowDefinitionCache definitionCache = workflowDefinitionCache.get();
+        Optional<WorkflowDef> existing = metadataDAO.getWorkflowDef(name, version);
+        if (!existing.isPresent() || updated != null
+            && definitionCache.fingerprint(existing.get()).equals(definitionCache.fingerprint(updated))) {
+            return;
+        }
+        if (!executionDAO.getRunningWorkflowIds(name, version).isEmpty()) {
+            throw new ApplicationException(Code.CONFLICT, String.format(
+                "The definition of %s version %d cannot be modified or removed while it has running workflows",
+                name, version));
+        }
+    }
+
+    /**
+     * Refuses to modify or remove a task definition which is used by running workflows, when they are stored with a
+     * reference to their definition, since their definition is populated with the registered task definitions when
+     * they are loaded.
+     *
+     * @param updated the new content of the task definition, or null if it is removed
+     */
+    private void checkTaskDefNotReferenced(String name, TaskDef updated) {
+        if (!workflowDefinitionCache.isPresent()) {
+            return;
+        }
+        WorkflowDefinitionCache definitionCache = workflowDefinitionCache.get();
+        TaskDef existing = metadataDAO.getTaskDef(name);
+        if (existing == null || updated != null
+            && definitionCache.fingerprint(existing).equals(definitionCache.fingerprint(updated))) {
+            return;
+        }
+        for (WorkflowDef workflowDef : metadataDAO.getAllWorkflowDefs()) {
+            boolean usesTaskDef = workflowDef.collectTasks().stream()
+                .anyMatch(workflowTask -> workflowTask.getTaskDefinition() == null
+                    && name.equals(workflowTask.getName()));
+            if (usesTaskDef
+                && !executionDAO.getRunningWorkflowIds(workflowDef.getName(), workflowDef.getVersion()).isEmpty()) {
+                throw new ApplicationException(Code.CONFLICT, String.format(
+                    "The task definition %s cannot be modified or removed while %s version %d has running workflows",
+                    name, workflowDef.getName(), workflowDef.getVersion()));
+            }
+        }
+    }
+
+    private void invalidate(String name, int version) {
+        workflowDefinitionCache.ifPresent(definitionCache -> definitionCache.invalidate(name, version));
     }
 
     /**
@@ -16,6 +16,7 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
@@ -82,6 +83,17 @@ public interface TaskService {
      */
     String updateTask(@NotNull(message = "TaskResult cannot be null or empty.") @Valid TaskResult taskResult);
 
+    /**
+     * Updates a batch of tasks. The results of the tasks of a workflow are applied together and the workflow is
+     * evaluated once.
+     *
+     * @param taskResults list of {@link TaskResult}
+     * @return bulk response object containing the ids of the tasks whose result was applied, or ignored as they or
+     * their workflow had already finished, and the errors of the other results
+     */
+    BulkResponse updateTasks(
+        @NotEmpty(message = "TaskResults cannot be null or empty.") List<@NotNull(message = "TaskResult cannot be null") @Valid TaskResult> taskResults);
+
     /**
      * Ack Task is received.
      *
@@ -18,6 +18,7 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
@@ -128,6 +129,21 @@ public class TaskServiceImpl implements TaskService {
         return taskResult.getTaskId();
     }
 
+    /**
+     * Updates a batch of tasks. The results of the tasks of a workflow are applied together and the workflow is
+     * evaluated once.
+     *
+     * @param taskResults list of {@link TaskResult}
+     * @return bulk response object containing the ids of the tasks whose result was applied, or ignored as they or
+     * their workflow had already finished, and the errors of the other results
+     */
+    public BulkResponse updateTasks(List<TaskResult> taskResults) {
+        LOGGER.debug("Update Tasks: {}", taskResults);
+        BulkResponse bulkResponse = executionService.updateTasks(taskResults);
+        LOGGER.debug("Tasks: {} updated successfully", bulkResponse.getBulkSuccessfulResults());
+        return bulkResponse;
+    }
+
     /**
      * Ack Task is received.
      *
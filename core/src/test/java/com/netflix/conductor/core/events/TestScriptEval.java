@@ -14,9 +14,18 @@ package com.netflix.conductor.core.events;
 
 import org.junit.Test;
 
+import javax.script.ScriptException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -44,4 +53,36 @@ public class TestScriptEval {
         assertTrue(ScriptEvaluator.evalBool(script3, payload));
         assertFalse(ScriptEvaluator.evalBool(script4, payload));
     }
+
+    @Test
+    public void testCompiledScriptIsEvaluatedWithEachInput() throws Exception {
+        assertEquals(1, ((Number) ScriptEvaluator.eval("$.value", Collections.singletonMap("value", 1))).intValue());
+        assertEquals(2, ((Number) ScriptEvaluator.eval("$.value", Collections.singletonMap("value", 2))).intValue());
+    }
+
+    @Test
+    public void testTopLevelVariablesDoNotLeakBetweenEvaluations() throws Exception {
+        ScriptEvaluator.eval("var leaked = $.value; leaked", Collections.singletonMap("value", 1));
+        assertEquals("undefined", ScriptEvaluator.eval("typeof leaked", Collections.emptyMap()));
+    }
+
+    @Test(expected = ScriptException.class)
+    public void testSyntaxError() throws Exception {
+        ScriptEvaluator.eval("$.value ==", Collections.emptyMap());
+    }
+
+    @Test
+    public void testConcurrentEvaluations() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            results.add(executorService.submit(() -> ScriptEvaluator.evalBool("$.value == " + (value % 10),
+                Collections.singletonMap("value", value % 10), "TEST")));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(30, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+    }
 }
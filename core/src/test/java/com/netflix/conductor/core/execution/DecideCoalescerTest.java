@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DecideCoalescerTest {
+
+    @Test
+    public void testCoalesceWhileRunning() {
+        DecideCoalescer decideCoalescer = new DecideCoalescer(true);
+
+        assertTrue(decideCoalescer.start("workflow_1"));
+        // another workflow is not affected
+        assertTrue(decideCoalescer.start("workflow_2"));
+
+        // requests while running are collapsed into one more evaluation
+        assertFalse(decideCoalescer.start("workflow_1"));
+        assertFalse(decideCoalescer.start("workflow_1"));
+        assertTrue(decideCoalescer.finish("workflow_1"));
+        assertFalse(decideCoalescer.finish("workflow_1"));
+
+        // the workflow can be decided again once the owner is done
+        assertTrue(decideCoalescer.start("workflow_1"));
+        decideCoalescer.abort("workflow_1");
+        assertTrue(decideCoalescer.start("workflow_1"));
+    }
+
+    @Test
+    public void testAbortDropsPendingRequests() {
+        DecideCoalescer decideCoalescer = new DecideCoalescer(true);
+
+        assertTrue(decideCoalescer.start("workflow_1"));
+        assertFalse(decideCoalescer.start("workflow_1"));
+        decideCoalescer.abort("workflow_1");
+
+        assertTrue(decideCoalescer.start("workflow_1"));
+        assertFalse(decideCoalescer.finish("workflow_1"));
+    }
+
+    @Test
+    public void testDisabled() {
+        DecideCoalescer decideCoalescer = new DecideCoalescer(false);
+
+        assertTrue(decideCoalescer.start("workflow_1"));
+        assertTrue(decideCoalescer.start("workflow_1"));
+        assertFalse(decideCoalescer.finish("workflow_1"));
+    }
+}
@@ -19,10 +19,12 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
 import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
 import com.netflix.conductor.core.config.ConductorProperties;
@@ -211,7 +213,7 @@ public class TestWorkflowExecutor {
 
         DeciderService deciderService = new DeciderService(parametersUtils, metadataDAO, externalPayloadStorageUtils,
             systemTaskRegistry, taskMappers, Duration.ofMinutes(60));
-        MetadataMapperService metadataMapperService = new MetadataMapperService(metadataDAO);
+        MetadataMapperService metadataMapperService = new MetadataMapperService(metadataDAO, objectMapper);
 
         ConductorProperties properties = mock(ConductorProperties.class);
         when(properties.getActiveWorkerLastPollTimeout()).thenReturn(Duration.ofSeconds(100));
@@ -1687,6 +1689,105 @@ public class TestWorkflowExecutor {
         verify(queueDAO, times(1)).push(anyString(), anyString(), anyInt(), anyLong());
     }
 
+    @Test
+    public void testUpdateTasks() {
+        String workflowId = "testUpdateTasksWorkflowId";
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId(workflowId);
+        workflow.setStatus(RUNNING);
+        workflow.setWorkflowDefinition(new WorkflowDef());
+
+        Task first = new Task();
+        first.setTaskId("task_1");
+        first.setTaskType(TaskType.SIMPLE.name());
+        first.setTaskDefName("task_1");
+        first.setWorkflowInstanceId(workflowId);
+        first.setStatus(Status.IN_PROGRESS);
+
+        Task second = new Task();
+        second.setTaskId("task_2");
+        second.setTaskType(TaskType.SIMPLE.name());
+        second.setTaskDefName("task_2");
+        second.setWorkflowInstanceId(workflowId);
+        second.setStatus(Status.IN_PROGRESS);
+
+        workflow.getTasks().addAll(Arrays.asList(first, second));
+        when(executionDAOFacade.getWorkflowById(workflowId, true)).thenReturn(workflow);
+
+        TaskResult firstResult = new TaskResult(first);
+        firstResult.setStatus(TaskResult.Status.COMPLETED);
+        TaskResult secondResult = new TaskResult(second);
+        secondResult.setStatus(TaskResult.Status.FAILED);
+
+        BulkResponse bulkResponse = workflowExecutor.updateTasks(Arrays.asList(firstResult, secondResult));
+        assertEquals(Arrays.asList("task_1", "task_2"), bulkResponse.getBulkSuccessfulResults());
+        assertTrue(bulkResponse.getBulkErrorResults().isEmpty());
+        assertEquals(Status.COMPLETED, first.getStatus());
+        assertEquals(Status.FAILED, second.getStatus());
+
+        // both results are persisted in a single write under one lock acquisition, the other one being for decide
+        verify(executionDAOFacade, times(1)).updateTasks(Arrays.asList(first, second));
+        verify(executionDAOFacade, never()).updateTask(any(Task.class));
+        verify(executionDAOFacade, never()).getTaskById(anyString());
+        verify(executionLockService, times(2)).acquireLock(workflowId);
+        verify(queueDAO, times(2)).remove(anyString(), anyString());
+    }
+
+    @Test
+    public void testUpdateTasksReportsFailuresPerWorkflow() {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("testUpdatedWorkflowId");
+        workflow.setStatus(RUNNING);
+        workflow.setWorkflowDefinition(new WorkflowDef());
+        Task task = new Task();
+        task.setTaskId("task_1");
+        task.setTaskType(TaskType.SIMPLE.name());
+        task.setTaskDefName("task_1");
+        task.setWorkflowInstanceId(workflow.getWorkflowId());
+        task.setStatus(Status.IN_PROGRESS);
+        workflow.getTasks().add(task);
+        when(executionDAOFacade.getWorkflowById(workflow.getWorkflowId(), true)).thenReturn(workflow);
+
+        Workflow failedWorkflow = new Workflow();
+        failedWorkflow.setWorkflowId("testFailedWorkflowId");
+        failedWorkflow.setStatus(RUNNING);
+        failedWorkflow.setWorkflowDefinition(new WorkflowDef());
+        Task failedTask = new Task();
+        failedTask.setTaskId("task_2");
+        failedTask.setTaskType(TaskType.SIMPLE.name());
+        failedTask.setTaskDefName("task_2");
+        failedTask.setWorkflowInstanceId(failedWorkflow.getWorkflowId());
+        failedTask.setStatus(Status.IN_PROGRESS);
+        failedWorkflow.getTasks().add(failedTask);
+        when(executionDAOFacade.getWorkflowById(failedWorkflow.getWorkflowId(), true)).thenReturn(failedWorkflow);
+        doThrow(new ApplicationException(ApplicationException.Code.BACKEND_ERROR, "write failed"))
+            .when(executionDAOFacade).updateTasks(Collections.singletonList(failedTask));
+
+        TaskResult result = new TaskResult(task);
+        result.setStatus(TaskResult.Status.COMPLETED);
+        TaskResult failedResult = new TaskResult(failedTask);
+        failedResult.setStatus(TaskResult.Status.COMPLETED);
+        TaskResult missingResult = new TaskResult();
+        missingResult.setTaskId("missing_task");
+        missingResult.setWorkflowInstanceId(workflow.getWorkflowId());
+        missingResult.setStatus(TaskResult.Status.COMPLETED);
+
+        BulkResponse bulkResponse = workflowExecutor.updateTasks(Arrays.asList(failedResult, result, missingResult));
+
+        // the result of a missing task is rejected on its own, and those of a workflow which failed to be written
+        // are rejected without moving their messages in the task queues
+        assertEquals(Collections.singletonList("task_1"), bulkResponse.getBulkSuccessfulResults());
+        assertEquals(2, bulkResponse.getBulkErrorResults().size());
+        assertTrue(bulkResponse.getBulkErrorResults().containsKey("task_2"));
+        assertTrue(bulkResponse.getBulkErrorResults().containsKey("missing_task"));
+        verify(executionDAOFacade, times(1)).updateTasks(Collections.singletonList(task));
+        verify(queueDAO, times(1)).remove(anyString(), eq("task_1"));
+        verify(queueDAO, never()).remove(anyString(), eq("task_2"));
+        // the workflow whose results were written is evaluated on its own
+        verify(executionLockService, times(2)).acquireLock(workflow.getWorkflowId());
+        verify(executionLockService, times(1)).acquireLock(failedWorkflow.getWorkflowId());
+    }
+
     private Workflow generateSampleWorkflow() {
         //setup
         Workflow workflow = new Workflow();
@@ -15,6 +15,7 @@ package com.netflix.conductor.core.execution.tasks;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.utils.SemaphoreUtil;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.service.ExecutionService;
 import org.junit.After;
@@ -24,6 +25,7 @@ import org.mockito.Mockito;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -235,6 +237,42 @@ public class TestSystemTaskExecutor {
         shutdownExecutorService(isoTaskService);
     }
 
+    @Test
+    public void testNonBlockingSystemTaskHoldsPermitOnly() {
+        String nonBlockingTask = "non_blocking_task";
+        WorkflowSystemTask systemTask = mock(WorkflowSystemTask.class);
+        when(systemTask.getTaskType()).thenReturn(nonBlockingTask);
+        when(systemTask.isNonBlocking()).thenReturn(true);
+        SystemTaskWorkerCoordinator.taskNameWorkflowTaskMapping.put(nonBlockingTask, systemTask);
+
+        when(properties.getSystemTaskWorkerThreadCount()).thenReturn(1);
+        when(properties.getSystemTaskWorkerMaxInFlight()).thenReturn(2);
+        when(queueDAO.pop(anyString(), anyInt(), anyInt())).thenReturn(Collections.singletonList("taskId"));
+        systemTaskExecutor = new SystemTaskExecutor(queueDAO, workflowExecutor, properties, executionService);
+
+        CountDownLatch latch = new CountDownLatch(2);
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        doAnswer(invocation -> {
+                latch.countDown();
+                return execution;
+            }
+        ).when(workflowExecutor).executeSystemTaskAsync(any(), anyString(), anyLong(), any());
+
+        // both tasks are started by the single thread, each one holding a permit until it completes
+        systemTaskExecutor.pollAndExecute(nonBlockingTask);
+        systemTaskExecutor.pollAndExecute(nonBlockingTask);
+        Uninterruptibles.awaitUninterruptibly(latch);
+        SemaphoreUtil semaphoreUtil = systemTaskExecutor.getExecutionConfig(nonBlockingTask).getSemaphoreUtil();
+        assertEquals(0, semaphoreUtil.availableSlots());
+
+        execution.complete(null);
+        for (int i = 0; i < 50 && semaphoreUtil.availableSlots() < 2; i++) {
+            Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(2, semaphoreUtil.availableSlots());
+        verify(workflowExecutor, Mockito.never()).executeSystemTask(any(), anyString(), anyLong());
+    }
+
     private void shutdownExecutorService(ExecutorService executorService) {
         try {
             executorService.shutdown();
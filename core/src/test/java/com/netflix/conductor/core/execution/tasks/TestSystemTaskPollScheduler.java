@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.execution.tasks;
+
+import com.netflix.conductor.core.execution.tasks.SystemTaskExecutor.PollResult;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestSystemTaskPollScheduler {
+
+    private SystemTaskPollScheduler pollScheduler;
+
+    @After
+    public void tearDown() {
+        if (pollScheduler != null) {
+            pollScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testNextInterval() {
+        pollScheduler = new SystemTaskPollScheduler(1, 50, 1000, queueName -> PollResult.EMPTY);
+
+        assertEquals(0, pollScheduler.nextInterval(PollResult.FULL, 50));
+        assertEquals(50, pollScheduler.nextInterval(PollResult.PARTIAL, 800));
+        assertEquals(50, pollScheduler.nextInterval(PollResult.LIMITED, 0));
+
+        // empty polls back off exponentially, up to the maximum interval
+        assertEquals(50, pollScheduler.nextInterval(PollResult.EMPTY, 0));
+        assertEquals(100, pollScheduler.nextInterval(PollResult.EMPTY, 50));
+        assertEquals(800, pollScheduler.nextInterval(PollResult.EMPTY, 400));
+        assertEquals(1000, pollScheduler.nextInterval(PollResult.EMPTY, 800));
+        assertEquals(1000, pollScheduler.nextInterval(PollResult.EMPTY, 1000));
+    }
+
+    @Test
+    public void testQueuesShareThePollerThreads() throws Exception {
+        Map<String, AtomicInteger> polls = new ConcurrentHashMap<>();
+        CountDownLatch busyQueuePolled = new CountDownLatch(100);
+        pollScheduler = new SystemTaskPollScheduler(1, 50, 10_000, queueName -> {
+            polls.computeIfAbsent(queueName, name -> new AtomicInteger()).incrementAndGet();
+            if (queueName.equals("busy")) {
+                busyQueuePolled.countDown();
+                return PollResult.FULL;
+            }
+            return PollResult.EMPTY;
+        });
+
+        pollScheduler.schedule("idle", 0);
+        pollScheduler.schedule("busy", 0);
+
+        // the busy queue is polled again right away, while the idle one backs off
+        assertTrue(busyQueuePolled.await(5, TimeUnit.SECONDS));
+        assertTrue(polls.get("idle").get() >= 1);
+        assertTrue(polls.get("idle").get() < 10);
+    }
+
+    @Test
+    public void testPollingContinuesAfterError() throws Exception {
+        CountDownLatch polled = new CountDownLatch(3);
+        pollScheduler = new SystemTaskPollScheduler(1, 10, 20, queueName -> {
+            polled.countDown();
+            throw new IllegalStateException("poll failed");
+        });
+
+        pollScheduler.schedule("failing", 0);
+
+        assertTrue(polled.await(5, TimeUnit.SECONDS));
+    }
+}
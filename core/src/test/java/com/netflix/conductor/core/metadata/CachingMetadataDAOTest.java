@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.metadata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.events.EventHandler;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.EventHandlerDAO;
+import com.netflix.conductor.dao.MetadataDAO;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class CachingMetadataDAOTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+    private MetadataDAO metadataDAO;
+    private MetadataCache cache;
+    private CachingMetadataDAO cachingMetadataDAO;
+
+    @Before
+    public void setUp() {
+        metadataDAO = mock(MetadataDAO.class);
+        cache = new MetadataCache(60_000, 100);
+        cachingMetadataDAO = new CachingMetadataDAO(metadataDAO, cache);
+    }
+
+    @Test
+    public void testDefinitionsAreShared() {
+        WorkflowDef workflowDef = workflowDef("workflow", 1);
+        when(metadataDAO.getWorkflowDef("workflow", 1)).thenReturn(Optional.of(workflowDef));
+
+        assertSame(workflowDef, cachingMetadataDAO.getWorkflowDef("workflow", 1).get());
+        assertSame(workflowDef, cachingMetadataDAO.getWorkflowDef("workflow", 1).get());
+        verify(metadataDAO, times(1)).getWorkflowDef("workflow", 1);
+    }
+
+    @Test
+    public void testPopulatedDefinitionsAreCopies() {
+        WorkflowDef workflowDef = workflowDef("workflow", 1);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task");
+        workflowTask.setTaskReferenceName("task");
+        workflowDef.getTasks().add(workflowTask);
+        when(metadataDAO.getWorkflowDef("workflow", 1)).thenReturn(Optional.of(workflowDef));
+        when(metadataDAO.getTaskDef("task")).thenReturn(new TaskDef("task"));
+
+        MetadataMapperService metadataMapperService = new MetadataMapperService(cachingMetadataDAO, objectMapper);
+        WorkflowDef populated = metadataMapperService.populateTaskDefinitions(
+            metadataMapperService.lookupForWorkflowDefinition("workflow", 1));
+
+        assertEquals("task", populated.getTasks().get(0).getTaskDefinition().getName());
+        assertNull(cachingMetadataDAO.getWorkflowDef("workflow", 1).get().getTasks().get(0).getTaskDefinition());
+    }
+
+    @Test
+    public void testMissingDefinitionsAreNotCached() {
+        assertNull(cachingMetadataDAO.getTaskDef("missing"));
+        assertNull(cachingMetadataDAO.getTaskDef("missing"));
+        verify(metadataDAO, times(2)).getTaskDef("missing");
+    }
+
+    @Test
+    public void testWritesInvalidateTheCache() {
+        when(metadataDAO.getTaskDef("task")).thenReturn(null);
+        assertNull(cachingMetadataDAO.getTaskDef("task"));
+
+        TaskDef taskDef = new TaskDef("task");
+        cachingMetadataDAO.createTaskDef(taskDef);
+        when(metadataDAO.getTaskDef("task")).thenReturn(taskDef);
+
+        assertEquals("task", cachingMetadataDAO.getTaskDef("task").getName());
+        verify(metadataDAO, times(2)).getTaskDef("task");
+    }
+
+    @Test
+    public void testWritesDiscardPopulatedDefinitions() {
+        when(metadataDAO.getWorkflowDef("workflow", 1)).thenReturn(Optional.of(workflowDef("workflow", 1)));
+        WorkflowDefinitionCache definitionCache = new WorkflowDefinitionCache(
+            new MetadataMapperService(cachingMetadataDAO, objectMapper), objectMapper, cache);
+
+        WorkflowDef populated = definitionCache.get("workflow", 1).getDefinition();
+        assertSame(populated, definitionCache.get("workflow", 1).getDefinition());
+
+        cachingMetadataDAO.createTaskDef(new TaskDef("task"));
+
+        assertNotSame(populated, definitionCache.get("workflow", 1).getDefinition());
+        verify(metadataDAO, times(2)).getWorkflowDef("workflow", 1);
+    }
+
+    @Test
+    public void testWarmUp() {
+        when(metadataDAO.getAllTaskDefs()).thenReturn(Collections.singletonList(new TaskDef("task")));
+        when(metadataDAO.getAllWorkflowDefs()).thenReturn(Arrays.asList(
+            workflowDef("workflow", 1), workflowDef("workflow", 2)));
+
+        cachingMetadataDAO.warmUp();
+
+        assertEquals("task", cachingMetadataDAO.getTaskDef("task").getName());
+        assertEquals(1, cachingMetadataDAO.getWorkflowDef("workflow", 1).get().getVersion());
+        assertEquals(2, cachingMetadataDAO.getLatestWorkflowDef("workflow").get().getVersion());
+        verify(metadataDAO, never()).getTaskDef("task");
+        verify(metadataDAO, never()).getWorkflowDef("workflow", 1);
+        verify(metadataDAO, never()).getLatestWorkflowDef("workflow");
+    }
+
+    @Test
+    public void testDAOImplementingBothInterfacesIsDecorated() {
+        MetadataDAO dao = mock(MetadataDAO.class, withSettings().extraInterfaces(EventHandlerDAO.class));
+        EventHandlerDAO eventHandlerDAO = (EventHandlerDAO) dao;
+        EventHandler eventHandler = new EventHandler();
+        eventHandler.setName("handler");
+        eventHandler.setEvent("event");
+        eventHandler.setActive(true);
+        when(eventHandlerDAO.getAllEventHandlers()).thenReturn(Collections.singletonList(eventHandler));
+        ConductorProperties properties = new ConductorProperties();
+
+        Object decorated = new MetadataCachePostProcessor(provider(properties))
+            .postProcessAfterInitialization(dao, "metadataDAO");
+
+        assertTrue(decorated instanceof MetadataDAO);
+        assertTrue(decorated instanceof EventHandlerDAO);
+        assertEquals(1, ((EventHandlerDAO) decorated).getEventHandlersForEvent("event", true).size());
+        assertTrue(((EventHandlerDAO) decorated).getEventHandlersForEvent("other", true).isEmpty());
+        assertFalse(((MetadataDAO) decorated).getLatestWorkflowDef("workflow").isPresent());
+        verify(eventHandlerDAO, never()).getEventHandlersForEvent("event", true);
+        verify(eventHandlerDAO, times(1)).getEventHandlersForEvent("other", true);
+    }
+
+    private WorkflowDef workflowDef(String name, int version) {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName(name);
+        workflowDef.setVersion(version);
+        return workflowDef;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ObjectProvider<T> provider(T object) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(object);
+        return provider;
+    }
+}
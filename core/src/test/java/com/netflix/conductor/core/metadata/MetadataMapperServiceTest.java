@@ -13,6 +13,7 @@
 package com.netflix.conductor.core.metadata;
 
 import com.google.common.collect.ImmutableList;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskType;
 import com.netflix.conductor.common.metadata.workflow.SubWorkflowParams;
@@ -63,7 +64,7 @@ public class MetadataMapperServiceTest {
 
         @Bean
         public MetadataMapperService metadataMapperService(MetadataDAO metadataDAO) {
-            return new MetadataMapperService(metadataDAO);
+            return new MetadataMapperService(metadataDAO, new ObjectMapperProvider().getObjectMapper());
         }
     }
 
@@ -15,6 +15,8 @@ package com.netflix.conductor.core.orchestration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
@@ -25,6 +27,7 @@ import com.netflix.conductor.dao.IndexDAO;
 import com.netflix.conductor.dao.PollDataDAO;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.dao.RateLimitingDAO;
+import com.netflix.conductor.service.ExecutionLockService;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -32,20 +35,27 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.unit.DataSize;
 
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -57,7 +67,10 @@ import static org.mockito.Mockito.when;
 public class ExecutionDAOFacadeTest {
 
     private ExecutionDAO executionDAO;
+    private QueueDAO queueDAO;
     private IndexDAO indexDAO;
+    private ConductorProperties properties;
+    private ExecutionLockService executionLockService;
     private ExecutionDAOFacade executionDAOFacade;
 
     @Autowired
@@ -66,15 +79,18 @@ public class ExecutionDAOFacadeTest {
     @Before
     public void setUp() {
         executionDAO = mock(ExecutionDAO.class);
-        QueueDAO queueDAO = mock(QueueDAO.class);
+        queueDAO = mock(QueueDAO.class);
         indexDAO = mock(IndexDAO.class);
         RateLimitingDAO rateLimitingDao = mock(RateLimitingDAO.class);
         PollDataDAO pollDataDAO = mock(PollDataDAO.class);
-        ConductorProperties properties = mock(ConductorProperties.class);
+        properties = mock(ConductorProperties.class);
         when(properties.isEventExecutionIndexingEnabled()).thenReturn(true);
         when(properties.isAsyncIndexingEnabled()).thenReturn(true);
+        when(properties.getWorkflowCacheMaxSize()).thenReturn(100);
+        when(properties.getWorkflowCacheMaxWeight()).thenReturn(DataSize.ofMegabytes(1));
+        executionLockService = mock(ExecutionLockService.class);
         executionDAOFacade = new ExecutionDAOFacade(executionDAO, queueDAO, indexDAO, rateLimitingDao, pollDataDAO,
-            objectMapper, properties);
+            objectMapper, properties, executionLockService);
     }
 
     @Test
@@ -94,6 +110,105 @@ public class ExecutionDAOFacadeTest {
         verify(indexDAO, times(1)).get(any(), any());
     }
 
+    @Test
+    public void testGetWorkflowByIdFromCache() {
+        Task task = new Task();
+        task.setTaskId("taskId");
+        task.setWorkflowInstanceId("workflowId");
+        task.setStatus(Task.Status.IN_PROGRESS);
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("workflow");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.getTasks().add(task);
+
+        when(properties.isWorkflowCacheEnabled()).thenReturn(true);
+        when(executionLockService.isLockHeldByCurrentThread("workflowId")).thenReturn(true);
+        when(executionDAO.getWorkflowVersion("workflowId")).thenReturn(5L);
+        when(executionDAO.getWorkflow("workflowId", true)).thenReturn(workflow);
+
+        executionDAOFacade.getWorkflowById("workflowId", true);
+        Workflow cached = executionDAOFacade.getWorkflowById("workflowId", true);
+        verify(executionDAO, times(1)).getWorkflow("workflowId", true);
+        assertNotSame(workflow, cached);
+        assertEquals("taskId", cached.getTasks().get(0).getTaskId());
+
+        // a write from this node is applied to the cached workflow
+        Task updated = cached.getTasks().get(0);
+        updated.setStatus(Task.Status.COMPLETED);
+        executionDAOFacade.updateTask(updated);
+        when(executionDAO.getWorkflowVersion("workflowId")).thenReturn(6L);
+        cached = executionDAOFacade.getWorkflowById("workflowId", true);
+        verify(executionDAO, times(1)).getWorkflow("workflowId", true);
+        assertEquals(Task.Status.COMPLETED, cached.getTasks().get(0).getStatus());
+
+        // a write from another node is detected through the version
+        when(executionDAO.getWorkflowVersion("workflowId")).thenReturn(8L);
+        executionDAOFacade.getWorkflowById("workflowId", true);
+        verify(executionDAO, times(2)).getWorkflow("workflowId", true);
+
+        // the cache is only used while the current thread holds the lock
+        when(executionLockService.isLockHeldByCurrentThread("workflowId")).thenReturn(false);
+        executionDAOFacade.getWorkflowById("workflowId", true);
+        verify(executionDAO, times(3)).getWorkflow("workflowId", true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnchangedTasksAreNotUpdated() {
+        when(properties.isTaskStateTrackingEnabled()).thenReturn(true);
+        executionDAOFacade = new ExecutionDAOFacade(executionDAO, mock(QueueDAO.class), indexDAO,
+            mock(RateLimitingDAO.class), mock(PollDataDAO.class), objectMapper, properties, executionLockService);
+
+        Task stored = new Task();
+        stored.setTaskId("taskId");
+        stored.setTaskType("task");
+        stored.setWorkflowInstanceId("workflowId");
+        stored.setStatus(Task.Status.COMPLETED);
+        stored.setUpdateTime(1L);
+        stored.getOutputData().put("nested", new HashMap<>());
+        when(executionDAO.getTask("taskId")).thenReturn(stored);
+
+        Task task = executionDAOFacade.getTaskById("taskId");
+        executionDAOFacade.updateTask(task);
+        verify(executionDAO, never()).updateTask(any());
+
+        // changes made to the nested output maps are detected as well
+        ((Map<String, Object>) task.getOutputData().get("nested")).put("key", "value");
+        executionDAOFacade.updateTask(task);
+        verify(executionDAO, times(1)).updateTask(task);
+
+        // the written state becomes the stored state
+        executionDAOFacade.updateTasks(Collections.singletonList(task));
+        verify(executionDAO, never()).updateTasks(any());
+
+        // a task without a stored state is always written
+        Task copy = task.copy();
+        executionDAOFacade.updateTasks(Collections.singletonList(copy));
+        verify(executionDAO, times(1)).updateTasks(Collections.singletonList(copy));
+    }
+
+    @Test
+    public void testNonTerminalTasksAreAlwaysUpdated() {
+        when(properties.isTaskStateTrackingEnabled()).thenReturn(true);
+        executionDAOFacade = new ExecutionDAOFacade(executionDAO, mock(QueueDAO.class), indexDAO,
+            mock(RateLimitingDAO.class), mock(PollDataDAO.class), objectMapper, properties, executionLockService);
+
+        Task stored = new Task();
+        stored.setTaskId("taskId");
+        stored.setTaskType("task");
+        stored.setWorkflowInstanceId("workflowId");
+        stored.setStatus(Task.Status.IN_PROGRESS);
+        when(executionDAO.getTask("taskId")).thenReturn(stored);
+
+        // the update time of a running task is refreshed by every update, as its response timeout is measured from it
+        Task task = executionDAOFacade.getTaskById("taskId");
+        executionDAOFacade.updateTask(task);
+        verify(executionDAO, times(1)).updateTask(task);
+        assertTrue(task.getUpdateTime() > 0);
+    }
+
     @Test
     public void testGetWorkflowsByCorrelationId() {
         when(executionDAO.canSearchAcrossWorkflows()).thenReturn(true);
@@ -150,4 +265,34 @@ public class ExecutionDAOFacadeTest {
         assertTrue(added);
         verify(indexDAO, times(1)).asyncAddEventExecution(any());
     }
+
+    @Test
+    public void testUpdateWorkflowQueuedInIndexingOutbox() {
+        when(properties.isIndexingOutboxEnabled()).thenReturn(true);
+        when(properties.getIndexingOutboxWindow()).thenReturn(Duration.ofSeconds(1));
+        when(properties.getAsyncUpdateDelay()).thenReturn(Duration.ofSeconds(60));
+        when(properties.getAsyncUpdateShortRunningWorkflowDuration()).thenReturn(Duration.ofSeconds(30));
+        Task task = new Task();
+        task.setTaskId("taskId");
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        workflow.setStatus(WorkflowStatus.RUNNING);
+        workflow.setStartTime(System.currentTimeMillis());
+        workflow.getTasks().add(task);
+
+        executionDAOFacade.updateWorkflow(workflow);
+        verify(queueDAO).pushIfNotExists(WorkflowIndexer.INDEX_QUEUE, "workflowId", 1);
+
+        executionDAOFacade.updateTask(task);
+        workflow.setStatus(WorkflowStatus.COMPLETED);
+        executionDAOFacade.updateWorkflow(workflow);
+        // the final state of a short-running workflow is indexed after the update delay
+        verify(queueDAO).postpone(WorkflowIndexer.INDEX_QUEUE, "workflowId", 0, 60);
+        verify(queueDAO, never()).postpone(eq(WorkflowIndexer.INDEX_QUEUE), eq("workflowId"), anyInt(), eq(1L));
+        verify(queueDAO, never()).pushIfNotExists(anyString(), anyString(), anyInt(), anyLong());
+        verify(indexDAO, never()).indexWorkflow(any());
+        verify(indexDAO, never()).asyncIndexWorkflow(any());
+        verify(indexDAO, never()).indexTask(any());
+        verify(indexDAO, never()).asyncIndexTask(any());
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.orchestration;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.Workflow.WorkflowStatus;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.IndexDAO;
+import com.netflix.conductor.dao.QueueDAO;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static com.netflix.conductor.core.orchestration.WorkflowIndexer.INDEX_QUEUE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorkflowIndexerTest {
+
+    private ExecutionDAO executionDAO;
+    private QueueDAO queueDAO;
+    private IndexDAO indexDAO;
+    private WorkflowIndexer workflowIndexer;
+
+    @Before
+    public void setUp() {
+        executionDAO = mock(ExecutionDAO.class);
+        queueDAO = mock(QueueDAO.class);
+        indexDAO = mock(IndexDAO.class);
+        when(indexDAO.asyncIndexWorkflow(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(indexDAO.asyncIndexTask(any())).thenReturn(CompletableFuture.completedFuture(null));
+        workflowIndexer = new WorkflowIndexer(executionDAO, queueDAO, indexDAO, new ConductorProperties());
+    }
+
+    @Test
+    public void testWorkflowsAreIndexed() {
+        Workflow running = workflow("running", WorkflowStatus.RUNNING);
+        Workflow completed = workflow("completed", WorkflowStatus.COMPLETED);
+        when(executionDAO.getWorkflow("running", true)).thenReturn(running);
+        when(executionDAO.getWorkflow("completed", true)).thenReturn(completed);
+
+        workflowIndexer.index(Arrays.asList("running", "completed"));
+
+        verify(queueDAO).ack(INDEX_QUEUE, "running");
+        verify(queueDAO).ack(INDEX_QUEUE, "completed");
+        verify(indexDAO).asyncIndexWorkflow(running);
+        verify(indexDAO).asyncIndexWorkflow(completed);
+        // the tasks are indexed once the workflow is completed
+        verify(indexDAO, times(1)).asyncIndexTask(any());
+        verify(indexDAO).asyncIndexTask(completed.getTasks().get(0));
+        verify(queueDAO, never()).pushIfNotExists(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    public void testFailedWorkflowsAreRetried() {
+        Workflow workflow = workflow("workflowId", WorkflowStatus.RUNNING);
+        when(executionDAO.getWorkflow("workflowId", true)).thenReturn(workflow);
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("index unavailable"));
+        when(indexDAO.asyncIndexWorkflow(workflow)).thenReturn(failed);
+        when(executionDAO.getWorkflow("unreadable", true)).thenThrow(new IllegalStateException("store unavailable"));
+
+        workflowIndexer.index(Arrays.asList("workflowId", "unreadable"));
+
+        // the entries are kept in the queue until the workflows are indexed
+        verify(queueDAO).postpone(INDEX_QUEUE, "workflowId", 0, 10);
+        verify(queueDAO).postpone(INDEX_QUEUE, "unreadable", 0, 10);
+        verify(queueDAO, never()).ack(anyString(), anyString());
+    }
+
+    @Test
+    public void testWorkflowUpdatedWhileIndexedIsQueuedAgain() {
+        Workflow workflow = workflow("workflowId", WorkflowStatus.RUNNING);
+        workflow.setUpdateTime(1L);
+        Workflow updated = workflow("workflowId", WorkflowStatus.RUNNING);
+        updated.setUpdateTime(2L);
+        when(executionDAO.getWorkflow("workflowId", true)).thenReturn(workflow);
+        when(executionDAO.getWorkflow("workflowId", false)).thenReturn(updated);
+
+        workflowIndexer.index(Collections.singletonList("workflowId"));
+
+        InOrder inOrder = inOrder(queueDAO);
+        inOrder.verify(queueDAO).ack(INDEX_QUEUE, "workflowId");
+        inOrder.verify(queueDAO).pushIfNotExists(INDEX_QUEUE, "workflowId", 0);
+    }
+
+    @Test
+    public void testWorkflowNotUpdatedWhileIndexedIsNotQueuedAgain() {
+        Workflow workflow = workflow("workflowId", WorkflowStatus.RUNNING);
+        workflow.setUpdateTime(1L);
+        Workflow unchanged = workflow("workflowId", WorkflowStatus.RUNNING);
+        unchanged.setUpdateTime(1L);
+        when(executionDAO.getWorkflow("workflowId", true)).thenReturn(workflow);
+        when(executionDAO.getWorkflow("workflowId", false)).thenReturn(unchanged);
+
+        workflowIndexer.index(Collections.singletonList("workflowId"));
+
+        verify(queueDAO).ack(INDEX_QUEUE, "workflowId");
+        verify(queueDAO, never()).pushIfNotExists(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    public void testRemovedWorkflowsAreSkipped() {
+        workflowIndexer.index(Collections.singletonList("removed"));
+
+        verify(queueDAO).ack(INDEX_QUEUE, "removed");
+        verify(indexDAO, never()).asyncIndexWorkflow(any());
+        verify(queueDAO, never()).pushIfNotExists(eq(INDEX_QUEUE), anyString(), anyLong());
+    }
+
+    private Workflow workflow(String workflowId, WorkflowStatus status) {
+        Task task = new Task();
+        task.setTaskId(workflowId + "_task");
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId(workflowId);
+        workflow.setStatus(status);
+        workflow.getTasks().add(task);
+        return workflow;
+    }
+}
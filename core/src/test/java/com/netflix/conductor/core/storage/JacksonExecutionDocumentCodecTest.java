@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Compression;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Format;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class JacksonExecutionDocumentCodecTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Task task;
+    private Workflow workflow;
+
+    @Before
+    public void setup() {
+        Map<String, Object> output = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            output.put("key_" + i, "a value repeated in every entry of the output " + i);
+        }
+
+        task = new Task();
+        task.setTaskId("taskId");
+        task.setWorkflowInstanceId("workflowId");
+        task.setTaskType("SIMPLE");
+        task.setTaskDefName("task");
+        task.setReferenceTaskName("task_ref");
+        task.setStatus(Task.Status.IN_PROGRESS);
+        task.setOutputData(output);
+
+        workflow = new Workflow();
+        workflow.setWorkflowId("workflowId");
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        workflow.setInput(output);
+        workflow.getTasks().add(task);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (Format format : Format.values()) {
+            for (Compression compression : Compression.values()) {
+                JacksonExecutionDocumentCodec codec = new JacksonExecutionDocumentCodec(objectMapper, format,
+                    compression);
+                String message = format + "+" + compression;
+                assertEquals(message, task, codec.decode(codec.encode(task), Task.class));
+                assertEquals(message, workflow, codec.decode(codec.encode(workflow), Workflow.class));
+                assertEquals(message, task, codec.decode(codec.encodeToBytes(task), Task.class));
+                assertEquals(message, workflow, codec.decode(codec.encodeToBytes(workflow), Workflow.class));
+            }
+        }
+    }
+
+    @Test
+    public void testJsonIsWrittenAsIs() throws Exception {
+        JacksonExecutionDocumentCodec codec = new JacksonExecutionDocumentCodec(objectMapper);
+        assertEquals(objectMapper.writeValueAsString(task), codec.encode(task));
+        assertArrayEquals(objectMapper.writeValueAsBytes(task), codec.encodeToBytes(task));
+    }
+
+    @Test
+    public void testTextIsWrittenAsJson() throws Exception {
+        JacksonExecutionDocumentCodec codec = new JacksonExecutionDocumentCodec(objectMapper, Format.SMILE,
+            Compression.LZ4);
+        assertEquals(objectMapper.writeValueAsString(task), codec.encode(task));
+    }
+
+    @Test
+    public void testJsonIsReadWhateverTheEncoding() throws Exception {
+        String json = objectMapper.writeValueAsString(task);
+        JacksonExecutionDocumentCodec codec = new JacksonExecutionDocumentCodec(objectMapper, Format.SMILE,
+            Compression.LZ4);
+        assertEquals(task, codec.decode(json, Task.class));
+        assertEquals(task, codec.decode(json.getBytes(StandardCharsets.UTF_8), Task.class));
+    }
+
+    @Test
+    public void testDocumentsAreReadAccordingToTheirHeader() {
+        byte[] encoded = new JacksonExecutionDocumentCodec(objectMapper, Format.CBOR, Compression.LZ4)
+            .encodeToBytes(task);
+        assertTrue(new String(encoded, StandardCharsets.ISO_8859_1).startsWith("~cbor+lz4!"));
+        assertEquals(task, new JacksonExecutionDocumentCodec(objectMapper).decode(encoded, Task.class));
+    }
+
+    @Test
+    public void testCompressedDocumentsAreSmaller() {
+        byte[] json = new JacksonExecutionDocumentCodec(objectMapper).encodeToBytes(workflow);
+        byte[] compact = new JacksonExecutionDocumentCodec(objectMapper, Format.SMILE, Compression.LZ4)
+            .encodeToBytes(workflow);
+        assertTrue(compact.length < json.length);
+    }
+
+    @Test
+    public void testNull() {
+        JacksonExecutionDocumentCodec codec = new JacksonExecutionDocumentCodec(objectMapper, Format.SMILE,
+            Compression.LZ4);
+        assertNull(codec.decode((String) null, Task.class));
+        assertNull(codec.decode((byte[]) null, Task.class));
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void testUnknownEncoding() {
+        new JacksonExecutionDocumentCodec(objectMapper).decode("~xml!<task/>".getBytes(StandardCharsets.UTF_8),
+            Task.class);
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.metadata.MetadataCache;
+import com.netflix.conductor.core.metadata.MetadataMapperService;
+import com.netflix.conductor.core.metadata.WorkflowDefinitionCache;
+import com.netflix.conductor.dao.MetadataDAO;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class ReferencingExecutionDocumentCodecTest {
+
+    private static final String WORKFLOW_NAME = "workflow";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MetadataDAO metadataDAO;
+    private MetadataMapperService metadataMapperService;
+    private JacksonExecutionDocumentCodec jsonCodec;
+    private ReferencingExecutionDocumentCodec codec;
+
+    @Before
+    public void setup() {
+        metadataDAO = mock(MetadataDAO.class);
+        when(metadataDAO.getTaskDef(anyString())).thenAnswer(invocation -> new TaskDef(invocation.getArgument(0)));
+        when(metadataDAO.getWorkflowDef(WORKFLOW_NAME, 1)).thenAnswer(invocation -> Optional.of(workflowDef()));
+        metadataMapperService = new MetadataMapperService(metadataDAO, objectMapper);
+
+        jsonCodec = new JacksonExecutionDocumentCodec(objectMapper);
+        codec = new ReferencingExecutionDocumentCodec(jsonCodec, definitionCache());
+    }
+
+    @Test
+    public void testRegisteredDefinitionsAreReferenced() {
+        Workflow workflow = workflow(metadataMapperService.populateTaskDefinitions(workflowDef()));
+        Task task = task(workflow, "task_2");
+
+        String workflowDocument = codec.encode(workflow);
+        String taskDocument = codec.encode(task);
+        assertTrue(workflowDocument.contains("workflowDefinitionRef"));
+        assertFalse(workflowDocument.contains("task_2"));
+        assertTrue(taskDocument.contains("workflowTaskRef"));
+        assertTrue(taskDocument.length() < jsonCodec.encode(task).length());
+
+        Workflow decodedWorkflow = codec.decode(workflowDocument, Workflow.class);
+        assertEquals(workflow.getWorkflowDefinition(), decodedWorkflow.getWorkflowDefinition());
+        assertEquals(workflow.getWorkflowId(), decodedWorkflow.getWorkflowId());
+
+        Task decodedTask = codec.decode(taskDocument, Task.class);
+        assertEquals(task, decodedTask);
+        // the tasks share the cached definition of their workflow
+        assertSame(decodedWorkflow.getWorkflowDefinition().getTaskByRefName("task_2"),
+            decodedTask.getWorkflowTask());
+        assertEquals("task", decodedTask.getTaskDefinition().map(TaskDef::getName).orElse(null));
+    }
+
+    @Test
+    public void testUnregisteredDefinitionsAreEmbedded() {
+        WorkflowDef definition = metadataMapperService.populateTaskDefinitions(workflowDef());
+        definition.setDescription("started with a modified definition");
+        Workflow workflow = workflow(definition);
+        Task task = task(workflow, "task_1");
+
+        String workflowDocument = codec.encode(workflow);
+        String taskDocument = codec.encode(task);
+        assertEquals(jsonCodec.encode(workflow), workflowDocument);
+        assertEquals(jsonCodec.encode(task), taskDocument);
+        assertEquals(workflow, codec.decode(workflowDocument, Workflow.class));
+        assertEquals(task, codec.decode(taskDocument, Task.class));
+    }
+
+    @Test
+    public void testDefinitionsWithDynamicTasksAreEmbedded() {
+        WorkflowTask dynamicTask = new WorkflowTask();
+        dynamicTask.setName("dynamic");
+        dynamicTask.setTaskReferenceName("dynamic");
+        dynamicTask.setWorkflowTaskType(TaskType.DYNAMIC);
+        dynamicTask.setDynamicTaskNameParam("taskToExecute");
+        WorkflowDef definition = workflowDef();
+        definition.setName("dynamic_workflow");
+        definition.getTasks().add(dynamicTask);
+        when(metadataDAO.getWorkflowDef("dynamic_workflow", 1)).thenReturn(Optional.of(definition));
+
+        Workflow workflow = workflow(definition);
+        assertEquals(jsonCodec.encode(workflow), codec.encode(workflow));
+    }
+
+    @Test
+    public void testDocumentsWithDefinitionsAreRead() {
+        Workflow workflow = workflow(metadataMapperService.populateTaskDefinitions(workflowDef()));
+        Task task = task(workflow, "task_1");
+
+        assertEquals(workflow, codec.decode(jsonCodec.encode(workflow), Workflow.class));
+        assertEquals(task, codec.decode(jsonCodec.encode(task), Task.class));
+    }
+
+    @Test
+    public void testTerminalExecutionsAreEmbedded() {
+        Workflow workflow = workflow(metadataMapperService.populateTaskDefinitions(workflowDef()));
+        workflow.setStatus(Workflow.WorkflowStatus.COMPLETED);
+        Task task = task(workflow, "task_1");
+        task.setStatus(Task.Status.COMPLETED);
+
+        assertEquals(jsonCodec.encode(workflow), codec.encode(workflow));
+        assertEquals(jsonCodec.encode(task), codec.encode(task));
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void testMissingDefinition() {
+        Workflow workflow = workflow(metadataMapperService.populateTaskDefinitions(workflowDef()));
+        String workflowDocument = codec.encode(workflow);
+
+        when(metadataDAO.getWorkflowDef(WORKFLOW_NAME, 1)).thenReturn(Optional.empty());
+        new ReferencingExecutionDocumentCodec(jsonCodec, definitionCache()).decode(workflowDocument, Workflow.class);
+    }
+
+    @Test
+    public void testModifiedDefinitionIsDetected() {
+        Workflow workflow = workflow(metadataMapperService.populateTaskDefinitions(workflowDef()));
+        String workflowDocument = codec.encode(workflow);
+        String taskDocument = codec.encode(task(workflow, "task_1"));
+
+        WorkflowDef modified = workflowDef();
+        modified.getTasks().get(0).setInputParameters(Collections.singletonMap("input", "modified"));
+        when(metadataDAO.getWorkflowDef(WORKFLOW_NAME, 1)).thenReturn(Optional.of(modified));
+        ReferencingExecutionDocumentCodec otherCodec = new ReferencingExecutionDocumentCodec(jsonCodec,
+            definitionCache());
+        try {
+            otherCodec.decode(workflowDocument, Workflow.class);
+            fail("the workflow was resolved with a modified definition");
+        } catch (ApplicationException e) {
+            assertEquals(ApplicationException.Code.BACKEND_ERROR, e.getCode());
+        }
+        try {
+            otherCodec.decode(taskDocument, Task.class);
+            fail("the task was resolved with a modified definition");
+        } catch (ApplicationException e) {
+            assertEquals(ApplicationException.Code.BACKEND_ERROR, e.getCode());
+        }
+    }
+
+    @Test
+    public void testRewrittenDefinitionIsResolved() {
+        Workflow workflow = workflow(metadataMapperService.populateTaskDefinitions(workflowDef()));
+        String workflowDocument = codec.encode(workflow);
+
+        // the definition is written again with the same content
+        WorkflowDef rewritten = workflowDef();
+        rewritten.setUpdateTime(System.currentTimeMillis());
+        rewritten.setUpdatedBy("client");
+        when(metadataDAO.getWorkflowDef(WORKFLOW_NAME, 1)).thenReturn(Optional.of(rewritten));
+
+        Workflow decodedWorkflow = new ReferencingExecutionDocumentCodec(jsonCodec, definitionCache())
+            .decode(workflowDocument, Workflow.class);
+        assertEquals(workflow.getWorkflowId(), decodedWorkflow.getWorkflowId());
+        assertEquals(rewritten.getUpdateTime(), decodedWorkflow.getWorkflowDefinition().getUpdateTime());
+    }
+
+    private WorkflowDefinitionCache definitionCache() {
+        return new WorkflowDefinitionCache(metadataMapperService, objectMapper,
+            new MetadataCache(Duration.ofMinutes(1).toMillis(), 10));
+    }
+
+    private WorkflowDef workflowDef() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName(WORKFLOW_NAME);
+        workflowDef.setVersion(1);
+        for (int i = 1; i <= 2; i++) {
+            WorkflowTask workflowTask = new WorkflowTask();
+            workflowTask.setName("task");
+            workflowTask.setTaskReferenceName("task_" + i);
+            workflowTask.setInputParameters(Collections.singletonMap("input", "${workflow.input.value}"));
+            workflowDef.getTasks().add(workflowTask);
+        }
+        return workflowDef;
+    }
+
+    private Workflow workflow(WorkflowDef workflowDef) {
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflow_id");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        workflow.setInput(Collections.singletonMap("value", "input"));
+        return workflow;
+    }
+
+    private Task task(Workflow workflow, String referenceName) {
+        Task task = new Task();
+        task.setTaskId(referenceName + "_id");
+        task.setTaskType(TaskType.TASK_TYPE_SIMPLE);
+        task.setTaskDefName("task");
+        task.setReferenceTaskName(referenceName);
+        task.setWorkflowInstanceId(workflow.getWorkflowId());
+        task.setWorkflowType(workflow.getWorkflowName());
+        task.setStatus(Task.Status.SCHEDULED);
+        task.setWorkflowTask(workflow.getWorkflowDefinition().getTaskByRefName(referenceName));
+        return task;
+    }
+}
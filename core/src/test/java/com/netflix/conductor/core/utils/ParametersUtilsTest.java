@@ -15,6 +15,11 @@ package com.netflix.conductor.core.utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -23,6 +28,8 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,10 +43,11 @@ import java.util.concurrent.atomic.AtomicReference;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
 @RunWith(SpringRunner.class)
-@SuppressWarnings("rawtypes")
+@SuppressWarnings({"rawtypes", "unchecked"})
 public class ParametersUtilsTest {
 
     private ParametersUtils parametersUtils;
@@ -280,4 +288,152 @@ public class ParametersUtilsTest {
         assertEquals("${someNumber}", inputList.get(1));
         assertEquals("${someString} $${someNumber}", inputList.get(2));
     }
+
+    @Test
+    public void testGetTaskInputV2() {
+        Workflow workflow = createWorkflow();
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("workflowInput", "${workflow.input.requestId}");
+        input.put("taskOutput", "${task_1.output.result}");
+        input.put("taskStatus", "${task_1.status}");
+        input.put("loopOutput", "${loop_task.output.iteration}");
+        input.put("text", "id-${workflow.input.requestId}-${task_1.output.result}");
+        input.put("missing", "${unknown_task.output.result}");
+        input.put("constant", 7);
+        input.put("list", Arrays.asList("${task_1.output.result}", "static"));
+
+        Map<String, Object> taskInput = parametersUtils.getTaskInputV2(input, workflow, "task-id", null);
+
+        assertEquals("request-1", taskInput.get("workflowInput"));
+        assertEquals("result-1", taskInput.get("taskOutput"));
+        assertEquals("COMPLETED", taskInput.get("taskStatus"));
+        assertEquals(2, taskInput.get("loopOutput"));
+        assertEquals("id-request-1-result-1", taskInput.get("text"));
+        assertNull(taskInput.get("missing"));
+        assertEquals(7, taskInput.get("constant"));
+        assertEquals(Arrays.asList("result-1", "static"), taskInput.get("list"));
+    }
+
+    @Test
+    public void testGetTaskInputV2WithWildcard() {
+        Workflow workflow = createWorkflow();
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("statuses", "${$.*.status}");
+
+        Map<String, Object> taskInput = parametersUtils.getTaskInputV2(input, workflow, "task-id", null);
+
+        List statuses = (List) taskInput.get("statuses");
+        assertEquals(3, statuses.size());
+        assertTrue(statuses.contains(Workflow.WorkflowStatus.RUNNING));
+        assertTrue(statuses.contains("COMPLETED"));
+    }
+
+    @Test
+    public void testGetTaskInputV2ReturnsIndependentCopies() {
+        Workflow workflow = createWorkflow();
+
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("key", "${task_1.output.result}");
+        Map<String, Object> input = new HashMap<>();
+        input.put("nested", nested);
+
+        Map<String, Object> first = parametersUtils.getTaskInputV2(input, workflow, "task-id", null);
+        ((Map<String, Object>) first.get("nested")).put("key", "changed");
+
+        // a template that is changed after being evaluated must not be served from a stale plan
+        nested.put("other", "${workflow.input.requestId}");
+        Map<String, Object> second = parametersUtils.getTaskInputV2(input, workflow, "task-id", null);
+
+        Map secondNested = (Map) second.get("nested");
+        assertEquals("result-1", secondNested.get("key"));
+        assertEquals("request-1", secondNested.get("other"));
+        assertEquals("${task_1.output.result}", nested.get("key"));
+    }
+
+    @Test
+    public void testGetTaskInputV2WithInputTemplate() {
+        Workflow workflow = createWorkflow();
+
+        TaskDef taskDef = new TaskDef("task_2");
+        Map<String, Object> inputTemplate = new HashMap<>();
+        inputTemplate.put("fromTemplate", "${workflow.input.requestId}");
+        inputTemplate.put("fallback", "default");
+        taskDef.setInputTemplate(inputTemplate);
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("fallback", "${unknown_task.output.result}");
+
+        Map<String, Object> taskInput = parametersUtils.getTaskInputV2(input, workflow, "task-id", taskDef);
+
+        assertEquals("request-1", taskInput.get("fromTemplate"));
+        assertEquals("default", taskInput.get("fallback"));
+    }
+
+    @Test
+    public void testGetTaskInputV2OfWorkflowTask() {
+        Workflow workflow = createWorkflow();
+
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task_2");
+        workflowTask.setTaskReferenceName("task_2");
+        Map<String, Object> input = new HashMap<>();
+        input.put("taskOutput", "${task_1.output.result}");
+        workflowTask.setInputParameters(input);
+
+        TaskDef taskDef = new TaskDef("task_2");
+        taskDef.setInputTemplate(Collections.singletonMap("fromTemplate", "default"));
+
+        Map<String, Object> taskInput = parametersUtils.getTaskInputV2(workflowTask, workflow, "task-id", taskDef);
+        assertEquals("result-1", taskInput.get("taskOutput"));
+        assertEquals("default", taskInput.get("fromTemplate"));
+
+        // a task definition read again with another template must not be served the plan of the previous one
+        TaskDef updatedTaskDef = new TaskDef("task_2");
+        updatedTaskDef.setInputTemplate(Collections.singletonMap("fromTemplate", "${workflow.input.requestId}"));
+        taskInput = parametersUtils.getTaskInputV2(workflowTask, workflow, "task-id", updatedTaskDef);
+        assertEquals("request-1", taskInput.get("fromTemplate"));
+
+        // nor a workflow task whose parameters were replaced
+        workflowTask.setInputParameters(Collections.singletonMap("workflowInput", "${workflow.input.requestId}"));
+        taskInput = parametersUtils.getTaskInputV2(workflowTask, workflow, "task-id", updatedTaskDef);
+        assertEquals("request-1", taskInput.get("workflowInput"));
+        assertNull(taskInput.get("taskOutput"));
+    }
+
+    private Workflow createWorkflow() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("test_workflow");
+        workflowDef.setSchemaVersion(2);
+
+        Workflow workflow = new Workflow();
+        workflow.setWorkflowId("workflow-id");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(Workflow.WorkflowStatus.RUNNING);
+        workflow.setInput(Collections.singletonMap("requestId", "request-1"));
+
+        Task task = new Task();
+        task.setTaskId("task-1");
+        task.setReferenceTaskName("task_1");
+        task.setStatus(Task.Status.COMPLETED);
+        task.getOutputData().put("result", "result-1");
+
+        Task firstIteration = new Task();
+        firstIteration.setTaskId("loop-1");
+        firstIteration.setReferenceTaskName("loop_task__1");
+        firstIteration.setIteration(1);
+        firstIteration.setStatus(Task.Status.COMPLETED);
+        firstIteration.getOutputData().put("iteration", 1);
+
+        Task secondIteration = new Task();
+        secondIteration.setTaskId("loop-2");
+        secondIteration.setReferenceTaskName("loop_task__2");
+        secondIteration.setIteration(2);
+        secondIteration.setStatus(Task.Status.COMPLETED);
+        secondIteration.getOutputData().put("iteration", 2);
+
+        workflow.getTasks().addAll(Arrays.asList(task, firstIteration, secondIteration));
+        return workflow;
+    }
 }
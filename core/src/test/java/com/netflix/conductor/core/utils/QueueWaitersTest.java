@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2021 Netflix, Inc.
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QueueWaitersTest {
+
+    private final QueueWaiters queueWaiters = new QueueWaiters();
+
+    @Test
+    public void testAwaitTimesOutWithoutSignal() {
+        long generation = queueWaiters.generation("queue");
+        queueWaiters.signal("other_queue");
+        assertFalse(queueWaiters.await("queue", generation, 10));
+    }
+
+    @Test
+    public void testSignalBeforeAwaitIsNotMissed() {
+        long generation = queueWaiters.generation("queue");
+        queueWaiters.signal("queue");
+        assertTrue(queueWaiters.await("queue", generation, 10_000));
+    }
+
+    @Test
+    public void testSignalWakesUpWaiters() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        long generation = queueWaiters.generation("queue");
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(
+            () -> queueWaiters.await("queue", generation, 10_000), executorService);
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+            () -> queueWaiters.await("queue", generation, 10_000), executorService);
+
+        queueWaiters.signal("queue");
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+
+        long nextGeneration = queueWaiters.generation("queue");
+        CompletableFuture<Boolean> third = CompletableFuture.supplyAsync(
+            () -> queueWaiters.await("queue", nextGeneration, 10_000), executorService);
+        queueWaiters.signalAll();
+        assertTrue(third.get(5, TimeUnit.SECONDS));
+
+        executorService.shutdown();
+    }
+}
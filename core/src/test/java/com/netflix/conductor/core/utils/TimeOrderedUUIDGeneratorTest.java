@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeOrderedUUIDGeneratorTest {
+
+    @Test
+    public void testFormat() {
+        long startTime = System.currentTimeMillis();
+        UUID uuid = UUID.fromString(TimeOrderedUUIDGenerator.generate().toString());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = TimeOrderedUUIDGenerator.timestamp(uuid);
+        assertTrue(timestamp >= startTime);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    public void testIdsOfThreadAreIncreasing() {
+        String previous = TimeOrderedUUIDGenerator.generate(1000).toString();
+        // more ids than the sequence holds in a millisecond, and a clock going back
+        for (long time : new long[]{1000, 1001, 999}) {
+            for (int i = 0; i < 10000; i++) {
+                String id = TimeOrderedUUIDGenerator.generate(time).toString();
+                assertTrue(id + " <= " + previous, id.compareTo(previous) > 0);
+                previous = id;
+            }
+        }
+    }
+
+    @Test
+    public void testSequenceOverflowCarriesOnTimestamp() throws Exception {
+        // on a thread of its own, as its clock is left ahead of the time of the other tests
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            executorService.submit(() -> {
+                long time = System.currentTimeMillis() + 60_000;
+                UUID first = TimeOrderedUUIDGenerator.generate(time);
+                assertEquals(0, first.getMostSignificantBits() & 0xFFF);
+                for (int i = 0; i < 4095; i++) {
+                    assertEquals(time, TimeOrderedUUIDGenerator.timestamp(TimeOrderedUUIDGenerator.generate(time)));
+                }
+                assertEquals(time + 1, TimeOrderedUUIDGenerator.timestamp(TimeOrderedUUIDGenerator.generate(time)));
+            }).get();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIdsOfThreadsAreUnique() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 50000; j++) {
+                        ids.add(TimeOrderedUUIDGenerator.generate().toString());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(8 * 50000, ids.size());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.metrics;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class MeterCacheTest {
+
+    private final Registry registry = new DefaultRegistry();
+
+    @Test
+    public void testMetersAreCachedPerTagValues() {
+        MeterCache<Counter> cache = counterCache("task_update_error", "workflowName", "taskType");
+
+        Counter counter = cache.get("workflow", "task");
+        assertSame(counter, cache.get("workflow", "task"));
+        assertNotSame(counter, cache.get("workflow", "other_task"));
+        assertNotSame(counter, cache.get("other_workflow", "task"));
+
+        cache.get("workflow", "task").increment();
+        cache.get("workflow", "task").increment(2);
+        assertEquals(3, registry.counter(id("task_update_error", "workflowName", "workflow", "taskType", "task"))
+            .count());
+    }
+
+    @Test
+    public void testTagsAreBuiltAsMonitorsDoes() {
+        MeterCache<Counter> cache = counterCache("task_execution", "taskType", "includeRetries", "version");
+
+        Counter counter = cache.get(null, true, 2);
+        assertEquals(id("task_execution", "taskType", "null", "includeRetries", "true", "version", "2"),
+            counter.id());
+        assertSame(counter, cache.get(null, true, 2));
+
+        // tags with an empty value are left out
+        assertEquals(id("task_execution", "includeRetries", "false", "version", "1"), cache.get("", false, 1).id());
+    }
+
+    @Test
+    public void testWithoutTags() {
+        MeterCache<Counter> cache = counterCache("workflow_decide_executed");
+
+        assertSame(cache.get(), cache.get());
+        assertEquals(id("workflow_decide_executed"), cache.get().id());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingTagValues() {
+        counterCache("task_poll", "taskType", "domain").get("task");
+    }
+
+    private MeterCache<Counter> counterCache(String name, String... tagKeys) {
+        return new MeterCache<>(Monitors.classQualifier, tags -> registry.counter(registry.createId(name, tags)),
+            tagKeys);
+    }
+
+    private Id id(String name, String... tags) {
+        return registry.createId(name).withTag("class", Monitors.classQualifier).withTags(tags);
+    }
+}
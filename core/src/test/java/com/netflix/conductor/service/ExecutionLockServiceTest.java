@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.service;
+
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.sync.Lock;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExecutionLockServiceTest {
+
+    private ExecutionLockService executionLockService;
+
+    @Before
+    public void setUp() {
+        ConductorProperties properties = new ConductorProperties();
+        properties.setWorkflowExecutionLockEnabled(true);
+        properties.setLockLeaseTime(Duration.ofMinutes(1));
+        Lock lock = mock(Lock.class);
+        when(lock.acquireLock(anyString(), anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        executionLockService = new ExecutionLockService(properties, lock);
+    }
+
+    @Test
+    public void testLockIsHeldByTheAcquiringThreadOnly() throws Exception {
+        assertTrue(executionLockService.acquireLock("workflowId"));
+        assertTrue(executionLockService.isLockHeldByCurrentThread("workflowId"));
+        assertFalse(CompletableFuture.supplyAsync(() -> executionLockService.isLockHeldByCurrentThread("workflowId"))
+            .get());
+
+        executionLockService.releaseLock("workflowId");
+        assertFalse(executionLockService.isLockHeldByCurrentThread("workflowId"));
+    }
+
+    @Test
+    public void testLockAcquiredByAnotherThreadIsNoLongerHeld() throws Exception {
+        assertTrue(executionLockService.acquireLock("workflowId"));
+        assertTrue(CompletableFuture.supplyAsync(() -> executionLockService.acquireLock("workflowId")).get());
+        assertFalse(executionLockService.isLockHeldByCurrentThread("workflowId"));
+    }
+}
@@ -18,21 +18,30 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
 import com.netflix.conductor.common.metadata.events.EventHandler;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.metadata.MetadataCache;
+import com.netflix.conductor.core.metadata.MetadataMapperService;
+import com.netflix.conductor.core.metadata.WorkflowDefinitionCache;
 import com.netflix.conductor.dao.EventHandlerDAO;
+import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.MetadataDAO;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import javax.validation.ConstraintViolationException;
 import org.junit.Test;
@@ -66,7 +75,8 @@ public class MetadataServiceTest {
         @Bean
         public MetadataService metadataService(MetadataDAO metadataDAO, ConductorProperties properties) {
             EventHandlerDAO eventHandlerDAO = mock(EventHandlerDAO.class);
-            return new MetadataServiceImpl(metadataDAO, eventHandlerDAO, properties);
+            return new MetadataServiceImpl(metadataDAO, eventHandlerDAO, mock(ExecutionDAO.class), Optional.empty(),
+                properties);
         }
     }
 
@@ -356,4 +366,109 @@ public class MetadataServiceTest {
         }
         fail("metadataService.addEventHandler did not throw ConstraintViolationException !");
     }
+
+    @Test
+    public void testWorkflowDefWithRunningWorkflowsIsNotModified() {
+        ExecutionDAO executionDAO = mock(ExecutionDAO.class);
+        when(metadataDAO.getWorkflowDef("referenced_workflow", 1))
+            .thenReturn(Optional.of(workflowDef("referenced_workflow")));
+        when(executionDAO.getRunningWorkflowIds("referenced_workflow", 1))
+            .thenReturn(Collections.singletonList("workflow_id"));
+        MetadataService service = referencingMetadataService(executionDAO);
+
+        WorkflowDef rewritten = workflowDef("referenced_workflow");
+        rewritten.setUpdatedBy("client");
+        service.updateWorkflowDef(rewritten);
+        verify(metadataDAO).updateWorkflowDef(rewritten);
+
+        WorkflowDef modified = workflowDef("referenced_workflow");
+        modified.setDescription("modified");
+        try {
+            service.updateWorkflowDef(modified);
+            fail("a definition with running workflows was modified");
+        } catch (ApplicationException e) {
+            assertEquals(ApplicationException.Code.CONFLICT, e.getCode());
+        }
+        verify(metadataDAO, never()).updateWorkflowDef(modified);
+
+        try {
+            service.unregisterWorkflowDef("referenced_workflow", 1);
+            fail("a definition with running workflows was removed");
+        } catch (ApplicationException e) {
+            assertEquals(ApplicationException.Code.CONFLICT, e.getCode());
+        }
+        verify(metadataDAO, never()).removeWorkflowDef("referenced_workflow", 1);
+    }
+
+    @Test
+    public void testTaskDefUsedByRunningWorkflowsIsNotModified() {
+        ExecutionDAO executionDAO = mock(ExecutionDAO.class);
+        when(metadataDAO.getTaskDef("task")).thenReturn(taskDef("task"));
+        when(metadataDAO.getAllWorkflowDefs())
+            .thenReturn(Collections.singletonList(workflowDef("referenced_workflow")));
+        when(executionDAO.getRunningWorkflowIds("referenced_workflow", 1))
+            .thenReturn(Collections.singletonList("workflow_id"));
+        MetadataService service = referencingMetadataService(executionDAO);
+
+        TaskDef rewritten = taskDef("task");
+        service.updateTaskDef(rewritten);
+        verify(metadataDAO).updateTaskDef(rewritten);
+
+        TaskDef modified = taskDef("task");
+        modified.setRetryCount(5);
+        try {
+            service.updateTaskDef(modified);
+            fail("a task definition used by running workflows was modified");
+        } catch (ApplicationException e) {
+            assertEquals(ApplicationException.Code.CONFLICT, e.getCode());
+        }
+        verify(metadataDAO, never()).updateTaskDef(modified);
+
+        try {
+            service.unregisterTaskDef("task");
+            fail("a task definition used by running workflows was removed");
+        } catch (ApplicationException e) {
+            assertEquals(ApplicationException.Code.CONFLICT, e.getCode());
+        }
+        verify(metadataDAO, never()).removeTaskDef("task");
+    }
+
+    @Test
+    public void testWorkflowDefWithoutRunningWorkflowsIsRemoved() {
+        when(metadataDAO.getWorkflowDef("unreferenced_workflow", 1))
+            .thenReturn(Optional.of(workflowDef("unreferenced_workflow")));
+        MetadataService service = referencingMetadataService(mock(ExecutionDAO.class));
+
+        service.unregisterWorkflowDef("unreferenced_workflow", 1);
+        verify(metadataDAO).removeWorkflowDef("unreferenced_workflow", 1);
+    }
+
+    private MetadataService referencingMetadataService(ExecutionDAO executionDAO) {
+        ConductorProperties properties = new ConductorProperties();
+        properties.setOwnerEmailMandatory(true);
+        ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+        WorkflowDefinitionCache definitionCache = new WorkflowDefinitionCache(
+            new MetadataMapperService(metadataDAO, objectMapper), objectMapper,
+            new MetadataCache(Duration.ofMinutes(1).toMillis(), 10));
+        return new MetadataServiceImpl(metadataDAO, mock(EventHandlerDAO.class), executionDAO,
+            Optional.of(definitionCache), properties);
+    }
+
+    private TaskDef taskDef(String name) {
+        TaskDef taskDef = new TaskDef(name);
+        taskDef.setOwnerEmail("owner@test.com");
+        return taskDef;
+    }
+
+    private WorkflowDef workflowDef(String name) {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task");
+        workflowTask.setTaskReferenceName("task");
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName(name);
+        workflowDef.setVersion(1);
+        workflowDef.setOwnerEmail("owner@test.com");
+        workflowDef.getTasks().add(workflowTask);
+        return workflowDef;
+    }
 }
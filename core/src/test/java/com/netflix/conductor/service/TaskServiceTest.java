@@ -135,6 +135,18 @@ public class TaskServiceTest {
         }
     }
 
+    @Test(expected = ConstraintViolationException.class)
+    public void testUpdateTasks() {
+        try {
+            taskService.updateTasks(null);
+        } catch (ConstraintViolationException ex) {
+            assertEquals(1, ex.getConstraintViolations().size());
+            Set<String> messages = getConstraintViolationMessages(ex.getConstraintViolations());
+            assertTrue(messages.contains("TaskResults cannot be null or empty."));
+            throw ex;
+        }
+    }
+
 
     @Test(expected = ConstraintViolationException.class)
     public void testAckTaskReceived() {
@@ -13,7 +13,10 @@
 package com.netflix.conductor.es6.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DataSizeUnit;
 import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.unit.DataSize;
+import org.springframework.util.unit.DataUnit;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -62,6 +65,30 @@ public class ElasticSearchProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration asyncBufferFlushTimeout = Duration.ofSeconds(10);
 
+    /**
+     * The size in KB of the documents of a type beyond which they are bulk indexed in async mode, even if there are
+     * fewer of them than the batch size
+     */
+    @DataSizeUnit(DataUnit.KILOBYTES)
+    private DataSize indexBatchMaxSize = DataSize.ofMegabytes(5);
+
+    /**
+     * The maximum number of documents of a type held for bulk indexing in async mode
+     */
+    private int indexBufferSize = 10000;
+
+    /**
+     * The time in milliseconds to wait for room in a full bulk indexing buffer, after which the document is indexed by
+     * the calling thread
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration indexBufferFullTimeout = Duration.ofMillis(1000);
+
+    /**
+     * The maximum number of bulk requests sent at once in async mode
+     */
+    private int indexMaxInFlightBulkRequests = 4;
+
     /**
      * The number of shards that the index will be created with
      */
@@ -153,6 +180,38 @@ public class ElasticSearchProperties {
         this.asyncBufferFlushTimeout = asyncBufferFlushTimeout;
     }
 
+    public DataSize getIndexBatchMaxSize() {
+        return indexBatchMaxSize;
+    }
+
+    public void setIndexBatchMaxSize(DataSize indexBatchMaxSize) {
+        this.indexBatchMaxSize = indexBatchMaxSize;
+    }
+
+    public int getIndexBufferSize() {
+        return indexBufferSize;
+    }
+
+    public void setIndexBufferSize(int indexBufferSize) {
+        this.indexBufferSize = indexBufferSize;
+    }
+
+    public Duration getIndexBufferFullTimeout() {
+        return indexBufferFullTimeout;
+    }
+
+    public void setIndexBufferFullTimeout(Duration indexBufferFullTimeout) {
+        this.indexBufferFullTimeout = indexBufferFullTimeout;
+    }
+
+    public int getIndexMaxInFlightBulkRequests() {
+        return indexMaxInFlightBulkRequests;
+    }
+
+    public void setIndexMaxInFlightBulkRequests(int indexMaxInFlightBulkRequests) {
+        this.indexMaxInFlightBulkRequests = indexMaxInFlightBulkRequests;
+    }
+
     public int getIndexShardCount() {
         return indexShardCount;
     }
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.es6.dao.index;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.conductor.es6.config.ElasticSearchProperties;
+import com.netflix.conductor.metrics.Monitors;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Buffers the documents indexed in async mode by document type, and indexes them with bulk requests.
+ * <p>
+ * The documents of a type are added to a bounded lock-free queue by the indexing threads. A bulk request is sent once
+ * the queue holds a batch of documents, by count or by size, or once it was not flushed for the flush timeout. At most
+ * {@link ElasticSearchProperties#getIndexMaxInFlightBulkRequests()} bulk requests are sent at once, by the threads
+ * which filled the batches, so they wait for the cluster when it falls behind. When the queue of a type is full, the
+ * indexing threads wait for room in it, and index the document themselves if none is made in time, instead of
+ * dropping it. Each document is indexed with a future which completes once its bulk request is sent, and fails if the
+ * request or the item of the document fails.
+ */
+class BulkIndexer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkIndexer.class);
+
+    private static final long BUFFER_FULL_WAIT_STEP_MS = 10;
+
+    private final BiFunction<BulkRequest, String, BulkResponse> sender;
+    private final int batchSize;
+    private final long batchMaxBytes;
+    private final int bufferSize;
+    private final long bufferFullTimeoutMs;
+    private final long flushTimeoutMs;
+    private final Semaphore inFlightBulkRequests;
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutorService;
+
+    /**
+     * @param sender indexes a bulk request of the given document type, and throws if the request fails
+     */
+    BulkIndexer(ElasticSearchProperties properties, BiFunction<BulkRequest, String, BulkResponse> sender) {
+        this.sender = sender;
+        this.batchSize = properties.getIndexBatchSize();
+        this.batchMaxBytes = properties.getIndexBatchMaxSize().toBytes();
+        this.bufferSize = Math.max(properties.getIndexBufferSize(), batchSize);
+        this.bufferFullTimeoutMs = properties.getIndexBufferFullTimeout().toMillis();
+        this.flushTimeoutMs = properties.getAsyncBufferFlushTimeout().toMillis();
+        this.inFlightBulkRequests = new Semaphore(properties.getIndexMaxInFlightBulkRequests());
+        this.flushExecutorService = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+            .namingPattern("es6-bulk-flusher-%d")
+            .daemon(true)
+            .build());
+        this.flushExecutorService.scheduleWithFixedDelay(this::flushExpiredBuffers, flushTimeoutMs, flushTimeoutMs,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a document to the buffer of its type, and sends a bulk request if it holds a batch.
+     *
+     * @return a future which completes once the document is indexed, or fails if it could not be
+     */
+    CompletableFuture<Void> add(String docType, IndexRequest request) {
+        Buffer buffer = buffers.get(docType);
+        if (buffer == null) {
+            buffer = buffers.computeIfAbsent(docType, Buffer::new);
+        }
+        if (!buffer.reserve()) {
+            Monitors.recordIndexingBufferFull(docType);
+            LOGGER.warn("The bulk indexing buffer for type {} is full, indexing the document by the calling thread",
+                docType);
+            BulkRequest bulkRequest = new BulkRequest();
+            bulkRequest.add(request);
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            send(docType, bulkRequest, Collections.singletonList(future), "caller");
+            return future;
+        }
+        CompletableFuture<Void> future = buffer.add(request);
+        buffer.flush("batch", false);
+        return future;
+    }
+
+    /**
+     * Stops flushing the buffers on a timer, and indexes the documents they still hold.
+     */
+    void shutdown() {
+        flushExecutorService.shutdownNow();
+        buffers.values().forEach(buffer -> buffer.flush("shutdown", true));
+    }
+
+    /**
+     * Flush the buffers if bulk requests have not been indexed for the past {@link
+     * ElasticSearchProperties#getAsyncBufferFlushTimeout()} seconds. This is to prevent data loss in case the
+     * instance is terminated, while the buffer still holds documents to be indexed.
+     */
+    @VisibleForTesting
+    void flushExpiredBuffers() {
+        long now = System.currentTimeMillis();
+        buffers.values().stream()
+            .filter(buffer -> now - buffer.lastFlushTime >= flushTimeoutMs)
+            .forEach(buffer -> {
+                LOGGER.debug("Flushing bulk request buffer for type {}, size: {}", buffer.docType,
+                    buffer.size.get());
+                buffer.flush("age", true);
+            });
+    }
+
+    @VisibleForTesting
+    int size(String docType) {
+        Buffer buffer = buffers.get(docType);
+        return buffer == null ? 0 : buffer.size.get();
+    }
+
+    /**
+     * Sends a bulk request, and completes the futures of its documents, in the order of the request.
+     */
+    private void send(String docType, BulkRequest bulkRequest, List<CompletableFuture<Void>> futures, String reason) {
+        long startTime = System.currentTimeMillis();
+        try {
+            BulkItemResponse[] items = sender.apply(bulkRequest, docType).getItems();
+            for (int i = 0; i < futures.size(); i++) {
+                if (items[i].isFailed()) {
+                    futures.get(i).completeExceptionally(new IllegalStateException(String.format(
+                        "Failed to index document: %s of type: %s: %s", items[i].getId(), docType,
+                        items[i].getFailureMessage())));
+                } else {
+                    futures.get(i).complete(null);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to bulk index {} documents of type: {}", bulkRequest.numberOfActions(), docType, e);
+            futures.forEach(future -> future.completeExceptionally(e));
+        }
+        Monitors.recordIndexingBulkFlush(docType, reason, System.currentTimeMillis() - startTime,
+            bulkRequest.estimatedSizeInBytes());
+    }
+
+    private static long sizeOf(IndexRequest request) {
+        return request.source() == null ? 0 : request.source().length();
+    }
+
+    private class Buffer {
+
+        private final String docType;
+        private final Queue<PendingRequest> requests = new ConcurrentLinkedQueue<>();
+        private final Semaphore room = new Semaphore(bufferSize);
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private volatile long lastFlushTime = System.currentTimeMillis();
+
+        private Buffer(String docType) {
+            this.docType = docType;
+        }
+
+        /**
+         * Reserves room for a document, helping to flush the buffer while it is full.
+         *
+         * @return false if no room was made before the timeout
+         */
+        private boolean reserve() {
+            if (room.tryAcquire()) {
+                return true;
+            }
+            long deadline = System.currentTimeMillis() + bufferFullTimeoutMs;
+            try {
+                do {
+                    flush("full", false);
+                    if (room.tryAcquire(BUFFER_FULL_WAIT_STEP_MS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } while (System.currentTimeMillis() < deadline);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        private CompletableFuture<Void> add(IndexRequest request) {
+            PendingRequest pendingRequest = new PendingRequest(request);
+            requests.add(pendingRequest);
+            bytes.addAndGet(sizeOf(request));
+            Monitors.recordIndexingBufferSize(docType, size.incrementAndGet());
+            return pendingRequest.future;
+        }
+
+        private boolean isBatchReady() {
+            return size.get() >= batchSize || bytes.get() >= batchMaxBytes;
+        }
+
+        /**
+         * Sends bulk requests as long as the buffer holds a batch, or until it is empty.
+         */
+        private void flush(String reason, boolean all) {
+            while (all ? size.get() > 0 : isBatchReady()) {
+                try {
+                    inFlightBulkRequests.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    List<CompletableFuture<Void>> futures = new ArrayList<>();
+                    BulkRequest bulkRequest = nextBatch(futures);
+                    if (bulkRequest.numberOfActions() == 0) {
+                        return;
+                    }
+                    send(docType, bulkRequest, futures, reason);
+                } finally {
+                    inFlightBulkRequests.release();
+                }
+            }
+        }
+
+        /**
+         * Takes the next batch of documents out of the buffer. Other threads may be taking the documents at the same
+         * time, so the batch may be smaller or empty.
+         *
+         * @param futures receives the futures of the documents of the batch
+         */
+        private BulkRequest nextBatch(List<CompletableFuture<Void>> futures) {
+            BulkRequest bulkRequest = new BulkRequest();
+            long batchBytes = 0;
+            PendingRequest pendingRequest;
+            while (bulkRequest.numberOfActions() < batchSize && batchBytes < batchMaxBytes
+                && (pendingRequest = requests.poll()) != null) {
+                bulkRequest.add(pendingRequest.request);
+                futures.add(pendingRequest.future);
+                batchBytes += sizeOf(pendingRequest.request);
+            }
+            int count = bulkRequest.numberOfActions();
+            if (count > 0) {
+                bytes.addAndGet(-batchBytes);
+                Monitors.recordIndexingBufferSize(docType, size.addAndGet(-count));
+                room.release(count);
+                lastFlushTime = System.currentTimeMillis();
+            }
+            return bulkRequest;
+        }
+    }
+
+    private static final class PendingRequest {
+
+        private final IndexRequest request;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingRequest(IndexRequest request) {
+            this.request = request;
+        }
+    }
+}
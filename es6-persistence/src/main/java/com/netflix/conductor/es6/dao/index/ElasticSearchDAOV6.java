@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.es6.dao.index;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.MapType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
@@ -323,35 +324,53 @@ public class ElasticSearchDAOV6 extends ElasticSearchBaseDAO implements IndexDAO
     @Override
     public void indexWorkflow(Workflow workflow) {
         try {
-            long startTime = Instant.now().toEpochMilli();
-            String id = workflow.getWorkflowId();
-            WorkflowSummary summary = new WorkflowSummary(workflow);
-            byte[] doc = objectMapper.writeValueAsBytes(summary);
-            String docType = StringUtils.isBlank(docTypeOverride) ? WORKFLOW_DOC_TYPE : docTypeOverride;
-
-            UpdateRequest req = buildUpdateRequest(id, doc, workflowIndexName, docType);
-            new RetryUtil<UpdateResponse>().retryOnException(
-                () -> elasticSearchClient.update(req).actionGet(),
-                null,
-                null,
-                RETRY_COUNT,
-                "Indexing workflow document: " + workflow.getWorkflowId(),
-                "indexWorkflow"
-            );
-
-            long endTime = Instant.now().toEpochMilli();
-            LOGGER.debug("Time taken {} for indexing workflow: {}", endTime - startTime, workflow.getWorkflowId());
-            Monitors.recordESIndexTime("index_workflow", WORKFLOW_DOC_TYPE, endTime - startTime);
-            Monitors.recordWorkerQueueSize("indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
+            indexWorkflowDocument(workflow);
         } catch (Exception e) {
             Monitors.error(CLASS_NAME, "indexWorkflow");
             LOGGER.error("Failed to index workflow: {}", workflow.getWorkflowId(), e);
         }
     }
 
+    /**
+     * Unlike {@link #indexWorkflow(Workflow)}, the returned future fails if the workflow could not be indexed.
+     */
     @Override
     public CompletableFuture<Void> asyncIndexWorkflow(Workflow workflow) {
-        return CompletableFuture.runAsync(() -> indexWorkflow(workflow), executorService);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executorService.execute(() -> {
+            try {
+                indexWorkflowDocument(workflow);
+                future.complete(null);
+            } catch (Exception e) {
+                Monitors.error(CLASS_NAME, "indexWorkflow");
+                LOGGER.error("Failed to index workflow: {}", workflow.getWorkflowId(), e);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private void indexWorkflowDocument(Workflow workflow) throws JsonProcessingException {
+        long startTime = Instant.now().toEpochMilli();
+        String id = workflow.getWorkflowId();
+        WorkflowSummary summary = new WorkflowSummary(workflow);
+        byte[] doc = objectMapper.writeValueAsBytes(summary);
+        String docType = StringUtils.isBlank(docTypeOverride) ? WORKFLOW_DOC_TYPE : docTypeOverride;
+
+        UpdateRequest req = buildUpdateRequest(id, doc, workflowIndexName, docType);
+        new RetryUtil<UpdateResponse>().retryOnException(
+            () -> elasticSearchClient.update(req).actionGet(),
+            null,
+            null,
+            RETRY_COUNT,
+            "Indexing workflow document: " + workflow.getWorkflowId(),
+            "indexWorkflow"
+        );
+
+        long endTime = Instant.now().toEpochMilli();
+        LOGGER.debug("Time taken {} for indexing workflow: {}", endTime - startTime, workflow.getWorkflowId());
+        Monitors.recordESIndexTime("index_workflow", WORKFLOW_DOC_TYPE, endTime - startTime);
+        Monitors.recordWorkerQueueSize("indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
     }
 
     @Override
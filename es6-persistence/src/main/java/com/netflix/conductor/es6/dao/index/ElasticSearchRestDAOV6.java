@@ -86,12 +86,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -139,9 +140,7 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
     private final RestClient elasticSearchAdminClient;
     private final ExecutorService executorService;
     private final ExecutorService logExecutorService;
-    private final ConcurrentHashMap<String, BulkRequests> bulkRequests;
-    private final int indexBatchSize;
-    private final long asyncBufferFlushTimeout;
+    private final BulkIndexer bulkIndexer;
     private final ElasticSearchProperties properties;
 
     static {
@@ -155,9 +154,8 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
         this.elasticSearchAdminClient = restClientBuilder.build();
         this.elasticSearchClient = new RestHighLevelClient(restClientBuilder);
         this.clusterHealthColor = properties.getClusterHealthColor();
-        this.bulkRequests = new ConcurrentHashMap<>();
-        this.indexBatchSize = properties.getIndexBatchSize();
-        this.asyncBufferFlushTimeout = properties.getAsyncBufferFlushTimeout().toMillis();
+        this.bulkIndexer = new BulkIndexer(properties,
+            (bulkRequest, docType) -> indexWithRetry(bulkRequest, "Bulk Indexing " + docType, docType));
         this.properties = properties;
 
         this.indexPrefix = properties.getIndexPrefix();
@@ -182,10 +180,7 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
             KEEP_ALIVE_TIME,
             TimeUnit.MINUTES,
             new LinkedBlockingQueue<>(workerQueueSize),
-            (runnable, executor) -> {
-                LOGGER.warn("Request  {} to async dao discarded in executor {}", runnable, executor);
-                Monitors.recordDiscardedIndexingCount("indexQueue");
-            });
+            callerRunsPolicy("indexQueue"));
 
         // Set up a workerpool for performing async operations for task_logs, event_executions, message
         int corePoolSize = 1;
@@ -196,13 +191,26 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
             keepAliveTime,
             TimeUnit.SECONDS,
             new LinkedBlockingQueue<>(workerQueueSize),
-            (runnable, executor) -> {
-                LOGGER.warn("Request {} to async log dao discarded in executor {}", runnable, executor);
-                Monitors.recordDiscardedIndexingCount("logQueue");
-            });
+            callerRunsPolicy("logQueue"));
+    }
 
-        Executors.newSingleThreadScheduledExecutor()
-            .scheduleAtFixedRate(this::flushBulkRequests, 60, 30, TimeUnit.SECONDS);
+    /**
+     * Runs the requests rejected by a full worker queue in the calling thread, so that the callers are slowed down to
+     * the indexing rate rather than the documents being dropped. The requests are only discarded once the pool is
+     * shut down.
+     */
+    private RejectedExecutionHandler callerRunsPolicy(String queueType) {
+        return (runnable, executor) -> {
+            if (executor.isShutdown()) {
+                LOGGER.warn("Request {} to async dao discarded in executor {}", runnable, executor);
+                Monitors.recordDiscardedIndexingCount(queueType);
+            } else {
+                LOGGER.debug("Request {} to async dao run by the calling thread, executor {} is busy", runnable,
+                    executor);
+                Monitors.recordIndexingCallerRuns(queueType);
+                runnable.run();
+            }
+        };
     }
 
     @PreDestroy
@@ -210,6 +218,7 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
         LOGGER.info("Gracefully shutdown executor service");
         shutdownExecutorService(logExecutorService);
         shutdownExecutorService(executorService);
+        bulkIndexer.shutdown();
     }
 
     private void shutdownExecutorService(ExecutorService execService) {
@@ -434,59 +443,87 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
     @Override
     public void indexWorkflow(Workflow workflow) {
         try {
-            long startTime = Instant.now().toEpochMilli();
-            String workflowId = workflow.getWorkflowId();
-            WorkflowSummary summary = new WorkflowSummary(workflow);
-            byte[] docBytes = objectMapper.writeValueAsBytes(summary);
-            String docType = StringUtils.isBlank(docTypeOverride) ? WORKFLOW_DOC_TYPE : docTypeOverride;
-
-            IndexRequest request = new IndexRequest(workflowIndexName, docType, workflowId);
-            request.source(docBytes, XContentType.JSON);
-            new RetryUtil<IndexResponse>().retryOnException(() -> {
-                try {
-                    return elasticSearchClient.index(request);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }, null, null, RETRY_COUNT, "Indexing workflow document: " + workflow.getWorkflowId(), "indexWorkflow");
-
-            long endTime = Instant.now().toEpochMilli();
-            LOGGER.debug("Time taken {} for indexing workflow: {}", endTime - startTime, workflowId);
-            Monitors.recordESIndexTime("index_workflow", WORKFLOW_DOC_TYPE, endTime - startTime);
-            Monitors.recordWorkerQueueSize("indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
+            indexWorkflowDocument(workflow);
         } catch (Exception e) {
             Monitors.error(className, "indexWorkflow");
             LOGGER.error("Failed to index workflow: {}", workflow.getWorkflowId(), e);
         }
     }
 
+    /**
+     * Unlike {@link #indexWorkflow(Workflow)}, the returned future fails if the workflow could not be indexed.
+     */
     @Override
     public CompletableFuture<Void> asyncIndexWorkflow(Workflow workflow) {
-        return CompletableFuture.runAsync(() -> indexWorkflow(workflow), executorService);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executorService.execute(() -> {
+            try {
+                indexWorkflowDocument(workflow);
+                future.complete(null);
+            } catch (Exception e) {
+                Monitors.error(className, "indexWorkflow");
+                LOGGER.error("Failed to index workflow: {}", workflow.getWorkflowId(), e);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private void indexWorkflowDocument(Workflow workflow) throws JsonProcessingException {
+        long startTime = Instant.now().toEpochMilli();
+        String workflowId = workflow.getWorkflowId();
+        WorkflowSummary summary = new WorkflowSummary(workflow);
+        byte[] docBytes = objectMapper.writeValueAsBytes(summary);
+        String docType = StringUtils.isBlank(docTypeOverride) ? WORKFLOW_DOC_TYPE : docTypeOverride;
+
+        IndexRequest request = new IndexRequest(workflowIndexName, docType, workflowId);
+        request.source(docBytes, XContentType.JSON);
+        new RetryUtil<IndexResponse>().retryOnException(() -> {
+            try {
+                return elasticSearchClient.index(request);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, null, null, RETRY_COUNT, "Indexing workflow document: " + workflow.getWorkflowId(), "indexWorkflow");
+
+        long endTime = Instant.now().toEpochMilli();
+        LOGGER.debug("Time taken {} for indexing workflow: {}", endTime - startTime, workflowId);
+        Monitors.recordESIndexTime("index_workflow", WORKFLOW_DOC_TYPE, endTime - startTime);
+        Monitors.recordWorkerQueueSize("indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
     }
 
     @Override
     public void indexTask(Task task) {
         try {
-            long startTime = Instant.now().toEpochMilli();
-            String taskId = task.getTaskId();
-            TaskSummary summary = new TaskSummary(task);
-            String docType = StringUtils.isBlank(docTypeOverride) ? TASK_DOC_TYPE : docTypeOverride;
-
-            indexObject(taskIndexName, docType, taskId, summary);
-            long endTime = Instant.now().toEpochMilli();
-            LOGGER.debug("Time taken {} for  indexing task:{} in workflow: {}", endTime - startTime, taskId,
-                task.getWorkflowInstanceId());
-            Monitors.recordESIndexTime("index_task", TASK_DOC_TYPE, endTime - startTime);
-            Monitors.recordWorkerQueueSize("indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
+            indexTaskDocument(task);
         } catch (Exception e) {
             LOGGER.error("Failed to index task: {}", task.getTaskId(), e);
         }
     }
 
+    /**
+     * The returned future completes once the bulk request holding the task is sent, and fails if the task could not be
+     * indexed.
+     */
     @Override
     public CompletableFuture<Void> asyncIndexTask(Task task) {
-        return CompletableFuture.runAsync(() -> indexTask(task), executorService);
+        return CompletableFuture.supplyAsync(() -> indexTaskDocument(task), executorService)
+            .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Void> indexTaskDocument(Task task) {
+        long startTime = Instant.now().toEpochMilli();
+        String taskId = task.getTaskId();
+        TaskSummary summary = new TaskSummary(task);
+        String docType = StringUtils.isBlank(docTypeOverride) ? TASK_DOC_TYPE : docTypeOverride;
+
+        CompletableFuture<Void> future = indexObject(taskIndexName, docType, taskId, summary);
+        long endTime = Instant.now().toEpochMilli();
+        LOGGER.debug("Time taken {} for  indexing task:{} in workflow: {}", endTime - startTime, taskId,
+            task.getWorkflowInstanceId());
+        Monitors.recordESIndexTime("index_task", TASK_DOC_TYPE, endTime - startTime);
+        Monitors.recordWorkerQueueSize("indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
+        return future;
     }
 
     @Override
@@ -892,37 +929,25 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
         indexObject(index, docType, null, doc);
     }
 
-    private void indexObject(final String index, final String docType, final String docId, final Object doc) {
+    /**
+     * @return a future which completes once the document is indexed, or fails if it could not be
+     */
+    private CompletableFuture<Void> indexObject(final String index, final String docType, final String docId,
+        final Object doc) {
 
         byte[] docBytes;
         try {
             docBytes = objectMapper.writeValueAsBytes(doc);
         } catch (JsonProcessingException e) {
             LOGGER.error("Failed to convert {} '{}' to byte string", docType, docId);
-            return;
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
         }
 
         IndexRequest request = new IndexRequest(index, docType, docId);
         request.source(docBytes, XContentType.JSON);
-
-        if (bulkRequests.get(docType) == null) {
-            bulkRequests.put(docType, new BulkRequests(System.currentTimeMillis(), new BulkRequest()));
-        }
-
-        bulkRequests.get(docType).getBulkRequest().add(request);
-        if (bulkRequests.get(docType).getBulkRequest().numberOfActions() >= this.indexBatchSize) {
-            indexBulkRequest(docType);
-        }
-    }
-
-    private synchronized void indexBulkRequest(String docType) {
-        if (bulkRequests.get(docType).getBulkRequest() != null
-            && bulkRequests.get(docType).getBulkRequest().numberOfActions() > 0) {
-            synchronized (bulkRequests.get(docType).getBulkRequest()) {
-                indexWithRetry(bulkRequests.get(docType).getBulkRequest().get(), "Bulk Indexing " + docType, docType);
-                bulkRequests.put(docType, new BulkRequests(System.currentTimeMillis(), new BulkRequest()));
-            }
-        }
+        return bulkIndexer.add(docType, request);
     }
 
     /**
@@ -930,11 +955,12 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
      *
      * @param request              The index request that we want to perform.
      * @param operationDescription The type of operation that we are performing.
+     * @return the response of the bulk request, whose items may have failed
      */
-    private void indexWithRetry(final BulkRequest request, final String operationDescription, String docType) {
+    private BulkResponse indexWithRetry(final BulkRequest request, final String operationDescription, String docType) {
         try {
             long startTime = Instant.now().toEpochMilli();
-            new RetryUtil<BulkResponse>().retryOnException(() -> {
+            BulkResponse response = new RetryUtil<BulkResponse>().retryOnException(() -> {
                 try {
                     return elasticSearchClient.bulk(request);
                 } catch (IOException e) {
@@ -946,46 +972,16 @@ public class ElasticSearchRestDAOV6 extends ElasticSearchBaseDAO implements Inde
             Monitors.recordESIndexTime("index_object", docType, endTime - startTime);
             Monitors.recordWorkerQueueSize("indexQueue", ((ThreadPoolExecutor) executorService).getQueue().size());
             Monitors.recordWorkerQueueSize("logQueue", ((ThreadPoolExecutor) logExecutorService).getQueue().size());
+            if (response.hasFailures()) {
+                Monitors.error(className, "index");
+                LOGGER.error("Failed to index some documents for request type: {}: {}", docType,
+                    response.buildFailureMessage());
+            }
+            return response;
         } catch (Exception e) {
             Monitors.error(className, "index");
             LOGGER.error("Failed to index {} for request type: {}", request, docType, e);
-        }
-    }
-
-    /**
-     * Flush the buffers if bulk requests have not been indexed for the past {@link
-     * ElasticSearchProperties#getAsyncBufferFlushTimeout()} seconds. This is to prevent data loss in case the
-     * instance is terminated, while the buffer still holds documents to be indexed.
-     */
-    private void flushBulkRequests() {
-        bulkRequests.entrySet().stream()
-            .filter(entry ->
-                (System.currentTimeMillis() - entry.getValue().getLastFlushTime()) >= asyncBufferFlushTimeout)
-            .filter(entry -> entry.getValue().getBulkRequest() != null
-                && entry.getValue().getBulkRequest().numberOfActions() > 0)
-            .forEach(entry -> {
-                LOGGER.debug("Flushing bulk request buffer for type {}, size: {}", entry.getKey(),
-                    entry.getValue().getBulkRequest().numberOfActions());
-                indexBulkRequest(entry.getKey());
-            });
-    }
-
-    private static class BulkRequests {
-
-        private final long lastFlushTime;
-        private final BulkRequestWrapper bulkRequest;
-
-        long getLastFlushTime() {
-            return lastFlushTime;
-        }
-
-        BulkRequestWrapper getBulkRequest() {
-            return bulkRequest;
-        }
-
-        BulkRequests(long lastFlushTime, BulkRequest bulkRequest) {
-            this.lastFlushTime = lastFlushTime;
-            this.bulkRequest = new BulkRequestWrapper(bulkRequest);
+            throw e;
         }
     }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.es6.dao.index;
+
+import com.netflix.conductor.es6.config.ElasticSearchProperties;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkIndexerTest {
+
+    private static final String DOC_TYPE = "task";
+
+    private final ElasticSearchProperties properties = new ElasticSearchProperties();
+    private final List<BulkRequest> sent = new CopyOnWriteArrayList<>();
+    private BulkIndexer bulkIndexer;
+
+    @Before
+    public void setUp() {
+        properties.setIndexBatchSize(3);
+        properties.setAsyncBufferFlushTimeout(Duration.ofHours(1));
+    }
+
+    @After
+    public void tearDown() {
+        bulkIndexer.shutdown();
+    }
+
+    @Test
+    public void testBatchIsSentWhenFull() {
+        bulkIndexer = new BulkIndexer(properties, (bulkRequest, docType) -> send(bulkRequest));
+
+        bulkIndexer.add(DOC_TYPE, request("{}"));
+        bulkIndexer.add(DOC_TYPE, request("{}"));
+        assertTrue(sent.isEmpty());
+        assertEquals(2, bulkIndexer.size(DOC_TYPE));
+
+        bulkIndexer.add(DOC_TYPE, request("{}"));
+        assertEquals(1, sent.size());
+        assertEquals(3, sent.get(0).numberOfActions());
+        assertEquals(0, bulkIndexer.size(DOC_TYPE));
+    }
+
+    @Test
+    public void testBatchIsSentWhenMaxSizeIsReached() {
+        properties.setIndexBatchMaxSize(DataSize.ofBytes(20));
+        bulkIndexer = new BulkIndexer(properties, (bulkRequest, docType) -> send(bulkRequest));
+
+        bulkIndexer.add(DOC_TYPE, request("{\"key\":\"value\"}"));
+        assertTrue(sent.isEmpty());
+
+        bulkIndexer.add(DOC_TYPE, request("{\"key\":\"value\"}"));
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).numberOfActions());
+    }
+
+    @Test
+    public void testExpiredBuffersAreFlushed() throws Exception {
+        properties.setAsyncBufferFlushTimeout(Duration.ofMillis(10));
+        bulkIndexer = new BulkIndexer(properties, (bulkRequest, docType) -> send(bulkRequest));
+
+        bulkIndexer.add(DOC_TYPE, request("{}"));
+        Thread.sleep(20);
+        bulkIndexer.flushExpiredBuffers();
+
+        assertEquals(1, sent.stream().mapToInt(BulkRequest::numberOfActions).sum());
+        assertEquals(0, bulkIndexer.size(DOC_TYPE));
+    }
+
+    @Test
+    public void testDocumentsAreNotDroppedWhenBufferIsFull() throws Exception {
+        properties.setIndexBatchSize(1);
+        properties.setIndexBufferSize(1);
+        properties.setIndexMaxInFlightBulkRequests(1);
+        properties.setIndexBufferFullTimeout(Duration.ofMillis(50));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch cluster = new CountDownLatch(1);
+        bulkIndexer = new BulkIndexer(properties, (bulkRequest, docType) -> {
+            sending.countDown();
+            try {
+                // the cluster is slow to index the first batch
+                cluster.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return send(bulkRequest);
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            executorService.submit(() -> bulkIndexer.add(DOC_TYPE, request("{}")));
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            executorService.submit(() -> bulkIndexer.add(DOC_TYPE, request("{}")));
+            executorService.submit(() -> bulkIndexer.add(DOC_TYPE, request("{}")));
+            Thread.sleep(100);
+            cluster.countDown();
+        } finally {
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        bulkIndexer.shutdown();
+
+        assertEquals(3, sent.stream().mapToInt(BulkRequest::numberOfActions).sum());
+    }
+
+    @Test
+    public void testFuturesCompleteWithTheirDocuments() {
+        bulkIndexer = new BulkIndexer(properties, (bulkRequest, docType) -> {
+            sent.add(bulkRequest);
+            BulkItemResponse[] items = new BulkItemResponse[bulkRequest.numberOfActions()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = i == 1
+                    ? new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new BulkItemResponse.Failure("index",
+                    DOC_TYPE, "id" + i, new IllegalStateException("mapping conflict")))
+                    : new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, (DocWriteResponse) null);
+            }
+            return new BulkResponse(items, 0);
+        });
+
+        CompletableFuture<Void> first = bulkIndexer.add(DOC_TYPE, request("{}"));
+        CompletableFuture<Void> second = bulkIndexer.add(DOC_TYPE, request("{}"));
+        assertFalse(first.isDone());
+
+        CompletableFuture<Void> third = bulkIndexer.add(DOC_TYPE, request("{}"));
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(third.isDone() && !third.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testFuturesFailWhenBulkRequestFails() {
+        properties.setIndexBatchSize(1);
+        bulkIndexer = new BulkIndexer(properties, (bulkRequest, docType) -> {
+            throw new IllegalStateException("cluster unavailable");
+        });
+
+        CompletableFuture<Void> future = bulkIndexer.add(DOC_TYPE, request("{}"));
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    private BulkResponse send(BulkRequest bulkRequest) {
+        sent.add(bulkRequest);
+        BulkItemResponse[] items = new BulkItemResponse[bulkRequest.numberOfActions()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, (DocWriteResponse) null);
+        }
+        return new BulkResponse(items, 0);
+    }
+
+    private IndexRequest request(String source) {
+        return new IndexRequest("index", DOC_TYPE).source(source.getBytes(StandardCharsets.UTF_8), XContentType.JSON);
+    }
+}
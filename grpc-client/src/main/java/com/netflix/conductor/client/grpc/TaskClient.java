@@ -18,12 +18,14 @@ import com.google.common.collect.Lists;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.grpc.SearchPb;
 import com.netflix.conductor.grpc.TaskServiceGrpc;
 import com.netflix.conductor.grpc.TaskServicePb;
 import com.netflix.conductor.proto.TaskPb;
+import io.grpc.stub.StreamObserver;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nullable;
@@ -34,10 +36,12 @@ import java.util.stream.Collectors;
 public class TaskClient extends ClientBase {
 
     private final TaskServiceGrpc.TaskServiceBlockingStub stub;
+    private final TaskServiceGrpc.TaskServiceStub asyncStub;
 
     public TaskClient(String address, int port) {
         super(address, port);
         this.stub = TaskServiceGrpc.newBlockingStub(this.channel);
+        this.asyncStub = TaskServiceGrpc.newStub(this.channel);
     }
 
     /**
@@ -119,6 +123,39 @@ public class TaskClient extends ClientBase {
         );
     }
 
+    /**
+     * Opens a stream through which the server pushes tasks as long as the worker grants credits for them, and the
+     * worker sends their results. See {@link TaskStreamRunner} to execute the tasks of a stream.
+     *
+     * @param responses receives the tasks pushed by the server and the acknowledgements of the results
+     * @return the stream on which to subscribe to a task type, grant credits and send results
+     */
+    public StreamObserver<TaskServicePb.StreamTasksRequest> streamTasks(
+        StreamObserver<TaskServicePb.StreamTasksResponse> responses) {
+        Preconditions.checkNotNull(responses, "Response observer cannot be null");
+        return asyncStub.streamTasks(responses);
+    }
+
+    /**
+     * Updates the results of a batch of task executions. The results of the tasks of a workflow are applied together
+     * and the workflow is evaluated once.
+     *
+     * @param taskResults TaskResults to be updated.
+     * @return the ids of the tasks whose result was applied, or ignored as they or their workflow had already
+     * finished, and the errors of the other results by task id
+     */
+    public BulkResponse updateTasks(List<TaskResult> taskResults) {
+        Preconditions.checkArgument(taskResults != null && !taskResults.isEmpty(),
+            "Task results cannot be null or empty");
+        TaskServicePb.UpdateTasksRequest.Builder request = TaskServicePb.UpdateTasksRequest.newBuilder();
+        taskResults.forEach(taskResult -> request.addResults(protoMapper.toProto(taskResult)));
+        TaskServicePb.UpdateTasksResponse response = stub.updateTasks(request.build());
+        BulkResponse bulkResponse = new BulkResponse();
+        response.getTaskIdsList().forEach(bulkResponse::appendSuccessResponse);
+        response.getErrorsMap().forEach(bulkResponse::appendFailedResponse);
+        return bulkResponse;
+    }
+
     /**
      * Log execution messages for a task.
      *
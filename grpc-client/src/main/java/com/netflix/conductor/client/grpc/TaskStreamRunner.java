@@ -0,0 +1,375 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.grpc;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.utils.RetryUtil;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.TaskServicePb.StreamTasksRequest;
+import com.netflix.conductor.grpc.TaskServicePb.StreamTasksResponse;
+import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Executes the tasks of a type pushed by the server through a StreamTasks call, instead of polling for them.
+ * <p>
+ * The runner grants the server a credit for each of its free threads, and one more each time a thread completes a
+ * task, so the server pushes tasks only as fast as they are executed. The results are sent on the same stream, and
+ * held until the server acknowledges them. The results the server fails to update, and those still unacknowledged
+ * when the stream fails, are sent again with {@link TaskClient#updateTask(TaskResult)}. When the stream fails, the
+ * runner opens a new one after a delay, and the results of the tasks completed in the meantime are sent with
+ * {@link TaskClient#updateTask(TaskResult)} as well.
+ */
+public class TaskStreamRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStreamRunner.class);
+    private static final ProtoMapper PROTO_MAPPER = ProtoMapper.INSTANCE;
+
+    private static final long RECONNECT_DELAY_MS = 1000;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final int UPDATE_RETRY_COUNT = 3;
+
+    private final TaskClient taskClient;
+    private final String taskType;
+    private final String workerId;
+    private final String domain;
+    private final int threadCount;
+    private final Function<Task, TaskResult> executor;
+
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService reconnectExecutorService;
+    private final ExecutorService updateExecutorService;
+    private final AtomicInteger tasksInProgress = new AtomicInteger();
+
+    private volatile Responses current;
+    private volatile boolean running;
+
+    /**
+     * @param domain      the domain of the tasks, or null
+     * @param threadCount the number of tasks executed at once
+     * @param executor    executes a task and returns its result
+     */
+    public TaskStreamRunner(TaskClient taskClient, String taskType, String workerId, String domain, int threadCount,
+        Function<Task, TaskResult> executor) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(taskType), "Task type cannot be blank");
+        Preconditions.checkArgument(StringUtils.isNotBlank(workerId), "Worker id cannot be blank");
+        Preconditions.checkArgument(threadCount > 0, "No. of threads must be greater than 0");
+        this.taskClient = taskClient;
+        this.taskType = taskType;
+        this.workerId = workerId;
+        this.domain = domain;
+        this.threadCount = threadCount;
+        this.executor = executor;
+        this.executorService = Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder()
+            .setNameFormat("task-stream-worker-" + taskType + "-%d")
+            .build());
+        this.reconnectExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("task-stream-reconnect-" + taskType)
+            .setDaemon(true)
+            .build());
+        this.updateExecutorService = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("task-stream-update-" + taskType)
+            .build());
+    }
+
+    /**
+     * Opens the stream and starts executing the tasks pushed by the server.
+     */
+    public synchronized void start() {
+        Preconditions.checkState(!running, "The runner is already started");
+        running = true;
+        connect();
+    }
+
+    /**
+     * Closes the stream, and waits for the tasks in progress to be executed and their results sent.
+     */
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Responses responses = current;
+        current = null;
+        StreamObserver<StreamTasksRequest> stream = responses != null ? responses.stream : null;
+        if (stream != null) {
+            synchronized (stream) {
+                stream.onCompleted();
+            }
+        }
+        reconnectExecutorService.shutdownNow();
+        executorService.shutdown();
+        if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("Forcing shutdown of the task stream runner of {} with {} tasks in progress", taskType,
+                tasksInProgress.get());
+            executorService.shutdownNow();
+        }
+        if (responses != null && !responses.awaitClosed(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            // the results not acknowledged by then are sent again
+            responses.close();
+        }
+        updateExecutorService.shutdown();
+        if (!updateExecutorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("Forcing shutdown of the task stream runner of {} with task results not sent", taskType);
+            updateExecutorService.shutdownNow();
+        }
+    }
+
+    private synchronized void connect() {
+        if (!running) {
+            return;
+        }
+        // the stream may fail before it is returned, its responses observe it once it is
+        Responses responses = new Responses();
+        StreamObserver<StreamTasksRequest> stream = taskClient.streamTasks(responses);
+        current = responses;
+        if (!responses.open(stream)) {
+            reconnect(responses);
+            return;
+        }
+
+        StreamTasksRequest.Subscribe.Builder subscribe = StreamTasksRequest.Subscribe.newBuilder()
+            .setTaskType(taskType)
+            .setWorkerId(workerId);
+        if (domain != null) {
+            subscribe.setDomain(domain);
+        }
+        synchronized (stream) {
+            stream.onNext(StreamTasksRequest.newBuilder().setSubscribe(subscribe).build());
+            // the tasks still in progress on a previous stream grant their credit once they are completed
+            int credits = threadCount - tasksInProgress.get();
+            if (credits > 0) {
+                stream.onNext(StreamTasksRequest.newBuilder().setCredits(credits).build());
+            }
+        }
+        LOGGER.info("Opened the task stream of {} for worker {}", taskType, workerId);
+    }
+
+    private void reconnect(Responses responses) {
+        synchronized (this) {
+            if (current != responses) {
+                return;
+            }
+            current = null;
+        }
+        if (running) {
+            LOGGER.info("Reopening the task stream of {} in {} ms", taskType, RECONNECT_DELAY_MS);
+            reconnectExecutorService.schedule(this::connect, RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void execute(Task task) {
+        tasksInProgress.incrementAndGet();
+        executorService.execute(() -> {
+            try {
+                TaskResult result;
+                try {
+                    result = executor.apply(task);
+                    result.setWorkflowInstanceId(task.getWorkflowInstanceId());
+                    result.setTaskId(task.getTaskId());
+                    result.setWorkerId(workerId);
+                } catch (Throwable t) {
+                    LOGGER.error("Unable to execute task: {} of type: {}", task.getTaskId(), taskType, t);
+                    result = failedResult(task, t);
+                }
+                sendResult(result);
+            } finally {
+                // counted until its credit is granted, for a new stream not to grant it as well
+                tasksInProgress.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Sends the result of a task on the stream along with a credit for the thread it frees, or through a unary call
+     * when the stream is closed.
+     */
+    private void sendResult(TaskResult result) {
+        Responses responses = current;
+        if (responses != null && responses.track(result)) {
+            try {
+                synchronized (responses.stream) {
+                    responses.stream.onNext(StreamTasksRequest.newBuilder()
+                        .setResult(PROTO_MAPPER.toProto(result))
+                        .build());
+                    responses.stream.onNext(StreamTasksRequest.newBuilder().setCredits(1).build());
+                }
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to send the result of task: {} on the task stream", result.getTaskId(), e);
+                if (!responses.untrack(result)) {
+                    // the stream was closed meanwhile, and sends the result again
+                    return;
+                }
+            }
+        }
+        updateTaskWithRetry(result);
+    }
+
+    private void updateTaskWithRetry(TaskResult result) {
+        String updateTaskDesc = String.format("Retry updating task result: %s for task: %s of type: %s", result,
+            result.getTaskId(), taskType);
+        try {
+            new RetryUtil<>().retryOnException(() -> {
+                taskClient.updateTask(result);
+                return null;
+            }, null, null, UPDATE_RETRY_COUNT, updateTaskDesc, "updateTaskWithRetry");
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to update result: {} for task: {} of type: {}", result, result.getTaskId(),
+                taskType, e);
+        }
+    }
+
+    /**
+     * Sends results again through unary calls, without holding the thread which receives the responses.
+     */
+    private void resend(Collection<TaskResult> results) {
+        for (TaskResult result : results) {
+            try {
+                updateExecutorService.execute(() -> updateTaskWithRetry(result));
+            } catch (RejectedExecutionException e) {
+                updateTaskWithRetry(result);
+            }
+        }
+    }
+
+    private TaskResult failedResult(Task task, Throwable t) {
+        TaskResult result = new TaskResult(task);
+        result.setWorkerId(workerId);
+        result.setStatus(TaskResult.Status.FAILED);
+        result.setReasonForIncompletion("Error while executing the task: " + t);
+        StringWriter stringWriter = new StringWriter();
+        t.printStackTrace(new PrintWriter(stringWriter));
+        result.log(stringWriter.toString());
+        return result;
+    }
+
+    /**
+     * Observes the responses of a stream, and holds the results sent on it until they are acknowledged.
+     */
+    private class Responses implements StreamObserver<StreamTasksResponse> {
+
+        private final Map<String, TaskResult> unackedResults = new ConcurrentHashMap<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile StreamObserver<StreamTasksRequest> stream;
+        private boolean terminated;
+
+        /**
+         * @return false if the stream already terminated
+         */
+        synchronized boolean open(StreamObserver<StreamTasksRequest> stream) {
+            this.stream = stream;
+            return !terminated;
+        }
+
+        /**
+         * Holds a result about to be sent on the stream.
+         *
+         * @return false if the stream is not open or already closed
+         */
+        synchronized boolean track(TaskResult result) {
+            if (stream == null || terminated) {
+                return false;
+            }
+            unackedResults.put(result.getTaskId(), result);
+            return true;
+        }
+
+        /**
+         * @return false if the stream is closed, in which case the result was sent again
+         */
+        synchronized boolean untrack(TaskResult result) {
+            return unackedResults.remove(result.getTaskId()) != null || !terminated;
+        }
+
+        boolean awaitClosed(long timeout, TimeUnit unit) throws InterruptedException {
+            return closed.await(timeout, unit);
+        }
+
+        /**
+         * Sends the unacknowledged results again once the stream terminates.
+         */
+        void close() {
+            List<TaskResult> results;
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+                results = new ArrayList<>(unackedResults.values());
+                unackedResults.clear();
+            }
+            if (!results.isEmpty()) {
+                LOGGER.warn("Sending again {} results of {} not acknowledged on the task stream", results.size(),
+                    taskType);
+                resend(results);
+            }
+            closed.countDown();
+        }
+
+        @Override
+        public void onNext(StreamTasksResponse response) {
+            switch (response.getResponseCase()) {
+                case TASK:
+                    execute(PROTO_MAPPER.fromProto(response.getTask()));
+                    break;
+                case RESULT_ACK:
+                    StreamTasksResponse.ResultAck ack = response.getResultAck();
+                    TaskResult result = unackedResults.remove(ack.getTaskId());
+                    if (StringUtils.isNotEmpty(ack.getError())) {
+                        LOGGER.warn("Failed to update task: {} of type: {} on the task stream: {}", ack.getTaskId(),
+                            taskType, ack.getError());
+                        if (result != null) {
+                            resend(Collections.singletonList(result));
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            LOGGER.warn("The task stream of {} failed", taskType, t);
+            close();
+            reconnect(this);
+        }
+
+        @Override
+        public void onCompleted() {
+            LOGGER.info("The task stream of {} was closed by the server", taskType);
+            close();
+            reconnect(this);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.grpc;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.TaskServicePb.StreamTasksRequest;
+import com.netflix.conductor.grpc.TaskServicePb.StreamTasksResponse;
+import io.grpc.stub.StreamObserver;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskStreamRunnerTest {
+
+    private TaskClient taskClient;
+    private final BlockingQueue<StreamTasksRequest> requests = new LinkedBlockingQueue<>();
+    private final AtomicReference<StreamObserver<StreamTasksResponse>> responses = new AtomicReference<>();
+    private final AtomicInteger immediateFailures = new AtomicInteger();
+
+    @Before
+    public void init() {
+        taskClient = mock(TaskClient.class);
+        when(taskClient.streamTasks(any())).thenAnswer(invocation -> {
+            StreamObserver<StreamTasksResponse> observer = invocation.getArgument(0);
+            responses.set(observer);
+            if (immediateFailures.getAndDecrement() > 0) {
+                observer.onError(new IllegalStateException("stream failed"));
+            }
+            return new StreamObserver<StreamTasksRequest>() {
+                @Override
+                public void onNext(StreamTasksRequest value) {
+                    requests.add(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    // the server completes the stream once the worker does
+                    observer.onCompleted();
+                }
+            };
+        });
+    }
+
+    @Test
+    public void testTasksAreExecutedForCredits() throws Exception {
+        TaskStreamRunner runner = new TaskStreamRunner(taskClient, "test", "worker", null, 2, task -> {
+            TaskResult result = new TaskResult();
+            result.setStatus(TaskResult.Status.COMPLETED);
+            return result;
+        });
+        runner.start();
+
+        StreamTasksRequest subscribe = requests.poll(5, TimeUnit.SECONDS);
+        assertEquals("test", subscribe.getSubscribe().getTaskType());
+        assertEquals("worker", subscribe.getSubscribe().getWorkerId());
+        assertEquals(2, requests.poll(5, TimeUnit.SECONDS).getCredits());
+
+        Task task = new Task();
+        task.setTaskId("task_id");
+        task.setWorkflowInstanceId("workflow_id");
+        task.setTaskType("test");
+        responses.get().onNext(StreamTasksResponse.newBuilder()
+            .setTask(ProtoMapper.INSTANCE.toProto(task))
+            .build());
+
+        // the result is sent on the stream, with a credit for the thread it frees
+        StreamTasksRequest result = requests.poll(5, TimeUnit.SECONDS);
+        assertEquals("task_id", result.getResult().getTaskId());
+        assertEquals("workflow_id", result.getResult().getWorkflowInstanceId());
+        assertEquals("worker", result.getResult().getWorkerId());
+        assertEquals(1, requests.poll(5, TimeUnit.SECONDS).getCredits());
+
+        responses.get().onNext(StreamTasksResponse.newBuilder()
+            .setResultAck(StreamTasksResponse.ResultAck.newBuilder().setTaskId("task_id"))
+            .build());
+        runner.shutdown();
+        verify(taskClient, never()).updateTask(any());
+    }
+
+    @Test
+    public void testStreamIsReopenedAfterFailure() throws Exception {
+        TaskStreamRunner runner = new TaskStreamRunner(taskClient, "test", "worker", "domain", 1,
+            task -> new TaskResult());
+        runner.start();
+        assertEquals("domain", requests.poll(5, TimeUnit.SECONDS).getSubscribe().getDomain());
+        assertEquals(1, requests.poll(5, TimeUnit.SECONDS).getCredits());
+
+        responses.get().onError(new IllegalStateException("stream failed"));
+
+        assertEquals("domain", requests.poll(5, TimeUnit.SECONDS).getSubscribe().getDomain());
+        assertEquals(1, requests.poll(5, TimeUnit.SECONDS).getCredits());
+
+        runner.shutdown();
+    }
+
+    @Test
+    public void testStreamIsReopenedAfterImmediateFailure() throws Exception {
+        immediateFailures.set(1);
+        TaskStreamRunner runner = new TaskStreamRunner(taskClient, "test", "worker", null, 1,
+            task -> new TaskResult());
+        runner.start();
+
+        assertEquals("test", requests.poll(5, TimeUnit.SECONDS).getSubscribe().getTaskType());
+        assertEquals(1, requests.poll(5, TimeUnit.SECONDS).getCredits());
+        verify(taskClient, times(2)).streamTasks(any());
+
+        runner.shutdown();
+    }
+
+    @Test
+    public void testUnackedResultsAreSentAgainAfterFailure() throws Exception {
+        TaskStreamRunner runner = new TaskStreamRunner(taskClient, "test", "worker", null, 1,
+            task -> new TaskResult());
+        runner.start();
+        requests.poll(5, TimeUnit.SECONDS);
+        requests.poll(5, TimeUnit.SECONDS);
+
+        responses.get().onNext(StreamTasksResponse.newBuilder()
+            .setTask(ProtoMapper.INSTANCE.toProto(task("task_id")))
+            .build());
+        assertEquals("task_id", requests.poll(5, TimeUnit.SECONDS).getResult().getTaskId());
+        verify(taskClient, never()).updateTask(any());
+
+        responses.get().onError(new IllegalStateException("stream failed"));
+
+        verify(taskClient, timeout(5000)).updateTask(argThat(result -> "task_id".equals(result.getTaskId())));
+        runner.shutdown();
+    }
+
+    @Test
+    public void testFailedResultsAreSentAgain() throws Exception {
+        TaskStreamRunner runner = new TaskStreamRunner(taskClient, "test", "worker", null, 1,
+            task -> new TaskResult());
+        runner.start();
+        requests.poll(5, TimeUnit.SECONDS);
+        requests.poll(5, TimeUnit.SECONDS);
+
+        responses.get().onNext(StreamTasksResponse.newBuilder()
+            .setTask(ProtoMapper.INSTANCE.toProto(task("task_id")))
+            .build());
+        assertEquals("task_id", requests.poll(5, TimeUnit.SECONDS).getResult().getTaskId());
+
+        responses.get().onNext(StreamTasksResponse.newBuilder()
+            .setResultAck(StreamTasksResponse.ResultAck.newBuilder().setTaskId("task_id").setError("failed"))
+            .build());
+
+        verify(taskClient, timeout(5000)).updateTask(argThat(result -> "task_id".equals(result.getTaskId())));
+        runner.shutdown();
+        verify(taskClient, times(1)).updateTask(any());
+    }
+
+    private Task task(String taskId) {
+        Task task = new Task();
+        task.setTaskId(taskId);
+        task.setWorkflowInstanceId("workflow_id");
+        task.setTaskType("test");
+        return task;
+    }
+}
@@ -15,6 +15,7 @@ package com.netflix.conductor.grpc.server.service;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.grpc.ProtoMapper;
@@ -26,13 +27,19 @@ import com.netflix.conductor.service.ExecutionService;
 import com.netflix.conductor.service.TaskService;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service("grpcTaskService")
 public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
@@ -48,11 +55,30 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
     private final int maxSearchSize;
     private final ExecutionService executionService;
 
+    /**
+     * Long polls the tasks of the StreamTasks calls while their workers have credits. Each polling stream holds a
+     * thread, and the streams which find none available fail with UNAVAILABLE, for their workers to reconnect later.
+     */
+    private final ThreadPoolExecutor taskStreamPollExecutor;
+
     public TaskServiceImpl(ExecutionService executionService, TaskService taskService,
-                           @Value("${workflow.max.search.size:5000}") int maxSearchSize) {
+                           @Value("${workflow.max.search.size:5000}") int maxSearchSize,
+                           @Value("${conductor.grpc-server.taskStreamThreadCount:100}") int taskStreamThreadCount) {
         this.executionService = executionService;
         this.taskService = taskService;
         this.maxSearchSize = maxSearchSize;
+        this.taskStreamPollExecutor = new ThreadPoolExecutor(taskStreamThreadCount, taskStreamThreadCount,
+            60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new BasicThreadFactory.Builder()
+                .namingPattern("grpc-task-stream-poller-%d")
+                .daemon(true)
+                .build());
+        this.taskStreamPollExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        taskStreamPollExecutor.shutdownNow();
     }
 
     @Override
@@ -115,6 +141,33 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
         }
     }
 
+    @Override
+    public void updateTasks(TaskServicePb.UpdateTasksRequest req,
+        StreamObserver<TaskServicePb.UpdateTasksResponse> response) {
+        try {
+            List<TaskResult> taskResults = req.getResultsList().stream()
+                .map(PROTO_MAPPER::fromProto)
+                .collect(Collectors.toList());
+            BulkResponse bulkResponse = taskService.updateTasks(taskResults);
+
+            response.onNext(
+                TaskServicePb.UpdateTasksResponse.newBuilder()
+                    .addAllTaskIds(bulkResponse.getBulkSuccessfulResults())
+                    .putAllErrors(bulkResponse.getBulkErrorResults())
+                    .build()
+            );
+            response.onCompleted();
+        } catch (Exception e) {
+            GRPC_HELPER.onError(response, e);
+        }
+    }
+
+    @Override
+    public StreamObserver<TaskServicePb.StreamTasksRequest> streamTasks(
+        StreamObserver<TaskServicePb.StreamTasksResponse> response) {
+        return new TaskStream(executionService, taskService, response, taskStreamPollExecutor);
+    }
+
     @Override
     public void addLog(TaskServicePb.AddLogRequest req, StreamObserver<TaskServicePb.AddLogResponse> response) {
         taskService.log(req.getTaskId(), req.getLog());
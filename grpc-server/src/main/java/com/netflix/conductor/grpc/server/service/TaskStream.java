@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.grpc.server.service;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.TaskServicePb.StreamTasksRequest;
+import com.netflix.conductor.grpc.TaskServicePb.StreamTasksResponse;
+import com.netflix.conductor.service.ExecutionService;
+import com.netflix.conductor.service.TaskService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A StreamTasks call, which pushes the tasks of a type to a worker as long as it has credits for them, and applies the
+ * results sent by the worker.
+ * <p>
+ * While the worker has credits, the queue of the task type is long polled on the given executor, and the tasks are
+ * pushed when a long poll returns them, as they would be to a worker polling itself. Each task pushed uses a credit,
+ * and the polling stops when none is left until the worker grants more. The stream fails with UNAVAILABLE when the
+ * executor rejects its polling. The tasks popped while the stream is closed are retried once their response timeout
+ * elapses, as those of a worker which stopped.
+ */
+class TaskStream implements StreamObserver<StreamTasksRequest> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStream.class);
+    private static final ProtoMapper PROTO_MAPPER = ProtoMapper.INSTANCE;
+
+    static final int POLL_TIMEOUT_MS = 1000;
+    static final int MAX_POLL_COUNT = 100;
+
+    private final ExecutionService executionService;
+    private final TaskService taskService;
+    private final StreamObserver<StreamTasksResponse> response;
+    private final Executor pollExecutor;
+
+    private final AtomicInteger credits = new AtomicInteger();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile StreamTasksRequest.Subscribe subscription;
+    private volatile boolean closed;
+
+    TaskStream(ExecutionService executionService, TaskService taskService,
+        StreamObserver<StreamTasksResponse> response, Executor pollExecutor) {
+        this.executionService = executionService;
+        this.taskService = taskService;
+        this.response = response;
+        this.pollExecutor = pollExecutor;
+    }
+
+    @Override
+    public void onNext(StreamTasksRequest request) {
+        switch (request.getRequestCase()) {
+            case SUBSCRIBE:
+                subscribe(request.getSubscribe());
+                break;
+            case CREDITS:
+                grant(request.getCredits());
+                break;
+            case RESULT:
+                update(PROTO_MAPPER.fromProto(request.getResult()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        LOGGER.debug("Task stream of {} closed by the worker", subscription, t);
+        closed = true;
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (response) {
+            if (!closed) {
+                closed = true;
+                response.onCompleted();
+            }
+        }
+    }
+
+    private void subscribe(StreamTasksRequest.Subscribe subscribe) {
+        if (subscription != null) {
+            fail(Status.FAILED_PRECONDITION.withDescription("The stream is already subscribed to "
+                + subscription.getTaskType()));
+        } else if (StringUtils.isBlank(subscribe.getTaskType())) {
+            fail(Status.INVALID_ARGUMENT.withDescription("Task type cannot be blank"));
+        } else {
+            subscription = subscribe;
+            LOGGER.debug("Task stream subscribed to {} by worker {}", subscribe.getTaskType(),
+                subscribe.getWorkerId());
+            poll();
+        }
+    }
+
+    private void grant(int granted) {
+        if (granted <= 0) {
+            fail(Status.INVALID_ARGUMENT.withDescription("Credits must be positive"));
+            return;
+        }
+        credits.addAndGet(granted);
+        poll();
+    }
+
+    private void update(TaskResult taskResult) {
+        StreamTasksResponse.ResultAck.Builder ack = StreamTasksResponse.ResultAck.newBuilder()
+            .setTaskId(taskResult.getTaskId());
+        try {
+            taskService.updateTask(taskResult);
+        } catch (Exception e) {
+            LOGGER.error("Error updating task: {}", taskResult.getTaskId(), e);
+            ack.setError(StringUtils.defaultString(e.getMessage(), e.getClass().getSimpleName()));
+        }
+        send(StreamTasksResponse.newBuilder().setResultAck(ack).build());
+    }
+
+    /**
+     * Starts polling the tasks of the subscription on the executor, unless it is already polling or the worker has no
+     * credits left.
+     */
+    private void poll() {
+        if (!closed && subscription != null && credits.get() > 0 && polling.compareAndSet(false, true)) {
+            try {
+                pollExecutor.execute(this::pollAndPush);
+            } catch (RuntimeException e) {
+                polling.set(false);
+                fail(Status.UNAVAILABLE.withDescription("Unable to poll tasks").withCause(e));
+            }
+        }
+    }
+
+    private void pollAndPush() {
+        try {
+            StreamTasksRequest.Subscribe subscribe = subscription;
+            List<Task> tasks = executionService.poll(subscribe.getTaskType(), subscribe.getWorkerId(),
+                StringUtils.defaultIfBlank(subscribe.getDomain(), null), Math.min(credits.get(), MAX_POLL_COUNT),
+                POLL_TIMEOUT_MS);
+            for (Task task : tasks) {
+                credits.decrementAndGet();
+                send(StreamTasksResponse.newBuilder().setTask(PROTO_MAPPER.toProto(task)).build());
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error polling tasks for the task stream of {}", subscription, e);
+            fail(Status.INTERNAL.withDescription("Error polling tasks: " + e.getMessage()).withCause(e));
+        } finally {
+            polling.set(false);
+        }
+        // polls again as long as the worker has credits
+        poll();
+    }
+
+    private void send(StreamTasksResponse streamTasksResponse) {
+        synchronized (response) {
+            if (!closed) {
+                response.onNext(streamTasksResponse);
+            }
+        }
+    }
+
+    private void fail(Status status) {
+        synchronized (response) {
+            if (!closed) {
+                closed = true;
+                response.onError(status.asRuntimeException());
+            }
+        }
+    }
+}
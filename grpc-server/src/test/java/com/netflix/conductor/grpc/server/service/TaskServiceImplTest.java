@@ -14,25 +14,33 @@ package com.netflix.conductor.grpc.server.service;
 
 
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.grpc.ProtoMapper;
 import com.netflix.conductor.grpc.SearchPb;
 import com.netflix.conductor.grpc.TaskServicePb;
 import com.netflix.conductor.proto.TaskPb;
 import com.netflix.conductor.proto.TaskSummaryPb;
 import com.netflix.conductor.service.ExecutionService;
 import com.netflix.conductor.service.TaskService;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -49,7 +57,12 @@ public class TaskServiceImplTest {
     @Before
     public void init() {
         initMocks(this);
-        taskServiceImpl = new TaskServiceImpl(executionService, taskService, 5000);
+        taskServiceImpl = new TaskServiceImpl(executionService, taskService, 5000, 1);
+    }
+
+    @After
+    public void shutdown() {
+        taskServiceImpl.shutdown();
     }
 
     @Test
@@ -236,4 +249,100 @@ public class TaskServiceImplTest {
                 taskSearchResult.getResultsList().get(0));
     }
 
+
+    @Test
+    public void streamTasksTest() throws InterruptedException {
+        Task task = new Task();
+        task.setTaskId("task_id");
+        task.setTaskType("test");
+        when(executionService.poll(eq("test"), eq("worker"), isNull(), anyInt(), anyInt()))
+            .thenReturn(List.of(task))
+            .thenReturn(Collections.emptyList());
+
+        BlockingQueue<TaskServicePb.StreamTasksResponse> responses = new LinkedBlockingQueue<>();
+        StreamObserver<TaskServicePb.StreamTasksResponse> streamObserver = new StreamObserver<>() {
+            @Override
+            public void onNext(TaskServicePb.StreamTasksResponse value) {
+                responses.add(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+
+        StreamObserver<TaskServicePb.StreamTasksRequest> requests = taskServiceImpl.streamTasks(streamObserver);
+        requests.onNext(TaskServicePb.StreamTasksRequest.newBuilder()
+            .setSubscribe(TaskServicePb.StreamTasksRequest.Subscribe.newBuilder()
+                .setTaskType("test")
+                .setWorkerId("worker"))
+            .build());
+        requests.onNext(TaskServicePb.StreamTasksRequest.newBuilder().setCredits(1).build());
+
+        // the task is pushed for the credit granted, and the polling stops with no credit left
+        TaskServicePb.StreamTasksResponse pushed = responses.poll(5, TimeUnit.SECONDS);
+        assertEquals("task_id", pushed.getTask().getTaskId());
+        verify(executionService, timeout(1000).times(1)).poll(eq("test"), eq("worker"), isNull(), eq(1), anyInt());
+
+        TaskResult taskResult = new TaskResult(task);
+        taskResult.setStatus(TaskResult.Status.COMPLETED);
+        requests.onNext(TaskServicePb.StreamTasksRequest.newBuilder()
+            .setResult(ProtoMapper.INSTANCE.toProto(taskResult))
+            .build());
+
+        TaskServicePb.StreamTasksResponse ack = responses.poll(5, TimeUnit.SECONDS);
+        assertEquals("task_id", ack.getResultAck().getTaskId());
+        assertEquals("", ack.getResultAck().getError());
+        verify(taskService).updateTask(any(TaskResult.class));
+        requests.onCompleted();
+    }
+
+    @Test
+    public void streamTasksBeyondThePollingThreadsFailTest() throws InterruptedException {
+        CountDownLatch polling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(executionService.poll(eq("test"), anyString(), isNull(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            polling.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+
+        subscribeWithCredit("first_worker", new LinkedBlockingQueue<>());
+        assertTrue(polling.await(5, TimeUnit.SECONDS));
+
+        // the only polling thread is held by the first stream
+        BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+        subscribeWithCredit("second_worker", errors);
+        Throwable error = errors.poll(5, TimeUnit.SECONDS);
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(error).getCode());
+        release.countDown();
+    }
+
+    private void subscribeWithCredit(String workerId, BlockingQueue<Throwable> errors) {
+        StreamObserver<TaskServicePb.StreamTasksRequest> requests = taskServiceImpl.streamTasks(
+            new StreamObserver<>() {
+                @Override
+                public void onNext(TaskServicePb.StreamTasksResponse value) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    errors.add(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            });
+        requests.onNext(TaskServicePb.StreamTasksRequest.newBuilder()
+            .setSubscribe(TaskServicePb.StreamTasksRequest.Subscribe.newBuilder()
+                .setTaskType("test")
+                .setWorkerId(workerId))
+            .build());
+        requests.onNext(TaskServicePb.StreamTasksRequest.newBuilder().setCredits(1).build());
+    }
 }
@@ -13,10 +13,18 @@
 package com.netflix.conductor.mysql.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Compression;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Format;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import com.netflix.conductor.mysql.dao.MySQLExecutionDAO;
 import com.netflix.conductor.mysql.dao.MySQLMetadataDAO;
 import com.netflix.conductor.mysql.dao.MySQLQueueDAO;
 import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -34,6 +42,8 @@ import org.springframework.context.annotation.Import;
 @Import(DataSourceAutoConfiguration.class)
 public class MySQLConfiguration {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MySQLConfiguration.class);
+
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
     public MySQLMetadataDAO mySqlMetadataDAO(ObjectMapper objectMapper, DataSource dataSource, MySQLProperties properties) {
@@ -42,13 +52,21 @@ public class MySQLConfiguration {
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public MySQLExecutionDAO mySqlExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new MySQLExecutionDAO(objectMapper, dataSource);
+    public MySQLExecutionDAO mySqlExecutionDAO(ObjectMapper objectMapper,
+        ObjectProvider<ExecutionDocumentCodec> executionDocumentCodec, DataSource dataSource,
+        ObjectProvider<ConductorProperties> conductorProperties) {
+        if (conductorProperties.stream().anyMatch(properties -> properties.getExecutionDocumentFormat() != Format.JSON
+            || properties.getExecutionDocumentCompression() != Compression.NONE)) {
+            LOGGER.warn("The mysql execution DAO stores the task and workflow documents as JSON text, "
+                + "conductor.app.executionDocumentFormat and conductor.app.executionDocumentCompression are ignored");
+        }
+        return new MySQLExecutionDAO(objectMapper,
+            executionDocumentCodec.getIfAvailable(() -> new JacksonExecutionDocumentCodec(objectMapper)), dataSource);
     }
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public MySQLQueueDAO mySqlQueueDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new MySQLQueueDAO(objectMapper, dataSource);
+    public MySQLQueueDAO mySqlQueueDAO(ObjectMapper objectMapper, DataSource dataSource, MySQLProperties properties) {
+        return new MySQLQueueDAO(objectMapper, dataSource, properties);
     }
 }
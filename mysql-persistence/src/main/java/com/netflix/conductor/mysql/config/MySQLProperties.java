@@ -28,6 +28,12 @@ public class MySQLProperties {
      */
     private Duration taskDefCacheRefreshInterval = Duration.ofSeconds(60);
 
+    /**
+     * The interval after which a long poll first looks again for messages that were not signalled on this node, such as
+     * the messages pushed by other nodes or those whose delivery was deferred. It doubles after each such recheck, up
+     * to the timeout of the poll
+     */
+    private Duration queuePollRecheckInterval = Duration.ofMillis(200);
 
     public Duration getTaskDefCacheRefreshInterval() {
         return taskDefCacheRefreshInterval;
@@ -36,4 +42,12 @@ public class MySQLProperties {
     public void setTaskDefCacheRefreshInterval(Duration taskDefCacheRefreshInterval) {
         this.taskDefCacheRefreshInterval = taskDefCacheRefreshInterval;
     }
+
+    public Duration getQueuePollRecheckInterval() {
+        return queuePollRecheckInterval;
+    }
+
+    public void setQueuePollRecheckInterval(Duration queuePollRecheckInterval) {
+        this.queuePollRecheckInterval = queuePollRecheckInterval;
+    }
 }
@@ -22,7 +22,9 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.core.exception.ApplicationException;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
 import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import com.netflix.conductor.dao.PollDataDAO;
 import com.netflix.conductor.dao.RateLimitingDAO;
 import com.netflix.conductor.metrics.Monitors;
@@ -47,8 +49,28 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
     private static final String ARCHIVED_FIELD = "archived";
     private static final String RAW_JSON_FIELD = "rawJSON";
 
+    private final ExecutionDocumentCodec executionDocumentCodec;
+
     public MySQLExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
+        this(objectMapper, new JacksonExecutionDocumentCodec(objectMapper), dataSource);
+    }
+
+    public MySQLExecutionDAO(ObjectMapper objectMapper, ExecutionDocumentCodec executionDocumentCodec,
+        DataSource dataSource) {
         super(objectMapper, dataSource);
+        this.executionDocumentCodec = executionDocumentCodec;
+    }
+
+    private String encode(Object document) {
+        return executionDocumentCodec.encode(document);
+    }
+
+    private <T> T decode(String document, Class<T> type) {
+        return executionDocumentCodec.decode(document, type);
+    }
+
+    private <T> List<T> decode(List<String> documents, Class<T> type) {
+        return documents.stream().map(document -> decode(document, type)).collect(Collectors.toList());
     }
 
     private static String dateStr(Long timeInMs) {
@@ -69,7 +91,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         // @formatter:on
 
         return queryWithTransaction(GET_IN_PROGRESS_TASKS_FOR_WORKFLOW,
-            q -> q.addParameter(taskDefName).addParameter(workflowId).executeAndFetch(Task.class));
+            q -> decode(q.addParameter(taskDefName).addParameter(workflowId).executeAndFetch(String.class),
+                Task.class));
     }
 
     @Override
@@ -212,7 +235,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
     @Override
     public Task getTask(String taskId) {
         String GET_TASK = "SELECT json_data FROM task WHERE task_id = ?";
-        return queryWithTransaction(GET_TASK, q -> q.addParameter(taskId).executeAndFetchFirst(Task.class));
+        return queryWithTransaction(GET_TASK,
+            q -> decode(q.addParameter(taskId).executeAndFetchFirst(String.class), Task.class));
     }
 
     @Override
@@ -232,7 +256,7 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         // @formatter:on
 
         return queryWithTransaction(GET_IN_PROGRESS_TASKS_FOR_TYPE,
-            q -> q.addParameter(taskName).executeAndFetch(Task.class));
+            q -> decode(q.addParameter(taskName).executeAndFetch(String.class), Task.class));
     }
 
     @Override
@@ -389,7 +413,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
         String GET_WORKFLOWS_BY_CORRELATION_ID = "SELECT w.json_data FROM workflow w left join workflow_def_to_workflow wd on w.workflow_id = wd.workflow_id  WHERE w.correlation_id = ? and wd.workflow_def = ?";
 
         return queryWithTransaction(GET_WORKFLOWS_BY_CORRELATION_ID,
-            q -> q.addParameter(correlationId).addParameter(workflowName).executeAndFetch(Workflow.class));
+            q -> decode(q.addParameter(correlationId).addParameter(workflowName).executeAndFetch(String.class),
+                Workflow.class));
     }
 
     @Override
@@ -501,7 +526,8 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
             "SELECT json_data FROM task WHERE task_id IN (%s) AND json_data IS NOT NULL",
             Query.generateInBindings(taskIds.size()));
 
-        return query(connection, GET_TASKS_FOR_IDS, q -> q.addParameters(taskIds).executeAndFetch(Task.class));
+        return query(connection, GET_TASKS_FOR_IDS,
+            q -> decode(q.addParameters(taskIds).executeAndFetch(String.class), Task.class));
     }
 
     private String insertOrUpdateWorkflow(Workflow workflow, boolean update) {
@@ -551,21 +577,22 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
     private Workflow readWorkflow(Connection connection, String workflowId) {
         String GET_WORKFLOW = "SELECT json_data FROM workflow WHERE workflow_id = ?";
 
-        return query(connection, GET_WORKFLOW, q -> q.addParameter(workflowId).executeAndFetchFirst(Workflow.class));
+        return query(connection, GET_WORKFLOW,
+            q -> decode(q.addParameter(workflowId).executeAndFetchFirst(String.class), Workflow.class));
     }
 
     private void addWorkflow(Connection connection, Workflow workflow) {
         String INSERT_WORKFLOW = "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
 
         execute(connection, INSERT_WORKFLOW, q -> q.addParameter(workflow.getWorkflowId())
-            .addParameter(workflow.getCorrelationId()).addJsonParameter(workflow).executeUpdate());
+            .addParameter(workflow.getCorrelationId()).addParameter(encode(workflow)).executeUpdate());
     }
 
     private void updateWorkflow(Connection connection, Workflow workflow) {
         String UPDATE_WORKFLOW = "UPDATE workflow SET json_data = ?, modified_on = CURRENT_TIMESTAMP WHERE workflow_id = ?";
 
         execute(connection, UPDATE_WORKFLOW,
-            q -> q.addJsonParameter(workflow).addParameter(workflow.getWorkflowId()).executeUpdate());
+            q -> q.addParameter(encode(workflow)).addParameter(workflow.getWorkflowId()).executeUpdate());
     }
 
     private void removeWorkflow(Connection connection, String workflowId) {
@@ -602,12 +629,12 @@ public class MySQLExecutionDAO extends MySQLBaseDAO implements ExecutionDAO, Rat
          */
         String UPDATE_TASK = "UPDATE task SET json_data=?, modified_on=CURRENT_TIMESTAMP WHERE task_id=?";
         int rowsUpdated = query(connection, UPDATE_TASK,
-            q -> q.addJsonParameter(task).addParameter(task.getTaskId()).executeUpdate());
+            q -> q.addParameter(encode(task)).addParameter(task.getTaskId()).executeUpdate());
 
         if (rowsUpdated == 0) {
             String INSERT_TASK = "INSERT INTO task (task_id, json_data, modified_on) VALUES (?, ?, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE json_data=VALUES(json_data), modified_on=VALUES(modified_on)";
             execute(connection, INSERT_TASK,
-                q -> q.addParameter(task.getTaskId()).addJsonParameter(task).executeUpdate());
+                q -> q.addParameter(task.getTaskId()).addParameter(encode(task)).executeUpdate());
         }
     }
 
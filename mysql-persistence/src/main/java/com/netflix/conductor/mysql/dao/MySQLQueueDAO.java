@@ -15,13 +15,15 @@ package com.netflix.conductor.mysql.dao;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
-import com.google.common.util.concurrent.Uninterruptibles;
 import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.core.utils.QueueWaiters;
 import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.mysql.config.MySQLProperties;
 import com.netflix.conductor.mysql.util.Query;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,8 +36,14 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
 
     private static final Long UNACK_SCHEDULE_MS = 60_000L;
 
-    public MySQLQueueDAO(ObjectMapper objectMapper, DataSource dataSource) {
+    private final QueueWaiters queueWaiters = new QueueWaiters();
+    private final long queuePollRecheckIntervalMillis;
+    private final boolean skipLockedSupported;
+
+    public MySQLQueueDAO(ObjectMapper objectMapper, DataSource dataSource, MySQLProperties properties) {
         super(objectMapper, dataSource);
+        this.queuePollRecheckIntervalMillis = properties.getQueuePollRecheckInterval().toMillis();
+        this.skipLockedSupported = isSkipLockedSupported();
 
         Executors.newSingleThreadScheduledExecutor()
             .scheduleAtFixedRate(this::processAllUnacks,
@@ -51,6 +59,9 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
     @Override
     public void push(String queueName, String messageId, int priority, long offsetTimeInSecond) {
         withTransaction(tx -> pushMessage(tx, queueName, messageId, null, priority, offsetTimeInSecond));
+        if (offsetTimeInSecond <= 0) {
+            queueWaiters.signal(queueName);
+        }
     }
 
     @Override
@@ -58,6 +69,7 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
         withTransaction(tx -> messages
             .forEach(message -> pushMessage(tx, queueName, message.getId(), message.getPayload(), message.getPriority(),
                 0)));
+        queueWaiters.signal(queueName);
     }
 
     @Override
@@ -67,33 +79,54 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
 
     @Override
     public boolean pushIfNotExists(String queueName, String messageId, int priority, long offsetTimeInSecond) {
-        return getWithRetriedTransactions(tx -> {
+        boolean pushed = getWithRetriedTransactions(tx -> {
             if (!existsMessage(tx, queueName, messageId)) {
                 pushMessage(tx, queueName, messageId, null, priority, offsetTimeInSecond);
                 return true;
             }
             return false;
         });
+        if (pushed && offsetTimeInSecond <= 0) {
+            queueWaiters.signal(queueName);
+        }
+        return pushed;
     }
 
     @Override
     public List<String> pop(String queueName, int count, int timeout) {
-        List<Message> messages = getWithTransactionWithOutErrorPropagation(
-            tx -> popMessages(tx, queueName, count, timeout));
-        if (messages == null) {
-            return new ArrayList<>();
-        }
-        return messages.stream().map(Message::getId).collect(Collectors.toList());
+        return pollMessages(queueName, count, timeout).stream().map(Message::getId).collect(Collectors.toList());
     }
 
+    /**
+     * Pops the available messages, and waits outside of any transaction for the messages pushed on this node until the
+     * count is reached or the timeout elapses. MySQL cannot notify the other nodes of a push, so the queue is looked at
+     * again after the recheck interval for the messages pushed by other nodes. The interval doubles after each recheck
+     * that was not signalled, up to the timeout, so that an idle long poll only queries the queue a few times.
+     */
     @Override
     public List<Message> pollMessages(String queueName, int count, int timeout) {
-        List<Message> messages = getWithTransactionWithOutErrorPropagation(
-            tx -> popMessages(tx, queueName, count, timeout));
-        if (messages == null) {
-            return new ArrayList<>();
+        long deadline = System.currentTimeMillis() + timeout;
+        long recheckIntervalMillis = queuePollRecheckIntervalMillis;
+        final List<Message> messages = new ArrayList<>();
+
+        while (true) {
+            long generation = queueWaiters.generation(queueName);
+            List<Message> messagesSlice = getWithTransactionWithOutErrorPropagation(
+                tx -> popMessages(tx, queueName, count - messages.size()));
+            if (messagesSlice == null) {
+                // conflict could have happened, returned messages popped so far
+                return messages;
+            }
+
+            messages.addAll(messagesSlice);
+            long remaining = deadline - System.currentTimeMillis();
+            if (messages.size() >= count || remaining <= 0) {
+                return messages;
+            }
+            if (!queueWaiters.await(queueName, generation, Math.min(remaining, recheckIntervalMillis))) {
+                recheckIntervalMillis = Math.min(recheckIntervalMillis * 2, timeout);
+            }
         }
-        return messages;
     }
 
     @Override
@@ -183,6 +216,7 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
     public void processUnacks(String queueName) {
         final String PROCESS_UNACKS = "UPDATE queue_message SET popped = false WHERE queue_name = ? AND popped = true AND TIMESTAMPADD(SECOND,-60,CURRENT_TIMESTAMP)  > deliver_on";
         executeWithTransaction(PROCESS_UNACKS, q -> q.addParameter(queueName).executeUpdate());
+        queueWaiters.signal(queueName);
     }
 
     @Override
@@ -192,8 +226,12 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
             "UPDATE queue_message SET offset_time_seconds = ?, deliver_on = TIMESTAMPADD(SECOND,?,CURRENT_TIMESTAMP) \n"
                 + "WHERE queue_name = ? AND message_id = ?";
 
-        return queryWithTransaction(SET_OFFSET_TIME, q -> q.addParameter(offsetTimeInSecond)
+        boolean reset = queryWithTransaction(SET_OFFSET_TIME, q -> q.addParameter(offsetTimeInSecond)
             .addParameter(offsetTimeInSecond).addParameter(queueName).addParameter(messageId).executeUpdate() == 1);
+        if (reset) {
+            queueWaiters.signal(queueName);
+        }
+        return reset;
     }
 
     private boolean existsMessage(Connection connection, String queueName, String messageId) {
@@ -231,7 +269,8 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
             return Collections.emptyList();
         }
 
-        final String PEEK_MESSAGES = "SELECT message_id, priority, payload FROM queue_message use index(combo_queue_message) WHERE queue_name = ? AND popped = false AND deliver_on <= TIMESTAMPADD(MICROSECOND, 1000, CURRENT_TIMESTAMP) ORDER BY priority DESC, deliver_on, created_on LIMIT ?";
+        final String PEEK_MESSAGES = "SELECT message_id, priority, payload FROM queue_message use index(combo_queue_message) WHERE queue_name = ? AND popped = false AND deliver_on <= TIMESTAMPADD(MICROSECOND, 1000, CURRENT_TIMESTAMP) ORDER BY priority DESC, deliver_on, created_on LIMIT ?"
+            + (skipLockedSupported ? " FOR UPDATE SKIP LOCKED" : "");
 
         return query(connection, PEEK_MESSAGES, p -> p.addParameter(queueName)
             .addParameter(count).executeAndFetch(rs -> {
@@ -247,16 +286,25 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
             }));
     }
 
-    private List<Message> popMessages(Connection connection, String queueName, int count, int timeout) {
-        long start = System.currentTimeMillis();
+    /**
+     * On MySQL 8, the peeked messages are locked by this transaction and skipped by concurrent pollers, so they are all
+     * popped by a single statement. Older versions pop the messages one by one, keeping the ones no other poller popped
+     * in the meantime.
+     */
+    private List<Message> popMessages(Connection connection, String queueName, int count) {
         List<Message> messages = peekMessages(connection, queueName, count);
 
-        while (messages.size() < count && ((System.currentTimeMillis() - start) < timeout)) {
-            Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
-            messages = peekMessages(connection, queueName, count);
+        if (messages.isEmpty()) {
+            return messages;
         }
 
-        if (messages.isEmpty()) {
+        if (skipLockedSupported) {
+            final String POP_MESSAGES = String.format(
+                "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id IN (%s) AND popped = false",
+                Query.generateInBindings(messages.size()));
+            List<String> messageIds = messages.stream().map(Message::getId).collect(Collectors.toList());
+            execute(connection, POP_MESSAGES,
+                q -> q.addParameter(queueName).addParameters(messageIds).executeUpdate());
             return messages;
         }
 
@@ -273,6 +321,15 @@ public class MySQLQueueDAO extends MySQLBaseDAO implements QueueDAO {
         return poppedMessages;
     }
 
+    private boolean isSkipLockedSupported() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseMajorVersion() >= 8;
+        } catch (SQLException e) {
+            logger.warn("Unable to read the MySQL version, messages will be popped one by one", e);
+            return false;
+        }
+    }
+
     private void createQueueIfNotExists(Connection connection, String queueName) {
         logger.trace("Creating new queue '{}'", queueName);
         final String EXISTS_QUEUE = "SELECT EXISTS(SELECT 1 FROM queue WHERE queue_name = ?)";
@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.mysql.config.MySQLConfiguration;
+import com.netflix.conductor.mysql.config.MySQLProperties;
 import com.netflix.conductor.mysql.util.Query;
 import org.flywaydb.core.Flyway;
 import org.junit.Before;
@@ -35,8 +36,14 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
@@ -58,6 +65,9 @@ public class MySQLQueueDAOTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MySQLProperties properties;
+
     @Qualifier("dataSource")
     @Autowired
     private DataSource dataSource;
@@ -304,6 +314,79 @@ public class MySQLQueueDAOTest {
         }
     }
 
+    @Test
+    public void concurrentPopTest() throws Exception {
+        final String queueName = "concurrentPop_testQueue";
+        final int totalSize = 100;
+        for (int i = 0; i < totalSize; i++) {
+            queueDAO.push(queueName, "testmsg-" + i, 0);
+        }
+
+        AtomicInteger poppedCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> polls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                polls.add(executorService.submit(() -> {
+                    List<String> popped = new ArrayList<>();
+                    while (poppedCount.get() < totalSize) {
+                        List<String> slice = queueDAO.pop(queueName, 7, 0);
+                        poppedCount.addAndGet(slice.size());
+                        popped.addAll(slice);
+                    }
+                    return popped;
+                }));
+            }
+
+            List<String> popped = new ArrayList<>();
+            for (Future<List<String>> poll : polls) {
+                popped.addAll(poll.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals("Messages popped more than once", totalSize, popped.size());
+            assertEquals(totalSize, popped.stream().distinct().count());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void longPollReturnsPushedMessageTest() throws Exception {
+        final String queueName = "longPoll_testQueue";
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            long start = System.currentTimeMillis();
+            Future<List<String>> poll = executorService.submit(() -> queueDAO.pop(queueName, 1, 5_000));
+
+            Thread.sleep(200);
+            queueDAO.push(queueName, "testmsg-1", 0);
+
+            assertEquals(Collections.singletonList("testmsg-1"), poll.get());
+            assertTrue("Poll waited for the whole timeout", System.currentTimeMillis() - start < 5_000);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void longPollReturnsMessagePushedByAnotherNodeTest() throws Exception {
+        final String queueName = "longPoll_otherNode_testQueue";
+        // a push through another DAO does not signal the pollers of this one, like a push on another node
+        MySQLQueueDAO otherNodeQueueDAO = new MySQLQueueDAO(objectMapper, dataSource, properties);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            long start = System.currentTimeMillis();
+            Future<List<String>> poll = executorService.submit(() -> queueDAO.pop(queueName, 1, 10_000));
+
+            Thread.sleep(1_000);
+            otherNodeQueueDAO.push(queueName, "testmsg-1", 0);
+
+            assertEquals(Collections.singletonList("testmsg-1"), poll.get());
+            assertTrue("Poll waited for the whole timeout", System.currentTimeMillis() - start < 10_000);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public void processUnacksTest() {
         final String queueName = "process_unacks_test";
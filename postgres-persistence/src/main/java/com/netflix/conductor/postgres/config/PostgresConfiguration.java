@@ -13,10 +13,18 @@
 package com.netflix.conductor.postgres.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Compression;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Format;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import com.netflix.conductor.postgres.dao.PostgresExecutionDAO;
 import com.netflix.conductor.postgres.dao.PostgresMetadataDAO;
 import com.netflix.conductor.postgres.dao.PostgresQueueDAO;
 import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -35,6 +43,8 @@ import org.springframework.context.annotation.Import;
 @Import(DataSourceAutoConfiguration.class)
 public class PostgresConfiguration {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresConfiguration.class);
+
     @Bean
     public FlywayConfigurationCustomizer flywayConfigurationCustomizer() {
         // override the default location.
@@ -50,13 +60,22 @@ public class PostgresConfiguration {
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public PostgresExecutionDAO postgresExecutionDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new PostgresExecutionDAO(objectMapper, dataSource);
+    public PostgresExecutionDAO postgresExecutionDAO(ObjectMapper objectMapper,
+        ObjectProvider<ExecutionDocumentCodec> executionDocumentCodec, DataSource dataSource,
+        ObjectProvider<ConductorProperties> conductorProperties) {
+        if (conductorProperties.stream().anyMatch(properties -> properties.getExecutionDocumentFormat() != Format.JSON
+            || properties.getExecutionDocumentCompression() != Compression.NONE)) {
+            LOGGER.warn("The postgres execution DAO stores the task and workflow documents as JSON text, "
+                + "conductor.app.executionDocumentFormat and conductor.app.executionDocumentCompression are ignored");
+        }
+        return new PostgresExecutionDAO(objectMapper,
+            executionDocumentCodec.getIfAvailable(() -> new JacksonExecutionDocumentCodec(objectMapper)), dataSource);
     }
 
     @Bean
     @DependsOn({"flyway", "flywayInitializer"})
-    public PostgresQueueDAO postgresQueueDAO(ObjectMapper objectMapper, DataSource dataSource) {
-        return new PostgresQueueDAO(objectMapper, dataSource);
+    public PostgresQueueDAO postgresQueueDAO(ObjectMapper objectMapper, DataSource dataSource,
+        PostgresProperties properties) {
+        return new PostgresQueueDAO(objectMapper, dataSource, properties);
     }
 }
@@ -29,6 +29,17 @@ public class PostgresProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration taskDefCacheRefreshInterval = Duration.ofSeconds(60);
 
+    /**
+     * Whether the nodes notify each other of the messages pushed to the queues, through postgres LISTEN/NOTIFY, to wake
+     * up their long polls
+     */
+    private boolean queueNotificationsEnabled = true;
+
+    /**
+     * The interval at which a long poll looks again for messages it was not notified of, such as those whose delivery
+     * was deferred
+     */
+    private Duration queuePollRecheckInterval = Duration.ofSeconds(1);
 
     public Duration getTaskDefCacheRefreshInterval() {
         return taskDefCacheRefreshInterval;
@@ -37,4 +48,20 @@ public class PostgresProperties {
     public void setTaskDefCacheRefreshInterval(Duration taskDefCacheRefreshInterval) {
         this.taskDefCacheRefreshInterval = taskDefCacheRefreshInterval;
     }
+
+    public boolean isQueueNotificationsEnabled() {
+        return queueNotificationsEnabled;
+    }
+
+    public void setQueueNotificationsEnabled(boolean queueNotificationsEnabled) {
+        this.queueNotificationsEnabled = queueNotificationsEnabled;
+    }
+
+    public Duration getQueuePollRecheckInterval() {
+        return queuePollRecheckInterval;
+    }
+
+    public void setQueuePollRecheckInterval(Duration queuePollRecheckInterval) {
+        this.queuePollRecheckInterval = queuePollRecheckInterval;
+    }
 }
@@ -15,9 +15,10 @@ package com.netflix.conductor.postgres.dao;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
-import com.google.common.util.concurrent.Uninterruptibles;
 import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.core.utils.QueueWaiters;
 import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.postgres.config.PostgresProperties;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -26,14 +27,22 @@ import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 
 public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
 
     private static final Long UNACK_SCHEDULE_MS = 60_000L;
 
-    public PostgresQueueDAO(ObjectMapper om, DataSource ds) {
+    private final QueueWaiters queueWaiters = new QueueWaiters();
+    private final long queuePollRecheckIntervalMillis;
+    private final PostgresQueueListener queueListener;
+
+    public PostgresQueueDAO(ObjectMapper om, DataSource ds, PostgresProperties properties) {
         super(om, ds);
+        this.queuePollRecheckIntervalMillis = properties.getQueuePollRecheckInterval().toMillis();
+        this.queueListener = properties.isQueueNotificationsEnabled() ? new PostgresQueueListener(ds, queueWaiters)
+            : null;
 
         Executors.newSingleThreadScheduledExecutor()
             .scheduleAtFixedRate(this::processAllUnacks,
@@ -41,6 +50,13 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         logger.debug(PostgresQueueDAO.class.getName() + " is ready to serve");
     }
 
+    @PreDestroy
+    public void close() {
+        if (queueListener != null) {
+            queueListener.close();
+        }
+    }
+
     @Override
     public void push(String queueName, String messageId, long offsetTimeInSecond) {
         push(queueName, messageId, 0, offsetTimeInSecond);
@@ -49,6 +65,9 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
     @Override
     public void push(String queueName, String messageId, int priority, long offsetTimeInSecond) {
         withTransaction(tx -> pushMessage(tx, queueName, messageId, null, priority, offsetTimeInSecond));
+        if (offsetTimeInSecond <= 0) {
+            queueWaiters.signal(queueName);
+        }
     }
 
     @Override
@@ -56,6 +75,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         withTransaction(tx -> messages
             .forEach(message -> pushMessage(tx, queueName, message.getId(), message.getPayload(), message.getPriority(),
                 0)));
+        queueWaiters.signal(queueName);
     }
 
     @Override
@@ -65,13 +85,17 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
 
     @Override
     public boolean pushIfNotExists(String queueName, String messageId, int priority, long offsetTimeInSecond) {
-        return getWithRetriedTransactions(tx -> {
+        boolean pushed = getWithRetriedTransactions(tx -> {
             if (!existsMessage(tx, queueName, messageId)) {
                 pushMessage(tx, queueName, messageId, null, priority, offsetTimeInSecond);
                 return true;
             }
             return false;
         });
+        if (pushed && offsetTimeInSecond <= 0) {
+            queueWaiters.signal(queueName);
+        }
+        return pushed;
     }
 
     @Override
@@ -79,23 +103,20 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         return pollMessages(queueName, count, timeout).stream().map(Message::getId).collect(Collectors.toList());
     }
 
+    /**
+     * Pops the available messages, and waits outside of any transaction for the messages pushed by any node until the
+     * count is reached or the timeout elapses. The queue is looked at again every recheck interval, for the messages
+     * whose delivery was deferred.
+     */
     @Override
     public List<Message> pollMessages(String queueName, int count, int timeout) {
-        if (timeout < 1) {
-            List<Message> messages = getWithTransactionWithOutErrorPropagation(
-                tx -> popMessages(tx, queueName, count, timeout));
-            if (messages == null) {
-                return new ArrayList<>();
-            }
-            return messages;
-        }
-
-        long start = System.currentTimeMillis();
+        long deadline = System.currentTimeMillis() + timeout;
         final List<Message> messages = new ArrayList<>();
 
         while (true) {
+            long generation = queueWaiters.generation(queueName);
             List<Message> messagesSlice = getWithTransactionWithOutErrorPropagation(
-                tx -> popMessages(tx, queueName, count - messages.size(), timeout));
+                tx -> popMessages(tx, queueName, count - messages.size()));
             if (messagesSlice == null) {
                 logger.warn("Unable to poll {} messages from {} due to tx conflict, only {} popped", count, queueName,
                     messages.size());
@@ -104,10 +125,11 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             }
 
             messages.addAll(messagesSlice);
-            if (messages.size() >= count || ((System.currentTimeMillis() - start) > timeout)) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (messages.size() >= count || remaining <= 0) {
                 return messages;
             }
-            Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+            queueWaiters.await(queueName, generation, Math.min(remaining, queuePollRecheckIntervalMillis));
         }
     }
 
@@ -241,6 +263,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             }
             return unacked;
         });
+        queueWaiters.signal(queueName);
     }
 
     @Override
@@ -250,8 +273,18 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             "UPDATE queue_message SET offset_time_seconds = ?, deliver_on = (current_timestamp + (? ||' seconds')::interval) \n"
                 + "WHERE queue_name = ? AND message_id = ?";
 
-        return queryWithTransaction(SET_OFFSET_TIME, q -> q.addParameter(offsetTimeInSecond)
-            .addParameter(offsetTimeInSecond).addParameter(queueName).addParameter(messageId).executeUpdate() == 1);
+        boolean reset = getWithRetriedTransactions(tx -> {
+            boolean updated = query(tx, SET_OFFSET_TIME, q -> q.addParameter(offsetTimeInSecond)
+                .addParameter(offsetTimeInSecond).addParameter(queueName).addParameter(messageId).executeUpdate() == 1);
+            if (updated) {
+                notifyPushed(tx, queueName);
+            }
+            return updated;
+        });
+        if (reset) {
+            queueWaiters.signal(queueName);
+        }
+        return reset;
     }
 
     private boolean existsMessage(Connection connection, String queueName, String messageId) {
@@ -276,6 +309,22 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                 .addParameter(messageId).addParameter(priority).addParameter(offsetTimeInSecond)
                 .addParameter(payload).executeUpdate());
         }
+
+        if (offsetTimeInSecond <= 0) {
+            notifyPushed(connection, queueName);
+        }
+    }
+
+    /**
+     * Notifies the nodes listening to the queue notifications of a message available in the queue, on commit of the
+     * transaction.
+     */
+    private void notifyPushed(Connection connection, String queueName) {
+        if (queueListener != null) {
+            final String NOTIFY = "SELECT pg_notify(?, ?)";
+            execute(connection, NOTIFY, q -> q.addParameter(PostgresQueueListener.CHANNEL).addParameter(queueName)
+                .executeScalar());
+        }
     }
 
     private boolean removeMessage(Connection connection, String queueName, String messageId) {
@@ -284,14 +333,25 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             q -> q.addParameter(queueName).addParameter(messageId).executeDelete());
     }
 
-    private List<Message> peekMessages(Connection connection, String queueName, int count) {
+    /**
+     * Pops the messages in a single statement: the messages not locked by concurrent pollers are locked and marked as
+     * popped at once, so that no round trip is wasted on messages taken by another poller.
+     */
+    private List<Message> popMessages(Connection connection, String queueName, int count) {
         if (count < 1) {
             return Collections.emptyList();
         }
 
-        final String PEEK_MESSAGES = "SELECT message_id, priority, payload FROM queue_message WHERE queue_name = ? AND popped = false AND deliver_on <= (current_timestamp + (1000 ||' microseconds')::interval) ORDER BY priority DESC, deliver_on, created_on LIMIT ? FOR UPDATE SKIP LOCKED";
+        // @formatter:off
+        final String POP_MESSAGES = "WITH popped AS ("
+            + "UPDATE queue_message SET popped = true FROM ("
+            + "SELECT queue_name, message_id FROM queue_message WHERE queue_name = ? AND popped = false AND deliver_on <= (current_timestamp + (1000 ||' microseconds')::interval) ORDER BY priority DESC, deliver_on, created_on LIMIT ? FOR UPDATE SKIP LOCKED"
+            + ") AS candidates WHERE queue_message.queue_name = candidates.queue_name AND queue_message.message_id = candidates.message_id "
+            + "RETURNING queue_message.message_id, queue_message.priority, queue_message.payload, queue_message.deliver_on, queue_message.created_on"
+            + ") SELECT message_id, priority, payload FROM popped ORDER BY priority DESC, deliver_on, created_on";
+        // @formatter:on
 
-        return query(connection, PEEK_MESSAGES, p -> p.addParameter(queueName)
+        return query(connection, POP_MESSAGES, p -> p.addParameter(queueName)
             .addParameter(count).executeAndFetch(rs -> {
                 List<Message> results = new ArrayList<>();
                 while (rs.next()) {
@@ -305,26 +365,6 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
             }));
     }
 
-    private List<Message> popMessages(Connection connection, String queueName, int count, int timeout) {
-        List<Message> messages = peekMessages(connection, queueName, count);
-
-        if (messages.isEmpty()) {
-            return messages;
-        }
-
-        List<Message> poppedMessages = new ArrayList<>();
-        for (Message message : messages) {
-            final String POP_MESSAGE = "UPDATE queue_message SET popped = true WHERE queue_name = ? AND message_id = ? AND popped = false";
-            int result = query(connection, POP_MESSAGE,
-                q -> q.addParameter(queueName).addParameter(message.getId()).executeUpdate());
-
-            if (result == 1) {
-                poppedMessages.add(message);
-            }
-        }
-        return poppedMessages;
-    }
-
     @Override
     public boolean containsMessage(String queueName, String messageId) {
         return getWithRetriedTransactions(tx -> existsMessage(tx, queueName, messageId));
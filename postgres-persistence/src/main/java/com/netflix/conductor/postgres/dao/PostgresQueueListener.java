@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.dao;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.netflix.conductor.core.utils.QueueWaiters;
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens on a dedicated connection to the notifications of the messages pushed to the queues by any node, and wakes
+ * up the pollers waiting on these queues.
+ * <p>
+ * When the data source is a Hikari pool, the connection is opened outside of the pool with its settings, so that it
+ * does not hold one of the pooled connections for good. Any other data source has one of its connections taken by the
+ * listener, which must be accounted for in its size.
+ */
+class PostgresQueueListener {
+
+    static final String CHANNEL = "conductor_queue_message";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresQueueListener.class);
+    private static final int NOTIFICATION_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DataSource dataSource;
+    private final QueueWaiters queueWaiters;
+    private final ExecutorService executorService;
+    private volatile boolean running = true;
+
+    PostgresQueueListener(DataSource dataSource, QueueWaiters queueWaiters) {
+        this.dataSource = dataSource;
+        this.queueWaiters = queueWaiters;
+        this.executorService = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("postgres-queue-listener").setDaemon(true).build());
+        this.executorService.execute(this::listen);
+    }
+
+    void close() {
+        running = false;
+        executorService.shutdown();
+    }
+
+    private Connection openConnection() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return dataSource.getConnection();
+        }
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        if (pool.getDataSource() != null) {
+            return pool.getUsername() == null ? pool.getDataSource().getConnection()
+                : pool.getDataSource().getConnection(pool.getUsername(), pool.getPassword());
+        }
+        Properties info = new Properties();
+        info.putAll(pool.getDataSourceProperties());
+        if (pool.getUsername() != null) {
+            info.put("user", pool.getUsername());
+        }
+        if (pool.getPassword() != null) {
+            info.put("password", pool.getPassword());
+        }
+        return DriverManager.getConnection(pool.getJdbcUrl(), info);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = openConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // the notifications sent while not listening are lost, so the waiting pollers look at their queues again
+                queueWaiters.signalAll();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            queueWaiters.signal(notification.getParameter());
+                        }
+                    }
+                }
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN " + CHANNEL);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    LOGGER.warn("Error listening to queue notifications, reconnecting", e);
+                    Uninterruptibles.sleepUninterruptibly(RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+}
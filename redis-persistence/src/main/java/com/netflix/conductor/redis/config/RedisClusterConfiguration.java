@@ -12,11 +12,14 @@
  */
 package com.netflix.conductor.redis.config;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.redis.jedis.JedisCluster;
 import com.netflix.dyno.connectionpool.Host;
 import com.netflix.dyno.connectionpool.HostSupplier;
 import com.netflix.dyno.connectionpool.TokenMapSupplier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.Set;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
@@ -37,6 +40,9 @@ public class RedisClusterConfiguration extends JedisCommandsConfigurer {
         Set hosts = hostSupplier.getHosts().stream()
             .map(h -> new HostAndPort(h.getHostName(), h.getPort()))
             .collect(Collectors.toSet());
-        return new JedisCluster(new redis.clients.jedis.JedisCluster(hosts, genericObjectPoolConfig));
+        ExecutorService multiGetExecutor = Executors.newFixedThreadPool(properties.getMaxConnectionsPerHost(),
+            new ThreadFactoryBuilder().setNameFormat("redis-cluster-mget-%d").setDaemon(true).build());
+        return new JedisCluster(new redis.clients.jedis.JedisCluster(hosts, genericObjectPoolConfig),
+            multiGetExecutor);
     }
 }
@@ -15,10 +15,13 @@ package com.netflix.conductor.redis.dao;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.redis.config.RedisProperties;
 import com.netflix.conductor.redis.jedis.JedisProxy;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import org.apache.commons.lang3.StringUtils;
 
 public class BaseDynoDAO {
@@ -30,11 +33,20 @@ public class BaseDynoDAO {
     private final ConductorProperties conductorProperties;
     protected JedisProxy jedisProxy;
     protected ObjectMapper objectMapper;
+    protected ExecutionDocumentCodec executionDocumentCodec;
 
     protected BaseDynoDAO(JedisProxy jedisProxy, ObjectMapper objectMapper,
         ConductorProperties conductorProperties, RedisProperties properties) {
+        this(jedisProxy, objectMapper, new JacksonExecutionDocumentCodec(objectMapper), conductorProperties,
+            properties);
+    }
+
+    protected BaseDynoDAO(JedisProxy jedisProxy, ObjectMapper objectMapper,
+        ExecutionDocumentCodec executionDocumentCodec, ConductorProperties conductorProperties,
+        RedisProperties properties) {
         this.jedisProxy = jedisProxy;
         this.objectMapper = objectMapper;
+        this.executionDocumentCodec = executionDocumentCodec;
         this.conductorProperties = conductorProperties;
         this.properties = properties;
         this.domain = properties.getKeyspaceDomain();
@@ -79,6 +91,20 @@ public class BaseDynoDAO {
         }
     }
 
+    /**
+     * Encodes the document as raw bytes when the client can store raw values, and as UTF-8 text otherwise.
+     */
+    byte[] encodeDocumentToBytes(Object document) {
+        if (jedisProxy.supportsRawValues()) {
+            return executionDocumentCodec.encodeToBytes(document);
+        }
+        return executionDocumentCodec.encode(document).getBytes(StandardCharsets.UTF_8);
+    }
+
+    <T> T decodeDocument(byte[] document, Class<T> clazz) {
+        return executionDocumentCodec.decode(document, clazz);
+    }
+
     void recordRedisDaoRequests(String action) {
         recordRedisDaoRequests(action, "n/a", "n/a");
     }
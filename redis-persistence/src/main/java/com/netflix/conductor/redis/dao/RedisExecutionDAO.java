@@ -24,9 +24,11 @@ import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.ApplicationException;
 import com.netflix.conductor.core.exception.ApplicationException.Code;
 import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDocumentCodec;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.redis.config.AnyRedisCondition;
 import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisBatch;
 import com.netflix.conductor.redis.jedis.JedisProxy;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -34,11 +36,13 @@ import java.util.Calendar;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,17 +63,24 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
     private final static String SCHEDULED_TASKS = "SCHEDULED_TASKS";
     private final static String TASK = "TASK";
     private final static String WORKFLOW = "WORKFLOW";
+    private final static String WORKFLOW_VERSION = "WORKFLOW_VERSION";
     private final static String PENDING_WORKFLOWS = "PENDING_WORKFLOWS";
     private final static String WORKFLOW_DEF_TO_WORKFLOWS = "WORKFLOW_DEF_TO_WORKFLOWS";
     private final static String CORR_ID_TO_WORKFLOWS = "CORR_ID_TO_WORKFLOWS";
     private final static String EVENT_EXECUTION = "EVENT_EXECUTION";
     private final int ttlEventExecutionSeconds;
+    /**
+     * The versions of the workflows are only read by the workflow cache, so they are only written when it is enabled.
+     */
+    private final boolean workflowVersionTracked;
 
-    public RedisExecutionDAO(JedisProxy jedisProxy, ObjectMapper objectMapper, ConductorProperties conductorProperties,
+    public RedisExecutionDAO(JedisProxy jedisProxy, ObjectMapper objectMapper,
+        ExecutionDocumentCodec executionDocumentCodec, ConductorProperties conductorProperties,
         RedisProperties properties) {
-        super(jedisProxy, objectMapper, conductorProperties, properties);
+        super(jedisProxy, objectMapper, executionDocumentCodec, conductorProperties, properties);
 
         ttlEventExecutionSeconds = (int) properties.getEventExecutionPersistenceTTL().getSeconds();
+        workflowVersionTracked = conductorProperties.isWorkflowCacheEnabled();
     }
 
     private static String dateStr(Long timeInMs) {
@@ -136,94 +147,108 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
 
     @Override
     public List<Task> createTasks(List<Task> tasks) {
+        tasks.forEach(this::validate);
 
-        List<Task> tasksCreated = new LinkedList<>();
+        // a task that was already scheduled with the same reference name and retry count is skipped
+        List<Supplier<Long>> added = new ArrayList<>(tasks.size());
+        jedisProxy.executeBatch(batch -> tasks.forEach(task -> added.add(
+            batch.hset(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), scheduledTaskKey(task), task.getTaskId()))));
 
+        List<Task> tasksCreated = new LinkedList<>();
+        Iterator<Supplier<Long>> replies = added.iterator();
         for (Task task : tasks) {
-            validate(task);
-
-            recordRedisDaoRequests("createTask", task.getTaskType(), task.getWorkflowType());
-
-            String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
-            Long added = jedisProxy
-                .hset(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey, task.getTaskId());
-            if (added < 1) {
+            if (replies.next().get() < 1) {
                 LOGGER.debug("Task already scheduled, skipping the run " + task.getTaskId() + ", ref=" + task
-                    .getReferenceTaskName() + ", key=" + taskKey);
+                    .getReferenceTaskName() + ", key=" + scheduledTaskKey(task));
                 continue;
             }
 
             if (task.getStatus() != null && !task.getStatus().isTerminal() && task.getScheduledTime() == 0) {
                 task.setScheduledTime(System.currentTimeMillis());
             }
+            tasksCreated.add(task);
+        }
 
-            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
+        jedisProxy.executeBatch(batch -> tasksCreated.forEach(task -> {
+            recordRedisDaoRequests("createTask", task.getTaskType(), task.getWorkflowType());
+
+            correlateTaskToWorkflowInDS(batch, task.getTaskId(), task.getWorkflowInstanceId());
             LOGGER.debug(
                 "Scheduled task added to WORKFLOW_TO_TASKS workflowId: {}, taskId: {}, taskType: {} during createTasks",
                 task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType());
 
             String inProgressTaskKey = nsKey(IN_PROGRESS_TASKS, task.getTaskDefName());
-            jedisProxy.sadd(inProgressTaskKey, task.getTaskId());
+            batch.sadd(inProgressTaskKey, task.getTaskId());
             LOGGER.debug(
                 "Scheduled task added to IN_PROGRESS_TASKS with inProgressTaskKey: {}, workflowId: {}, taskId: {}, taskType: {} during createTasks",
                 inProgressTaskKey, task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType());
 
-            updateTask(task);
-            tasksCreated.add(task);
-        }
+            updateTask(batch, task);
+        }));
 
         return tasksCreated;
-
     }
 
     @Override
     public void updateTask(Task task) {
+        jedisProxy.executeBatch(batch -> updateTask(batch, task));
+    }
+
+    @Override
+    public void updateTasks(List<Task> tasks) {
+        jedisProxy.executeBatch(batch -> tasks.forEach(task -> updateTask(batch, task)));
+    }
+
+    private void updateTask(JedisBatch batch, Task task) {
         Optional<TaskDef> taskDefinition = task.getTaskDefinition();
 
         if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
 
             if (task.getStatus() != null && task.getStatus().equals(Status.IN_PROGRESS)) {
-                jedisProxy.sadd(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
+                batch.sadd(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
                 LOGGER.debug(
                     "Workflow Task added to TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                     nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName(), task.getTaskId()),
                     task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType(), task.getStatus().name());
             } else {
-                jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
+                batch.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
                 LOGGER.debug(
                     "Workflow Task removed from TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                     nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName(), task.getTaskId()),
                     task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType(), task.getStatus().name());
                 String key = nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName());
-                jedisProxy.zrem(key, task.getTaskId());
+                batch.zrem(key, task.getTaskId());
                 LOGGER.debug(
                     "Workflow Task removed from TASK_LIMIT_BUCKET with taskLimitBucketKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                     key, task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType(), task.getStatus().name());
             }
         }
 
-        String payload = toJson(task);
-        recordRedisDaoPayloadSize("updateTask", payload.length(), taskDefinition
+        byte[] payload = encodeDocumentToBytes(task);
+        recordRedisDaoPayloadSize("updateTask", payload.length, taskDefinition
             .map(TaskDef::getName)
             .orElse("n/a"), task.getWorkflowType());
 
         recordRedisDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
-        jedisProxy.set(nsKey(TASK, task.getTaskId()), payload);
+        batch.set(nsKey(TASK, task.getTaskId()), payload);
         LOGGER.debug(
             "Workflow task payload saved to TASK with taskKey: {}, workflowId: {}, taskId: {}, taskType: {} during updateTask",
             nsKey(TASK, task.getTaskId()), task.getWorkflowInstanceId(), task.getTaskId(), task.getTaskType());
         if (task.getStatus() != null && task.getStatus().isTerminal()) {
-            jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
+            batch.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
             LOGGER.debug(
                 "Workflow Task removed from TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                 nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getWorkflowInstanceId(), task.getTaskId(),
                 task.getTaskType(), task.getStatus().name());
         }
 
-        Set<String> taskIds = jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()));
-        if (!taskIds.contains(task.getTaskId())) {
-            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
-        }
+        // adding to a set is idempotent, so there is no need to read the set first
+        correlateTaskToWorkflowInDS(batch, task.getTaskId(), task.getWorkflowInstanceId());
+        incrementWorkflowVersion(batch, task.getWorkflowInstanceId());
+    }
+
+    private static String scheduledTaskKey(Task task) {
+        return task.getReferenceTaskName() + "" + task.getRetryCount();
     }
 
     @Override
@@ -266,14 +291,19 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         return rateLimited;
     }
 
-    private void removeTaskMappings(Task task) {
-        String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
+    private void removeTaskMappings(JedisBatch batch, Task task) {
+        batch.hdel(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), scheduledTaskKey(task));
+        batch.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
+        batch.srem(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()), task.getTaskId());
+        batch.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
+        batch.zrem(nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName()), task.getTaskId());
+        incrementWorkflowVersion(batch, task.getWorkflowInstanceId());
+    }
 
-        jedisProxy.hdel(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey);
-        jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
-        jedisProxy.srem(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()), task.getTaskId());
-        jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
-        jedisProxy.zrem(nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName()), task.getTaskId());
+    private void incrementWorkflowVersion(JedisBatch batch, String workflowId) {
+        if (workflowVersionTracked) {
+            batch.incr(nsKey(WORKFLOW_VERSION, workflowId));
+        }
     }
 
     @Override
@@ -283,9 +313,10 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
             LOGGER.warn("No such task found by id {}", taskId);
             return false;
         }
-        removeTaskMappings(task);
-
-        jedisProxy.del(nsKey(TASK, task.getTaskId()));
+        jedisProxy.executeBatch(batch -> {
+            removeTaskMappings(batch, task);
+            batch.del(nsKey(TASK, task.getTaskId()));
+        });
         recordRedisDaoRequests("removeTask", task.getTaskType(), task.getWorkflowType());
         return true;
     }
@@ -296,9 +327,10 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
             LOGGER.warn("No such task found by id {}", taskId);
             return false;
         }
-        removeTaskMappings(task);
-
-        jedisProxy.expire(nsKey(TASK, task.getTaskId()), ttlSeconds);
+        jedisProxy.executeBatch(batch -> {
+            removeTaskMappings(batch, task);
+            batch.expire(nsKey(TASK, task.getTaskId()), ttlSeconds);
+        });
         recordRedisDaoRequests("removeTask", task.getTaskType(), task.getWorkflowType());
         return true;
     }
@@ -306,11 +338,11 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
     @Override
     public Task getTask(String taskId) {
         Preconditions.checkNotNull(taskId, "taskId cannot be null");
-        return Optional.ofNullable(jedisProxy.get(nsKey(TASK, taskId)))
+        return Optional.ofNullable(jedisProxy.getRaw(nsKey(TASK, taskId)))
             .map(json -> {
-                Task task = readValue(json, Task.class);
+                Task task = decodeDocument(json, Task.class);
                 recordRedisDaoRequests("getTask", task.getTaskType(), task.getWorkflowType());
-                recordRedisDaoPayloadSize("getTask", toJson(task).length(), task.getTaskType(), task.getWorkflowType());
+                recordRedisDaoPayloadSize("getTask", json.length, task.getTaskType(), task.getWorkflowType());
                 return task;
             })
             .orElse(null);
@@ -318,14 +350,15 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
 
     @Override
     public List<Task> getTasks(List<String> taskIds) {
-        return taskIds.stream()
+        List<String> keys = taskIds.stream()
             .map(taskId -> nsKey(TASK, taskId))
-            .map(jedisProxy::get)
+            .collect(Collectors.toList());
+        return jedisProxy.mget(keys).stream()
             .filter(Objects::nonNull)
-            .map(jsonString -> {
-                Task task = readValue(jsonString, Task.class);
+            .map(json -> {
+                Task task = decodeDocument(json, Task.class);
                 recordRedisDaoRequests("getTask", task.getTaskType(), task.getWorkflowType());
-                recordRedisDaoPayloadSize("getTask", jsonString.length(), task.getTaskType(), task.getWorkflowType());
+                recordRedisDaoPayloadSize("getTask", json.length, task.getTaskType(), task.getWorkflowType());
                 return task;
             })
             .collect(Collectors.toList());
@@ -363,18 +396,23 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         if (workflow != null) {
             recordRedisDaoRequests("removeWorkflow");
 
-            // Remove from lists
-            String key = nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflow.getWorkflowName(),
-                dateStr(workflow.getCreateTime()));
-            jedisProxy.srem(key, workflowId);
-            jedisProxy.srem(nsKey(CORR_ID_TO_WORKFLOWS, workflow.getCorrelationId()), workflowId);
-            jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
+            jedisProxy.executeBatch(batch -> {
+                // Remove from lists
+                String key = nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflow.getWorkflowName(),
+                    dateStr(workflow.getCreateTime()));
+                batch.srem(key, workflowId);
+                batch.srem(nsKey(CORR_ID_TO_WORKFLOWS, workflow.getCorrelationId()), workflowId);
+                batch.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
 
-            // Remove the object
-            jedisProxy.del(nsKey(WORKFLOW, workflowId));
+                // Remove the object
+                batch.del(nsKey(WORKFLOW, workflowId));
+            });
             for (Task task : workflow.getTasks()) {
                 removeTask(task.getTaskId());
             }
+            if (workflowVersionTracked) {
+                jedisProxy.del(nsKey(WORKFLOW_VERSION, workflowId));
+            }
             return true;
         }
         return false;
@@ -385,18 +423,23 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         if (workflow != null) {
             recordRedisDaoRequests("removeWorkflow");
 
-            // Remove from lists
-            String key = nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflow.getWorkflowName(),
-                dateStr(workflow.getCreateTime()));
-            jedisProxy.srem(key, workflowId);
-            jedisProxy.srem(nsKey(CORR_ID_TO_WORKFLOWS, workflow.getCorrelationId()), workflowId);
-            jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
+            jedisProxy.executeBatch(batch -> {
+                // Remove from lists
+                String key = nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflow.getWorkflowName(),
+                    dateStr(workflow.getCreateTime()));
+                batch.srem(key, workflowId);
+                batch.srem(nsKey(CORR_ID_TO_WORKFLOWS, workflow.getCorrelationId()), workflowId);
+                batch.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
 
-            // Remove the object
-            jedisProxy.expire(nsKey(WORKFLOW, workflowId), ttlSeconds);
+                // Remove the object
+                batch.expire(nsKey(WORKFLOW, workflowId), ttlSeconds);
+            });
             for (Task task : workflow.getTasks()) {
                 removeTaskWithExpiry(task.getTaskId(), ttlSeconds);
             }
+            if (workflowVersionTracked) {
+                jedisProxy.expire(nsKey(WORKFLOW_VERSION, workflowId), ttlSeconds);
+            }
             return true;
         }
         return false;
@@ -416,13 +459,13 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
 
     @Override
     public Workflow getWorkflow(String workflowId, boolean includeTasks) {
-        String json = jedisProxy.get(nsKey(WORKFLOW, workflowId));
+        byte[] json = jedisProxy.getRaw(nsKey(WORKFLOW, workflowId));
         Workflow workflow = null;
 
         if (json != null) {
-            workflow = readValue(json, Workflow.class);
+            workflow = decodeDocument(json, Workflow.class);
             recordRedisDaoRequests("getWorkflow", "n/a", workflow.getWorkflowName());
-            recordRedisDaoPayloadSize("getWorkflow", json.length(), "n/a", workflow.getWorkflowName());
+            recordRedisDaoPayloadSize("getWorkflow", json.length, "n/a", workflow.getWorkflowName());
             if (includeTasks) {
                 List<Task> tasks = getTasksForWorkflow(workflowId);
                 tasks.sort(Comparator.comparingLong(Task::getScheduledTime).thenComparingInt(Task::getSeq));
@@ -432,6 +475,14 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         return workflow;
     }
 
+    @Override
+    public Long getWorkflowVersion(String workflowId) {
+        Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
+        String version = jedisProxy.get(nsKey(WORKFLOW_VERSION, workflowId));
+        recordRedisDaoRequests("getWorkflowVersion");
+        return version == null ? 0L : Long.parseLong(version);
+    }
+
     /**
      * @param workflowName name of the workflow
      * @param version      the workflow version
@@ -515,27 +566,30 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
         List<Task> tasks = workflow.getTasks();
         workflow.setTasks(new LinkedList<>());
 
-        String payload = toJson(workflow);
-        // Store the workflow object
-        jedisProxy.set(nsKey(WORKFLOW, workflow.getWorkflowId()), payload);
-        recordRedisDaoRequests("storeWorkflow", "n/a", workflow.getWorkflowName());
-        recordRedisDaoPayloadSize("storeWorkflow", payload.length(), "n/a", workflow.getWorkflowName());
-        if (!update) {
-            // Add to list of workflows for a workflowdef
-            String key = nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflow.getWorkflowName(),
-                dateStr(workflow.getCreateTime()));
-            jedisProxy.sadd(key, workflow.getWorkflowId());
-            if (workflow.getCorrelationId() != null) {
-                // Add to list of workflows for a correlationId
-                jedisProxy.sadd(nsKey(CORR_ID_TO_WORKFLOWS, workflow.getCorrelationId()), workflow.getWorkflowId());
+        byte[] payload = encodeDocumentToBytes(workflow);
+        jedisProxy.executeBatch(batch -> {
+            // Store the workflow object
+            batch.set(nsKey(WORKFLOW, workflow.getWorkflowId()), payload);
+            if (!update) {
+                // Add to list of workflows for a workflowdef
+                String key = nsKey(WORKFLOW_DEF_TO_WORKFLOWS, workflow.getWorkflowName(),
+                    dateStr(workflow.getCreateTime()));
+                batch.sadd(key, workflow.getWorkflowId());
+                if (workflow.getCorrelationId() != null) {
+                    // Add to list of workflows for a correlationId
+                    batch.sadd(nsKey(CORR_ID_TO_WORKFLOWS, workflow.getCorrelationId()), workflow.getWorkflowId());
+                }
             }
-        }
-        // Add or remove from the pending workflows
-        if (workflow.getStatus().isTerminal()) {
-            jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflow.getWorkflowId());
-        } else {
-            jedisProxy.sadd(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflow.getWorkflowId());
-        }
+            // Add or remove from the pending workflows
+            if (workflow.getStatus().isTerminal()) {
+                batch.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflow.getWorkflowId());
+            } else {
+                batch.sadd(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflow.getWorkflowId());
+            }
+            incrementWorkflowVersion(batch, workflow.getWorkflowId());
+        });
+        recordRedisDaoRequests("storeWorkflow", "n/a", workflow.getWorkflowName());
+        recordRedisDaoPayloadSize("storeWorkflow", payload.length, "n/a", workflow.getWorkflowName());
 
         workflow.setTasks(tasks);
         return workflow.getWorkflowId();
@@ -549,8 +603,12 @@ public class RedisExecutionDAO extends BaseDynoDAO implements ExecutionDAO {
      */
     @VisibleForTesting
     void correlateTaskToWorkflowInDS(String taskId, String workflowInstanceId) {
+        jedisProxy.executeBatch(batch -> correlateTaskToWorkflowInDS(batch, taskId, workflowInstanceId));
+    }
+
+    private void correlateTaskToWorkflowInDS(JedisBatch batch, String taskId, String workflowInstanceId) {
         String workflowToTaskKey = nsKey(WORKFLOW_TO_TASKS, workflowInstanceId);
-        jedisProxy.sadd(workflowToTaskKey, taskId);
+        batch.sadd(workflowToTaskKey, taskId);
         LOGGER.debug("Task mapped in WORKFLOW_TO_TASKS with workflowToTaskKey: {}, workflowId: {}, taskId: {}",
             workflowToTaskKey, workflowInstanceId, taskId);
     }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.commands.JedisCommands;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * A {@link JedisBatch} that executes every command as soon as it is added, for the clients that do not support
+ * pipelining.
+ */
+class DirectJedisBatch implements JedisBatch {
+
+    private final JedisCommands jedisCommands;
+
+    DirectJedisBatch(JedisCommands jedisCommands) {
+        this.jedisCommands = jedisCommands;
+    }
+
+    @Override
+    public void set(String key, String value) {
+        jedisCommands.set(key, value);
+    }
+
+    @Override
+    public void set(String key, byte[] value) {
+        if (jedisCommands instanceof RawValueJedisCommands) {
+            ((RawValueJedisCommands) jedisCommands).set(key.getBytes(StandardCharsets.UTF_8), value);
+        } else {
+            jedisCommands.set(key, new String(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public Supplier<Long> hset(String key, String field, String value) {
+        Long reply = jedisCommands.hset(key, field, value);
+        return () -> reply;
+    }
+
+    @Override
+    public void hdel(String key, String... fields) {
+        jedisCommands.hdel(key, fields);
+    }
+
+    @Override
+    public void sadd(String key, String member) {
+        jedisCommands.sadd(key, member);
+    }
+
+    @Override
+    public void srem(String key, String member) {
+        jedisCommands.srem(key, member);
+    }
+
+    @Override
+    public void zrem(String key, String member) {
+        jedisCommands.zrem(key, member);
+    }
+
+    @Override
+    public void incr(String key) {
+        jedisCommands.incr(key);
+    }
+
+    @Override
+    public void del(String key) {
+        jedisCommands.del(key);
+    }
+
+    @Override
+    public void expire(String key, int seconds) {
+        jedisCommands.expire(key, seconds);
+    }
+}
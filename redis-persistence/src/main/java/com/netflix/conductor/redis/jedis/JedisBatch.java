@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Write commands that are executed together as a batch, see {@link JedisProxy#executeBatch(Consumer)}.
+ * <p>
+ * Depending on the client, the commands may only be sent to redis when the batch is executed, so the replies are only
+ * available once {@link JedisProxy#executeBatch(Consumer)} has returned.
+ */
+public interface JedisBatch {
+
+    void set(String key, String value);
+
+    /**
+     * Clients which do not implement {@link RawValueJedisCommands} store the value as UTF-8 text, so it must only
+     * contain raw bytes when {@link JedisProxy#supportsRawValues()}.
+     */
+    void set(String key, byte[] value);
+
+    Supplier<Long> hset(String key, String field, String value);
+
+    void hdel(String key, String... fields);
+
+    void sadd(String key, String member);
+
+    void srem(String key, String member);
+
+    void zrem(String key, String member);
+
+    void incr(String key);
+
+    void del(String key);
+
+    void expire(String key, int seconds);
+}
@@ -12,11 +12,15 @@
  */
 package com.netflix.conductor.redis.jedis;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import redis.clients.jedis.BitPosParams;
 import redis.clients.jedis.GeoCoordinate;
 import redis.clients.jedis.GeoRadiusResponse;
 import redis.clients.jedis.GeoUnit;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.SortingParams;
@@ -28,24 +32,137 @@ import redis.clients.jedis.StreamInfo;
 import redis.clients.jedis.StreamPendingEntry;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
 import redis.clients.jedis.params.GeoRadiusParam;
 import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
 import redis.clients.jedis.params.ZIncrByParams;
+import redis.clients.jedis.util.JedisClusterCRC16;
 
+import java.io.Closeable;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
-public class JedisCluster implements JedisCommands {
+public class JedisCluster implements JedisCommands, MultiGetJedisCommands, RawValueJedisCommands, Closeable {
 
     private final redis.clients.jedis.JedisCluster jedisCluster;
+    private final ExecutorService multiGetExecutor;
 
     public JedisCluster(redis.clients.jedis.JedisCluster jedisCluster) {
+        this(jedisCluster, MoreExecutors.newDirectExecutorService());
+    }
+
+    /**
+     * @param multiGetExecutor used to read the keys of a multi-get that live on different nodes in parallel, it is
+     *                         shut down when this client is closed
+     */
+    public JedisCluster(redis.clients.jedis.JedisCluster jedisCluster, ExecutorService multiGetExecutor) {
         this.jedisCluster = jedisCluster;
+        this.multiGetExecutor = multiGetExecutor;
+    }
+
+    /**
+     * Redis cluster only accepts a MGET whose keys all hash to the same slot, so the keys are grouped by slot (honoring
+     * hash tags), and the slots by the node serving them. The MGETs of the slots of a node are pipelined, so that each
+     * node is read in a single round trip, and the nodes are read in parallel.
+     */
+    @Override
+    public List<byte[]> mget(byte[]... keys) {
+        Map<Integer, List<Integer>> indicesBySlot = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            indicesBySlot.computeIfAbsent(JedisClusterCRC16.getSlot(keys[i]), slot -> new ArrayList<>()).add(i);
+        }
+        if (indicesBySlot.size() <= 1) {
+            return jedisCluster.mget(keys);
+        }
+
+        Map<String, List<Integer>> slotsByNode = new LinkedHashMap<>();
+        for (Integer slot : indicesBySlot.keySet()) {
+            try (Jedis jedis = jedisCluster.getConnectionFromSlot(slot)) {
+                String node = jedis.getClient().getHost() + ":" + jedis.getClient().getPort();
+                slotsByNode.computeIfAbsent(node, n -> new ArrayList<>()).add(slot);
+            }
+        }
+
+        byte[][] values = new byte[keys.length][];
+        CompletableFuture<?>[] futures = slotsByNode.values().stream()
+            .map(slots -> CompletableFuture.runAsync(() -> readNode(slots, indicesBySlot, keys, values),
+                multiGetExecutor))
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Reads the slots of a node with pipelined MGETs. When the slots moved or the node cannot be reached, they are read
+     * again one by one through the cluster client, which follows the redirections and refreshes the slots.
+     */
+    private void readNode(List<Integer> slots, Map<Integer, List<Integer>> indicesBySlot, byte[][] keys,
+        byte[][] values) {
+        try (Jedis jedis = jedisCluster.getConnectionFromSlot(slots.get(0))) {
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<List<byte[]>>> responses = new ArrayList<>(slots.size());
+            for (Integer slot : slots) {
+                responses.add(pipeline.mget(slotKeys(indicesBySlot.get(slot), keys)));
+            }
+            pipeline.sync();
+            for (int i = 0; i < slots.size(); i++) {
+                setValues(indicesBySlot.get(slots.get(i)), responses.get(i).get(), values);
+            }
+        } catch (JedisRedirectionException | JedisConnectionException e) {
+            for (Integer slot : slots) {
+                List<Integer> indices = indicesBySlot.get(slot);
+                setValues(indices, jedisCluster.mget(slotKeys(indices, keys)), values);
+            }
+        }
+    }
+
+    private static byte[][] slotKeys(List<Integer> indices, byte[][] keys) {
+        byte[][] slotKeys = new byte[indices.size()][];
+        for (int i = 0; i < slotKeys.length; i++) {
+            slotKeys[i] = keys[indices.get(i)];
+        }
+        return slotKeys;
+    }
+
+    private static void setValues(List<Integer> indices, List<byte[]> slotValues, byte[][] values) {
+        for (int i = 0; i < indices.size(); i++) {
+            values[indices.get(i)] = slotValues.get(i);
+        }
+    }
+
+    @Override
+    public void close() {
+        multiGetExecutor.shutdown();
+        jedisCluster.close();
+    }
+
+    @Override
+    public String set(byte[] key, byte[] value) {
+        return jedisCluster.set(key, value);
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        return jedisCluster.get(key);
     }
 
     @Override
@@ -21,6 +21,7 @@ import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.params.ZAddParams;
+import redis.clients.jedis.util.SafeEncoder;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -30,7 +31,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-public class JedisMock extends Jedis {
+public class JedisMock extends Jedis implements MultiGetJedisCommands {
 
     private final IRedisClient redis;
 
@@ -160,6 +161,19 @@ public class JedisMock extends Jedis {
         }
     }
 
+    @Override
+    public List<byte[]> mget(final byte[]... keys) {
+        String[] stringKeys = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            stringKeys[i] = SafeEncoder.encode(keys[i]);
+        }
+        List<byte[]> lst = new ArrayList<byte[]>(keys.length);
+        for (String get : mget(stringKeys)) {
+            lst.add(get == null ? null : SafeEncoder.encode(get));
+        }
+        return lst;
+    }
+
     @Override
     public Long setnx(final String key, final String value) {
         try {
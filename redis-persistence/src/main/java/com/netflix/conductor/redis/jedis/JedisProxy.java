@@ -24,6 +24,9 @@ import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
 import redis.clients.jedis.params.ZAddParams;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +34,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static com.netflix.conductor.redis.config.RedisCommonConfiguration.DEFAULT_CLIENT_INJECTION_NAME;
 
@@ -43,12 +47,26 @@ public class JedisProxy {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JedisProxy.class);
 
+    private static final int MGET_CHUNK_SIZE = 1000;
+
     protected JedisCommands jedisCommands;
 
     public JedisProxy(@Qualifier(DEFAULT_CLIENT_INJECTION_NAME) JedisCommands jedisCommands) {
         this.jedisCommands = jedisCommands;
     }
 
+    /**
+     * Executes the write commands added to the batch by the given consumer. Clients that support pipelining send all
+     * the commands to redis in a single round trip, the others execute them one by one.
+     */
+    public void executeBatch(Consumer<JedisBatch> commands) {
+        if (jedisCommands instanceof PipelinedJedisCommands) {
+            ((PipelinedJedisCommands) jedisCommands).executeInPipeline(commands);
+        } else {
+            commands.accept(new DirectJedisBatch(jedisCommands));
+        }
+    }
+
     public Set<String> zrange(String key, long start, long end) {
         return jedisCommands.zrange(key, start, end);
     }
@@ -73,6 +91,54 @@ public class JedisProxy {
         return jedisCommands.get(key);
     }
 
+    /**
+     * @return whether the client can store raw values, with {@link JedisBatch#set(String, byte[])}
+     */
+    public boolean supportsRawValues() {
+        return jedisCommands instanceof RawValueJedisCommands;
+    }
+
+    /**
+     * @return the raw value of the key, or null if it does not exist
+     */
+    public byte[] getRaw(String key) {
+        if (jedisCommands instanceof RawValueJedisCommands) {
+            return ((RawValueJedisCommands) jedisCommands).get(key.getBytes(StandardCharsets.UTF_8));
+        }
+        String value = jedisCommands.get(key);
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the raw values of the given keys. Clients that support multi-get read the keys in chunks of
+     * {@value #MGET_CHUNK_SIZE} per round trip, the others read them one by one.
+     *
+     * @return the values in the order of the keys, with null for the keys that do not exist
+     */
+    public List<byte[]> mget(List<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<byte[]> values = new ArrayList<>(keys.size());
+        if (jedisCommands instanceof MultiGetJedisCommands) {
+            MultiGetJedisCommands multiGetCommands = (MultiGetJedisCommands) jedisCommands;
+            for (int from = 0; from < keys.size(); from += MGET_CHUNK_SIZE) {
+                List<String> chunk = keys.subList(from, Math.min(from + MGET_CHUNK_SIZE, keys.size()));
+                byte[][] rawKeys = new byte[chunk.size()][];
+                for (int i = 0; i < rawKeys.length; i++) {
+                    rawKeys[i] = chunk.get(i).getBytes(StandardCharsets.UTF_8);
+                }
+                values.addAll(multiGetCommands.mget(rawKeys));
+            }
+        } else {
+            for (String key : keys) {
+                String value = jedisCommands.get(key);
+                values.add(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
     public Long zcard(String key) {
         return jedisCommands.zcard(key);
     }
@@ -19,6 +19,7 @@ import redis.clients.jedis.GeoUnit;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPoolAbstract;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.SortingParams;
@@ -39,8 +40,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 
-public class JedisSentinel implements JedisCommands {
+public class JedisSentinel implements JedisCommands, PipelinedJedisCommands, MultiGetJedisCommands,
+    RawValueJedisCommands {
 
     private final JedisPoolAbstract jedisPool;
 
@@ -48,6 +51,36 @@ public class JedisSentinel implements JedisCommands {
         this.jedisPool = jedisPool;
     }
 
+    @Override
+    public void executeInPipeline(Consumer<JedisBatch> commands) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            commands.accept(new PipelineJedisBatch(pipeline));
+            pipeline.sync();
+        }
+    }
+
+    @Override
+    public List<byte[]> mget(byte[]... keys) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.mget(keys);
+        }
+    }
+
+    @Override
+    public String set(byte[] key, byte[] value) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.set(key, value);
+        }
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.get(key);
+        }
+    }
+
     @Override
     public String set(String key, String value) {
         try (Jedis jedis = jedisPool.getResource()) {
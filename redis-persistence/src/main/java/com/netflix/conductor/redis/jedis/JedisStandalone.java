@@ -19,6 +19,7 @@ import redis.clients.jedis.GeoUnit;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.SortingParams;
@@ -38,12 +39,14 @@ import redis.clients.jedis.params.ZIncrByParams;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * A {@link JedisCommands} implementation that delegates to {@link JedisPool}.
  */
-public class JedisStandalone implements JedisCommands {
+public class JedisStandalone implements JedisCommands, PipelinedJedisCommands, MultiGetJedisCommands,
+    RawValueJedisCommands {
 
     private final JedisPool jedisPool;
 
@@ -57,6 +60,31 @@ public class JedisStandalone implements JedisCommands {
         }
     }
 
+    @Override
+    public void executeInPipeline(Consumer<JedisBatch> commands) {
+        executeInJedis(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            commands.accept(new PipelineJedisBatch(pipeline));
+            pipeline.sync();
+            return null;
+        });
+    }
+
+    @Override
+    public List<byte[]> mget(byte[]... keys) {
+        return executeInJedis(jedis -> jedis.mget(keys));
+    }
+
+    @Override
+    public String set(byte[] key, byte[] value) {
+        return executeInJedis(jedis -> jedis.set(key, value));
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        return executeInJedis(jedis -> jedis.get(key));
+    }
+
     @Override
     public String set(String key, String value) {
         return executeInJedis(jedis -> jedis.set(key, value));
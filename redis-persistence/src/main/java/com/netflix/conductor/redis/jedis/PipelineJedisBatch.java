@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * A {@link JedisBatch} that queues the commands in a {@link Pipeline}.
+ */
+class PipelineJedisBatch implements JedisBatch {
+
+    private final Pipeline pipeline;
+
+    PipelineJedisBatch(Pipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void set(String key, String value) {
+        pipeline.set(key, value);
+    }
+
+    @Override
+    public void set(String key, byte[] value) {
+        pipeline.set(key.getBytes(StandardCharsets.UTF_8), value);
+    }
+
+    @Override
+    public Supplier<Long> hset(String key, String field, String value) {
+        Response<Long> response = pipeline.hset(key, field, value);
+        return response::get;
+    }
+
+    @Override
+    public void hdel(String key, String... fields) {
+        pipeline.hdel(key, fields);
+    }
+
+    @Override
+    public void sadd(String key, String member) {
+        pipeline.sadd(key, member);
+    }
+
+    @Override
+    public void srem(String key, String member) {
+        pipeline.srem(key, member);
+    }
+
+    @Override
+    public void zrem(String key, String member) {
+        pipeline.zrem(key, member);
+    }
+
+    @Override
+    public void incr(String key) {
+        pipeline.incr(key);
+    }
+
+    @Override
+    public void del(String key) {
+        pipeline.del(key);
+    }
+
+    @Override
+    public void expire(String key, int seconds) {
+        pipeline.expire(key, seconds);
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.commands.JedisCommands;
+
+import java.util.function.Consumer;
+
+/**
+ * Implemented by the {@link JedisCommands} implementations that can send a batch of commands to redis in a single
+ * round trip.
+ */
+public interface PipelinedJedisCommands {
+
+    /**
+     * Queues the commands added to the batch by the given consumer in a pipeline, and sends them once the consumer
+     * returns.
+     */
+    void executeInPipeline(Consumer<JedisBatch> commands);
+}
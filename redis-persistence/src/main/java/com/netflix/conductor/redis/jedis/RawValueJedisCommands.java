@@ -0,0 +1,28 @@
+/*
+ * Copyright 2021 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import redis.clients.jedis.commands.JedisCommands;
+
+/**
+ * Implemented by the {@link JedisCommands} implementations that can store raw values, which are not valid UTF-8 text.
+ */
+public interface RawValueJedisCommands {
+
+    String set(byte[] key, byte[] value);
+
+    /**
+     * @return the raw value of the key, or null if it does not exist
+     */
+    byte[] get(byte[] key);
+}
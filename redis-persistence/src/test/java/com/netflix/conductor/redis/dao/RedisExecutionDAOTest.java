@@ -18,6 +18,9 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.Task.Status;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Compression;
+import com.netflix.conductor.core.storage.JacksonExecutionDocumentCodec.Format;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.ExecutionDAOTest;
 import com.netflix.conductor.redis.config.RedisProperties;
@@ -32,11 +35,14 @@ import org.springframework.test.context.junit4.SpringRunner;
 import redis.clients.jedis.commands.JedisCommands;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -45,19 +51,23 @@ import static org.mockito.Mockito.when;
 public class RedisExecutionDAOTest extends ExecutionDAOTest {
 
     private RedisExecutionDAO executionDAO;
+    private JedisProxy jedisProxy;
+    private ConductorProperties conductorProperties;
+    private RedisProperties properties;
 
     @Autowired
     private ObjectMapper objectMapper;
 
     @Before
     public void init() {
-        ConductorProperties conductorProperties = mock(ConductorProperties.class);
-        RedisProperties properties = mock(RedisProperties.class);
+        conductorProperties = mock(ConductorProperties.class);
+        properties = mock(RedisProperties.class);
         when(properties.getEventExecutionPersistenceTTL()).thenReturn(Duration.ofSeconds(5));
         JedisCommands jedisMock = new JedisMock();
-        JedisProxy jedisProxy = new JedisProxy(jedisMock);
+        jedisProxy = new JedisProxy(jedisMock);
 
-        executionDAO = new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties);
+        executionDAO = new RedisExecutionDAO(jedisProxy, objectMapper, new JacksonExecutionDocumentCodec(objectMapper),
+            conductorProperties, properties);
     }
 
     @Test
@@ -88,6 +98,103 @@ public class RedisExecutionDAOTest extends ExecutionDAOTest {
         assertEquals(taskId, tasks.get(0).getTaskId());
     }
 
+    @Test
+    public void testCreateAndUpdateTasksInBatch() {
+        String workflowId = "workflowId";
+        Task first = createTask(workflowId, "taskId1", "ref_name_1");
+        Task second = createTask(workflowId, "taskId2", "ref_name_2");
+        Task duplicate = createTask(workflowId, "taskId3", "ref_name_1");
+
+        List<Task> created = executionDAO.createTasks(Arrays.asList(first, second, duplicate));
+        assertEquals(Arrays.asList(first, second), created);
+        assertEquals(2, executionDAO.getTasksForWorkflow(workflowId).size());
+        assertEquals(2, executionDAO.getPendingTasksForTaskType("task1").size());
+
+        first.setStatus(Status.COMPLETED);
+        second.setStatus(Status.FAILED);
+        executionDAO.updateTasks(Arrays.asList(first, second));
+
+        assertEquals(Status.COMPLETED, executionDAO.getTask("taskId1").getStatus());
+        assertEquals(Status.FAILED, executionDAO.getTask("taskId2").getStatus());
+        assertTrue(executionDAO.getPendingTasksForTaskType("task1").isEmpty());
+        assertEquals(2, executionDAO.getTasksForWorkflow(workflowId).size());
+
+        executionDAO.removeTask("taskId1");
+        assertNull(executionDAO.getTask("taskId1"));
+        assertEquals(1, executionDAO.getTasksForWorkflow(workflowId).size());
+    }
+
+    @Test
+    public void testGetTasksInBulk() {
+        String workflowId = "workflowId";
+        Task first = createTask(workflowId, "taskId1", "ref_name_1");
+        Task second = createTask(workflowId, "taskId2", "ref_name_2");
+        executionDAO.createTasks(Arrays.asList(first, second));
+
+        List<Task> tasks = executionDAO.getTasks(Arrays.asList("taskId2", "missing", "taskId1"));
+        assertEquals(2, tasks.size());
+        assertEquals("taskId2", tasks.get(0).getTaskId());
+        assertEquals("taskId1", tasks.get(1).getTaskId());
+        assertTrue(executionDAO.getTasks(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testWorkflowVersion() {
+        when(conductorProperties.isWorkflowCacheEnabled()).thenReturn(true);
+        executionDAO = new RedisExecutionDAO(jedisProxy, objectMapper, new JacksonExecutionDocumentCodec(objectMapper),
+            conductorProperties, properties);
+        String workflowId = "workflowId";
+        assertEquals(Long.valueOf(0), executionDAO.getWorkflowVersion(workflowId));
+
+        Task first = createTask(workflowId, "taskId1", "ref_name_1");
+        Task second = createTask(workflowId, "taskId2", "ref_name_2");
+        executionDAO.createTasks(Arrays.asList(first, second));
+        assertEquals(Long.valueOf(2), executionDAO.getWorkflowVersion(workflowId));
+
+        executionDAO.updateTasks(Arrays.asList(first, second));
+        executionDAO.updateTask(first);
+        assertEquals(Long.valueOf(5), executionDAO.getWorkflowVersion(workflowId));
+
+        executionDAO.removeTask("taskId2");
+        assertEquals(Long.valueOf(6), executionDAO.getWorkflowVersion(workflowId));
+    }
+
+    @Test
+    public void testWorkflowVersionIsNotTrackedWithoutWorkflowCache() {
+        String workflowId = "workflowId";
+        executionDAO.createTasks(Collections.singletonList(createTask(workflowId, "taskId1", "ref_name_1")));
+        assertEquals(Long.valueOf(0), executionDAO.getWorkflowVersion(workflowId));
+    }
+
+    @Test
+    public void testSwitchingDocumentEncoding() {
+        String workflowId = "workflowId";
+        executionDAO.createTasks(Collections.singletonList(createTask(workflowId, "taskId1", "ref_name_1")));
+
+        RedisExecutionDAO compactExecutionDAO = new RedisExecutionDAO(jedisProxy, objectMapper,
+            new JacksonExecutionDocumentCodec(objectMapper, Format.SMILE, Compression.LZ4), conductorProperties,
+            properties);
+        compactExecutionDAO.createTasks(Collections.singletonList(createTask(workflowId, "taskId2", "ref_name_2")));
+
+        // both stores read the documents written by the other one
+        for (RedisExecutionDAO dao : Arrays.asList(executionDAO, compactExecutionDAO)) {
+            assertEquals("ref_name_1", dao.getTask("taskId1").getReferenceTaskName());
+            assertEquals("ref_name_2", dao.getTask("taskId2").getReferenceTaskName());
+            assertEquals(2, dao.getTasksForWorkflow(workflowId).size());
+        }
+    }
+
+    private Task createTask(String workflowId, String taskId, String referenceTaskName) {
+        Task task = new Task();
+        task.setTaskId(taskId);
+        task.setWorkflowInstanceId(workflowId);
+        task.setReferenceTaskName(referenceTaskName);
+        task.setTaskDefName("task1");
+        task.setTaskType("task1");
+        task.setStatus(Status.IN_PROGRESS);
+        return task;
+    }
+
     @Override
     protected ExecutionDAO getExecutionDAO() {
         return executionDAO;
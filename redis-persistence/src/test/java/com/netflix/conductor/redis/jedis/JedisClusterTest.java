@@ -14,11 +14,17 @@ package com.netflix.conductor.redis.jedis;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import redis.clients.jedis.Client;
 import redis.clients.jedis.GeoUnit;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
 import redis.clients.jedis.params.GeoRadiusParam;
 import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
@@ -26,12 +32,21 @@ import redis.clients.jedis.params.ZIncrByParams;
 
 import java.util.AbstractMap;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.aryEq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JedisClusterTest {
@@ -50,6 +65,62 @@ public class JedisClusterTest {
         jedisCluster.get("key");
     }
 
+    @Test
+    public void testMget() {
+        byte[] first = "{task}1".getBytes();
+        byte[] second = "{task}2".getBytes();
+        byte[] other = "other".getBytes();
+        Pipeline pipeline = mockNode("node1");
+        Response<List<byte[]>> firstResponse = mockResponse(Arrays.asList("v1".getBytes(), null));
+        Response<List<byte[]>> otherResponse = mockResponse(Collections.singletonList("v3".getBytes()));
+        when(pipeline.mget(aryEq(new byte[][]{first, second}))).thenReturn(firstResponse);
+        when(pipeline.mget(aryEq(new byte[][]{other}))).thenReturn(otherResponse);
+
+        List<byte[]> values = jedisCluster.mget(first, other, second);
+        assertEquals(3, values.size());
+        assertArrayEquals("v1".getBytes(), values.get(0));
+        assertArrayEquals("v3".getBytes(), values.get(1));
+        assertNull(values.get(2));
+        // both slots live on the same node, so they are read in a single round trip
+        verify(pipeline).sync();
+        verify(mockCluster, never()).mget(any(byte[][].class));
+    }
+
+    @Test
+    public void testMgetOfMovedSlots() {
+        byte[] first = "{task}1".getBytes();
+        byte[] other = "other".getBytes();
+        Pipeline pipeline = mockNode("node1");
+        Response<List<byte[]>> movedResponse = mockResponse(null);
+        when(movedResponse.get()).thenThrow(new JedisMovedDataException("MOVED", new HostAndPort("node2", 6379), 1));
+        when(pipeline.mget(any(byte[][].class))).thenReturn(movedResponse);
+        when(mockCluster.mget(aryEq(new byte[][]{first}))).thenReturn(Collections.singletonList("v1".getBytes()));
+        when(mockCluster.mget(aryEq(new byte[][]{other}))).thenReturn(Collections.singletonList("v2".getBytes()));
+
+        List<byte[]> values = jedisCluster.mget(first, other);
+        assertArrayEquals("v1".getBytes(), values.get(0));
+        assertArrayEquals("v2".getBytes(), values.get(1));
+    }
+
+    private Pipeline mockNode(String host) {
+        Client client = mock(Client.class);
+        when(client.getHost()).thenReturn(host);
+        when(client.getPort()).thenReturn(6379);
+        Pipeline pipeline = mock(Pipeline.class);
+        Jedis jedis = mock(Jedis.class);
+        when(jedis.getClient()).thenReturn(client);
+        when(jedis.pipelined()).thenReturn(pipeline);
+        when(mockCluster.getConnectionFromSlot(anyInt())).thenReturn(jedis);
+        return pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<List<byte[]>> mockResponse(List<byte[]> values) {
+        Response<List<byte[]>> response = mock(Response.class);
+        when(response.get()).thenReturn(values);
+        return response;
+    }
+
     @Test
     public void testExists() {
         jedisCluster.exists("key");
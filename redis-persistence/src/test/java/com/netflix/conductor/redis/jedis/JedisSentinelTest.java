@@ -18,6 +18,7 @@ import redis.clients.jedis.GeoUnit;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisSentinelPool;
 import redis.clients.jedis.ListPosition;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.SortingParams;
 import redis.clients.jedis.params.GeoRadiusParam;
@@ -28,6 +29,7 @@ import redis.clients.jedis.params.ZIncrByParams;
 import java.util.HashMap;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JedisSentinelTest {
@@ -41,6 +43,22 @@ public class JedisSentinelTest {
         when(this.jedisPool.getResource()).thenReturn(this.jedis);
     }
 
+    @Test
+    public void testExecuteInPipeline() {
+        Pipeline pipeline = mock(Pipeline.class);
+        when(jedis.pipelined()).thenReturn(pipeline);
+
+        jedisSentinel.executeInPipeline(batch -> {
+            batch.set("key", "value");
+            batch.sadd("set", "member");
+        });
+
+        verify(pipeline).set("key", "value");
+        verify(pipeline).sadd("set", "member");
+        verify(pipeline).sync();
+        verify(jedis).close();
+    }
+
     @Test
     public void testSet() {
         jedisSentinel.set("key", "value");
@@ -16,6 +16,7 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
@@ -78,6 +79,12 @@ public class TaskResource {
         return taskService.updateTask(taskResult);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Update a batch of tasks")
+    public BulkResponse updateTasks(@RequestBody List<TaskResult> taskResults) {
+        return taskService.updateTasks(taskResults);
+    }
+
     @PostMapping("/{taskId}/log")
     @Operation(summary = "Log Task Execution Details")
     public void log(@PathVariable("taskId") String taskId, @RequestBody String log) {
@@ -27,6 +27,7 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
 import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
@@ -87,6 +88,18 @@ public class TaskResourceTest {
         assertEquals("123", taskResource.updateTask(taskResult));
     }
 
+    @Test
+    public void testUpdateTasks() {
+        TaskResult taskResult = new TaskResult();
+        taskResult.setStatus(TaskResult.Status.COMPLETED);
+        taskResult.setTaskId("123");
+        List<TaskResult> taskResults = Collections.singletonList(taskResult);
+        BulkResponse bulkResponse = new BulkResponse();
+        bulkResponse.appendSuccessResponse("123");
+        when(mockTaskService.updateTasks(taskResults)).thenReturn(bulkResponse);
+        assertEquals(bulkResponse, taskResource.updateTasks(taskResults));
+    }
+
     @Test
     public void testLog() {
         taskResource.log("123", "test log");